@@ -49,23 +49,46 @@ public abstract class AbstractAerodynamicCalculator implements AerodynamicCalcul
 	
 	
 
+	/**
+	 * Calculate the CP for each of the given lateral wind angles.  This default
+	 * implementation calls {@link #getCP(FlightConfiguration, FlightConditions, WarningSet)}
+	 * once per angle; subclasses may override it with a more efficient method.
+	 */
+	@Override
+	public Coordinate[] getCPSweep(FlightConfiguration configuration, FlightConditions conditions,
+			double[] thetas, WarningSet warnings) {
+		FlightConditions cond = conditions.clone();
+		Coordinate[] cps = new Coordinate[thetas.length];
+		
+		for (int i = 0; i < thetas.length; i++) {
+			cond.setTheta(thetas[i]);
+			cps[i] = getCP(configuration, cond, warnings);
+		}
+		
+		return cps;
+	}
+	
 	/*
 	 * The worst theta angle is stored in conditions.
 	 */
 	@Override
 	public Coordinate getWorstCP(FlightConfiguration configuration, FlightConditions conditions,
 			WarningSet warnings) {
-		FlightConditions cond = conditions.clone();
+		double[] thetas = new double[DIVISIONS];
+		for (int i = 0; i < DIVISIONS; i++) {
+			thetas[i] = 2 * Math.PI * i / DIVISIONS;
+		}
+		
+		Coordinate[] cps = getCPSweep(configuration, conditions, thetas, warnings);
+		
 		Coordinate worst = new Coordinate(Double.MAX_VALUE);
-		Coordinate cp;
 		double theta = 0;
 		
 		for (int i = 0; i < DIVISIONS; i++) {
-			cond.setTheta(2 * Math.PI * i / DIVISIONS);
-			cp = getCP(configuration, cond, warnings);
+			Coordinate cp = cps[i];
 			if ((cp.weight > MathUtil.EPSILON) && (cp.x < worst.x)) {
 				worst = cp;
-				theta = cond.getTheta();
+				theta = thetas[i];
 			}
 		}
 		
@@ -49,6 +49,19 @@ public interface AerodynamicCalculator extends Monitorable {
 	public Map<RocketComponent, AerodynamicForces> getForceAnalysis(FlightConfiguration configuration,
 			FlightConditions conditions, WarningSet warnings);
 	
+	/**
+	 * Calculate the CP of the specified configuration for a number of lateral wind angles.
+	 * The theta angle stored in the flight conditions is ignored and left unmodified.
+	 * 
+	 * @param configuration		the rocket configuration.
+	 * @param conditions		the flight conditions.
+	 * @param thetas			the lateral wind angles at which to evaluate the CP.
+	 * @param warnings			the set in which to place warnings, or <code>null</code>.
+	 * @return					the CP positions in absolute coordinates, one for each angle in <code>thetas</code>.
+	 */
+	public Coordinate[] getCPSweep(FlightConfiguration configuration, FlightConditions conditions,
+			double[] thetas, WarningSet warnings);
+	
 	/**
 	 * Calculate the worst CP occurring for any lateral wind angle.  The worst CP is returned and the theta angle
 	 * that produces the worst CP is stored in the flight conditions.
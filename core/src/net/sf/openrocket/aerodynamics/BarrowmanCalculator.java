@@ -69,6 +69,99 @@ public class BarrowmanCalculator extends AbstractAerodynamicCalculator {
 	}
 	
 	
+	/**
+	 * Calculate the CP for a number of lateral wind angles in a single pass over the
+	 * component instances.
+	 * <p>
+	 * In the extended Barrowman method the CP position of each component instance does
+	 * not depend on theta, and the normal force coefficient depends on it only through
+	 * terms of the form sin^2(theta - angle).  The weight of each instance is thus of the
+	 * form A + B*cos(2*theta) + C*sin(2*theta), which is determined exactly by sampling
+	 * roll-dependent components at three angles.  The harmonic coefficients are summed
+	 * over all instances, after which every angle is evaluated in constant time.
+	 */
+	@Override
+	public Coordinate[] getCPSweep(FlightConfiguration configuration, FlightConditions conditions,
+			double[] thetas, WarningSet warnings) {
+		checkCache(configuration);
+		
+		if (warnings == null)
+			warnings = ignoreWarningSet;
+		
+		if (conditions.getAOA() > 17.5 * Math.PI / 180)
+			warnings.add(new Warning.LargeAOA(conditions.getAOA()));
+		
+		if (calcMap == null)
+			buildCalcMap(configuration);
+		
+		if( ! isContinuous(  configuration.getRocket() ) ){
+			warnings.add( Warning.DIAMETER_DISCONTINUITY);
+		}
+		
+		final FlightConditions cond = conditions.clone();
+		final AerodynamicForces instanceForces = new AerodynamicForces();
+		
+		// Sums of the weight harmonics and of the weight-scaled CP positions
+		double sumA = 0, sumB = 0, sumC = 0;
+		double sumAx = 0, sumBx = 0, sumCx = 0;
+		
+		final InstanceMap imap = configuration.getActiveInstances();
+		for(Map.Entry<RocketComponent, ArrayList<InstanceContext>> entry: imap.entrySet() ) {
+			final RocketComponent comp = entry.getKey();
+			RocketComponentCalc calcObj = calcMap.get(comp);
+			if (null == calcObj)
+				continue;
+			
+			for(InstanceContext context: entry.getValue() ) {
+				cond.setTheta(0);
+				calcObj.calculateNonaxialForces(cond, context.transform, instanceForces.zero(), warnings);
+				final double x = context.transform.transform(instanceForces.getCP()).x;
+				final double w0 = instanceForces.getCP().weight;
+				
+				if (!calcObj.isRollDependent()) {
+					sumA += w0;
+					sumAx += w0 * x;
+					continue;
+				}
+				
+				cond.setTheta(Math.PI / 4);
+				calcObj.calculateNonaxialForces(cond, context.transform, instanceForces.zero(), warnings);
+				final double w45 = instanceForces.getCP().weight;
+				
+				cond.setTheta(Math.PI / 2);
+				calcObj.calculateNonaxialForces(cond, context.transform, instanceForces.zero(), warnings);
+				final double w90 = instanceForces.getCP().weight;
+				
+				final double a = (w0 + w90) / 2;
+				final double b = (w0 - w90) / 2;
+				final double c = w45 - a;
+				sumA += a;
+				sumB += b;
+				sumC += c;
+				sumAx += a * x;
+				sumBx += b * x;
+				sumCx += c * x;
+			}
+		}
+		
+		Coordinate[] cps = new Coordinate[thetas.length];
+		for (int i = 0; i < thetas.length; i++) {
+			final double cos = Math.cos(2 * thetas[i]);
+			final double sin = Math.sin(2 * thetas[i]);
+			final double w = sumA + sumB * cos + sumC * sin;
+			final double wx = sumAx + sumBx * cos + sumCx * sin;
+			
+			if (Math.abs(w) < MathUtil.pow2(MathUtil.EPSILON)) {
+				cps[i] = Coordinate.NUL;
+			} else {
+				cps[i] = new Coordinate(wx / w, 0, 0, w);
+			}
+		}
+		
+		return cps;
+	}
+	
+	
 	
 	@Override
 	public Map<RocketComponent, AerodynamicForces> getForceAnalysis(FlightConfiguration configuration,
@@ -615,6 +615,11 @@ public class FinSetCalc extends RocketComponentCalc {
 	//		
 	//	}
 	
+	@Override
+	public boolean isRollDependent() {
+		return true;
+	}
+	
 	@Override
 	public double calculatePressureDragForce(FlightConditions conditions,
 			double stagnationCD, double baseCD, WarningSet warnings) {
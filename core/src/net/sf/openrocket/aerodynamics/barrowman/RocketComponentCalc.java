@@ -29,6 +29,18 @@ public abstract class RocketComponentCalc {
 												 AerodynamicForces forces, WarningSet warnings);
 
 	
+	/**
+	 * Return whether the non-axial forces computed by this calculator depend on the
+	 * lateral wind angle theta.  Calculators returning <code>true</code> must have a
+	 * normal force dependence of the form sin^2(theta - angle), which allows the
+	 * forces to be evaluated for all angles from a few samples.
+	 * 
+	 * @return	<code>true</code> if the forces depend on theta, <code>false</code> otherwise.
+	 */
+	public boolean isRollDependent() {
+		return false;
+	}
+	
 	/**
 	 * Calculates the pressure drag of the component.  This component does NOT include
 	 * the effect of discontinuities in the rocket body.
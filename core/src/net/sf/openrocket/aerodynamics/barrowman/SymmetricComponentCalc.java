@@ -258,10 +258,12 @@ public class SymmetricComponentCalc extends RocketComponentCalc {
 			new double[] { 0.9, 0.95, 1.0, 1.05, 1.1, 1.2, 1.4, 1.7 },
 			new double[] { 0, 0.023, 0.073, 0.098, 0.107, 0.106, 0.089, 0.082 }
 			);
-	private static final LinearInterpolator bluntInterpolator = new LinearInterpolator();
+	private static final LinearInterpolator bluntInterpolator;
 	static {
+		LinearInterpolator.Builder builder = new LinearInterpolator.Builder();
 		for (double m = 0; m < 3; m += 0.05)
-			bluntInterpolator.addPoint(m, BarrowmanCalculator.calculateStagnationCD(m));
+			builder.addPoint(m, BarrowmanCalculator.calculateStagnationCD(m));
+		bluntInterpolator = builder.build();
 	}
 	
 	/**
@@ -282,7 +284,7 @@ public class SymmetricComponentCalc extends RocketComponentCalc {
 		LinearInterpolator int1 = null, int2 = null;
 		double p = 0;
 		
-		interpolator = new LinearInterpolator();
+		LinearInterpolator.Builder builder = new LinearInterpolator.Builder();
 		
 
 		/*
@@ -293,11 +295,11 @@ public class SymmetricComponentCalc extends RocketComponentCalc {
 		 */
 		switch (shape) {
 		case CONICAL:
-			interpolator = calculateOgiveNoseInterpolator(0, sinphi); // param==0 -> conical
+			builder.addPoints(calculateOgiveNoseInterpolator(0, sinphi)); // param==0 -> conical
 			break;
 		
 		case OGIVE:
-			interpolator = calculateOgiveNoseInterpolator(param, sinphi);
+			builder.addPoints(calculateOgiveNoseInterpolator(param, sinphi));
 			break;
 		
 		case ELLIPSOID:
@@ -357,14 +359,14 @@ public class SymmetricComponentCalc extends RocketComponentCalc {
 
 		// Check for parameterized shape and interpolate if necessary
 		if (int2 != null) {
-			LinearInterpolator int3 = new LinearInterpolator();
+			LinearInterpolator.Builder int3 = new LinearInterpolator.Builder();
 			for (double m : int1.getXPoints()) {
 				int3.addPoint(m, p * int2.getValue(m) + (1 - p) * int1.getValue(m));
 			}
 			for (double m : int2.getXPoints()) {
 				int3.addPoint(m, p * int2.getValue(m) + (1 - p) * int1.getValue(m));
 			}
-			int1 = int3;
+			int1 = int3.build();
 		}
 		
 		// Extrapolate for fineness ratio if necessary
@@ -372,9 +374,10 @@ public class SymmetricComponentCalc extends RocketComponentCalc {
 			double log4 = Math.log(fineness + 1) / Math.log(4);
 			for (double m : int1.getXPoints()) {
 				double stag = bluntInterpolator.getValue(m);
-				interpolator.addPoint(m, stag * Math.pow(int1.getValue(m) / stag, log4));
+				builder.addPoint(m, stag * Math.pow(int1.getValue(m) / stag, log4));
 			}
 		}
+		interpolator = builder.build();
 		
 
 		/*
@@ -402,8 +405,9 @@ public class SymmetricComponentCalc extends RocketComponentCalc {
 		double b = minDeriv / a;
 		
 		for (double m = 0; m < minValue; m += 0.05) {
-			interpolator.addPoint(m, a * Math.pow(m, b) + cdMach0);
+			builder.addPoint(m, a * Math.pow(m, b) + cdMach0);
 		}
+		interpolator = builder.build();
 	}
 	
 	
@@ -412,7 +416,7 @@ public class SymmetricComponentCalc extends RocketComponentCalc {
 	
 	private static LinearInterpolator calculateOgiveNoseInterpolator(double param,
 			double sinphi) {
-		LinearInterpolator interpolator = new LinearInterpolator();
+		LinearInterpolator.Builder builder = new LinearInterpolator.Builder();
 		
 		// In the range M = 1 ... 1.3 use polynomial approximation
 		double cdMach1 = 2.1 * pow2(sinphi) + 0.6019 * sinphi;
@@ -426,15 +430,15 @@ public class SymmetricComponentCalc extends RocketComponentCalc {
 		double mul = 0.72 * pow2(param - 0.5) + 0.82;
 		
 		for (double m = 1; m < 1.3001; m += 0.02) {
-			interpolator.addPoint(m, mul * PolyInterpolator.eval(m, poly));
+			builder.addPoint(m, mul * PolyInterpolator.eval(m, poly));
 		}
 		
 		// Above M = 1.3 use direct formula
 		for (double m = 1.32; m < 4; m += 0.02) {
-			interpolator.addPoint(m, mul * (2.1 * pow2(sinphi) + 0.5 * sinphi / MathUtil.safeSqrt(m * m - 1)));
+			builder.addPoint(m, mul * (2.1 * pow2(sinphi) + 0.5 * sinphi / MathUtil.safeSqrt(m * m - 1)));
 		}
 		
-		return interpolator;
+		return builder.build();
 	}
 	
 
@@ -621,6 +621,11 @@ public class TubeFinSetCalc extends RocketComponentCalc {
 	//		
 	//	}
 	
+	@Override
+	public boolean isRollDependent() {
+		return true;
+	}
+	
 	@Override
 	public double calculatePressureDragForce(FlightConditions conditions,
 			double stagnationCD, double baseCD, WarningSet warnings) {
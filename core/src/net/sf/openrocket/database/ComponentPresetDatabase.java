@@ -1,7 +1,9 @@
 package net.sf.openrocket.database;
 
+import java.util.AbstractList;
 import java.util.ArrayList;
 import java.util.Collections;
+import java.util.Iterator;
 import java.util.List;
 import java.util.Set;
 
@@ -9,19 +11,79 @@ import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import net.sf.openrocket.preset.ComponentPreset;
+import net.sf.openrocket.preset.PresetCatalog;
 import net.sf.openrocket.startup.Application;
 
+/**
+ * The database of component presets.  In addition to the presets added individually,
+ * the database serves the presets of any number of {@link PresetCatalog}s, whose
+ * presets are only created when they are accessed.  The lists returned contain the
+ * catalog presets first, followed by the individually added presets.
+ */
 public class ComponentPresetDatabase extends Database<ComponentPreset> implements ComponentPresetDao {
 
 	private static final Logger logger = LoggerFactory.getLogger(ComponentPresetDatabase.class);
 	
+	private final List<PresetCatalog> catalogs = new ArrayList<PresetCatalog>();
+	
 	public ComponentPresetDatabase() {
 		super();
 	}
 	
+	/**
+	 * Add the presets of a catalog to the database.  Presets added afterwards that are
+	 * equal to a preset of the catalog are ignored.
+	 * 
+	 * @param catalog	the catalog to add
+	 */
+	public void addCatalog( PresetCatalog catalog ) {
+		catalogs.add(catalog);
+	}
+	
+	/**
+	 * {@inheritDoc}
+	 * ignores presets contained in the catalogs
+	 */
+	@Override
+	public boolean add( ComponentPreset element ) {
+		for( PresetCatalog catalog : catalogs ) {
+			if ( catalog.contains(element) ) {
+				return false;
+			}
+		}
+		return super.add(element);
+	}
+	
+	@Override
+	public int size() {
+		int size = list.size();
+		for( PresetCatalog catalog : catalogs ) {
+			size += catalog.size();
+		}
+		return size;
+	}
+	
+	@Override
+	public Iterator<ComponentPreset> iterator() {
+		if ( catalogs.isEmpty() ) {
+			return super.iterator();
+		}
+		return Collections.unmodifiableList(listAll()).iterator();
+	}
+	
 	@Override
 	public List<ComponentPreset> listAll() {
-		return list;
+		if ( catalogs.isEmpty() ) {
+			return list;
+		}
+		List<List<ComponentPreset>> parts = new ArrayList<List<ComponentPreset>>();
+		for( PresetCatalog catalog : catalogs ) {
+			for( ComponentPreset.Type type : ComponentPreset.Type.values() ) {
+				parts.add(catalog.listForType(type));
+			}
+		}
+		parts.add(list);
+		return concatenate(parts);
 	}
 
 	@Override
@@ -35,6 +97,11 @@ public class ComponentPresetDatabase extends Database<ComponentPreset> implement
 			return Collections.<ComponentPreset>emptyList();
 		}
 
+		List<List<ComponentPreset>> parts = new ArrayList<List<ComponentPreset>>();
+		for( PresetCatalog catalog : catalogs ) {
+			parts.add(catalog.listForType(type));
+		}
+
 		List<ComponentPreset> result = new ArrayList<ComponentPreset>(list.size()/6);
 
 		for( ComponentPreset preset : list ) {
@@ -42,7 +109,8 @@ public class ComponentPresetDatabase extends Database<ComponentPreset> implement
 				result.add(preset);
 			}
 		}
-		return result;
+		parts.add(result);
+		return concatenate(parts);
 
 	}
 
@@ -64,6 +132,9 @@ public class ComponentPresetDatabase extends Database<ComponentPreset> implement
 
 		Set<String> favorites = Application.getPreferences().getComponentFavorites(type);
 
+		for( PresetCatalog catalog : catalogs ) {
+			result.addAll(catalog.listForType(type, favorites));
+		}
 		for( ComponentPreset preset : list ) {
 			if ( preset.get(ComponentPreset.TYPE).equals(type) && favorites.contains(preset.preferenceKey())) {
 				result.add(preset);
@@ -82,6 +153,13 @@ public class ComponentPresetDatabase extends Database<ComponentPreset> implement
 			return listForType(type[0]);
 		}
 
+		List<List<ComponentPreset>> parts = new ArrayList<List<ComponentPreset>>();
+		for( PresetCatalog catalog : catalogs ) {
+			for( int i=0; i<type.length; i++ ) {
+				parts.add(catalog.listForType(type[i]));
+			}
+		}
+
 		List<ComponentPreset> result = new ArrayList<ComponentPreset>(list.size()/6);
 
 		for( ComponentPreset preset : list ) {
@@ -94,7 +172,8 @@ public class ComponentPresetDatabase extends Database<ComponentPreset> implement
 			}
 
 		}
-		return result;
+		parts.add(result);
+		return concatenate(parts);
 	}
 
 	@Override
@@ -105,6 +184,9 @@ public class ComponentPresetDatabase extends Database<ComponentPreset> implement
 	@Override
 	public List<ComponentPreset> find(String manufacturer, String partNo) {
 		List<ComponentPreset> presets = new ArrayList<ComponentPreset>();
+		for( PresetCatalog catalog : catalogs ) {
+			presets.addAll(catalog.find(manufacturer, partNo));
+		}
 		for( ComponentPreset preset : list ) {
 			if ( preset.getManufacturer().getSimpleName().equals(manufacturer) && preset.getPartNo().equals(partNo) ) {
 				presets.add(preset);
@@ -119,4 +201,35 @@ public class ComponentPresetDatabase extends Database<ComponentPreset> implement
 		this.fireAddEvent(preset);
 	}
 
+	/**
+	 * Return an unmodifiable list of the elements of the given lists.  A single list
+	 * is returned as such.
+	 */
+	private static List<ComponentPreset> concatenate( final List<List<ComponentPreset>> parts ) {
+		if ( parts.size() == 1 ) {
+			return parts.get(0);
+		}
+		return new AbstractList<ComponentPreset>() {
+			@Override
+			public ComponentPreset get( int index ) {
+				for( List<ComponentPreset> part : parts ) {
+					if ( index < part.size() ) {
+						return part.get(index);
+					}
+					index -= part.size();
+				}
+				throw new IndexOutOfBoundsException("Index: " + index);
+			}
+
+			@Override
+			public int size() {
+				int size = 0;
+				for( List<ComponentPreset> part : parts ) {
+					size += part.size();
+				}
+				return size;
+			}
+		};
+	}
+
 }
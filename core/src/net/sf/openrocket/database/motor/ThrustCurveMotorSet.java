@@ -257,6 +257,17 @@ public class ThrustCurveMotorSet implements Comparable<ThrustCurveMotorSet> {
 	}
 	
 	
+	/**
+	 * Return whether the set contains the motor, without copying the motor list.
+	 * 
+	 * @param m	the motor to look for
+	 * @return	whether the motor is in this set
+	 */
+	public boolean containsMotor(ThrustCurveMotor m) {
+		return motors.contains(m);
+	}
+	
+	
 	/**
 	 * 
 	 * @return number of motor in the set
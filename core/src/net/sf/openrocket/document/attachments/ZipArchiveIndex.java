@@ -0,0 +1,254 @@
+package net.sf.openrocket.document.attachments;
+
+import java.io.ByteArrayInputStream;
+import java.io.File;
+import java.io.FileNotFoundException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.URISyntaxException;
+import java.net.URL;
+import java.util.Enumeration;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipFile;
+import java.util.zip.ZipInputStream;
+
+import net.sf.openrocket.util.FileUtils;
+
+/**
+ * An index of the entries of a ZIP archive, shared by all attachments loaded from
+ * the same archive.
+ * <p>
+ * Archives on the local file system are read randomly through the central directory
+ * of {@link ZipFile}, so reading an entry does not require scanning the archive.  Other
+ * archives, such as example files inside a JAR, are read once sequentially and all their
+ * entries cached.  The bytes of the entries are kept in a cache bounded by total size,
+ * evicting the least recently used entries first.
+ * <p>
+ * If the archive file is modified, for example when the document is saved over it,
+ * the index and the cache are rebuilt on the next access.
+ */
+public class ZipArchiveIndex {
+
+	/** The default maximum number of bytes cached per archive. */
+	public static final long DEFAULT_CACHE_SIZE = 32 * 1024 * 1024;
+
+	private final URL zipFileLocation;
+	private final File zipFile;
+	private final long maxCacheSize;
+
+	private Set<String> entryNames = null;
+	private long indexedLastModified;
+	private long indexedLength;
+
+	private final LinkedHashMap<String, byte[]> cache = new LinkedHashMap<String, byte[]>(16, 0.75f, true);
+	private long cacheSize = 0;
+
+	private int archiveReads = 0;
+
+	public ZipArchiveIndex(URL zipFileLocation) {
+		this(zipFileLocation, DEFAULT_CACHE_SIZE);
+	}
+
+	/**
+	 * @param zipFileLocation	the location of the archive.
+	 * @param maxCacheSize		the maximum number of entry bytes to cache.
+	 */
+	public ZipArchiveIndex(URL zipFileLocation, long maxCacheSize) {
+		this.zipFileLocation = zipFileLocation;
+		this.zipFile = toFile(zipFileLocation);
+		this.maxCacheSize = maxCacheSize;
+	}
+
+	public URL getLocation() {
+		return zipFileLocation;
+	}
+
+	/**
+	 * Return the contents of an entry of the archive.
+	 *
+	 * @param name	the name of the entry.
+	 * @return		a stream backed by the bytes of the entry.
+	 * @throws FileNotFoundException	if the archive does not contain the entry.
+	 * @throws IOException				if the archive cannot be read.
+	 */
+	public synchronized InputStream getBytes(String name) throws FileNotFoundException, IOException {
+		checkIndex();
+
+		byte[] bytes = cache.get(name);
+		if (bytes == null) {
+			if (!entryNames.contains(name)) {
+				throw new FileNotFoundException("Unable to locate decal for name " + name);
+			}
+			bytes = (zipFile != null) ? readEntry(name) : readArchive(name);
+			cachePut(name, bytes);
+		}
+		return new ByteArrayInputStream(bytes);
+	}
+
+	/**
+	 * Return whether the archive contains an entry.
+	 */
+	public synchronized boolean contains(String name) throws IOException {
+		checkIndex();
+		return entryNames.contains(name);
+	}
+
+	/**
+	 * Return the number of times the archive contents has been read, for testing.
+	 */
+	synchronized int getArchiveReads() {
+		return archiveReads;
+	}
+
+
+	/**
+	 * Build the index if it has not been built or the archive file has been modified.
+	 */
+	private void checkIndex() throws IOException {
+		if (entryNames != null && (zipFile == null ||
+				(zipFile.lastModified() == indexedLastModified && zipFile.length() == indexedLength))) {
+			return;
+		}
+
+		entryNames = null;
+		cache.clear();
+		cacheSize = 0;
+
+		if (zipFile != null) {
+			indexedLastModified = zipFile.lastModified();
+			indexedLength = zipFile.length();
+			Set<String> names = new HashSet<String>();
+			ZipFile zip = new ZipFile(zipFile);
+			try {
+				Enumeration<? extends ZipEntry> entries = zip.entries();
+				while (entries.hasMoreElements()) {
+					names.add(entries.nextElement().getName());
+				}
+			} finally {
+				zip.close();
+			}
+			entryNames = names;
+		} else {
+			readArchive(null);
+		}
+	}
+
+	/**
+	 * Read an entry randomly from the archive file.  While the archive is open, the other
+	 * entries that are not cached are read into the cache as far as they fit, so that
+	 * loading many attachments opens the archive only once.
+	 */
+	private byte[] readEntry(String name) throws IOException {
+		archiveReads++;
+		ZipFile zip = new ZipFile(zipFile);
+		try {
+			ZipEntry entry = zip.getEntry(name);
+			if (entry == null) {
+				throw new FileNotFoundException("Unable to locate decal for name " + name);
+			}
+			byte[] bytes = readEntry(zip, entry);
+
+			Enumeration<? extends ZipEntry> entries = zip.entries();
+			while (entries.hasMoreElements()) {
+				ZipEntry e = entries.nextElement();
+				if (e.isDirectory() || e.getName().equals(name) || cache.containsKey(e.getName()) ||
+						isDocument(e.getName())) {
+					continue;
+				}
+				if (e.getSize() < 0 || cacheSize + bytes.length + e.getSize() > maxCacheSize) {
+					continue;
+				}
+				cachePut(e.getName(), readEntry(zip, e));
+			}
+			return bytes;
+		} finally {
+			zip.close();
+		}
+	}
+
+	private static byte[] readEntry(ZipFile zip, ZipEntry entry) throws IOException {
+		InputStream is = zip.getInputStream(entry);
+		try {
+			return FileUtils.readBytes(is);
+		} finally {
+			is.close();
+		}
+	}
+
+	/**
+	 * Return whether an entry is the document itself rather than an attachment.
+	 */
+	private static boolean isDocument(String name) {
+		return name.matches(".*\\.([oO][rR][kK]|[rR][kK][tT])$");
+	}
+
+	/**
+	 * Read the whole archive sequentially, indexing and caching all entries.
+	 *
+	 * @param name	the entry to return, or <code>null</code>.
+	 * @return		the bytes of the named entry, or <code>null</code> if not found or not requested.
+	 */
+	private byte[] readArchive(String name) throws IOException {
+		archiveReads++;
+		Set<String> names = new HashSet<String>();
+		byte[] found = null;
+		ZipInputStream zis = new ZipInputStream(zipFileLocation.openStream());
+		try {
+			ZipEntry entry = zis.getNextEntry();
+			while (entry != null) {
+				String entryName = entry.getName();
+				names.add(entryName);
+				if (!entry.isDirectory() && (entryName.equals(name) || !isDocument(entryName))) {
+					byte[] bytes = FileUtils.readBytes(zis);
+					if (entryName.equals(name)) {
+						found = bytes;
+					}
+					cachePut(entryName, bytes);
+				}
+				entry = zis.getNextEntry();
+			}
+		} finally {
+			zis.close();
+		}
+		entryNames = names;
+		return found;
+	}
+
+	private void cachePut(String name, byte[] bytes) {
+		byte[] old = cache.put(name, bytes);
+		if (old != null) {
+			cacheSize -= old.length;
+		}
+		cacheSize += bytes.length;
+
+		Iterator<Map.Entry<String, byte[]>> iterator = cache.entrySet().iterator();
+		while (cacheSize > maxCacheSize && iterator.hasNext()) {
+			Map.Entry<String, byte[]> eldest = iterator.next();
+			if (eldest.getKey().equals(name)) {
+				// Keep the most recent entry even if it alone exceeds the limit
+				continue;
+			}
+			cacheSize -= eldest.getValue().length;
+			iterator.remove();
+		}
+	}
+
+	private static File toFile(URL url) {
+		if (!"file".equals(url.getProtocol())) {
+			return null;
+		}
+		try {
+			return new File(url.toURI());
+		} catch (URISyntaxException e) {
+			return new File(url.getPath());
+		} catch (IllegalArgumentException e) {
+			return null;
+		}
+	}
+
+}
@@ -0,0 +1,110 @@
+package net.sf.openrocket.file;
+
+import java.io.BufferedOutputStream;
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+
+import net.sf.openrocket.document.Simulation;
+import net.sf.openrocket.simulation.FlightData;
+import net.sf.openrocket.simulation.FlightDataType;
+import net.sf.openrocket.unit.Unit;
+import net.sf.openrocket.util.ParallelTasks;
+
+/**
+ * Exports the data of many simulations at once, each into its own file.  The files
+ * are written in parallel, as formatting the data is usually the bottleneck rather
+ * than the disk.
+ */
+public class BatchExport {
+
+	private static final int BUFFER_SIZE = 65536;
+
+	/**
+	 * Writes the data of a single simulation to a stream.  Implementations must be
+	 * safe to call from several threads at once.
+	 */
+	public interface SimulationExporter {
+		/**
+		 * Export the data of the simulation.  The stream is closed afterwards.
+		 */
+		public void export(OutputStream stream, Simulation simulation) throws IOException;
+	}
+
+	/**
+	 * Return an exporter writing the main branch of each simulation as CSV.
+	 * See {@link CSVExport#exportCSV} for the parameters.
+	 */
+	public static SimulationExporter csv(final FlightDataType[] fields, final Unit[] units,
+			final String fieldSeparator, final String commentStarter, final boolean simulationComments,
+			final boolean fieldComments, final boolean eventComments) {
+		return new SimulationExporter() {
+			@Override
+			public void export(OutputStream stream, Simulation simulation) throws IOException {
+				FlightData data = simulation.getSimulatedData();
+				if (data == null || data.getBranchCount() == 0) {
+					throw new IllegalArgumentException("Simulation " + simulation.getName() + " has no data");
+				}
+				CSVExport.exportCSV(stream, simulation, data.getBranch(0), fields, units, fieldSeparator,
+						commentStarter, simulationComments, fieldComments, eventComments);
+			}
+		};
+	}
+
+	/**
+	 * Return an exporter writing all branches of each simulation in the binary columnar
+	 * format of {@link BinaryExport}.
+	 */
+	public static SimulationExporter binary(final FlightDataType[] fields, final Unit[] units) {
+		return new SimulationExporter() {
+			@Override
+			public void export(OutputStream stream, Simulation simulation) throws IOException {
+				BinaryExport.exportBinary(stream, simulation, fields, units);
+			}
+		};
+	}
+
+	/**
+	 * Export the simulations into the corresponding files.  If any export fails, the
+	 * remaining exports are cancelled and the first failure is thrown.
+	 *
+	 * @param simulations	the simulations to export.
+	 * @param files			the files to write, one for each simulation.
+	 * @param exporter		the exporter writing the files.
+	 * @param threadCount	the number of files to write in parallel.
+	 * @throws IOException	if an I/O exception occurs.
+	 * @throws InterruptedException	if the export was interrupted.
+	 */
+	public static void exportAll(List<Simulation> simulations, List<File> files,
+			final SimulationExporter exporter, int threadCount) throws IOException, InterruptedException {
+
+		if (simulations.size() != files.size()) {
+			throw new IllegalArgumentException("simulations and files lengths must be equal " +
+					"(" + simulations.size() + " vs " + files.size() + ")");
+		}
+
+		List<Callable<Void>> tasks = new ArrayList<Callable<Void>>();
+		for (int i = 0; i < simulations.size(); i++) {
+			final Simulation simulation = simulations.get(i);
+			final File file = files.get(i);
+			tasks.add(new Callable<Void>() {
+				@Override
+				public Void call() throws IOException {
+					OutputStream os = new BufferedOutputStream(new FileOutputStream(file), BUFFER_SIZE);
+					try {
+						exporter.export(os, simulation);
+					} finally {
+						os.close();
+					}
+					return null;
+				}
+			});
+		}
+		ParallelTasks.invokeAll("BatchExportWorker", threadCount, tasks, IOException.class);
+	}
+
+}
@@ -0,0 +1,138 @@
+package net.sf.openrocket.file;
+
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.util.Collections;
+import java.util.List;
+
+import net.sf.openrocket.document.Simulation;
+import net.sf.openrocket.simulation.FlightData;
+import net.sf.openrocket.simulation.FlightDataBranch;
+import net.sf.openrocket.simulation.FlightDataType;
+import net.sf.openrocket.simulation.FlightEvent;
+import net.sf.openrocket.unit.Unit;
+
+/**
+ * Exports simulation data in a compact, self-describing binary columnar format.
+ * Unlike CSV the values are stored exactly and can be read without parsing text,
+ * which makes the format suitable for large amounts of data such as Monte-Carlo output.
+ * <p>
+ * All numbers are big-endian and strings are in modified UTF-8 as written by
+ * {@link DataOutputStream#writeUTF(String)}.  The layout is:
+ * <pre>
+ * bytes    "ORFD"
+ * int      format version (1)
+ * UTF      simulation name
+ * int      number of branches
+ * for each branch:
+ *   UTF      branch name
+ *   int      number of data points n
+ *   int      number of columns
+ *   for each column:
+ *     UTF      data type name
+ *     UTF      data type symbol
+ *     UTF      unit of the values
+ *   int      number of events
+ *   for each event:
+ *     UTF      event type name
+ *     double   event time (s)
+ *   for each column:
+ *     double[n] values in the unit of the column
+ * </pre>
+ * Columns for data types that are not available in a branch are filled with NaN.
+ */
+public class BinaryExport {
+
+	/** The magic bytes at the beginning of the file. */
+	public static final byte[] MAGIC = { 'O', 'R', 'F', 'D' };
+
+	/** The current version of the format. */
+	public static final int VERSION = 1;
+
+	private static final int BUFFER_SIZE = 8192;
+
+	/**
+	 * Exports all branches of the simulation data into the binary columnar format.
+	 *
+	 * @param stream		the stream to write to.
+	 * @param simulation	the simulation being exported.
+	 * @param fields		the fields to export (in appropriate order).
+	 * @param units			the units of the fields.
+	 * @throws IOException	if an I/O exception occurs.
+	 */
+	public static void exportBinary(OutputStream stream, Simulation simulation,
+			FlightDataType[] fields, Unit[] units) throws IOException {
+
+		if (fields.length != units.length) {
+			throw new IllegalArgumentException("fields and units lengths must be equal " +
+					"(" + fields.length + " vs " + units.length + ")");
+		}
+
+		DataOutputStream out = new DataOutputStream(stream);
+		try {
+			FlightData data = simulation.getSimulatedData();
+			int branchCount = (data == null) ? 0 : data.getBranchCount();
+
+			out.write(MAGIC);
+			out.writeInt(VERSION);
+			out.writeUTF(simulation.getName());
+			out.writeInt(branchCount);
+
+			ByteBuffer buffer = ByteBuffer.allocate(BUFFER_SIZE);
+			for (int b = 0; b < branchCount; b++) {
+				writeBranch(out, buffer, data.getBranch(b), fields, units);
+			}
+			out.flush();
+		} finally {
+			try {
+				out.close();
+			} catch (Exception e) {
+				e.printStackTrace();
+			}
+		}
+	}
+
+
+	private static void writeBranch(DataOutputStream out, ByteBuffer buffer, FlightDataBranch branch,
+			FlightDataType[] fields, Unit[] units) throws IOException {
+
+		int n = branch.getLength();
+
+		// Schema
+		out.writeUTF(branch.getBranchName());
+		out.writeInt(n);
+		out.writeInt(fields.length);
+		for (int i = 0; i < fields.length; i++) {
+			out.writeUTF(fields[i].getName());
+			out.writeUTF(fields[i].getSymbol());
+			out.writeUTF(units[i].getUnit());
+		}
+
+		// Flight events in occurrence order
+		List<FlightEvent> events = branch.getEvents();
+		Collections.sort(events);
+		out.writeInt(events.size());
+		for (FlightEvent e : events) {
+			out.writeUTF(e.getType().name());
+			out.writeDouble(e.getTime());
+		}
+
+		// Column data
+		for (int i = 0; i < fields.length; i++) {
+			List<Double> values = branch.getView(fields[i]);
+			buffer.clear();
+			for (int pos = 0; pos < n; pos++) {
+				if (!buffer.hasRemaining()) {
+					out.write(buffer.array(), 0, buffer.position());
+					buffer.clear();
+				}
+				double value = (values == null) ? Double.NaN : units[i].toUnit(values.get(pos));
+				buffer.putDouble(value);
+			}
+			out.write(buffer.array(), 0, buffer.position());
+		}
+	}
+
+}
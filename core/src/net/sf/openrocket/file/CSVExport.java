@@ -97,14 +97,14 @@ public class CSVExport {
 		Collections.sort(events);
 		int eventPosition = 0;
 		
-		// List of field values
+		// List of field values, read without copying (null for fields not in the branch)
 		List<List<Double>> fieldValues = new ArrayList<List<Double>>();
 		for (FlightDataType t : fields) {
-			fieldValues.add(branch.get(t));
+			fieldValues.add(branch.getView(t));
 		}
 		
 		// Time variable
-		List<Double> time = branch.get(FlightDataType.TYPE_TIME);
+		List<Double> time = branch.getView(FlightDataType.TYPE_TIME);
 		if (eventComments && time == null) {
 			// If time information is not available, print events at beginning of file
 			for (FlightEvent e : events) {
@@ -114,6 +114,9 @@ public class CSVExport {
 		}
 		
 
+		// Each line is formatted into the same buffer to avoid creating strings per value
+		StringBuilder line = new StringBuilder(16 * fields.length);
+		
 		// Loop over all data points
 		for (int pos = 0; pos < n; pos++) {
 			
@@ -129,13 +132,16 @@ public class CSVExport {
 			}
 			
 			// Store CSV line
+			line.setLength(0);
 			for (int i = 0; i < fields.length; i++) {
-				double value = fieldValues.get(i).get(pos);
-				writer.print(TextUtil.doubleToString(units[i].toUnit(value)));
+				List<Double> values = fieldValues.get(i);
+				double value = (values == null) ? Double.NaN : values.get(pos);
+				TextUtil.appendDouble(line, units[i].toUnit(value));
 				if (i < fields.length - 1) {
-					writer.print(fieldSeparator);
+					line.append(fieldSeparator);
 				}
 			}
+			writer.append(line);
 			writer.println();
 			
 		}
@@ -19,12 +19,14 @@ import net.sf.openrocket.file.openrocket.importt.OpenRocketLoader;
 import net.sf.openrocket.file.rocksim.importt.RocksimLoader;
 import net.sf.openrocket.util.ArrayUtils;
 import net.sf.openrocket.util.TextUtil;
+import net.sf.openrocket.util.UncloseableInputStream;
 
 
 /**
  * A rocket loader that auto-detects the document type and uses the appropriate
  * loading.  Supports loading of GZIPed files as well with transparent
- * uncompression.
+ * uncompression.  Compressed files are by default decompressed on a separate
+ * thread while the decompressed data is parsed, see {@link ReadAheadInputStream}.
  * 
  * @author Sampo Niskanen <sampo.niskanen@iki.fi>
  */
@@ -50,6 +52,7 @@ public class GeneralRocketLoader {
 	private final MotorFinder motorFinder;
 	private AttachmentFactory attachmentFactory;
 	private final OpenRocketDocument doc = OpenRocketDocumentFactory.createEmptyRocket();
+	private boolean readAhead = true;
 	
 	public GeneralRocketLoader(File file) {
 		this.baseFile = file;
@@ -103,6 +106,18 @@ public class GeneralRocketLoader {
 		return warnings;
 	}
 	
+	public boolean isReadAhead() {
+		return readAhead;
+	}
+	
+	/**
+	 * Set whether compressed files are decompressed on a separate thread while parsing.
+	 * Enabled by default.
+	 */
+	public void setReadAhead(boolean readAhead) {
+		this.readAhead = readAhead;
+	}
+	
 	/**
 	 * This method determines the type file contained in the stream then calls the appropriate loading mecahnism.
 	 * 
@@ -141,7 +156,12 @@ public class GeneralRocketLoader {
 		if (buffer[0] == GZIP_SIGNATURE[0] && buffer[1] == GZIP_SIGNATURE[1]) {
 			isContainer = false;
 			setAttachmentFactory();
-			loadRocket(new GZIPInputStream(source));
+			InputStream in = decompress(new GZIPInputStream(new UncloseableInputStream(source)));
+			try {
+				loadRocket(in);
+			} finally {
+				in.close();
+			}
 			return;
 		}
 		
@@ -155,10 +175,13 @@ public class GeneralRocketLoader {
 			if (entry == null) {
 				throw new RocketLoadException("Unsupported or corrupt file.");
 			}
-			if (entry.getName().matches(".*\\.[oO][rR][kK]$")) {
-				loadRocket(in);
-			} else if (entry.getName().matches(".*\\.[rR][kK][tT]$")) {
-				loadRocket(in);
+			if (entry.getName().matches(".*\\.[oO][rR][kK]$") || entry.getName().matches(".*\\.[rR][kK][tT]$")) {
+				InputStream entryStream = decompress(new UncloseableInputStream(in));
+				try {
+					loadRocket(entryStream);
+				} finally {
+					entryStream.close();
+				}
 			}
 			in.close();
 			return;
@@ -171,6 +194,17 @@ public class GeneralRocketLoader {
 
 	}
 	
+	/**
+	 * Return a stream reading a decompressing stream ahead on a separate thread, if enabled.
+	 * Closing the returned stream closes the decompressing stream.
+	 */
+	private InputStream decompress(InputStream in) {
+		if (readAhead) {
+			return new ReadAheadInputStream(in);
+		}
+		return in;
+	}
+	
 	private void loadRocket(InputStream source) throws IOException, RocketLoadException {
 		
 		// Check for mark() support
@@ -0,0 +1,224 @@
+package net.sf.openrocket.file;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InterruptedIOException;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * An input stream that reads its source on a separate thread, ahead of the reader.
+ * This is used to decompress a file while the previously decompressed data is
+ * being parsed.
+ * <p>
+ * The data is passed between the threads in chunks through a bounded queue, so that
+ * at most a fixed number of chunks is read ahead.  The chunk buffers are recycled
+ * after the reader has consumed them.  An exception thrown by the source is rethrown
+ * to the reader once the data read before it has been consumed.
+ * <p>
+ * The stream is read by a single thread.  Closing the stream stops the reading thread
+ * and closes the source.
+ */
+public class ReadAheadInputStream extends InputStream {
+
+	private static final Logger log = LoggerFactory.getLogger(ReadAheadInputStream.class);
+
+	public static final int DEFAULT_CHUNK_SIZE = 64 * 1024;
+	public static final int DEFAULT_CHUNK_COUNT = 4;
+
+	private static final AtomicInteger threadCount = new AtomicInteger();
+
+	/** A chunk of data, or the end of the data if length is negative. */
+	private static class Chunk {
+		private final byte[] data;
+		private int length;
+		private IOException exception;
+
+		Chunk(int size) {
+			data = new byte[size];
+		}
+	}
+
+
+	private final InputStream source;
+	private final BlockingQueue<Chunk> filled;
+	private final BlockingQueue<Chunk> empty;
+	private final Thread thread;
+
+	private Chunk current;
+	private int position;
+	private boolean eof = false;
+	private volatile boolean closed = false;
+
+
+	/**
+	 * Create a stream reading ahead in chunks of the default size.
+	 *
+	 * @param source	the stream to read, which is closed when this stream is closed.
+	 */
+	public ReadAheadInputStream(InputStream source) {
+		this(source, DEFAULT_CHUNK_SIZE, DEFAULT_CHUNK_COUNT);
+	}
+
+	/**
+	 * Create a stream reading ahead.
+	 *
+	 * @param source		the stream to read, which is closed when this stream is closed.
+	 * @param chunkSize		the size of the chunks passed to the reader.
+	 * @param chunkCount	the number of chunk buffers, at least two.
+	 */
+	public ReadAheadInputStream(InputStream source, int chunkSize, int chunkCount) {
+		if (chunkSize < 1 || chunkCount < 2) {
+			throw new IllegalArgumentException("chunkSize=" + chunkSize + " chunkCount=" + chunkCount);
+		}
+		this.source = source;
+		this.filled = new ArrayBlockingQueue<Chunk>(chunkCount);
+		this.empty = new ArrayBlockingQueue<Chunk>(chunkCount);
+		for (int i = 0; i < chunkCount; i++) {
+			empty.add(new Chunk(chunkSize));
+		}
+
+		thread = new Thread(new Runnable() {
+			@Override
+			public void run() {
+				readSource();
+			}
+		}, "ReadAhead-" + threadCount.incrementAndGet());
+		thread.setDaemon(true);
+		thread.start();
+	}
+
+
+	private void readSource() {
+		try {
+			while (!closed) {
+				Chunk chunk = empty.take();
+				chunk.exception = null;
+				try {
+					chunk.length = fill(chunk.data);
+				} catch (IOException e) {
+					chunk.length = -1;
+					chunk.exception = e;
+				} catch (RuntimeException e) {
+					chunk.length = -1;
+					chunk.exception = new IOException("Reading the source failed", e);
+				}
+				filled.put(chunk);
+				if (chunk.length < 0) {
+					return;
+				}
+			}
+		} catch (InterruptedException e) {
+			// Closed while waiting
+			log.debug("Read-ahead interrupted");
+		}
+	}
+
+	/**
+	 * Fill a buffer from the source, returning the number of bytes read or -1 at the
+	 * end of the data.
+	 */
+	private int fill(byte[] buffer) throws IOException {
+		int length = 0;
+		while (length < buffer.length) {
+			int n = source.read(buffer, length, buffer.length - length);
+			if (n < 0) {
+				return (length > 0) ? length : -1;
+			}
+			length += n;
+		}
+		return length;
+	}
+
+
+	/**
+	 * Return the current chunk having data available, or null at the end of the data.
+	 */
+	private Chunk chunk() throws IOException {
+		if (closed) {
+			throw new IOException("Stream closed");
+		}
+		if (eof) {
+			return null;
+		}
+		if (current != null && position < current.length) {
+			return current;
+		}
+		if (current != null) {
+			empty.add(current);
+			current = null;
+		}
+		Chunk next;
+		try {
+			next = filled.take();
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+			throw new InterruptedIOException("Interrupted while waiting for data");
+		}
+		if (next.length < 0) {
+			eof = true;
+			if (next.exception != null) {
+				throw next.exception;
+			}
+			return null;
+		}
+		current = next;
+		position = 0;
+		return current;
+	}
+
+	@Override
+	public int read() throws IOException {
+		Chunk chunk = chunk();
+		if (chunk == null) {
+			return -1;
+		}
+		return chunk.data[position++] & 0xFF;
+	}
+
+	@Override
+	public int read(byte[] b, int off, int len) throws IOException {
+		if (off < 0 || len < 0 || len > b.length - off) {
+			throw new IndexOutOfBoundsException();
+		}
+		if (len == 0) {
+			return 0;
+		}
+		Chunk chunk = chunk();
+		if (chunk == null) {
+			return -1;
+		}
+		int n = Math.min(len, chunk.length - position);
+		System.arraycopy(chunk.data, position, b, off, n);
+		position += n;
+		return n;
+	}
+
+	@Override
+	public int available() throws IOException {
+		if (closed || eof || current == null) {
+			return 0;
+		}
+		return current.length - position;
+	}
+
+	@Override
+	public void close() throws IOException {
+		if (closed) {
+			return;
+		}
+		closed = true;
+		thread.interrupt();
+		try {
+			thread.join();
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+		}
+		source.close();
+	}
+
+}
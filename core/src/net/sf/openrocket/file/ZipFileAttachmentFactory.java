@@ -3,19 +3,21 @@ package net.sf.openrocket.file;
 import java.net.URL;
 
 import net.sf.openrocket.document.Attachment;
+import net.sf.openrocket.document.attachments.ZipArchiveIndex;
 import net.sf.openrocket.document.attachments.ZipFileAttachment;
 
 public class ZipFileAttachmentFactory implements AttachmentFactory {
 	
-	private final URL zipFile;
+	// shared by all attachments of the archive, so the archive is indexed only once
+	private final ZipArchiveIndex archive;
 	
 	public ZipFileAttachmentFactory(URL zipFile) {
 		super();
-		this.zipFile = zipFile;
+		this.archive = new ZipArchiveIndex(zipFile);
 	}
 	
 	@Override
 	public Attachment getAttachment(String name) {
-		return new ZipFileAttachment(name, zipFile);
+		return new ZipFileAttachment(name, archive);
 	}
 }
@@ -5,7 +5,9 @@ import java.util.HashMap;
 import net.sf.openrocket.aerodynamics.WarningSet;
 import net.sf.openrocket.file.DocumentLoadingContext;
 import net.sf.openrocket.file.simplesax.AbstractElementHandler;
+import net.sf.openrocket.file.simplesax.ElementAttributes;
 import net.sf.openrocket.file.simplesax.ElementHandler;
+import net.sf.openrocket.file.simplesax.ElementViewHandler;
 import net.sf.openrocket.file.simplesax.PlainTextHandler;
 import net.sf.openrocket.simulation.FlightDataBranch;
 import net.sf.openrocket.simulation.FlightDataType;
@@ -13,15 +15,21 @@ import net.sf.openrocket.simulation.FlightEvent;
 import net.sf.openrocket.simulation.FlightEvent.Type;
 import net.sf.openrocket.simulation.customexpression.CustomExpression;
 import net.sf.openrocket.unit.UnitGroup;
+import net.sf.openrocket.util.TextUtil;
 
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
-class FlightDataBranchHandler extends AbstractElementHandler {
+/**
+ * Handles the data points and events of a flight data branch.  The data points are
+ * parsed directly from the content buffers of the parser.
+ */
+class FlightDataBranchHandler extends AbstractElementHandler implements ElementViewHandler {
 	@SuppressWarnings("unused")
 	private final DocumentLoadingContext context;
 	private final FlightDataType[] types;
 	private final FlightDataBranch branch;
+	private final double[] values;
 	
 	private static final Logger log = LoggerFactory.getLogger(FlightDataBranchHandler.class);
 	private final SingleSimulationHandler simHandler;
@@ -40,6 +48,7 @@ class FlightDataBranchHandler extends AbstractElementHandler {
 		
 		// TODO: LOW: May throw an IllegalArgumentException
 		branch = new FlightDataBranch(name, types);
+		values = new double[types.length];
 	}
 	
 	/**
@@ -100,6 +109,12 @@ class FlightDataBranchHandler extends AbstractElementHandler {
 	@Override
 	public ElementHandler openElement(String element, HashMap<String, String> attributes,
 			WarningSet warnings) {
+		return openElement(element, (ElementAttributes) null, warnings);
+	}
+	
+	@Override
+	public ElementHandler openElement(String element, ElementAttributes attributes,
+			WarningSet warnings) {
 		
 		if (element.equals("datapoint"))
 			return PlainTextHandler.INSTANCE;
@@ -114,6 +129,12 @@ class FlightDataBranchHandler extends AbstractElementHandler {
 	@Override
 	public void closeElement(String element, HashMap<String, String> attributes,
 			String content, WarningSet warnings) {
+		closeElement(element, new ElementAttributes(attributes), content, warnings);
+	}
+	
+	@Override
+	public void closeElement(String element, ElementAttributes attributes,
+			CharSequence content, WarningSet warnings) {
 		
 		if (element.equals("event")) {
 			double time;
@@ -144,22 +165,31 @@ class FlightDataBranchHandler extends AbstractElementHandler {
 		// element == "datapoint"
 		
 		
-		// Check line format
-		String[] split = content.split(",");
-		if (split.length != types.length) {
-			warnings.add("Data point did not contain correct amount of values, ignoring point.");
-			return;
-		}
-		
-		// Parse the doubles
-		double[] values = new double[split.length];
-		for (int i = 0; i < values.length; i++) {
+		// Parse the comma-separated doubles
+		int count = 0;
+		int start = 0;
+		int length = content.length();
+		for (int i = 0; i <= length; i++) {
+			if (i < length && content.charAt(i) != ',')
+				continue;
+			
+			// Check line format
+			if (count >= values.length) {
+				warnings.add("Data point did not contain correct amount of values, ignoring point.");
+				return;
+			}
 			try {
-				values[i] = DocumentConfig.stringToDouble(split[i]);
+				values[count] = TextUtil.parseDouble(content, start, i);
 			} catch (NumberFormatException e) {
 				warnings.add("Data point format error, ignoring point.");
 				return;
 			}
+			count++;
+			start = i + 1;
+		}
+		if (count != values.length) {
+			warnings.add("Data point did not contain correct amount of values, ignoring point.");
+			return;
 		}
 		
 		// Add point to branch
@@ -168,4 +198,10 @@ class FlightDataBranchHandler extends AbstractElementHandler {
 			branch.setValue(types[i], values[i]);
 		}
 	}
-}
\ No newline at end of file
+	
+	@Override
+	public void endHandler(String element, ElementAttributes attributes,
+			CharSequence content, WarningSet warnings) {
+		// No-op
+	}
+}
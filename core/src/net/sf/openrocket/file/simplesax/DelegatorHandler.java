@@ -1,8 +1,8 @@
 package net.sf.openrocket.file.simplesax;
 
 import java.util.ArrayDeque;
+import java.util.ArrayList;
 import java.util.Deque;
-import java.util.HashMap;
 
 import org.xml.sax.Attributes;
 import org.xml.sax.SAXException;
@@ -13,13 +13,22 @@ import net.sf.openrocket.aerodynamics.WarningSet;
 /**
  * The actual SAX handler class.  Contains the necessary methods for parsing the SAX source.
  * Delegates the actual content parsing to {@link ElementHandler} objects.
+ * <p>
+ * The content buffers and attributes are kept per element depth and reused for the
+ * following elements at the same depth.  Strings and maps are only created for handlers
+ * that are not {@link ElementViewHandler}s.  Whitespace between the subelements of an
+ * element is not stored, as elements may contain either text or subelements.
  */
 class DelegatorHandler extends DefaultHandler {
 	private final WarningSet warnings;
 	
 	private final Deque<ElementHandler> handlerStack = new ArrayDeque<ElementHandler>();
-	private final Deque<StringBuilder> elementData = new ArrayDeque<StringBuilder>();
-	private final Deque<HashMap<String, String>> elementAttributes = new ArrayDeque<HashMap<String, String>>();
+	
+	// Buffers per element depth, index 0 is outside the root element
+	private final ArrayList<StringBuilder> elementData = new ArrayList<StringBuilder>();
+	private final ArrayList<ElementAttributes> elementAttributes = new ArrayList<ElementAttributes>();
+	private final ArrayList<Boolean> hasChildren = new ArrayList<Boolean>();
+	private int depth = 0;
 	
 	// Ignore all elements as long as ignore > 0
 	private int ignore = 0;
@@ -29,6 +38,8 @@ class DelegatorHandler extends DefaultHandler {
 		this.warnings = warnings;
 		handlerStack.add(initialHandler);
 		elementData.add(new StringBuilder()); // Just in case
+		elementAttributes.add(new ElementAttributes());
+		hasChildren.add(Boolean.FALSE);
 	}
 	
 	
@@ -45,24 +56,39 @@ class DelegatorHandler extends DefaultHandler {
 		}
 		
 		// Add layer to data stacks
-		elementData.push(new StringBuilder());
-		elementAttributes.push(copyAttributes(attributes));
+		hasChildren.set(depth, Boolean.TRUE);
+		depth++;
+		if (depth == elementData.size()) {
+			elementData.add(new StringBuilder());
+			elementAttributes.add(new ElementAttributes());
+			hasChildren.add(Boolean.FALSE);
+		} else {
+			elementData.get(depth).setLength(0);
+			hasChildren.set(depth, Boolean.FALSE);
+		}
+		ElementAttributes attr = elementAttributes.get(depth);
+		attr.set(attributes);
 		
 		// Call the handler
 		ElementHandler h = handlerStack.peek();
 		assert h != null;
-		h = h.openElement(localName, elementAttributes.peek(), warnings);
+		if (h instanceof ElementViewHandler) {
+			h = ((ElementViewHandler) h).openElement(localName, attr, warnings);
+		} else {
+			h = h.openElement(localName, attr.toMap(), warnings);
+		}
 		if (h != null) {
 			handlerStack.push(h);
 		} else {
 			// Start ignoring elements
+			depth--;
 			ignore++;
 		}
 	}
 	
 	
 	/**
-	 * Stores encountered characters in the elementData stack.
+	 * Stores encountered characters in the buffer of the current element.
 	 */
 	@Override
 	public void characters(char[] chars, int start, int length) {
@@ -70,9 +96,11 @@ class DelegatorHandler extends DefaultHandler {
 		if (ignore > 0)
 			return;
 		
-		StringBuilder sb = elementData.peek();
-		assert sb != null;
-		sb.append(chars, start, length);
+		// Skip indentation between subelements
+		if (hasChildren.get(depth) && isWhitespace(chars, start, length))
+			return;
+		
+		elementData.get(depth).append(chars, start, length);
 	}
 	
 	
@@ -89,26 +117,40 @@ class DelegatorHandler extends DefaultHandler {
 		}
 		
 		// Remove data from stack
-		String data = elementData.pop().toString(); // throws on error
-		HashMap<String, String> attr = elementAttributes.pop();
+		StringBuilder data = elementData.get(depth);
+		ElementAttributes attr = elementAttributes.get(depth);
+		depth--;
+		String content = null;
 		
 		// Remove last handler and call the next one
 		ElementHandler h;
 		
 		h = handlerStack.pop();
-		h.endHandler(localName, attr, data, warnings);
+		if (h instanceof ElementViewHandler) {
+			((ElementViewHandler) h).endHandler(localName, attr, data, warnings);
+		} else {
+			content = data.toString();
+			h.endHandler(localName, attr.toMap(), content, warnings);
+		}
 		
 		h = handlerStack.peek();
 		assert h != null;
-		h.closeElement(localName, attr, data, warnings);
+		if (h instanceof ElementViewHandler) {
+			((ElementViewHandler) h).closeElement(localName, attr, data, warnings);
+		} else {
+			if (content == null) {
+				content = data.toString();
+			}
+			h.closeElement(localName, attr.toMap(), content, warnings);
+		}
 	}
 	
 	
-	private static HashMap<String, String> copyAttributes(Attributes atts) {
-		HashMap<String, String> ret = new HashMap<>();
-		for (int i = 0; i < atts.getLength(); i++) {
-			ret.put(atts.getLocalName(i), atts.getValue(i));
+	private static boolean isWhitespace(char[] chars, int start, int length) {
+		for (int i = start; i < start + length; i++) {
+			if (!Character.isWhitespace(chars[i]))
+				return false;
 		}
-		return ret;
+		return true;
 	}
 }
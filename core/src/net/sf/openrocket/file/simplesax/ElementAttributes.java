@@ -0,0 +1,127 @@
+package net.sf.openrocket.file.simplesax;
+
+import java.util.HashMap;
+import java.util.Map;
+
+import org.xml.sax.Attributes;
+
+/**
+ * The attributes of an XML element, as passed to an {@link ElementViewHandler}.
+ * <p>
+ * The attribute values are the strings produced by the XML parser, no copies are made.
+ * The object itself is reused by the parser for subsequent elements at the same depth,
+ * so it is only valid during the handler call it is passed to and must not be retained.
+ * The map returned by {@link #toMap()} is a new object for each element and may be retained.
+ */
+public final class ElementAttributes {
+
+	private String[] names = new String[8];
+	private String[] values = new String[8];
+	private int size;
+	private HashMap<String, String> map;
+
+
+	ElementAttributes() {
+	}
+
+	/**
+	 * Create attributes containing the entries of a map.
+	 */
+	public ElementAttributes(Map<String, String> attributes) {
+		ensureCapacity(attributes.size());
+		for (Map.Entry<String, String> e : attributes.entrySet()) {
+			names[size] = e.getKey();
+			values[size] = e.getValue();
+			size++;
+		}
+	}
+
+	/**
+	 * Replace the contents with the attributes of a SAX element.
+	 */
+	void set(Attributes attributes) {
+		int n = attributes.getLength();
+		ensureCapacity(n);
+		for (int i = 0; i < n; i++) {
+			names[i] = attributes.getLocalName(i);
+			values[i] = attributes.getValue(i);
+		}
+		for (int i = n; i < size; i++) {
+			names[i] = null;
+			values[i] = null;
+		}
+		size = n;
+		map = null;
+	}
+
+	private void ensureCapacity(int n) {
+		if (n > names.length) {
+			int length = Math.max(n, 2 * names.length);
+			String[] newNames = new String[length];
+			String[] newValues = new String[length];
+			System.arraycopy(names, 0, newNames, 0, size);
+			System.arraycopy(values, 0, newValues, 0, size);
+			names = newNames;
+			values = newValues;
+		}
+	}
+
+
+	public int size() {
+		return size;
+	}
+
+	public boolean isEmpty() {
+		return size == 0;
+	}
+
+	public String getName(int index) {
+		checkIndex(index);
+		return names[index];
+	}
+
+	public String getValue(int index) {
+		checkIndex(index);
+		return values[index];
+	}
+
+	/**
+	 * Return the value of an attribute by its local name, or <code>null</code> if the
+	 * element does not have the attribute.
+	 */
+	public String get(String name) {
+		// Search backwards so that the last duplicate wins, as in the map
+		for (int i = size - 1; i >= 0; i--) {
+			if (name.equals(names[i])) {
+				return values[i];
+			}
+		}
+		return null;
+	}
+
+	/**
+	 * Return the attributes as a map from local names to values, as passed to
+	 * {@link ElementHandler} methods.  The same map is returned for all calls concerning
+	 * one element.
+	 */
+	public HashMap<String, String> toMap() {
+		if (map == null) {
+			map = new HashMap<String, String>();
+			for (int i = 0; i < size; i++) {
+				map.put(names[i], values[i]);
+			}
+		}
+		return map;
+	}
+
+	private void checkIndex(int index) {
+		if (index < 0 || index >= size) {
+			throw new IndexOutOfBoundsException("index=" + index + " size=" + size);
+		}
+	}
+
+	@Override
+	public String toString() {
+		return toMap().toString();
+	}
+}
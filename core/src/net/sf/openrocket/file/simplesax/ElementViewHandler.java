@@ -0,0 +1,45 @@
+package net.sf.openrocket.file.simplesax;
+
+import net.sf.openrocket.aerodynamics.WarningSet;
+
+import org.xml.sax.SAXException;
+
+
+/**
+ * An element handler that receives the attributes and textual content of elements as
+ * views of buffers owned by the parser, instead of a new map and string for each
+ * element.  {@link SimpleSAX} calls these methods instead of the corresponding
+ * {@link ElementHandler} methods, which are still used by other callers.
+ * <p>
+ * The attributes and content are reused for later elements, so they are only valid
+ * during the call and must be copied (e.g. using {@link ElementAttributes#toMap()} or
+ * <code>content.toString()</code>) if they are needed afterwards.  This is intended for
+ * handlers of elements that occur in large numbers, such as flight data points.
+ */
+public interface ElementViewHandler extends ElementHandler {
+
+	/**
+	 * Called when an opening tag of a contained element is encountered.
+	 *
+	 * @see ElementHandler#openElement(String, java.util.HashMap, WarningSet)
+	 */
+	public ElementHandler openElement(String element, ElementAttributes attributes,
+			WarningSet warnings) throws SAXException;
+
+	/**
+	 * Called when a closing tag of a contained element is encountered.
+	 *
+	 * @see ElementHandler#closeElement(String, java.util.HashMap, String, WarningSet)
+	 */
+	public void closeElement(String element, ElementAttributes attributes,
+			CharSequence content, WarningSet warnings) throws SAXException;
+
+	/**
+	 * Called when the current element that this handler is handling is closed.
+	 *
+	 * @see ElementHandler#endHandler(String, java.util.HashMap, String, WarningSet)
+	 */
+	public void endHandler(String element, ElementAttributes attributes,
+			CharSequence content, WarningSet warnings) throws SAXException;
+
+}
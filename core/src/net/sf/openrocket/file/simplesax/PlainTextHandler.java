@@ -8,8 +8,11 @@ import net.sf.openrocket.aerodynamics.WarningSet;
 /**
  * An element handler that does not allow any sub-elements.  If any are encountered
  * a warning is generated and they are ignored.
+ * <p>
+ * The text content is handled by the parent handler, so no string of it is created
+ * for this handler.
  */
-public class PlainTextHandler extends AbstractElementHandler {
+public class PlainTextHandler extends AbstractElementHandler implements ElementViewHandler {
 	public static final PlainTextHandler INSTANCE = new PlainTextHandler();
 
 	private PlainTextHandler() {
@@ -27,5 +30,23 @@ public class PlainTextHandler extends AbstractElementHandler {
 			String content, WarningSet warnings) {
 		// Warning from openElement is sufficient.
 	}
+
+	@Override
+	public ElementHandler openElement(String element, ElementAttributes attributes,
+			WarningSet warnings) {
+		return openElement(element, (HashMap<String, String>) null, warnings);
+	}
+
+	@Override
+	public void closeElement(String element, ElementAttributes attributes,
+			CharSequence content, WarningSet warnings) {
+		// Warning from openElement is sufficient.
+	}
+
+	@Override
+	public void endHandler(String element, ElementAttributes attributes,
+			CharSequence content, WarningSet warnings) {
+		// No-op
+	}
 }
 
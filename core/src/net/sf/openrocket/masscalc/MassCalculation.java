@@ -1,12 +1,15 @@
 package net.sf.openrocket.masscalc;
 
 import java.util.ArrayList;
+import java.util.Collection;
 
 import net.sf.openrocket.motor.Motor;
 import net.sf.openrocket.motor.MotorConfiguration;
 import net.sf.openrocket.rocketcomponent.FlightConfiguration;
 import net.sf.openrocket.rocketcomponent.MotorMount;
 import net.sf.openrocket.rocketcomponent.RocketComponent;
+import net.sf.openrocket.simulation.MotorClusterState;
+import net.sf.openrocket.simulation.ThrustCurveTable;
 import net.sf.openrocket.util.Coordinate;
 import net.sf.openrocket.util.MathUtil;
 import net.sf.openrocket.util.Transformation;
@@ -74,7 +77,9 @@ public class MassCalculation {
 	}
 	
 	public MassCalculation copy( final RocketComponent _root, final Transformation _transform ){
-		return new MassCalculation( this.type, this.config, this.simulationTime, _root, _transform );
+		MassCalculation copy = new MassCalculation( this.type, this.config, this.simulationTime, _root, _transform );
+		copy.motorStates = this.motorStates;
+		return copy;
 	}
 		
 	public Coordinate getCM() {
@@ -159,6 +164,9 @@ public class MassCalculation {
 	final Transformation transform;
 	final Type type;
 	
+	// motor states of a simulation, whose resampled curves are used when available
+	Collection<MotorClusterState> motorStates = null;
+	
 	// center-of-mass only.
 	Coordinate centerOfMass = Coordinate.ZERO;
 	
@@ -195,15 +203,17 @@ public class MassCalculation {
 		double eachMass;
 		double eachCMx;  // CoM from beginning of motor
 		
+		final ThrustCurveTable curve = findThrustCurve( motorConfig );
+		
 		if ( this.type.includesMotorCasing && this.type.includesPropellant ){
-			eachMass = motor.getTotalMass( simulationTime );
-			eachCMx = motor.getCMx( simulationTime);
+			eachMass = (null == curve) ? motor.getTotalMass( simulationTime ) : curve.getTotalMass( simulationTime );
+			eachCMx = (null == curve) ? motor.getCMx( simulationTime) : curve.getCMx( simulationTime );
 		}else if( this.type.includesMotorCasing ) {
 			eachMass = motor.getTotalMass( Motor.PSEUDO_TIME_BURNOUT );
 			eachCMx = motor.getCMx( Motor.PSEUDO_TIME_BURNOUT );
 		} else {
-			final double eachMotorMass = motor.getTotalMass( simulationTime );
-			final double eachMotorCMx = motor.getCMx( simulationTime); // CoM from beginning of motor
+			final double eachMotorMass = (null == curve) ? motor.getTotalMass( simulationTime ) : curve.getTotalMass( simulationTime );
+			final double eachMotorCMx = (null == curve) ? motor.getCMx( simulationTime) : curve.getCMx( simulationTime ); // CoM from beginning of motor
 			final double eachCasingMass = motor.getBurnoutMass();
 			final double eachCasingCMx = motor.getBurnoutCGx();
 			
@@ -239,6 +249,22 @@ public class MassCalculation {
 		return this;
 	}
 	
+	/**
+	 * Return the resampled curve of the simulated motor of a motor configuration, or
+	 * null if not calculating for a simulation.
+	 */
+	private ThrustCurveTable findThrustCurve( final MotorConfiguration motorConfig ){
+		if( null == motorStates ){
+			return null;
+		}
+		for( MotorClusterState state : motorStates ){
+			if( state.getConfig() == motorConfig ){
+				return state.getThrustCurve();
+			}
+		}
+		return null;
+	}
+	
 	/**
 	 * Returns the mass and inertia data for this component and all subcomponents.
 	 * The inertia is returned relative to the CG, and the CG is in the coordinates
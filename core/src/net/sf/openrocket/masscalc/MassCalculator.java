@@ -105,6 +105,7 @@ public class MassCalculator implements Monitorable {
 		final FlightConfiguration config = status.getConfiguration();
 		final double time = status.getSimulationTime();
 		MassCalculation calculation= new MassCalculation( _type, config, time, config.getRocket(), Transformation.IDENTITY);
+		calculation.motorStates = status.getMotors();
 		
 		calculation.calculateAssembly();
 		RigidBody result = calculation.calculateMomentOfInertia();
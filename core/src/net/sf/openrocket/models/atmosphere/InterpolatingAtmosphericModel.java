@@ -6,40 +6,25 @@ package net.sf.openrocket.models.atmosphere;
  * 
  * @author Sampo Niskanen <sampo.niskanen@iki.fi>
  */
-public abstract class InterpolatingAtmosphericModel implements AtmosphericModel {
+public abstract class InterpolatingAtmosphericModel extends TabulatedAtmosphericModel {
 	/** Layer thickness of interpolated altitude. */
 	private static final double DELTA = 500;
 	
-	private AtmosphericConditions[] levels = null;
-	
 	
 	@Override
-	public AtmosphericConditions getConditions(double altitude) {
-		if (levels == null)
-			computeLayers();
-		
-		if (altitude <= 0)
-			return levels[0];
-		if (altitude >= DELTA * (levels.length - 1))
-			return levels[levels.length - 1];
-		
-		int n = (int) (altitude / DELTA);
-		double d = (altitude - n * DELTA) / DELTA;
-		AtmosphericConditions c = new AtmosphericConditions();
-		c.setTemperature(levels[n].getTemperature() * (1 - d) + levels[n + 1].getTemperature() * d);
-		c.setPressure(levels[n].getPressure() * (1 - d) + levels[n + 1].getPressure() * d);
-		
-		return c;
-	}
-	
-	
-	private void computeLayers() {
+	protected void computeTable() {
 		double max = getMaxAltitude();
 		int n = (int) (max / DELTA) + 1;
-		levels = new AtmosphericConditions[n];
+		double[] altitude = new double[n];
+		double[] temperature = new double[n];
+		double[] pressure = new double[n];
 		for (int i = 0; i < n; i++) {
-			levels[i] = getExactConditions(i * DELTA);
+			AtmosphericConditions c = getExactConditions(i * DELTA);
+			altitude[i] = i * DELTA;
+			temperature[i] = c.getTemperature();
+			pressure[i] = c.getPressure();
 		}
+		setTable(altitude, temperature, pressure);
 	}
 	
 	
@@ -0,0 +1,219 @@
+package net.sf.openrocket.models.atmosphere;
+
+import java.io.BufferedReader;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.Reader;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.Locale;
+
+import net.sf.openrocket.unit.Unit;
+import net.sf.openrocket.unit.UnitGroup;
+import net.sf.openrocket.util.Chars;
+
+/**
+ * An atmospheric model based on a measured temperature and pressure profile, such as
+ * a radiosonde sounding.  The conditions are linearly interpolated between the measured
+ * altitudes, which need not be uniformly spaced.
+ * <p>
+ * The profile is read from a delimited text file.  The values may be separated by commas,
+ * semicolons, tabs or spaces, and lines starting with <code>#</code> are ignored.  The
+ * first line names the columns; the altitude column is named <code>alt</code>,
+ * <code>height</code> or <code>hght</code>, the pressure column <code>pres</code> and
+ * the temperature column <code>temp</code>, or any name starting with these.  Other columns
+ * are ignored.  The unit of a column may follow its name, for example <code>height (ft)</code>,
+ * <code>pres[hPa]</code> or <code>temp_C</code>.  Without a unit the values are in meters,
+ * Pascals and Kelvins.  Rows with empty or <code>NaN</code> values are skipped.
+ */
+public class SoundingAtmosphericModel extends TabulatedAtmosphericModel {
+
+	private SoundingAtmosphericModel(double[] altitude, double[] temperature, double[] pressure) {
+		super(altitude, temperature, pressure);
+	}
+
+
+	/**
+	 * Load a sounding profile from a file in UTF-8.
+	 *
+	 * @param file	the file to read.
+	 * @return		the atmospheric model.
+	 * @throws IOException	if the file cannot be read or is not a valid profile.
+	 */
+	public static SoundingAtmosphericModel load(File file) throws IOException {
+		Reader reader = new InputStreamReader(new FileInputStream(file), StandardCharsets.UTF_8);
+		try {
+			return load(reader);
+		} finally {
+			reader.close();
+		}
+	}
+
+	/**
+	 * Load a sounding profile.  The reader is not closed.
+	 *
+	 * @param reader	the source of the profile.
+	 * @return			the atmospheric model.
+	 * @throws IOException	if the profile cannot be read or is not valid.
+	 */
+	public static SoundingAtmosphericModel load(Reader reader) throws IOException {
+		BufferedReader in = new BufferedReader(reader);
+
+		int altitudeColumn = -1;
+		int temperatureColumn = -1;
+		int pressureColumn = -1;
+		Unit altitudeUnit = UnitGroup.UNITS_DISTANCE.getUnit("m");
+		Unit temperatureUnit = UnitGroup.UNITS_TEMPERATURE.getUnit("K");
+		Unit pressureUnit = UnitGroup.UNITS_PRESSURE.getUnit("Pa");
+		boolean header = true;
+		ArrayList<double[]> rows = new ArrayList<double[]>();
+
+		String line;
+		int lineNumber = 0;
+		while ((line = in.readLine()) != null) {
+			lineNumber++;
+			line = line.trim();
+			if (line.length() == 0 || line.startsWith("#")) {
+				continue;
+			}
+			String[] cells = split(line);
+
+			if (header) {
+				for (int i = 0; i < cells.length; i++) {
+					String name = columnName(cells[i]);
+					String unit = columnUnit(cells[i], name);
+					if (name.startsWith("alt") || name.startsWith("height") || name.startsWith("hght")) {
+						altitudeColumn = i;
+						altitudeUnit = findUnit(UnitGroup.UNITS_DISTANCE, unit, altitudeUnit, lineNumber);
+					} else if (name.startsWith("pres")) {
+						pressureColumn = i;
+						pressureUnit = findUnit(UnitGroup.UNITS_PRESSURE, unit, pressureUnit, lineNumber);
+					} else if (name.startsWith("temp")) {
+						temperatureColumn = i;
+						temperatureUnit = findUnit(UnitGroup.UNITS_TEMPERATURE, unit, temperatureUnit, lineNumber);
+					}
+				}
+				if (altitudeColumn < 0 || pressureColumn < 0 || temperatureColumn < 0) {
+					throw new IOException("Line " + lineNumber + ": missing altitude, pressure or temperature column");
+				}
+				header = false;
+				continue;
+			}
+
+			double altitude = parse(cells, altitudeColumn, lineNumber);
+			double temperature = parse(cells, temperatureColumn, lineNumber);
+			double pressure = parse(cells, pressureColumn, lineNumber);
+			if (Double.isNaN(altitude) || Double.isNaN(temperature) || Double.isNaN(pressure)) {
+				continue;
+			}
+			temperature = temperatureUnit.fromUnit(temperature);
+			pressure = pressureUnit.fromUnit(pressure);
+			if (temperature <= 0 || pressure <= 0) {
+				throw new IOException("Line " + lineNumber + ": invalid temperature or pressure");
+			}
+			rows.add(new double[] { altitudeUnit.fromUnit(altitude), temperature, pressure });
+		}
+		if (rows.isEmpty()) {
+			throw new IOException("No sounding data found");
+		}
+
+		// Soundings are usually, but not necessarily, in ascending order
+		double[][] sorted = rows.toArray(new double[rows.size()][]);
+		Arrays.sort(sorted, new Comparator<double[]>() {
+			@Override
+			public int compare(double[] a, double[] b) {
+				return Double.compare(a[0], b[0]);
+			}
+		});
+		int n = 0;
+		for (int i = 0; i < sorted.length; i++) {
+			if (n > 0 && sorted[i][0] == sorted[n - 1][0]) {
+				continue;
+			}
+			sorted[n++] = sorted[i];
+		}
+
+		double[] altitude = new double[n];
+		double[] temperature = new double[n];
+		double[] pressure = new double[n];
+		for (int i = 0; i < n; i++) {
+			altitude[i] = sorted[i][0];
+			temperature[i] = sorted[i][1];
+			pressure[i] = sorted[i][2];
+		}
+		return new SoundingAtmosphericModel(altitude, temperature, pressure);
+	}
+
+
+	private static String[] split(String line) {
+		if (line.indexOf(',') >= 0 || line.indexOf(';') >= 0 || line.indexOf('\t') >= 0) {
+			String[] cells = line.split("[,;\t]", -1);
+			for (int i = 0; i < cells.length; i++) {
+				cells[i] = cells[i].trim();
+			}
+			return cells;
+		}
+		return line.split("\\s+");
+	}
+
+	/**
+	 * Return the leading letters of a header cell in lower case.
+	 */
+	private static String columnName(String cell) {
+		String s = cell.trim().toLowerCase(Locale.ENGLISH);
+		int end = 0;
+		while (end < s.length() && Character.isLetter(s.charAt(end))) {
+			end++;
+		}
+		return s.substring(0, end);
+	}
+
+	/**
+	 * Return the unit following the name in a header cell, or an empty string.
+	 */
+	private static String columnUnit(String cell, String name) {
+		String unit = cell.trim().substring(name.length()).trim();
+		return unit.replaceAll("^[\\s_(\\[]+|[\\s)\\]]+$", "");
+	}
+
+	private static Unit findUnit(UnitGroup group, String name, Unit defaultUnit, int lineNumber) throws IOException {
+		if (name.length() == 0) {
+			return defaultUnit;
+		}
+		String key = normalizeUnit(name);
+		if (key.equals("hpa")) {
+			key = "mbar";
+		}
+		for (int i = 0; i < group.getUnitCount(); i++) {
+			Unit unit = group.getUnit(i);
+			if (normalizeUnit(unit.getUnit()).equals(key)) {
+				return unit;
+			}
+		}
+		throw new IOException("Line " + lineNumber + ": unknown unit " + name);
+	}
+
+	private static String normalizeUnit(String unit) {
+		String s = unit.toLowerCase(Locale.ENGLISH).replace(String.valueOf(Chars.DEGREE), "");
+		if (s.startsWith("deg") && s.length() == 4) {
+			s = s.substring(3);
+		}
+		return s;
+	}
+
+	private static double parse(String[] cells, int column, int lineNumber) throws IOException {
+		if (column >= cells.length || cells[column].length() == 0) {
+			return Double.NaN;
+		}
+		try {
+			return Double.parseDouble(cells[column]);
+		} catch (NumberFormatException e) {
+			throw new IOException("Line " + lineNumber + ": invalid number " + cells[column]);
+		}
+	}
+
+}
@@ -0,0 +1,201 @@
+package net.sf.openrocket.models.atmosphere;
+
+import static net.sf.openrocket.models.atmosphere.AtmosphericConditions.R;
+
+/**
+ * An atmospheric model that linearly interpolates tabulated conditions between
+ * altitude levels, which need not be uniformly spaced.  Below the lowest and above the
+ * highest level the conditions of that level are used.
+ * <p>
+ * The table is stored as one array per quantity.  The primitive accessors such as
+ * {@link #getDensity(double)} do not allocate any objects, and return the same values as
+ * the corresponding methods of the {@link AtmosphericConditions} returned by
+ * {@link #getConditions(double)}.  The density and viscosity are not interpolated, as they
+ * are not linear in the altitude, but derived from the interpolated temperature and pressure.
+ * <p>
+ * Levels are located by binary search, starting from the level of the previous call, so
+ * consecutive calls at nearby altitudes take constant time.
+ */
+public class TabulatedAtmosphericModel implements AtmosphericModel {
+
+	/**
+	 * The tabulated values, replaced as a whole so that it may be built lazily by
+	 * subclasses and safely shared between threads.
+	 */
+	private static class Table {
+		private final double[] altitude;
+		private final double[] temperature;
+		private final double[] pressure;
+
+		private Table(double[] altitude, double[] temperature, double[] pressure) {
+			this.altitude = altitude.clone();
+			this.temperature = temperature.clone();
+			this.pressure = pressure.clone();
+		}
+	}
+
+	private volatile Table table = null;
+
+	/** Index of the level below the previously requested altitude, used as a search hint. */
+	private int hint = 0;
+
+
+	/**
+	 * Constructor for subclasses that provide the table later through
+	 * {@link #setTable(double[], double[], double[])}.
+	 */
+	protected TabulatedAtmosphericModel() {
+	}
+
+	/**
+	 * Construct a model from tabulated values.
+	 *
+	 * @param altitude		the altitudes of the levels in meters, strictly increasing.
+	 * @param temperature	the temperatures at the levels in Kelvins.
+	 * @param pressure		the pressures at the levels in Pascals.
+	 * @throws IllegalArgumentException	if the table is empty or not in order.
+	 */
+	public TabulatedAtmosphericModel(double[] altitude, double[] temperature, double[] pressure) {
+		setTable(altitude, temperature, pressure);
+	}
+
+
+	/**
+	 * Set the tabulated values.
+	 *
+	 * @see #TabulatedAtmosphericModel(double[], double[], double[])
+	 */
+	protected final void setTable(double[] altitude, double[] temperature, double[] pressure) {
+		if (altitude.length == 0 || altitude.length != temperature.length || altitude.length != pressure.length) {
+			throw new IllegalArgumentException("Invalid table lengths: altitude=" + altitude.length +
+					" temperature=" + temperature.length + " pressure=" + pressure.length);
+		}
+		for (int i = 1; i < altitude.length; i++) {
+			if (!(altitude[i] > altitude[i - 1])) {
+				throw new IllegalArgumentException("Altitudes are not increasing at " + altitude[i]);
+			}
+		}
+		table = new Table(altitude, temperature, pressure);
+	}
+
+	/**
+	 * Return the table, building it with {@link #computeTable()} on first use.
+	 */
+	private Table getTable() {
+		Table t = table;
+		if (t == null) {
+			computeTable();
+			t = table;
+		}
+		return t;
+	}
+
+	/**
+	 * Build the table on first use.  Subclasses building the table lazily override this
+	 * to call {@link #setTable(double[], double[], double[])}.  The default implementation
+	 * does nothing, as the table is given to the constructor.
+	 */
+	protected void computeTable() {
+	}
+
+
+	@Override
+	public AtmosphericConditions getConditions(double altitude) {
+		return new AtmosphericConditions(getTemperature(altitude), getPressure(altitude));
+	}
+
+	/** Return the air temperature at the altitude, in Kelvins. */
+	public double getTemperature(double altitude) {
+		Table t = getTable();
+		return interpolate(t, t.temperature, altitude);
+	}
+
+	/** Return the air pressure at the altitude, in Pascals. */
+	public double getPressure(double altitude) {
+		Table t = getTable();
+		return interpolate(t, t.pressure, altitude);
+	}
+
+	/** Return the air density at the altitude, see {@link AtmosphericConditions#getDensity()}. */
+	public double getDensity(double altitude) {
+		return getPressure(altitude) / (R * getTemperature(altitude));
+	}
+
+	/** Return the speed of sound at the altitude, see {@link AtmosphericConditions#getMachSpeed()}. */
+	public double getSpeedOfSound(double altitude) {
+		return 165.77 + 0.606 * getTemperature(altitude);
+	}
+
+	/**
+	 * Return the kinematic viscosity of the air at the altitude,
+	 * see {@link AtmosphericConditions#getKinematicViscosity()}.
+	 */
+	public double getKinematicViscosity(double altitude) {
+		double temperature = getTemperature(altitude);
+		double v = 3.7291e-06 + 4.9944e-08 * temperature;
+		return v / (getPressure(altitude) / (R * temperature));
+	}
+
+	/** Return the lowest tabulated altitude. */
+	public double getMinAltitude() {
+		return getTable().altitude[0];
+	}
+
+	/** Return the highest tabulated altitude. */
+	public double getTableMaxAltitude() {
+		double[] altitude = getTable().altitude;
+		return altitude[altitude.length - 1];
+	}
+
+
+	private double interpolate(Table t, double[] values, double altitude) {
+		double[] alt = t.altitude;
+		int last = alt.length - 1;
+		if (altitude <= alt[0])
+			return values[0];
+		if (altitude >= alt[last])
+			return values[last];
+
+		int n = findLevel(alt, altitude);
+		double d = (altitude - alt[n]) / (alt[n + 1] - alt[n]);
+		return values[n] * (1 - d) + values[n + 1] * d;
+	}
+
+	/**
+	 * Return the index n such that alt[n] <= altitude < alt[n+1].  The altitude must be
+	 * within the table.
+	 */
+	private int findLevel(double[] alt, double altitude) {
+		// The hint may be stale or from another thread, it is only used if valid
+		int n = hint;
+		if (n < alt.length - 1 && alt[n] <= altitude) {
+			if (altitude < alt[n + 1])
+				return n;
+			if (n + 2 < alt.length && altitude < alt[n + 2]) {
+				hint = n + 1;
+				return n + 1;
+			}
+		}
+
+		int low = 0;
+		int high = alt.length - 1;
+		while (high - low > 1) {
+			int mid = (low + high) >>> 1;
+			if (alt[mid] <= altitude) {
+				low = mid;
+			} else {
+				high = mid;
+			}
+		}
+		hint = low;
+		return low;
+	}
+
+
+	@Override
+	public int getModID() {
+		// The table cannot be modified after it has been set
+		return 0;
+	}
+
+}
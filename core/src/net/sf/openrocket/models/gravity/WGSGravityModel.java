@@ -10,21 +10,22 @@ import net.sf.openrocket.util.WorldCoordinate;
  */
 public class WGSGravityModel implements GravityModel {
 	
-	// Cache the previously computed value
-	private WorldCoordinate lastWorldCoordinate;
-	private double lastg;
+	// Cache the previously computed value.  The coordinate and value are replaced together,
+	// so that concurrent simulation branches sharing the model never mix them up.
+	private volatile CachedGravity last;
 	
 	
 	@Override
 	public double getGravity(WorldCoordinate wc) {
 		
 		// This is a proxy method to calcGravity, to avoid repeated calculation
-		if (wc != this.lastWorldCoordinate) {
-			this.lastg = calcGravity(wc);
-			this.lastWorldCoordinate = wc;
+		CachedGravity cached = this.last;
+		if (cached == null || wc != cached.worldCoordinate) {
+			cached = new CachedGravity(wc, calcGravity(wc));
+			this.last = cached;
 		}
 		
-		return this.lastg;
+		return cached.g;
 		
 	}
 	
@@ -49,4 +50,15 @@ public class WGSGravityModel implements GravityModel {
 		return g_alt;
 	}
 	
+	
+	private static final class CachedGravity {
+		private final WorldCoordinate worldCoordinate;
+		private final double g;
+		
+		CachedGravity(WorldCoordinate worldCoordinate, double g) {
+			this.worldCoordinate = worldCoordinate;
+			this.g = g;
+		}
+	}
+	
 }
@@ -1,5 +1,9 @@
 package net.sf.openrocket.models.wind;
 
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
 import java.util.Random;
 
 import net.sf.openrocket.util.Coordinate;
@@ -39,9 +43,26 @@ public class PinkNoiseWindModel implements WindModel {
 	
 	private final int seed;
 	
-	private PinkNoise randomSource = null;
-	private double time1;
-	private double value1, value2;
+	/** The noise samples of the seed, shared with other models using the same seed. */
+	private final NoiseSequence noise;
+	
+	/** The most recently used block of samples, to avoid locking the shared sequence. */
+	private volatile NoiseBlock lastBlock = null;
+	
+	
+	/** Number of noise samples in a block. */
+	private static final int BLOCK_SIZE = 1024;
+	
+	/** Maximum number of noise sequences cached for sharing between models. */
+	private static final int MAX_CACHED_SEQUENCES = 16;
+	
+	private static final LinkedHashMap<Integer, NoiseSequence> sequences =
+			new LinkedHashMap<Integer, NoiseSequence>(MAX_CACHED_SEQUENCES, 0.75f, true) {
+				@Override
+				protected boolean removeEldestEntry(Map.Entry<Integer, NoiseSequence> eldest) {
+					return size() > MAX_CACHED_SEQUENCES;
+				}
+			};
 	
 	
 	/**
@@ -50,6 +71,14 @@ public class PinkNoiseWindModel implements WindModel {
 	 */
 	public PinkNoiseWindModel(int seed) {
 		this.seed = seed ^ SEED_RANDOMIZATION;
+		synchronized (sequences) {
+			NoiseSequence sequence = sequences.get(this.seed);
+			if (sequence == null) {
+				sequence = new NoiseSequence(this.seed);
+				sequences.put(this.seed, sequence);
+			}
+			this.noise = sequence;
+		}
 	}
 	
 	
@@ -136,41 +165,69 @@ public class PinkNoiseWindModel implements WindModel {
 			throw new IllegalArgumentException("Requesting wind speed at t=" + time);
 		}
 		
-		if (randomSource == null) {
-			randomSource = new PinkNoise(ALPHA, POLES, new Random(seed));
-			time1 = 0;
-			value1 = randomSource.nextValue();
-			value2 = randomSource.nextValue();
-		}
-		
-		if (time < time1) {
-			reset();
-			return getWindVelocity(time, altitude);
-		}
-		
-		while (time1 + DELTA_T < time) {
-			value1 = value2;
-			value2 = randomSource.nextValue();
-			time1 += DELTA_T;
-		}
-		
-		double a = (time - time1) / DELTA_T;
+		// Interpolate linearly between the samples at each DELTA_T
+		double position = time / DELTA_T;
+		int index = (int) position;
+		double a = position - index;
 		
-		double speed = average + (value1 * (1 - a) + value2 * a) * standardDeviation / STDDEV;
+		double speed = average + (sample(index) * (1 - a) + sample(index + 1) * a) * standardDeviation / STDDEV;
 		return new Coordinate(speed * Math.sin(direction), speed * Math.cos(direction), 0);
 		
 	}
 	
-	
-	private void reset() {
-		randomSource = null;
+	private double sample(int index) {
+		int blockIndex = index / BLOCK_SIZE;
+		NoiseBlock block = lastBlock;
+		if (block == null || block.index != blockIndex) {
+			block = noise.getBlock(blockIndex);
+			lastBlock = block;
+		}
+		return block.values[index - blockIndex * BLOCK_SIZE];
 	}
 	
 	
-	
 	@Override
 	public int getModID() {
 		return (int) (average * 1000 + standardDeviation);
 	}
 	
+	
+	/**
+	 * A block of consecutive noise samples.
+	 */
+	private static class NoiseBlock {
+		private final int index;
+		private final double[] values;
+		
+		private NoiseBlock(int index, double[] values) {
+			this.index = index;
+			this.values = values;
+		}
+	}
+	
+	/**
+	 * The pink noise samples of a seed.  Generating the noise is inherently sequential,
+	 * so the samples are generated once in blocks of {@link #BLOCK_SIZE} and kept, after
+	 * which any sample can be accessed in constant time from any thread.
+	 */
+	private static class NoiseSequence {
+		private final PinkNoise randomSource;
+		private final List<NoiseBlock> blocks = new ArrayList<NoiseBlock>();
+		
+		private NoiseSequence(int seed) {
+			randomSource = new PinkNoise(ALPHA, POLES, new Random(seed));
+		}
+		
+		private synchronized NoiseBlock getBlock(int index) {
+			while (blocks.size() <= index) {
+				double[] values = new double[BLOCK_SIZE];
+				for (int i = 0; i < BLOCK_SIZE; i++) {
+					values[i] = randomSource.nextValue();
+				}
+				blocks.add(new NoiseBlock(blocks.size(), values));
+			}
+			return blocks.get(index);
+		}
+	}
+	
 }
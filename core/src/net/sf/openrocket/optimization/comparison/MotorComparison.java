@@ -0,0 +1,204 @@
+package net.sf.openrocket.optimization.comparison;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import net.sf.openrocket.database.motor.MotorDatabase;
+import net.sf.openrocket.document.Simulation;
+import net.sf.openrocket.motor.Motor;
+import net.sf.openrocket.motor.MotorConfiguration;
+import net.sf.openrocket.rocketcomponent.FlightConfigurationId;
+import net.sf.openrocket.rocketcomponent.MotorMount;
+import net.sf.openrocket.rocketcomponent.Rocket;
+import net.sf.openrocket.simulation.FlightData;
+import net.sf.openrocket.simulation.FlightDataBranch;
+import net.sf.openrocket.simulation.FlightEvent;
+import net.sf.openrocket.simulation.exception.SimulationCancelledException;
+import net.sf.openrocket.simulation.exception.SimulationException;
+import net.sf.openrocket.simulation.listeners.system.InterruptListener;
+import net.sf.openrocket.simulation.listeners.system.OptimumCoastListener;
+import net.sf.openrocket.util.ParallelTasks;
+
+/**
+ * Simulates a design with each of a set of candidate motors in one motor mount and
+ * ranks the motors by the apogee reached.
+ * <p>
+ * The motors are simulated in parallel.  Each worker thread simulates on its own copy
+ * of the rocket, replacing the motor of the mount in the flight configuration of the
+ * base simulation for each motor.  Neither the base simulation nor its rocket are
+ * changed, and no flight configurations are added to the document.  The flights are
+ * simulated with plugged motors and recovery devices disabled and end at apogee, so the
+ * apogee is the coasting apogee and the optimum delay is the time from the last burnout
+ * to apogee.  Other motors and settings of the flight configuration are retained.
+ */
+public class MotorComparison {
+
+	private static final Logger log = LoggerFactory.getLogger(MotorComparison.class);
+
+	private final Simulation baseSimulation;
+	private final String mountId;
+	private final List<Motor> motors;
+
+	private int threadCount = Runtime.getRuntime().availableProcessors();
+
+
+	/**
+	 * Create a comparison using the launch conditions and flight configuration of a simulation.
+	 *
+	 * @param baseSimulation	the simulation to use, which is not changed itself.
+	 * @param mount				the motor mount of the rocket of the simulation to place the motors in.
+	 * @param motors			the motors to compare.
+	 */
+	public MotorComparison(Simulation baseSimulation, MotorMount mount, Collection<? extends Motor> motors) {
+		if (motors.isEmpty()) {
+			throw new IllegalArgumentException("No motors specified");
+		}
+		if (baseSimulation.getRocket().findComponent(mount.getID()) != mount) {
+			throw new IllegalArgumentException("Motor mount " + mount.getDebugName() + " is not part of the simulated rocket");
+		}
+		this.baseSimulation = baseSimulation;
+		this.mountId = mount.getID();
+		this.motors = new ArrayList<Motor>(motors);
+	}
+
+	/**
+	 * Create a comparison using the default launch conditions and the selected flight
+	 * configuration of a rocket.
+	 *
+	 * @param rocket	the rocket, which is not changed.
+	 * @param mount		the motor mount of the rocket to place the motors in.
+	 * @param motors	the motors to compare.
+	 */
+	public MotorComparison(Rocket rocket, MotorMount mount, Collection<? extends Motor> motors) {
+		this(new Simulation(rocket), mount, motors);
+	}
+
+
+	/**
+	 * Return the motors of a database having the given digests, in the same order.
+	 *
+	 * @throws IllegalArgumentException	if a digest is not found in the database.
+	 */
+	public static List<Motor> findMotors(MotorDatabase database, Collection<String> digests) {
+		List<Motor> motors = new ArrayList<Motor>(digests.size());
+		for (String digest : digests) {
+			Motor motor = database.findMotor(digest);
+			if (motor == null) {
+				throw new IllegalArgumentException("No motor found with digest " + digest);
+			}
+			motors.add(motor);
+		}
+		return motors;
+	}
+
+
+	public List<Motor> getMotors() {
+		return Collections.unmodifiableList(motors);
+	}
+
+	public int getThreadCount() {
+		return threadCount;
+	}
+
+	/**
+	 * Set the number of worker threads, by default the number of processors.
+	 */
+	public void setThreadCount(int threadCount) {
+		if (threadCount < 1) {
+			throw new IllegalArgumentException("threadCount must be positive, was " + threadCount);
+		}
+		this.threadCount = threadCount;
+	}
+
+
+	/**
+	 * Simulate the design with all motors and block until done.  A simulation failing
+	 * with one motor does not stop the comparison, but is reported in its result.
+	 *
+	 * @return	the results ordered by {@link MotorComparisonResult#BY_APOGEE}.
+	 * @throws InterruptedException	if interrupted, in which case the workers are stopped.
+	 */
+	public List<MotorComparisonResult> run() throws InterruptedException {
+		final MotorComparisonResult[] results = new MotorComparisonResult[motors.size()];
+		final AtomicInteger next = new AtomicInteger();
+		int workers = Math.min(threadCount, motors.size());
+		log.info("Comparing " + motors.size() + " motors using " + workers + " threads");
+
+		List<Callable<Void>> tasks = new ArrayList<Callable<Void>>();
+		for (int i = 0; i < workers; i++) {
+			tasks.add(new Callable<Void>() {
+				@Override
+				public Void call() throws Exception {
+					Simulation simulation = newSimulationInstance();
+					MotorMount mount = (MotorMount) simulation.getRocket().findComponent(mountId);
+					int index;
+					while ((index = next.getAndIncrement()) < results.length) {
+						if (Thread.interrupted()) {
+							throw new InterruptedException("Motor comparison was interrupted");
+						}
+						results[index] = evaluate(simulation, mount, motors.get(index));
+					}
+					return null;
+				}
+			});
+		}
+		ParallelTasks.invokeAll("MotorComparisonWorker", workers, tasks, RuntimeException.class);
+
+		List<MotorComparisonResult> list = new ArrayList<MotorComparisonResult>(results.length);
+		Collections.addAll(list, results);
+		Collections.sort(list, MotorComparisonResult.BY_APOGEE);
+		return list;
+	}
+
+
+	private MotorComparisonResult evaluate(Simulation simulation, MotorMount mount, Motor motor)
+			throws InterruptedException {
+		FlightConfigurationId fcid = simulation.getFlightConfigurationId();
+		MotorConfiguration motorConfig = new MotorConfiguration(mount, fcid, mount.getMotorConfig(fcid));
+		motorConfig.setMotor(motor);
+		motorConfig.setEjectionDelay(Motor.PLUGGED_DELAY);
+		mount.setMotorConfig(motorConfig, fcid);
+		simulation.getRocket().getFlightConfiguration(fcid).update();
+
+		try {
+			simulation.simulate(OptimumCoastListener.INSTANCE, new InterruptListener());
+		} catch (SimulationCancelledException e) {
+			throw (InterruptedException) new InterruptedException("Motor comparison was interrupted").initCause(e);
+		} catch (SimulationException e) {
+			log.debug("Simulation with motor " + motor.getDesignation() + " failed", e);
+			return new MotorComparisonResult(motor, e.getMessage());
+		}
+
+		FlightData data = simulation.getSimulatedData();
+		double optimumDelay = Double.NaN;
+		if (data.getBranchCount() > 0) {
+			FlightDataBranch branch = data.getBranch(0);
+			FlightEvent burnout = branch.getLastEvent(FlightEvent.Type.BURNOUT);
+			if (burnout != null) {
+				optimumDelay = data.getTimeToApogee() - burnout.getTime();
+			}
+		}
+		return new MotorComparisonResult(motor, data.getMaxAltitude(), data.getMaxVelocity(),
+				data.getLaunchRodVelocity(), optimumDelay);
+	}
+
+	/**
+	 * Return a new deep copy of the base simulation and rocket.
+	 */
+	private Simulation newSimulationInstance() {
+		synchronized (baseSimulation) {
+			Rocket newRocket = baseSimulation.getRocket().deepCopyWithOriginalID();
+			Simulation simulation = baseSimulation.duplicateSimulation(newRocket);
+			simulation.setFlightConfigurationId(baseSimulation.getFlightConfigurationId());
+			return simulation;
+		}
+	}
+
+}
@@ -0,0 +1,110 @@
+package net.sf.openrocket.optimization.comparison;
+
+import java.util.Comparator;
+
+import net.sf.openrocket.motor.Motor;
+
+/**
+ * The result of simulating a design with one motor of a {@link MotorComparison}.
+ * All values are in SI units, and NaN if the simulation failed or the value could
+ * not be determined.
+ */
+public class MotorComparisonResult {
+
+	/**
+	 * Orders results by decreasing apogee, failed simulations last.
+	 */
+	public static final Comparator<MotorComparisonResult> BY_APOGEE = new Comparator<MotorComparisonResult>() {
+		@Override
+		public int compare(MotorComparisonResult a, MotorComparisonResult b) {
+			if (a.isFailed() != b.isFailed()) {
+				return a.isFailed() ? 1 : -1;
+			}
+			return Double.compare(rankValue(b.apogee), rankValue(a.apogee));
+		}
+	};
+
+	private final Motor motor;
+	private final double apogee;
+	private final double maxVelocity;
+	private final double railExitVelocity;
+	private final double optimumDelay;
+	private final String failure;
+
+	MotorComparisonResult(Motor motor, double apogee, double maxVelocity, double railExitVelocity, double optimumDelay) {
+		this.motor = motor;
+		this.apogee = apogee;
+		this.maxVelocity = maxVelocity;
+		this.railExitVelocity = railExitVelocity;
+		this.optimumDelay = optimumDelay;
+		this.failure = null;
+	}
+
+	MotorComparisonResult(Motor motor, String failure) {
+		this.motor = motor;
+		this.apogee = Double.NaN;
+		this.maxVelocity = Double.NaN;
+		this.railExitVelocity = Double.NaN;
+		this.optimumDelay = Double.NaN;
+		this.failure = failure;
+	}
+
+
+	public Motor getMotor() {
+		return motor;
+	}
+
+	/**
+	 * Return the apogee reached when coasting to apogee without deploying recovery devices.
+	 */
+	public double getApogee() {
+		return apogee;
+	}
+
+	public double getMaxVelocity() {
+		return maxVelocity;
+	}
+
+	/**
+	 * Return the velocity at which the rocket clears the launch rod or rail.
+	 */
+	public double getRailExitVelocity() {
+		return railExitVelocity;
+	}
+
+	/**
+	 * Return the time from the last burnout to apogee, the optimum ejection delay.
+	 */
+	public double getOptimumDelay() {
+		return optimumDelay;
+	}
+
+	/**
+	 * Return whether the simulation with this motor failed.
+	 */
+	public boolean isFailed() {
+		return failure != null;
+	}
+
+	/**
+	 * Return the reason the simulation failed, or <code>null</code> if it succeeded.
+	 */
+	public String getFailure() {
+		return failure;
+	}
+
+	@Override
+	public String toString() {
+		String name = motor.getDesignation();
+		if (isFailed()) {
+			return name + ": failed, " + failure;
+		}
+		return name + ": apogee=" + apogee + " maxVelocity=" + maxVelocity +
+				" railExitVelocity=" + railExitVelocity + " optimumDelay=" + optimumDelay;
+	}
+
+	private static double rankValue(double value) {
+		return Double.isNaN(value) ? Double.NEGATIVE_INFINITY : value;
+	}
+
+}
@@ -1,6 +1,8 @@
 package net.sf.openrocket.optimization.rocketoptimization.parameters;
 
+import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.List;
 
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -29,26 +31,82 @@ public abstract class SimulationBasedParameter implements OptimizableParameter {
 	
 	@Override
 	public double computeValue(Simulation simulation) throws OptimizationException, InterruptedException {
-		try {
-			log.debug("Running simulation for " + getName());
+		log.debug("Running simulation for " + getName());
+		if (!simulate(simulation, getSimulationListeners())) {
+			return Double.NaN;
+		}
+		double value = getResultValue(simulation.getSimulatedData());
+		log.debug("Parameter '" + getName() + " was " + value);
+		return value;
+	}
+	
+	
+	/**
+	 * Compute the values of several parameters with as few simulated flights as possible.
+	 * Parameters using the same kinds of simulation listeners, for example all parameters
+	 * ending the simulation at apogee, share a single flight.  The values are the same as
+	 * computed by {@link #computeValue(Simulation)} for each parameter.
+	 * 
+	 * @param simulation	the simulation
+	 * @param parameters	the parameters to compute
+	 * @return				the parameter values, NaN where the simulation failed
+	 * @throws OptimizationException	if an error occurs preventing the optimization from continuing
+	 */
+	public static double[] computeValues(Simulation simulation, SimulationBasedParameter... parameters)
+			throws OptimizationException, InterruptedException {
+		double[] values = new double[parameters.length];
+		boolean[] computed = new boolean[parameters.length];
+		
+		for (int i = 0; i < parameters.length; i++) {
+			if (computed[i]) {
+				continue;
+			}
+			SimulationListener[] listeners = parameters[i].getSimulationListeners();
+			List<String> key = listenerClasses(listeners);
 			
-			SimulationListener[] listeners = getSimulationListeners();
+			log.debug("Running simulation for " + parameters[i].getName() + " and parameters with listeners " + key);
+			boolean success = simulate(simulation, listeners);
+			for (int j = i; j < parameters.length; j++) {
+				if (!computed[j] && (j == i || key.equals(listenerClasses(parameters[j].getSimulationListeners())))) {
+					values[j] = success ? parameters[j].getResultValue(simulation.getSimulatedData()) : Double.NaN;
+					computed[j] = true;
+				}
+			}
+		}
+		return values;
+	}
+	
+	private static List<String> listenerClasses(SimulationListener[] listeners) {
+		List<String> names = new ArrayList<String>();
+		for (SimulationListener l : listeners) {
+			names.add(l.getClass().getName());
+		}
+		return names;
+	}
+	
+	
+	/**
+	 * Run the simulation.
+	 * 
+	 * @return	<code>true</code> if the simulation succeeded, <code>false</code> if the
+	 * 			result is an illegal value.
+	 */
+	private static boolean simulate(Simulation simulation, SimulationListener[] listeners)
+			throws OptimizationException, InterruptedException {
+		try {
 			listeners = Arrays.copyOf(listeners, listeners.length + 1);
 			listeners[listeners.length - 1] = new InterruptListener();
 			simulation.simulate(listeners);
-			
-			double value = getResultValue(simulation.getSimulatedData());
-			log.debug("Parameter '" + getName() + " was " + value);
-			return value;
+			return true;
 		} catch (MotorIgnitionException e) {
 			// A problem with motor ignition will cause optimization to fail
 			throw new OptimizationException(e);
 		} catch (SimulationLaunchException e) {
 			// Other launch exceptions result in illegal value
-			return Double.NaN;
+			return false;
 		} catch (SimulationCalculationException e) {
 			// Calculation errors result in illegal value
-			return Double.NaN;
+			return false;
 		} catch (SimulationCancelledException e) {
 			// Simulation cancellation stops the optimization
 			throw (InterruptedException) new InterruptedException("Optimization was interrupted").initCause(e);
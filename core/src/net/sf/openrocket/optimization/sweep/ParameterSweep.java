@@ -0,0 +1,203 @@
+package net.sf.openrocket.optimization.sweep;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import net.sf.openrocket.document.Simulation;
+import net.sf.openrocket.optimization.general.OptimizationException;
+import net.sf.openrocket.optimization.rocketoptimization.OptimizableParameter;
+import net.sf.openrocket.optimization.rocketoptimization.SimulationModifier;
+import net.sf.openrocket.optimization.rocketoptimization.parameters.SimulationBasedParameter;
+import net.sf.openrocket.rocketcomponent.Rocket;
+import net.sf.openrocket.util.ParallelTasks;
+
+/**
+ * A parametric study that evaluates a set of optimizable parameters over a regular
+ * grid of simulation modifier values, for example apogee versus fin span.
+ * <p>
+ * The grid points are evaluated in parallel.  Each worker thread modifies its own copy
+ * of the base simulation and rocket, so the base simulation is never changed.  A flight
+ * is simulated only when a simulation based parameter is requested, and simulation based
+ * parameters ending the flight at the same event share a single simulated flight.
+ * Parameters that do not need a flight, such as stability, are computed from the modified
+ * rocket directly.
+ * <p>
+ * The results are collected in a {@link SweepTable}, and listeners are notified as each
+ * point is evaluated.
+ */
+public class ParameterSweep {
+
+	private static final Logger log = LoggerFactory.getLogger(ParameterSweep.class);
+
+	private final Simulation baseSimulation;
+	private final List<SweepAxis> axes;
+	private final List<OptimizableParameter> parameters;
+	/** Indices of the simulation based parameters */
+	private final List<Integer> flightColumns = new ArrayList<Integer>();
+	private final List<SweepListener> listeners = new CopyOnWriteArrayList<SweepListener>();
+
+	private int threadCount = Runtime.getRuntime().availableProcessors();
+
+
+	/**
+	 * Sole constructor.
+	 *
+	 * @param baseSimulation	the simulation to modify, which is not changed itself.
+	 * @param axes				the axes of the grid, the last axis varying fastest in the results.
+	 * @param parameters		the parameters to compute at each point.
+	 */
+	public ParameterSweep(Simulation baseSimulation, List<SweepAxis> axes, List<OptimizableParameter> parameters) {
+		if (axes.isEmpty()) {
+			throw new IllegalArgumentException("No sweep axes specified");
+		}
+		if (parameters.isEmpty()) {
+			throw new IllegalArgumentException("No parameters specified");
+		}
+		this.baseSimulation = baseSimulation;
+		this.axes = new ArrayList<SweepAxis>(axes);
+		this.parameters = new ArrayList<OptimizableParameter>(parameters);
+		for (int i = 0; i < parameters.size(); i++) {
+			if (parameters.get(i) instanceof SimulationBasedParameter) {
+				flightColumns.add(i);
+			}
+		}
+	}
+
+
+	public int getThreadCount() {
+		return threadCount;
+	}
+
+	/**
+	 * Set the number of worker threads, by default the number of processors.
+	 */
+	public void setThreadCount(int threadCount) {
+		if (threadCount < 1) {
+			throw new IllegalArgumentException("threadCount must be positive, was " + threadCount);
+		}
+		this.threadCount = threadCount;
+	}
+
+	/**
+	 * Add a listener notified as each point is evaluated.  The listener is called from
+	 * the worker threads.
+	 */
+	public void addSweepListener(SweepListener listener) {
+		listeners.add(listener);
+	}
+
+	public void removeSweepListener(SweepListener listener) {
+		listeners.remove(listener);
+	}
+
+
+	/**
+	 * Evaluate all points of the grid and block until done.
+	 *
+	 * @return	the table of results.
+	 * @throws OptimizationException	if evaluating a point fails.
+	 * @throws InterruptedException		if interrupted, in which case the workers are stopped.
+	 */
+	public SweepTable run() throws OptimizationException, InterruptedException {
+		return run(new SweepTable(axes, parameters));
+	}
+
+	/**
+	 * Evaluate all points of the grid into the given table and block until done.  This
+	 * allows reading the table while the sweep is running.
+	 *
+	 * @param table		a table created by {@link #createTable()}.
+	 * @return			the table.
+	 */
+	public SweepTable run(final SweepTable table) throws OptimizationException, InterruptedException {
+		final int rowCount = table.getRowCount();
+		final AtomicInteger next = new AtomicInteger();
+		int workers = Math.min(threadCount, rowCount);
+		log.info("Sweeping " + axes + " over " + rowCount + " points using " + workers + " threads");
+
+		List<Callable<Void>> tasks = new ArrayList<Callable<Void>>();
+		for (int i = 0; i < workers; i++) {
+			tasks.add(new Callable<Void>() {
+				@Override
+				public Void call() throws Exception {
+					Simulation simulation = newSimulationInstance();
+					for (SweepAxis axis : axes) {
+						axis.getModifier().initialize(simulation);
+					}
+					int row;
+					while ((row = next.getAndIncrement()) < rowCount) {
+						if (Thread.interrupted()) {
+							throw new InterruptedException("Sweep was interrupted");
+						}
+						evaluate(simulation, table, row);
+					}
+					return null;
+				}
+			});
+		}
+		ParallelTasks.invokeAll("SweepWorker", workers, tasks, OptimizationException.class);
+		return table;
+	}
+
+	/**
+	 * Create an empty result table for {@link #run(SweepTable)}.
+	 */
+	public SweepTable createTable() {
+		return new SweepTable(axes, parameters);
+	}
+
+
+	private void evaluate(Simulation simulation, SweepTable table, int row)
+			throws OptimizationException, InterruptedException {
+		int[] index = table.getGridIndex(row);
+		double[] values = new double[table.getColumnCount()];
+
+		for (int i = 0; i < axes.size(); i++) {
+			SimulationModifier modifier = axes.get(i).getModifier();
+			modifier.modify(simulation, axes.get(i).getScaledValue(index[i]));
+		}
+		for (int i = 0; i < axes.size(); i++) {
+			values[i] = axes.get(i).getModifier().getCurrentSIValue(simulation);
+		}
+
+		// Share the simulated flights between the simulation based parameters
+		int offset = axes.size();
+		if (flightColumns.size() > 1) {
+			SimulationBasedParameter[] flightParameters = new SimulationBasedParameter[flightColumns.size()];
+			for (int i = 0; i < flightParameters.length; i++) {
+				flightParameters[i] = (SimulationBasedParameter) parameters.get(flightColumns.get(i));
+			}
+			double[] flightValues = SimulationBasedParameter.computeValues(simulation, flightParameters);
+			for (int i = 0; i < flightParameters.length; i++) {
+				values[offset + flightColumns.get(i)] = flightValues[i];
+			}
+		}
+		for (int i = 0; i < parameters.size(); i++) {
+			if (flightColumns.size() <= 1 || !flightColumns.contains(i)) {
+				values[offset + i] = parameters.get(i).computeValue(simulation);
+			}
+		}
+
+		table.setRow(row, values);
+		for (SweepListener l : listeners) {
+			l.pointEvaluated(table, row);
+		}
+	}
+
+	/**
+	 * Return a new deep copy of the base simulation and rocket.
+	 */
+	private Simulation newSimulationInstance() {
+		synchronized (baseSimulation) {
+			Rocket newRocket = baseSimulation.getRocket().deepCopyWithOriginalID();
+			return baseSimulation.duplicateSimulation(newRocket);
+		}
+	}
+
+}
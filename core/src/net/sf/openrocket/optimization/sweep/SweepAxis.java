@@ -0,0 +1,60 @@
+package net.sf.openrocket.optimization.sweep;
+
+import net.sf.openrocket.optimization.rocketoptimization.SimulationModifier;
+
+/**
+ * One dimension of a parameter sweep.  The axis has a number of evenly spaced
+ * points between the minimum and maximum value of its simulation modifier.
+ */
+public class SweepAxis {
+
+	private final SimulationModifier modifier;
+	private final int pointCount;
+
+	/**
+	 * Sole constructor.
+	 *
+	 * @param modifier		the modifier to sweep from its minimum to its maximum value.
+	 * @param pointCount	the number of points on the axis (a single point is the minimum value).
+	 */
+	public SweepAxis(SimulationModifier modifier, int pointCount) {
+		if (pointCount < 1) {
+			throw new IllegalArgumentException("pointCount must be positive, was " + pointCount);
+		}
+		this.modifier = modifier;
+		this.pointCount = pointCount;
+	}
+
+	public SimulationModifier getModifier() {
+		return modifier;
+	}
+
+	public int getPointCount() {
+		return pointCount;
+	}
+
+	/**
+	 * Return the scaled value of a point in the range [0...1], as passed to
+	 * {@link SimulationModifier#modify(net.sf.openrocket.document.Simulation, double)}.
+	 */
+	public double getScaledValue(int index) {
+		if (pointCount == 1) {
+			return 0;
+		}
+		return (double) index / (pointCount - 1);
+	}
+
+	/**
+	 * Return the SI value of a point.
+	 */
+	public double getSIValue(int index) {
+		double min = modifier.getMinValue();
+		return min + getScaledValue(index) * (modifier.getMaxValue() - min);
+	}
+
+	@Override
+	public String toString() {
+		return modifier.getName() + " x " + pointCount;
+	}
+
+}
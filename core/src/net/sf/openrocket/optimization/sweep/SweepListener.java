@@ -0,0 +1,18 @@
+package net.sf.openrocket.optimization.sweep;
+
+/**
+ * A listener for the progress of a parameter sweep.
+ * <p>
+ * The listener is called from the worker threads of the sweep and must be thread-safe.
+ */
+public interface SweepListener {
+
+	/**
+	 * Called after a point of the sweep has been evaluated.
+	 *
+	 * @param table		the result table, containing the values of the point.
+	 * @param point		the index of the evaluated point in the table.
+	 */
+	public void pointEvaluated(SweepTable table, int point);
+
+}
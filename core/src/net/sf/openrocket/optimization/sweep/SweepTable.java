@@ -0,0 +1,171 @@
+package net.sf.openrocket.optimization.sweep;
+
+import java.io.IOException;
+import java.io.Writer;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+import net.sf.openrocket.optimization.rocketoptimization.OptimizableParameter;
+import net.sf.openrocket.unit.Unit;
+
+/**
+ * The results of a parameter sweep.  Each row is one point of the grid, containing
+ * the values of the sweep axes followed by the computed parameter values, in SI units.
+ * <p>
+ * The rows are in grid order with the last axis varying fastest.  Rows are filled in
+ * while the sweep is running, possibly out of order, and the table may be read
+ * concurrently; rows not yet evaluated are <code>null</code>.
+ */
+public class SweepTable {
+
+	private final List<SweepAxis> axes;
+	private final List<OptimizableParameter> parameters;
+	private final AtomicReferenceArray<double[]> rows;
+	private final AtomicInteger evaluated = new AtomicInteger();
+
+	SweepTable(List<SweepAxis> axes, List<OptimizableParameter> parameters) {
+		this.axes = Collections.unmodifiableList(new ArrayList<SweepAxis>(axes));
+		this.parameters = Collections.unmodifiableList(new ArrayList<OptimizableParameter>(parameters));
+		long count = 1;
+		for (SweepAxis axis : axes) {
+			count *= axis.getPointCount();
+			if (count > Integer.MAX_VALUE) {
+				throw new IllegalArgumentException("Too many sweep points");
+			}
+		}
+		this.rows = new AtomicReferenceArray<double[]>((int) count);
+	}
+
+
+	public List<SweepAxis> getAxes() {
+		return axes;
+	}
+
+	public List<OptimizableParameter> getParameters() {
+		return parameters;
+	}
+
+	/**
+	 * Return the number of points in the grid.
+	 */
+	public int getRowCount() {
+		return rows.length();
+	}
+
+	/**
+	 * Return the number of columns, the number of axes plus the number of parameters.
+	 */
+	public int getColumnCount() {
+		return axes.size() + parameters.size();
+	}
+
+	/**
+	 * Return the number of points evaluated so far.
+	 */
+	public int getEvaluatedCount() {
+		return evaluated.get();
+	}
+
+	/**
+	 * Return the name of a column.
+	 */
+	public String getColumnName(int column) {
+		if (column < axes.size()) {
+			return axes.get(column).getModifier().getName();
+		}
+		return parameters.get(column - axes.size()).getName();
+	}
+
+	/**
+	 * Return the default unit of a column.
+	 */
+	public Unit getColumnUnit(int column) {
+		if (column < axes.size()) {
+			return axes.get(column).getModifier().getUnitGroup().getDefaultUnit();
+		}
+		return parameters.get(column - axes.size()).getUnitGroup().getDefaultUnit();
+	}
+
+	/**
+	 * Return the grid indices of a row, one per axis.
+	 */
+	public int[] getGridIndex(int row) {
+		int[] index = new int[axes.size()];
+		for (int i = axes.size() - 1; i >= 0; i--) {
+			int n = axes.get(i).getPointCount();
+			index[i] = row % n;
+			row /= n;
+		}
+		return index;
+	}
+
+	/**
+	 * Return a copy of the values of a row in SI units, or <code>null</code> if the
+	 * point has not been evaluated yet.  Parameters that could not be computed are NaN.
+	 */
+	public double[] getRow(int row) {
+		double[] values = rows.get(row);
+		return (values == null) ? null : values.clone();
+	}
+
+	/**
+	 * Return the values of a column in SI units, NaN for rows not yet evaluated.
+	 */
+	public double[] getColumn(int column) {
+		double[] values = new double[rows.length()];
+		for (int row = 0; row < values.length; row++) {
+			double[] r = rows.get(row);
+			values[row] = (r == null) ? Double.NaN : r[column];
+		}
+		return values;
+	}
+
+	void setRow(int row, double[] values) {
+		if (values.length != getColumnCount()) {
+			throw new IllegalArgumentException("Row has " + values.length + " values, table has " +
+					getColumnCount() + " columns");
+		}
+		if (rows.getAndSet(row, values) == null) {
+			evaluated.incrementAndGet();
+		}
+	}
+
+
+	/**
+	 * Write the evaluated rows as CSV in the default units of the columns.
+	 *
+	 * @param writer			the writer to write to.
+	 * @param fieldSeparator	the field separator, for example ",".
+	 */
+	public void writeCSV(Writer writer, String fieldSeparator) throws IOException {
+		int columns = getColumnCount();
+		for (int c = 0; c < columns; c++) {
+			if (c > 0) {
+				writer.write(fieldSeparator);
+			}
+			writer.write(getColumnName(c) + " (" + getColumnUnit(c).getUnit() + ")");
+		}
+		writer.write("\n");
+
+		for (int row = 0; row < rows.length(); row++) {
+			double[] values = rows.get(row);
+			if (values == null) {
+				continue;
+			}
+			for (int c = 0; c < columns; c++) {
+				if (c > 0) {
+					writer.write(fieldSeparator);
+				}
+				if (!Double.isNaN(values[c])) {
+					writer.write(Double.toString(getColumnUnit(c).toUnit(values[c])));
+				}
+			}
+			writer.write("\n");
+		}
+		writer.flush();
+	}
+
+}
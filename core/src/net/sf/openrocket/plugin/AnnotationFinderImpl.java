@@ -1,7 +1,9 @@
 package net.sf.openrocket.plugin;
 
 import java.io.File;
+import java.io.FileInputStream;
 import java.io.IOException;
+import java.io.InputStream;
 import java.lang.annotation.Annotation;
 import java.net.URL;
 import java.net.URLClassLoader;
@@ -9,6 +11,11 @@ import java.util.ArrayList;
 import java.util.HashSet;
 import java.util.List;
 import java.util.Set;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipFile;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 
 import net.sf.openrocket.util.BugException;
 import net.sf.openrocket.util.JarUtil;
@@ -18,17 +25,23 @@ import eu.infomas.annotation.AnnotationDetector.TypeReporter;
 /**
  * An AnnotationFinder that uses annotation-detector library to scan
  * the class path.  Compatible with the JIJ loader.
+ * <p>
+ * For the {@link Plugin} annotation, the plugin types of the JAR files and directories
+ * containing a {@link PluginIndex} are read from the index, and only the others are scanned.
  */
 public class AnnotationFinderImpl implements AnnotationFinder {
 	
+	private static final Logger log = LoggerFactory.getLogger(AnnotationFinderImpl.class);
+	
 	@Override
 	public List<Class<?>> findAnnotatedTypes(Class<?> annotation) {
 		final List<Class<?>> classes = new ArrayList<Class<?>>();
 		
-		TypeReporter reporter = new ListReporter(classes);
+		ListReporter reporter = new ListReporter(classes);
 		final AnnotationDetector cf = new AnnotationDetector(reporter);
 		try {
 			ClassLoader loader = this.getClass().getClassLoader();
+			List<File> files = new ArrayList<File>();
 			if (loader instanceof URLClassLoader) {
 				
 				/*
@@ -39,20 +52,41 @@ public class AnnotationFinderImpl implements AnnotationFinder {
 				URLClassLoader urlClassLoader = (URLClassLoader) loader;
 				URL[] urls = urlClassLoader.getURLs();
 				
-				List<File> files = new ArrayList<File>();
 				for (URL url : urls) {
 					if (url.getProtocol().equals("file")) {
 						files.add(JarUtil.urlToFile(url));
 					}
 				}
-				
-				cf.detect(files.toArray(new File[0]));
 			} else {
 				
 				/*
-				 * If not using a URLClassLoader, just do the default.
+				 * If not using a URLClassLoader, use the class path like the default.
 				 */
-				cf.detect();
+				for (String path : System.getProperty("java.class.path", "").split(File.pathSeparator)) {
+					if (path.length() > 0) {
+						files.add(new File(path));
+					}
+				}
+			}
+			
+			if (annotation == Plugin.class) {
+				List<File> unindexed = new ArrayList<File>();
+				for (File file : files) {
+					List<String> names = readIndex(file);
+					if (names != null) {
+						for (String name : names) {
+							reporter.reportTypeAnnotation(Plugin.class, name);
+						}
+					} else if (file.exists()) {
+						unindexed.add(file);
+					}
+				}
+				files = unindexed;
+			}
+			
+			if (!files.isEmpty()) {
+				log.info("Scanning " + files.size() + " class path entries without a plugin index");
+				cf.detect(files.toArray(new File[0]));
 			}
 			
 		} catch (IOException e) {
@@ -63,6 +97,52 @@ public class AnnotationFinderImpl implements AnnotationFinder {
 	}
 	
 	
+	/**
+	 * Read the plugin index of a JAR file or class directory.
+	 *
+	 * @return	the names in the index, or <code>null</code> if there is no index.
+	 */
+	private static List<String> readIndex(File file) throws IOException {
+		if (file.isDirectory()) {
+			File index = new File(file, PluginIndex.RESOURCE);
+			if (!index.isFile()) {
+				return null;
+			}
+			InputStream is = new FileInputStream(index);
+			try {
+				return PluginIndex.read(is);
+			} finally {
+				is.close();
+			}
+		}
+		
+		if (!file.isFile()) {
+			return null;
+		}
+		ZipFile zip;
+		try {
+			zip = new ZipFile(file);
+		} catch (IOException e) {
+			// Not a JAR file, leave it for the scanner
+			return null;
+		}
+		try {
+			ZipEntry entry = zip.getEntry(PluginIndex.RESOURCE);
+			if (entry == null) {
+				return null;
+			}
+			InputStream is = zip.getInputStream(entry);
+			try {
+				return PluginIndex.read(is);
+			} finally {
+				is.close();
+			}
+		} finally {
+			zip.close();
+		}
+	}
+	
+	
 	private static class ListReporter implements TypeReporter {
 		private final List<Class<?>> classes;
 		private final Set<String> names = new HashSet<String>();
@@ -0,0 +1,114 @@
+package net.sf.openrocket.plugin;
+
+import java.io.BufferedReader;
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.lang.annotation.Annotation;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.TreeSet;
+
+import eu.infomas.annotation.AnnotationDetector;
+import eu.infomas.annotation.AnnotationDetector.TypeReporter;
+
+/**
+ * The index of the {@link Plugin} types of a JAR file or class directory.
+ * <p>
+ * The index is a UTF-8 text resource at {@link #RESOURCE} listing the fully qualified names
+ * of the plugin interfaces and implementations, one per line.  Empty lines and lines starting
+ * with <code>#</code> are ignored.  The index is generated at build time by running this
+ * class, and third-party plugin JARs may include their own:
+ * <pre>
+ *   java -cp OpenRocket.jar:classes net.sf.openrocket.plugin.PluginIndex classes/META-INF/openrocket/plugins.idx classes
+ * </pre>
+ * JARs and directories without an index are scanned for plugins at startup.
+ */
+public class PluginIndex {
+
+	/** The location of the index within a JAR file or class directory. */
+	public static final String RESOURCE = "META-INF/openrocket/plugins.idx";
+
+
+	/**
+	 * Read the class names from an index.  The stream is not closed.
+	 */
+	public static List<String> read(InputStream is) throws IOException {
+		List<String> names = new ArrayList<String>();
+		BufferedReader reader = new BufferedReader(new InputStreamReader(is, StandardCharsets.UTF_8));
+		String line;
+		while ((line = reader.readLine()) != null) {
+			line = line.trim();
+			if (line.length() > 0 && !line.startsWith("#")) {
+				names.add(line);
+			}
+		}
+		return names;
+	}
+
+	/**
+	 * Scan class directories or JAR files for plugin types and return their names, sorted.
+	 */
+	public static List<String> scan(File... files) throws IOException {
+		final TreeSet<String> names = new TreeSet<String>();
+		new AnnotationDetector(new TypeReporter() {
+			@SuppressWarnings({ "unchecked", "rawtypes" })
+			@Override
+			public Class<? extends Annotation>[] annotations() {
+				return new Class[] { Plugin.class };
+			}
+
+			@Override
+			public void reportTypeAnnotation(Class<? extends Annotation> annotation, String className) {
+				names.add(className);
+			}
+		}).detect(files);
+		return new ArrayList<String>(names);
+	}
+
+	/**
+	 * Write an index.
+	 */
+	public static void write(File file, List<String> names) throws IOException {
+		File dir = file.getAbsoluteFile().getParentFile();
+		if (!dir.isDirectory() && !dir.mkdirs()) {
+			throw new IOException("Unable to create directory " + dir);
+		}
+		Writer writer = new OutputStreamWriter(new FileOutputStream(file), StandardCharsets.UTF_8);
+		try {
+			writer.write("# OpenRocket plugin index, generated by " + PluginIndex.class.getName() + "\n");
+			for (String name : names) {
+				writer.write(name);
+				writer.write('\n');
+			}
+		} finally {
+			writer.close();
+		}
+	}
+
+
+	/**
+	 * Generate an index.
+	 *
+	 * @param args	the index file to write, followed by the class directories or JAR files to scan.
+	 */
+	public static void main(String[] args) throws IOException {
+		if (args.length < 2) {
+			System.err.println("Usage: java " + PluginIndex.class.getName() + " <index file> <class directory or jar>...");
+			System.exit(1);
+		}
+		File[] files = new File[args.length - 1];
+		for (int i = 1; i < args.length; i++) {
+			files[i - 1] = new File(args[i]);
+		}
+		List<String> names = scan(files);
+		write(new File(args[0]), names);
+		System.out.println("Wrote " + names.size() + " plugin types to " + args[0]);
+	}
+
+}
@@ -0,0 +1,407 @@
+package net.sf.openrocket.preset;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.RandomAccessFile;
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.util.AbstractList;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Set;
+
+import net.sf.openrocket.material.Material;
+import net.sf.openrocket.motor.Manufacturer;
+
+/**
+ * A read-only catalog of component presets stored in the compact binary format written
+ * by {@link PresetCatalogWriter}.
+ * <p>
+ * The presets are grouped by type, and the properties of each type are stored column
+ * by column as primitive values.  Manufacturers, part numbers, descriptions and other
+ * strings refer to a shared string table, and materials to a shared material table.
+ * Opening a catalog only reads the section headers; a <code>ComponentPreset</code> is
+ * created the first time it is accessed, and kept afterwards.  Manufacturers and part
+ * numbers can be queried without creating the presets.
+ * <p>
+ * The catalog is safe for concurrent use.
+ */
+public class PresetCatalog {
+
+	/** The file name extension of preset catalog files */
+	public static final String EXTENSION = "catalog";
+
+	static final int MAGIC = 0x4F525043; // "ORPC"
+	static final int VERSION = 1;
+
+	private final ByteBuffer buffer;
+	private final int size;
+
+	/** Position of the string offset table, followed by the UTF-8 data of the strings */
+	private final int stringOffsetsPosition;
+	private final int stringDataPosition;
+	private final String[] strings;
+	private final Manufacturer[] manufacturers;
+
+	private final Material[] materials;
+	private final Section[] sections;
+
+	private final ComponentPreset[] presets;
+
+
+	private PresetCatalog(ByteBuffer buffer) throws IOException {
+		this.buffer = buffer;
+		try {
+			if (buffer.getInt() != MAGIC) {
+				throw new IOException("Not a preset catalog");
+			}
+			int version = buffer.getInt();
+			if (version != VERSION) {
+				throw new IOException("Unsupported preset catalog version " + version);
+			}
+			size = buffer.getInt();
+
+			int stringCount = buffer.getInt();
+			stringOffsetsPosition = buffer.position();
+			stringDataPosition = stringOffsetsPosition + 4 * (stringCount + 1);
+			buffer.position(stringDataPosition + buffer.getInt(stringOffsetsPosition + 4 * stringCount));
+			strings = new String[stringCount];
+			manufacturers = new Manufacturer[stringCount];
+
+			materials = new Material[buffer.getInt()];
+			for (int i = 0; i < materials.length; i++) {
+				Material.Type type = Material.Type.valueOf(getString(buffer.getInt()));
+				String name = getString(buffer.getInt());
+				double density = buffer.getDouble();
+				boolean userDefined = buffer.getInt() != 0;
+				materials[i] = Material.newMaterial(type, name, density, userDefined);
+			}
+
+			sections = new Section[buffer.getInt()];
+			for (int i = 0; i < sections.length; i++) {
+				sections[i] = new Section(buffer);
+			}
+		} catch (BufferUnderflowException e) {
+			throw new IOException("Truncated preset catalog", e);
+		} catch (IndexOutOfBoundsException e) {
+			throw new IOException("Corrupt preset catalog", e);
+		} catch (IllegalArgumentException e) {
+			throw new IOException("Corrupt preset catalog", e);
+		}
+		presets = new ComponentPreset[size];
+	}
+
+
+	/**
+	 * Open a catalog file.  The file is memory-mapped, and should not be modified
+	 * while the catalog is in use.
+	 *
+	 * @param file	the catalog file.
+	 * @return		the catalog.
+	 * @throws IOException	if the file cannot be read or is not a valid catalog.
+	 */
+	public static PresetCatalog open(File file) throws IOException {
+		RandomAccessFile raf = new RandomAccessFile(file, "r");
+		try {
+			FileChannel channel = raf.getChannel();
+			return new PresetCatalog(channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size()));
+		} finally {
+			raf.close();
+		}
+	}
+
+	/**
+	 * Read a catalog from a stream, for example from a JAR file which cannot be mapped.
+	 * The contents are kept in a single buffer.  The stream is not closed.
+	 *
+	 * @param in	the stream to read.
+	 * @return		the catalog.
+	 * @throws IOException	if the stream cannot be read or does not contain a valid catalog.
+	 */
+	public static PresetCatalog read(InputStream in) throws IOException {
+		return new PresetCatalog(ByteBuffer.wrap(in.readAllBytes()));
+	}
+
+
+	/**
+	 * Return the number of presets in the catalog.
+	 */
+	public int size() {
+		return size;
+	}
+
+	/**
+	 * Return the preset at the given index, creating it on first access.
+	 */
+	public synchronized ComponentPreset get(int index) {
+		ComponentPreset preset = presets[index];
+		if (preset == null) {
+			preset = materialize(index);
+			presets[index] = preset;
+		}
+		return preset;
+	}
+
+	/**
+	 * Return the presets of the given type, in their natural order.  The presets are
+	 * created as the elements of the list are accessed.
+	 *
+	 * @param type	the preset type.
+	 * @return		an unmodifiable list of the presets.
+	 */
+	public List<ComponentPreset> listForType(ComponentPreset.Type type) {
+		final Section section = getSection(type);
+		if (section == null) {
+			return Collections.emptyList();
+		}
+		return new AbstractList<ComponentPreset>() {
+			@Override
+			public ComponentPreset get(int index) {
+				if (index < 0 || index >= section.count) {
+					throw new IndexOutOfBoundsException("Index: " + index + ", Size: " + section.count);
+				}
+				return PresetCatalog.this.get(section.start + index);
+			}
+
+			@Override
+			public int size() {
+				return section.count;
+			}
+		};
+	}
+
+	/**
+	 * Return the presets of the given type whose preference keys are in the given set,
+	 * creating only those presets.
+	 *
+	 * @see ComponentPreset#preferenceKey()
+	 */
+	public List<ComponentPreset> listForType(ComponentPreset.Type type, Set<String> preferenceKeys) {
+		List<ComponentPreset> result = new ArrayList<ComponentPreset>();
+		Section section = getSection(type);
+		if (section == null || preferenceKeys.isEmpty()) {
+			return result;
+		}
+		for (int row = 0; row < section.count; row++) {
+			if (preferenceKeys.contains(section.getManufacturer(row) + "|" + section.getPartNo(row))) {
+				result.add(get(section.start + row));
+			}
+		}
+		return result;
+	}
+
+	/**
+	 * Return the presets with the given manufacturer simple name and part number,
+	 * creating only those presets.
+	 */
+	public List<ComponentPreset> find(String manufacturer, String partNo) {
+		List<ComponentPreset> result = new ArrayList<ComponentPreset>();
+		for (Section section : sections) {
+			for (int row = 0; row < section.count; row++) {
+				Manufacturer m = section.getManufacturer(row);
+				if (m != null && m.getSimpleName().equals(manufacturer) && partNo.equals(section.getPartNo(row))) {
+					result.add(get(section.start + row));
+				}
+			}
+		}
+		return result;
+	}
+
+	/**
+	 * Return whether the catalog contains a preset equal to the given one.
+	 */
+	public boolean contains(ComponentPreset preset) {
+		Section section = getSection(preset.getType());
+		if (section == null) {
+			return false;
+		}
+		for (int row = 0; row < section.count; row++) {
+			if (preset.getManufacturer() == section.getManufacturer(row) &&
+					preset.getPartNo().equals(section.getPartNo(row)) &&
+					preset.equals(get(section.start + row))) {
+				return true;
+			}
+		}
+		return false;
+	}
+
+
+	private Section getSection(ComponentPreset.Type type) {
+		for (Section section : sections) {
+			if (section.type == type) {
+				return section;
+			}
+		}
+		return null;
+	}
+
+	private ComponentPreset materialize(int index) {
+		for (Section section : sections) {
+			if (index >= section.start && index < section.start + section.count) {
+				ComponentPreset preset = new ComponentPreset();
+				preset.put(ComponentPreset.TYPE, section.type);
+				for (Column column : section.columns) {
+					column.copyTo(preset, index - section.start);
+				}
+				preset.computeDigest();
+				return preset;
+			}
+		}
+		throw new IndexOutOfBoundsException("Index: " + index + ", Size: " + size);
+	}
+
+	private String getString(int index) {
+		String s = strings[index];
+		if (s == null) {
+			int start = buffer.getInt(stringOffsetsPosition + 4 * index);
+			int end = buffer.getInt(stringOffsetsPosition + 4 * (index + 1));
+			byte[] bytes = new byte[end - start];
+			for (int i = 0; i < bytes.length; i++) {
+				bytes[i] = buffer.get(stringDataPosition + start + i);
+			}
+			s = new String(bytes, StandardCharsets.UTF_8);
+			strings[index] = s;
+		}
+		return s;
+	}
+
+	private Manufacturer getManufacturer(int index) {
+		Manufacturer m = manufacturers[index];
+		if (m == null) {
+			m = Manufacturer.getManufacturer(getString(index));
+			manufacturers[index] = m;
+		}
+		return m;
+	}
+
+
+	/**
+	 * The presets of one type, stored as a range of indices and a column for each
+	 * property present in any of them.
+	 */
+	private class Section {
+		private final ComponentPreset.Type type;
+		private final int start;
+		private final int count;
+		private final Column[] columns;
+		private final Column manufacturerColumn;
+		private final Column partNoColumn;
+
+		Section(ByteBuffer buffer) {
+			type = ComponentPreset.Type.valueOf(getString(buffer.getInt()));
+			start = buffer.getInt();
+			count = buffer.getInt();
+			if (start < 0 || count < 0 || start + count > size) {
+				throw new IndexOutOfBoundsException("Preset range " + start + "+" + count + " outside catalog");
+			}
+
+			List<Column> list = new ArrayList<Column>();
+			Column manufacturer = null;
+			Column partNo = null;
+			int columnCount = buffer.getInt();
+			for (int i = 0; i < columnCount; i++) {
+				String name = getString(buffer.getInt());
+				int width = buffer.getInt();
+				Column column = new Column(findKey(name), count, width, buffer.position());
+				buffer.position(buffer.position() + (count + 7) / 8 + count * width);
+				if (column.key == null) {
+					// Property of a later version, skipped
+					continue;
+				}
+				list.add(column);
+				if (column.key == ComponentPreset.MANUFACTURER) {
+					manufacturer = column;
+				} else if (column.key == ComponentPreset.PARTNO) {
+					partNo = column;
+				}
+			}
+			columns = list.toArray(new Column[0]);
+			manufacturerColumn = manufacturer;
+			partNoColumn = partNo;
+		}
+
+		Manufacturer getManufacturer(int row) {
+			if (manufacturerColumn == null || !manufacturerColumn.isPresent(row)) {
+				return null;
+			}
+			return PresetCatalog.this.getManufacturer(manufacturerColumn.getInt(row));
+		}
+
+		String getPartNo(int row) {
+			if (partNoColumn == null || !partNoColumn.isPresent(row)) {
+				return null;
+			}
+			return getString(partNoColumn.getInt(row));
+		}
+
+		private TypedKey<?> findKey(String name) {
+			for (TypedKey<?> key : ComponentPreset.ORDERED_KEY_LIST) {
+				if (key.getName().equals(name)) {
+					return key;
+				}
+			}
+			return null;
+		}
+	}
+
+
+	/**
+	 * The values of one property for the presets of a section.  A bitmap of the rows
+	 * having the property is followed by the values of all rows, doubles or integers
+	 * referring to the string and material tables.
+	 */
+	private class Column {
+		private final TypedKey<?> key;
+		private final int valuesPosition;
+		private final int width;
+		private final int bitmapPosition;
+
+		Column(TypedKey<?> key, int count, int width, int position) {
+			if (key != null && width != PresetCatalogWriter.getWidth(key)) {
+				throw new IllegalArgumentException("Invalid width " + width + " for " + key);
+			}
+			this.key = key;
+			this.width = width;
+			this.bitmapPosition = position;
+			this.valuesPosition = position + (count + 7) / 8;
+		}
+
+		boolean isPresent(int row) {
+			return (buffer.get(bitmapPosition + row / 8) & (1 << (row % 8))) != 0;
+		}
+
+		int getInt(int row) {
+			return buffer.getInt(valuesPosition + row * width);
+		}
+
+		@SuppressWarnings({ "unchecked", "rawtypes" })
+		void copyTo(ComponentPreset preset, int row) {
+			if (!isPresent(row)) {
+				return;
+			}
+			Class<?> type = key.getType();
+			Object value;
+			if (type == Double.class) {
+				value = buffer.getDouble(valuesPosition + row * width);
+			} else if (type == Integer.class) {
+				value = getInt(row);
+			} else if (type == Boolean.class) {
+				value = getInt(row) != 0;
+			} else if (type == Material.class) {
+				value = materials[getInt(row)];
+			} else if (type == Manufacturer.class) {
+				value = getManufacturer(getInt(row));
+			} else if (type.isEnum()) {
+				value = Enum.valueOf((Class) type, getString(getInt(row)));
+			} else {
+				value = getString(getInt(row));
+			}
+			preset.put((TypedKey) key, value);
+		}
+	}
+
+}
@@ -0,0 +1,199 @@
+package net.sf.openrocket.preset;
+
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import net.sf.openrocket.material.Material;
+import net.sf.openrocket.motor.Manufacturer;
+
+/**
+ * Writer of preset catalogs read by {@link PresetCatalog}.
+ * <p>
+ * A catalog consists of a header, a string table, a material table and a section for
+ * each preset type.  A section holds the presets of its type in their natural order,
+ * one column for each property present in any of them.  A column is a bitmap of the
+ * presets having the property, followed by a fixed-width value for each preset.
+ * Doubles are stored as such, all other values as integers: integer and boolean values
+ * directly, materials as indices to the material table and strings, manufacturer
+ * names and enum names as indices to the string table.  The preset image is not
+ * stored.
+ */
+public class PresetCatalogWriter {
+
+	private final List<String> strings = new ArrayList<String>();
+	private final Map<String, Integer> stringIndices = new HashMap<String, Integer>();
+	private final List<Material> materials = new ArrayList<Material>();
+	private final Map<String, Integer> materialIndices = new HashMap<String, Integer>();
+
+	private final ByteArrayOutputStream sectionBytes = new ByteArrayOutputStream();
+	private final DataOutputStream sections = new DataOutputStream(sectionBytes);
+
+
+	/**
+	 * Write a catalog of the given presets.  The stream is not closed.
+	 *
+	 * @param presets	the presets to write.
+	 * @param out		the stream to write to.
+	 * @throws IOException	if writing to the stream fails.
+	 */
+	public static void write(Collection<ComponentPreset> presets, OutputStream out) throws IOException {
+		new PresetCatalogWriter().writeCatalog(presets, out);
+	}
+
+
+	private PresetCatalogWriter() {
+	}
+
+	private void writeCatalog(Collection<ComponentPreset> presets, OutputStream out) throws IOException {
+		Map<ComponentPreset.Type, List<ComponentPreset>> byType =
+				new EnumMap<ComponentPreset.Type, List<ComponentPreset>>(ComponentPreset.Type.class);
+		for (ComponentPreset preset : presets) {
+			List<ComponentPreset> list = byType.get(preset.getType());
+			if (list == null) {
+				list = new ArrayList<ComponentPreset>();
+				byType.put(preset.getType(), list);
+			}
+			list.add(preset);
+		}
+
+		// Sections are written first to collect the strings and materials
+		int start = 0;
+		for (Map.Entry<ComponentPreset.Type, List<ComponentPreset>> entry : byType.entrySet()) {
+			List<ComponentPreset> list = entry.getValue();
+			Collections.sort(list);
+			writeSection(entry.getKey(), start, list);
+			start += list.size();
+		}
+		int materialCount = materials.size();
+		for (Material material : materials) {
+			stringIndex(material.getType().name());
+			stringIndex(material.getName());
+		}
+
+		DataOutputStream os = new DataOutputStream(out);
+		os.writeInt(PresetCatalog.MAGIC);
+		os.writeInt(PresetCatalog.VERSION);
+		os.writeInt(start);
+
+		List<byte[]> encoded = new ArrayList<byte[]>(strings.size());
+		os.writeInt(strings.size());
+		int offset = 0;
+		os.writeInt(offset);
+		for (String s : strings) {
+			byte[] bytes = s.getBytes(StandardCharsets.UTF_8);
+			encoded.add(bytes);
+			offset += bytes.length;
+			os.writeInt(offset);
+		}
+		for (byte[] bytes : encoded) {
+			os.write(bytes);
+		}
+
+		os.writeInt(materialCount);
+		for (Material material : materials) {
+			os.writeInt(stringIndex(material.getType().name()));
+			os.writeInt(stringIndex(material.getName()));
+			os.writeDouble(material.getDensity());
+			os.writeInt(material.isUserDefined() ? 1 : 0);
+		}
+
+		os.writeInt(byType.size());
+		sections.flush();
+		sectionBytes.writeTo(os);
+		os.flush();
+	}
+
+	private void writeSection(ComponentPreset.Type type, int start, List<ComponentPreset> presets) throws IOException {
+		List<TypedKey<?>> keys = new ArrayList<TypedKey<?>>();
+		for (TypedKey<?> key : ComponentPreset.ORDERED_KEY_LIST) {
+			for (ComponentPreset preset : presets) {
+				if (preset.has(key)) {
+					keys.add(key);
+					break;
+				}
+			}
+		}
+
+		sections.writeInt(stringIndex(type.name()));
+		sections.writeInt(start);
+		sections.writeInt(presets.size());
+		sections.writeInt(keys.size());
+		for (TypedKey<?> key : keys) {
+			sections.writeInt(stringIndex(key.getName()));
+			sections.writeInt(getWidth(key));
+
+			byte[] bitmap = new byte[(presets.size() + 7) / 8];
+			for (int row = 0; row < presets.size(); row++) {
+				if (presets.get(row).has(key)) {
+					bitmap[row / 8] |= 1 << (row % 8);
+				}
+			}
+			sections.write(bitmap);
+
+			for (ComponentPreset preset : presets) {
+				writeValue(key, preset.has(key) ? preset.get(key) : null);
+			}
+		}
+	}
+
+	private void writeValue(TypedKey<?> key, Object value) throws IOException {
+		Class<?> type = key.getType();
+		if (type == Double.class) {
+			sections.writeDouble(value == null ? 0 : (Double) value);
+		} else if (value == null) {
+			sections.writeInt(0);
+		} else if (type == Integer.class) {
+			sections.writeInt((Integer) value);
+		} else if (type == Boolean.class) {
+			sections.writeInt(((Boolean) value) ? 1 : 0);
+		} else if (type == Material.class) {
+			sections.writeInt(materialIndex((Material) value));
+		} else if (type == Manufacturer.class) {
+			sections.writeInt(stringIndex(((Manufacturer) value).getDisplayName()));
+		} else if (type.isEnum()) {
+			sections.writeInt(stringIndex(((Enum<?>) value).name()));
+		} else {
+			sections.writeInt(stringIndex((String) value));
+		}
+	}
+
+	/**
+	 * Return the width in bytes of the values of a property.
+	 */
+	static int getWidth(TypedKey<?> key) {
+		return (key.getType() == Double.class) ? 8 : 4;
+	}
+
+	private int stringIndex(String s) {
+		Integer index = stringIndices.get(s);
+		if (index == null) {
+			index = strings.size();
+			strings.add(s);
+			stringIndices.put(s, index);
+		}
+		return index;
+	}
+
+	private int materialIndex(Material material) {
+		// Material.equals ignores whether the material is user-defined
+		String key = material.toStorableString() + "|" + material.isUserDefined();
+		Integer index = materialIndices.get(key);
+		if (index == null) {
+			index = materials.size();
+			materials.add(material);
+			materialIndices.put(key, index);
+		}
+		return index;
+	}
+
+}
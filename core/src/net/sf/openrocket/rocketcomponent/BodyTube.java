@@ -242,6 +242,11 @@ public class BodyTube extends SymmetricComponent implements MotorMount, Coaxial
 		return getOuterRadius();
 	}
 	
+	@Override
+	protected Object[] getShapeParameters() {
+		return new Object[] { getOuterRadius(), length, thickness, filled };
+	}
+	
 	/**
 	 * Returns the inner radius at the position x.  If the tube is filled, returns always zero.
 	 */
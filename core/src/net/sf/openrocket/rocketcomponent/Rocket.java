@@ -32,9 +32,31 @@ public class Rocket extends ComponentAssembly {
 	protected static final double DEFAULT_REFERENCE_LENGTH = 0.01;
 
 	/**
-	 * List of component change listeners.
+	 * Event types after which the motors and stages of the flight configurations are updated.
 	 */
-	private Set<EventListener> listenerList = new HashSet<>();
+	private static final int CONFIGURATION_CHANGE = ComponentChangeEvent.TREE_CHANGE |
+			ComponentChangeEvent.UNDO_CHANGE | ComponentChangeEvent.MOTOR_CHANGE;
+
+	/**
+	 * Event types after which all components of the rocket are updated.
+	 */
+	private static final int STRUCTURE_CHANGE = ComponentChangeEvent.TREE_CHANGE | ComponentChangeEvent.UNDO_CHANGE;
+
+	/**
+	 * Event type mask of listeners notified of all events.
+	 */
+	private static final int ALL_TYPES = ~0;
+
+	/**
+	 * Component change listeners, mapped to the event types they are notified of.
+	 */
+	private Map<EventListener, Integer> listenerList = new HashMap<>();
+
+	/**
+	 * Snapshot of the listeners that events are dispatched to, or null if it needs
+	 * to be created again after the listeners changed.
+	 */
+	private ListenerEntry[] listenerSnapshot = null;
 
 	/**
 	 * When freezeList != null, events are not dispatched but stored in the list.
@@ -327,7 +349,8 @@ public class Rocket extends ComponentAssembly {
 		copy.stageMap = new HashMap<Integer, AxialStage>();
 		copy.configSet = new FlightConfigurableParameterSet<FlightConfiguration>( this.configSet );
 		copy.selectedConfiguration = copy.configSet.get( this.getSelectedConfiguration().getId());
-		copy.listenerList = new HashSet<EventListener>();
+		copy.listenerList = new HashMap<EventListener, Integer>();
+		copy.listenerSnapshot = null;
 
 		return copy;
 	}
@@ -340,7 +363,8 @@ public class Rocket extends ComponentAssembly {
 		copy.updateStageMap();
 		deepCopyFlightConfigurations(this, copy);
 		copy.selectedConfiguration = copy.configSet.get( this.getSelectedConfiguration().getId());
-		copy.listenerList = new HashSet<>();
+		copy.listenerList = new HashMap<>();
+		copy.listenerSnapshot = null;
 
 		return copy;
 	}
@@ -348,12 +372,12 @@ public class Rocket extends ComponentAssembly {
 	private void deepCopyFlightConfigurations(Rocket from, Rocket to) {
 		FlightConfigurableParameterSet<FlightConfiguration> copyConfigSet = new FlightConfigurableParameterSet<>(from.configSet);
 		for (int i = 0; i < copyConfigSet.size(); i++) {
-			var toBeCopied = copyConfigSet.get(0);
+			var toBeCopied = copyConfigSet.get(i);
 			var flightConfig = new FlightConfiguration(to, toBeCopied.getFlightConfigurationID());
 			flightConfig.setName(toBeCopied.getName());
 			flightConfig.copyStages(toBeCopied);
 			flightConfig.update();
-			copyConfigSet.set(copyConfigSet.get(0).getFlightConfigurationID(), flightConfig);
+			copyConfigSet.set(toBeCopied.getFlightConfigurationID(), flightConfig);
 		}
 		to.configSet = copyConfigSet;
 	}
@@ -419,14 +443,15 @@ public class Rocket extends ComponentAssembly {
 	 */
 	public void resetListeners() {
 		//		System.out.println("RESETTING LISTENER LIST of Rocket "+this);
-		listenerList = new HashSet<EventListener>();
+		listenerList = new HashMap<EventListener, Integer>();
+		listenerSnapshot = null;
 	}
 
 
 	public void printListeners() {
 		System.out.println("" + this + " has " + listenerList.size() + " listeners:");
 		int i = 0;
-		for (EventListener l : listenerList) {
+		for (EventListener l : listenerList.keySet()) {
 			System.out.println("  " + (i) + ": " + l);
 			i++;
 		}
@@ -434,21 +459,37 @@ public class Rocket extends ComponentAssembly {
 
 	@Override
 	public void addComponentChangeListener(ComponentChangeListener l) {
+		addComponentChangeListener(l, ALL_TYPES);
+	}
+
+	@Override
+	public void addComponentChangeListener(ComponentChangeListener l, int typeMask) {
 		checkState();
 
-		listenerList.add(l);
+		listenerList.put(l, typeMask);
+		listenerSnapshot = null;
 
 		log.trace("Added ComponentChangeListener " + l + ", current number of listeners is " + listenerList.size());
 	}
 
 	@Override
 	public void removeComponentChangeListener(ComponentChangeListener l) {
-		listenerList.remove(l);
+		if (listenerList.remove(l) != null) {
+			listenerSnapshot = null;
+		}
 		log.trace("Removed ComponentChangeListener " + l + ", current number of listeners is " + listenerList.size());
 	}
 
 	@Override
 	protected void fireComponentChangeEvent(ComponentChangeEvent cce) {
+		fireComponentChangeEvent(cce, Collections.singletonList(cce.getSource()));
+	}
+
+	/**
+	 * Fire an event changing the given source components.  The sources differ from the
+	 * source of the event when combining several events on thaw.
+	 */
+	private void fireComponentChangeEvent(ComponentChangeEvent cce, List<RocketComponent> sources) {
 		if( ! this.eventsEnabled ){
 			return;
 		}
@@ -481,13 +522,19 @@ public class Rocket extends ComponentAssembly {
 				return;
 			}
 
-			// Notify all components first
-			Iterator<RocketComponent> iterator = this.iterator(true);
-			while (iterator.hasNext()) {
-				iterator.next().componentChanged(cce);
+			// Notify the affected components first
+			if (isStructureChange(cce, sources)) {
+				Iterator<RocketComponent> iterator = this.iterator(true);
+				while (iterator.hasNext()) {
+					iterator.next().componentChanged(cce);
+				}
+			} else if (cce.isMassChange() || cce.isAerodynamicChange()) {
+				notifyAffectedComponents(cce, sources);
 			}
 
-			updateConfigurations();
+			if ((cce.getType() & CONFIGURATION_CHANGE) != 0) {
+				updateConfigurations();
+			}
 
 			notifyAllListeners(cce);
 
@@ -519,14 +566,107 @@ public class Rocket extends ComponentAssembly {
 	}
 
 
+	/**
+	 * Return whether all components need to be notified of the event, which is the case
+	 * when the rocket structure may have changed or the changed components are not known.
+	 */
+	private boolean isStructureChange(ComponentChangeEvent cce, List<RocketComponent> sources) {
+		if (cce.getType() < 0 || (cce.getType() & STRUCTURE_CHANGE) != 0) {
+			return true;
+		}
+		for (RocketComponent source : sources) {
+			if (source == null || source == this || source.getRoot() != this) {
+				return true;
+			}
+		}
+		return false;
+	}
+
+	/**
+	 * Notify the components whose position or shape may depend on the changed source
+	 * components, in the same depth-first order as when notifying all components.
+	 * These are the sources and the components following them, which may be moved, the
+	 * assemblies containing them, whose size may change, together with the children of the
+	 * assemblies positioned relative to them, and the preceding symmetric components
+	 * taking their radius automatically from the sources.
+	 */
+	private void notifyAffectedComponents(ComponentChangeEvent cce, List<RocketComponent> sources) {
+		Set<RocketComponent> ancestors = Collections.newSetFromMap(new IdentityHashMap<RocketComponent, Boolean>());
+		Set<RocketComponent> components = Collections.newSetFromMap(new IdentityHashMap<RocketComponent, Boolean>());
+		Set<RocketComponent> subtrees = Collections.newSetFromMap(new IdentityHashMap<RocketComponent, Boolean>());
+		for (RocketComponent source : sources) {
+			addAffectedComponents(source, ancestors, components, subtrees);
+		}
+
+		for (RocketComponent child : this.getChildren()) {
+			notifyAffectedComponents(child, cce, ancestors, components, subtrees);
+		}
+	}
+
+	private void addAffectedComponents(RocketComponent source, Set<RocketComponent> ancestors,
+			Set<RocketComponent> components, Set<RocketComponent> subtrees) {
+		if (!subtrees.add(source)) {
+			return;
+		}
+
+		RocketComponent c = source;
+		while (c.getParent() != null) {
+			RocketComponent parent = c.getParent();
+			ancestors.add(parent);
+			components.addAll(parent.getChildren());
+			for (int i = parent.getChildPosition(c) + 1; i < parent.getChildCount(); i++) {
+				subtrees.add(parent.getChild(i));
+			}
+			c = parent;
+		}
+
+		if (source instanceof SymmetricComponent) {
+			SymmetricComponent previous = ((SymmetricComponent) source).getPreviousSymmetricComponent();
+			if (previous != null && previous.isAftRadiusAutomatic()) {
+				addAffectedComponents(previous, ancestors, components, subtrees);
+			}
+		}
+	}
+
+	private static void notifyAffectedComponents(RocketComponent component, ComponentChangeEvent cce,
+			Set<RocketComponent> ancestors, Set<RocketComponent> components, Set<RocketComponent> subtrees) {
+		if (subtrees.contains(component)) {
+			Iterator<RocketComponent> iterator = component.iterator(true);
+			while (iterator.hasNext()) {
+				iterator.next().componentChanged(cce);
+			}
+			return;
+		}
+
+		if (components.contains(component) || ancestors.contains(component)) {
+			component.componentChanged(cce);
+		}
+		if (ancestors.contains(component)) {
+			for (RocketComponent child : component.getChildren()) {
+				notifyAffectedComponents(child, cce, ancestors, components, subtrees);
+			}
+		}
+	}
+
+
 	private void notifyAllListeners(final ComponentChangeEvent cce){
-		// Copy the list before iterating to prevent concurrent modification exceptions.
-		EventListener[] list = listenerList.toArray(new EventListener[0]);
-		for (EventListener l : list) {
-            { // vvvv DEVEL vvvv
-                //System.err.println("notifying listener.  (type= "+l.getClass().getSimpleName()+")");
-                //System.err.println("                     (type= "+l.getClass().getName()+")");
-            } // ^^^^ DEVEL ^^^^
+		// Iterate over a snapshot to prevent concurrent modification exceptions.
+		ListenerEntry[] list = listenerSnapshot;
+		if (list == null) {
+			list = new ListenerEntry[listenerList.size()];
+			int i = 0;
+			for (Map.Entry<EventListener, Integer> entry : listenerList.entrySet()) {
+				list[i++] = new ListenerEntry(entry.getKey(), entry.getValue());
+			}
+			listenerSnapshot = list;
+		}
+
+		final int type = cce.getType();
+		for (ListenerEntry entry : list) {
+			if (entry.typeMask != ALL_TYPES && (entry.typeMask & type) == 0) {
+				continue;
+			}
+			EventListener l = entry.listener;
 
             if (l instanceof ComponentChangeListener) {
 				((ComponentChangeListener) l).componentChanged(cce);
@@ -588,13 +728,17 @@ public class Rocket extends ComponentAssembly {
 
 		int type = 0;
 		RocketComponent c = null;
+		List<RocketComponent> sources = new ArrayList<>();
 		for (ComponentChangeEvent e : freezeList) {
 			type = type | e.getType();
 			c = e.getSource();
+			if (!sources.contains(c)) {
+				sources.add(c);
+			}
 		}
 		freezeList = null;
 
-		fireComponentChangeEvent(new ComponentChangeEvent(c, type));
+		fireComponentChangeEvent(new ComponentChangeEvent(c, type), sources);
 	}
 
 
@@ -851,4 +995,18 @@ public class Rocket extends ComponentAssembly {
 		return this.configSet.getDefault();
 	}
 
+
+	/**
+	 * A listener together with the event types it is notified of.
+	 */
+	private static final class ListenerEntry {
+		private final EventListener listener;
+		private final int typeMask;
+
+		private ListenerEntry(EventListener listener, int typeMask) {
+			this.listener = listener;
+			this.typeMask = typeMask;
+		}
+	}
+
 }
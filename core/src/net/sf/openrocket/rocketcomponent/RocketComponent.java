@@ -121,6 +121,9 @@ public abstract class RocketComponent implements ChangeSource, Cloneable, Iterab
 	// The realistic appearance of this component
 	private Appearance appearance = null;
 	
+	// Modification ID of the geometry of this component, see getGeometryModID()
+	private int geometryModID = UniqueID.next();
+	
 	
 	/**
 	 * Used to invalidate the component after calling {@link #copyFrom(RocketComponent)}.
@@ -286,12 +289,26 @@ public abstract class RocketComponent implements ChangeSource, Cloneable, Iterab
 	 * @param e  The event fired
 	 */
 	protected void componentChanged(ComponentChangeEvent e) {
-		// No-op
 		checkState();
+		geometryModID = UniqueID.next();
 		update();
 	}
 	
 	
+	/**
+	 * Return a modification ID of the geometry of this component.  The ID changes
+	 * every time the component is notified of a change that may affect its shape or
+	 * position, see {@link #componentChanged(ComponentChangeEvent)}.  This can be used
+	 * to cache data derived from the geometry of a single component.
+	 *
+	 * @return	the geometry modification ID of this component.
+	 */
+	public final int getGeometryModID() {
+		mutex.verify();
+		return geometryModID;
+	}
+	
+	
 	
 	/**
 	 * Return the user-provided name of the component, or the component base
@@ -1698,6 +1715,21 @@ public abstract class RocketComponent implements ChangeSource, Cloneable, Iterab
 		getRocket().addComponentChangeListener(l);
 	}
 	
+	/**
+	 * Adds a ComponentChangeListener to the rocket tree that is notified only of events
+	 * of the given types, for example <code>ComponentChangeEvent.MOTOR_CHANGE |
+	 * ComponentChangeEvent.TREE_CHANGE</code>.  Adding the listener again replaces the
+	 * previous types.
+	 *
+	 * @param l			the listener to add.
+	 * @param typeMask	the bitwise OR of the event types to notify the listener of.
+	 * @throws IllegalStateException - if the root component is not a Rocket
+	 */
+	public void addComponentChangeListener(ComponentChangeListener l, int typeMask) {
+		checkState();
+		getRocket().addComponentChangeListener(l, typeMask);
+	}
+	
 	/**
 	 * Removes a ComponentChangeListener from the rocket tree.  The listener is removed from
 	 * the root component, which must be of type Rocket (which overrides this method).
@@ -2011,6 +2043,7 @@ public abstract class RocketComponent implements ChangeSource, Cloneable, Iterab
 		this.name = src.name;
 		this.comment = src.comment;
 		this.id = src.id;
+		this.geometryModID = UniqueID.next();
 		
 		// Add source components to invalidation tree
 		for (RocketComponent c : src) {
@@ -24,18 +24,12 @@ public abstract class SymmetricComponent extends BodyComponent implements Radial
 	public static final double DEFAULT_RADIUS = 0.025;
 	public static final double DEFAULT_THICKNESS = 0.002;
 	
-	private static final int DIVISIONS = 100; // No. of divisions when integrating
-	
 	protected boolean filled = false;
 	protected double thickness = DEFAULT_THICKNESS;
 	
 
 	// Cached data, default values signify not calculated
-	private double wetArea = -1;
-	private double planArea = -1;
-	private double planCenter = -1;
-	private double volume = -1;
-	private double fullVolume = -1;
+	private SymmetricComponentGeometry geometry = null;
 	private double longitudinalInertia = -1;
 	private double rotationalInertia = -1;
 	private Coordinate cg = null;
@@ -177,9 +171,7 @@ public abstract class SymmetricComponent extends BodyComponent implements Radial
 	 */
 	@Override
 	public double getComponentVolume() {
-		if (volume < 0)
-			integrate();
-		return volume;
+		return getGeometry().volume;
 	}
 	
 	
@@ -192,9 +184,7 @@ public abstract class SymmetricComponent extends BodyComponent implements Radial
 	 * @return  The filled volume of the component.
 	 */
 	public double getFullVolume() {
-		if (fullVolume < 0)
-			integrate();
-		return fullVolume;
+		return getGeometry().fullVolume;
 	}
 	
 	
@@ -207,9 +197,7 @@ public abstract class SymmetricComponent extends BodyComponent implements Radial
 	 * @return  The wetted area of the component.
 	 */
 	public double getComponentWetArea() {
-		if (wetArea < 0)
-			integrate();
-		return wetArea;
+		return getGeometry().wetArea;
 	}
 	
 	
@@ -222,9 +210,7 @@ public abstract class SymmetricComponent extends BodyComponent implements Radial
 	 * @return  The planform area of the component.
 	 */
 	public double getComponentPlanformArea() {
-		if (planArea < 0)
-			integrate();
-		return planArea;
+		return getGeometry().planArea;
 	}
 	
 	
@@ -238,9 +224,7 @@ public abstract class SymmetricComponent extends BodyComponent implements Radial
 	 * @return  The planform center of the component.
 	 */
 	public double getComponentPlanformCenter() {
-		if (planCenter < 0)
-			integrate();
-		return planCenter;
+		return getGeometry().planCenter;
 	}
 	
 	
@@ -253,270 +237,81 @@ public abstract class SymmetricComponent extends BodyComponent implements Radial
 	 */
 	@Override
 	public Coordinate getComponentCG() {
-		if (cg == null)
-			integrate();
+		if (cg == null) {
+			SymmetricComponentGeometry g = getGeometry();
+			if (g.volume == 0) {
+				cg = new Coordinate(g.cgx, 0, 0, 0);
+			} else {
+				// the mass of this shape is the material density * volume.
+				// it cannot come from super.getComponentMass() since that 
+				// includes the shoulders
+				cg = new Coordinate(g.cgx, 0, 0, getMaterial().getDensity() * g.volume);
+			}
+		}
 		return cg;
 	}
 	
 	
 	@Override
 	public double getLongitudinalUnitInertia() {
-		if (longitudinalInertia < 0) {
-			if (getComponentVolume() > 0.0000001) // == 0.1cm^3
-				integrateInertiaVolume();
-			else
-				integrateInertiaSurface();
-		}
+		if (longitudinalInertia < 0)
+			integrateInertia();
 		return longitudinalInertia;
 	}
 	
 	
 	@Override
 	public double getRotationalUnitInertia() {
-		if (rotationalInertia < 0) {
-			if (getComponentVolume() > 0.0000001) // == 0.1cm^3
-				integrateInertiaVolume();
-			else
-				integrateInertiaSurface();
-		}
+		if (rotationalInertia < 0)
+			integrateInertia();
 		return rotationalInertia;
 	}
 	
 	/**
-	 * Performs integration over the length of the component and updates the cached variables.
+	 * Return the parameters that fully define the shape returned by {@link #getRadius(double)},
+	 * together with the {@link #thickness} and {@link #filled} fields.  Components of the same
+	 * class with equal parameters share the integrated volume, areas and inertias.  Subclasses
+	 * whose shape depends on other parameters must override this method.
+	 * 
+	 * @return	the shape parameters, or <code>null</code> if the geometry is not shared.
 	 */
-	private void integrate() {
-		double x, r1, r2;
-		double cgx;
-		
-		// Check length > 0
-		if (length <= 0) {
-			wetArea = 0;
-			planArea = 0;
-			planCenter = 0;
-			volume = 0;
-			cg = Coordinate.NUL;
-			return;
-		}
-		
-
-		// Integrate for volume, CG, wetted area and planform area
-		
-		final double step = length / DIVISIONS;
-		final double pi3 = Math.PI / 3.0;
-		r1 = getRadius(0);
-		x = 0;
-		wetArea = 0;
-		planArea = 0;
-		planCenter = 0;
-		fullVolume = 0;
-		volume = 0;
-		cgx = 0;
-		
-		for (int n = 1; n <= DIVISIONS; n++) {
-			/*
-			 * r1 and r2 are the two radii
-			 * x is the position of r1
-			 * hyp is the length of the hypotenuse from r1 to r2
-			 * height if the y-axis height of the component if not filled
-			 */
-			/*
-			 * l is the step size for the current loop.  Could also be called delta-x.
-			 * 
-			 * to account for accumulated errors in the x position during the loop
-			 * during the last iteration (n== DIVISIONS) we recompute l to be
-			 * whatever is left.
-			 */
-			double l = (n==DIVISIONS) ? length -x : step;
-
-			// Further to prevent round off error from the previous statement,
-			// we clamp r2 to length at the last iteration.
-			r2 = getRadius((n==DIVISIONS) ? length : x + l);
-			
-			final double hyp = MathUtil.hypot(r2 - r1, l);
-			
-			// Volume differential elements
-			final double dV;
-			final double dFullV;
-			
-			dFullV = pi3 * l * (r1 * r1 + r1 * r2 + r2 * r2);
-			
-			if ( filled ) {
-				dV = dFullV;
-			} else {
-				// hollow
-				// Thickness is normal to the surface of the component
-				// here we use simple trig to project the Thickness
-				// on to the y dimension (radius).
-				double height = thickness * hyp / l;
-				if (r1 < height || r2 < height) {
-					// Filled portion of piece
-					dV = dFullV;
-				} else {
-					// Hollow portion of piece
-					dV = MathUtil.max(Math.PI* l * height * (r1 + r2 - height), 0);
-				}
-			}
-
-			// Add to the volume-related components
-			volume += dV;
-			fullVolume += dFullV;
-			cgx += (x + l / 2) * dV;
-			
-			// Wetted area ( * PI at the end)
-			wetArea += hyp * (r1 + r2);
-			
-			// Planform area & center
-			final double p = l * (r1 + r2);
-			planArea += p;
-			planCenter += (x + l / 2) * p;
-
-			// Update for next iteration
-			r1 = r2;
-			x += l;
-		}
-		
-		wetArea *= Math.PI;
-		
-		if (planArea > 0)
-			planCenter /= planArea;
-		
-		if (volume < 0.0000000001) { // 0.1 mm^3
-			volume = 0;
-			cg = new Coordinate(length / 2, 0, 0, 0);
-		} else {
-			// the mass of this shape is the material density * volume.
-			// it cannot come from super.getComponentMass() since that 
-			// includes the shoulders
-			cg = new Coordinate(cgx / volume, 0, 0, getMaterial().getDensity() * volume );
-		}
+	protected Object[] getShapeParameters() {
+		return null;
 	}
 	
-	
 	/**
-	 * Integrate the longitudinal and rotational inertia based on component volume.
-	 * This method may be used only if the total volume is zero.
+	 * Return the integrated geometry, looking up the shared geometry when not cached.
 	 */
-	private void integrateInertiaVolume() {
-		double x, r1, r2;
-		
-		final double l = length / DIVISIONS;
-		final double pil = Math.PI * l; // PI * l
-		final double pil3 = Math.PI * l / 3; // PI * l/3
-		
-		r1 = getRadius(0);
-		x = 0;
-		longitudinalInertia = 0;
-		rotationalInertia = 0;
-		
-		double vol = 0;
-		
-		for (int n = 1; n <= DIVISIONS; n++) {
-			/*
-			 * r1 and r2 are the two radii, outer is their average
-			 * x is the position of r1
-			 * hyp is the length of the hypotenuse from r1 to r2
-			 * height if the y-axis height of the component if not filled
-			 */
-			r2 = getRadius(x + l);
-			final double outer = (r1 + r2) / 2;
-			
-
-			// Volume differential elements
-			final double inner;
-			final double dV;
-			
-			final double hyp = MathUtil.hypot(r2 - r1, l);
-			final double height = thickness * hyp / l;
-			if (filled || r1 < height || r2 < height ) {
-				inner = 0;
-				dV = pil3 * (r1 * r1 + r1 * r2 + r2 * r2);
-			} else {
-				dV = pil * height * (r1 + r2 - height);
-				inner = Math.max(outer - height, 0.);
-			}
-			
-			rotationalInertia += dV * (pow2(outer) + pow2(inner)) / 2;
-			longitudinalInertia += dV * ((3 * (pow2(outer) + pow2(inner)) + pow2(l)) / 12 + pow2(x + l / 2));
-			
-			vol += dV;
-			
-			// Update for next iteration
-			r1 = r2;
-			x += l;
-		}
-		
-		if (MathUtil.equals(vol, 0)) {
-			integrateInertiaSurface();
-			return;
-		}
-		
-		rotationalInertia /= vol;
-		longitudinalInertia /= vol;
-		
-		// Shift longitudinal inertia to CG
-		longitudinalInertia = Math.max(longitudinalInertia - pow2(getComponentCG().x), 0);
+	private SymmetricComponentGeometry getGeometry() {
+		if (geometry == null)
+			geometry = SymmetricComponentGeometry.get(this);
+		return geometry;
 	}
 	
-	
-
 	/**
-	 * Integrate the longitudinal and rotational inertia based on component surface area.
-	 * This method may be used only if the total volume is zero.
+	 * Compute the longitudinal and rotational inertia based on component volume, or
+	 * on the surface area if the volume is zero, shifted to the CG of the component.
 	 */
-	private void integrateInertiaSurface() {
-		double x, r1, r2;
-		
-		final double l = length / DIVISIONS;
-		
-		r1 = getRadius(0);
-		//System.out.println(r1);
-		x = 0;
-		
-		longitudinalInertia = 0;
-		rotationalInertia = 0;
-		
-		double surface = 0;
-		
-		for (int n = 1; n <= DIVISIONS; n++) {
-			/*
-			 * r1 and r2 are the two radii, outer is their average
-			 * x is the position of r1
-			 * hyp is the length of the hypotenuse from r1 to r2
-			 * height if the y-axis height of the component if not filled
-			 */
-			r2 = getRadius(x + l);
-			final double hyp = MathUtil.hypot(r2 - r1, l);
-			final double outer = (r1 + r2) / 2;
-			
-			final double dS = hyp * (r1 + r2) * Math.PI;
-			
-			rotationalInertia += dS * pow2(outer);
-			longitudinalInertia += dS * ((6 * pow2(outer) + pow2(l)) / 12 + pow2(x + l / 2));
-			
-			surface += dS;
-			
-			// Update for next iteration
-			r1 = r2;
-			x += l;
-		}
-		
-		if (MathUtil.equals(surface, 0)) {
+	private void integrateInertia() {
+		SymmetricComponentGeometry g = getGeometry();
+		if (getComponentVolume() > 0.0000001 && g.volumeInertia) { // == 0.1cm^3
+			longitudinalInertia = g.volumeLongitudinalInertia;
+			rotationalInertia = g.volumeRotationalInertia;
+		} else if (g.surfaceInertia) {
+			longitudinalInertia = g.surfaceLongitudinalInertia;
+			rotationalInertia = g.surfaceRotationalInertia;
+		} else {
 			longitudinalInertia = 0;
 			rotationalInertia = 0;
 			return;
 		}
 		
-		longitudinalInertia /= surface;
-		rotationalInertia /= surface;
-		
 		// Shift longitudinal inertia to CG
 		longitudinalInertia = Math.max(longitudinalInertia - pow2(getComponentCG().x), 0);
 	}
 	
 	
 
-
 	/**
 	 * Invalidates the cached volume and CG information.
 	 */
@@ -524,11 +319,7 @@ public abstract class SymmetricComponent extends BodyComponent implements Radial
 	protected void componentChanged(ComponentChangeEvent e) {
 		super.componentChanged(e);
 		if( e.isAerodynamicChange() || e.isMassChange()){
-			wetArea = -1;
-			planArea = -1;
-			planCenter = -1;
-			volume = -1;
-			fullVolume = -1;
+			geometry = null;
 			longitudinalInertia = -1;
 			rotationalInertia = -1;
 			cg = null;
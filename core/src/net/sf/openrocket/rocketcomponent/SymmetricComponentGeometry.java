@@ -0,0 +1,317 @@
+package net.sf.openrocket.rocketcomponent;
+
+import static net.sf.openrocket.util.MathUtil.pow2;
+
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import net.sf.openrocket.util.MathUtil;
+
+/**
+ * The integrated geometry of a {@link SymmetricComponent}: its volume, areas, center of
+ * volume and unit inertias, computed by integrating the radius over the length of the
+ * component.  The geometry is immutable and depends only on the shape of the component,
+ * so it is shared between all components, copies and threads with equal shape parameters.
+ * <p>
+ * The inertias are about the fore end of the component, the components shift them to
+ * their own CG which may include parts outside the integrated shape.
+ */
+final class SymmetricComponentGeometry {
+
+	private static final int DIVISIONS = 100; // No. of divisions when integrating
+
+	/** Maximum number of shared geometries. */
+	private static final int CACHE_SIZE = 256;
+
+	private static final Map<Key, SymmetricComponentGeometry> cache =
+			new LinkedHashMap<Key, SymmetricComponentGeometry>(16, 0.75f, true) {
+				@Override
+				protected boolean removeEldestEntry(Map.Entry<Key, SymmetricComponentGeometry> eldest) {
+					return size() > CACHE_SIZE;
+				}
+			};
+
+	final double wetArea;
+	final double planArea;
+	final double planCenter;
+	final double volume;
+	final double fullVolume;
+	/** The x coordinate of the center of volume. */
+	final double cgx;
+
+	/** Whether the volume-based inertias are defined. */
+	final boolean volumeInertia;
+	final double volumeLongitudinalInertia;
+	final double volumeRotationalInertia;
+
+	/** Whether the surface-based inertias are defined. */
+	final boolean surfaceInertia;
+	final double surfaceLongitudinalInertia;
+	final double surfaceRotationalInertia;
+
+
+	/**
+	 * Return the geometry of a component, shared between components with equal shape parameters.
+	 *
+	 * @param component	the component.
+	 * @return			the geometry.
+	 * @see SymmetricComponent#getShapeParameters()
+	 */
+	static SymmetricComponentGeometry get(SymmetricComponent component) {
+		Object[] parameters = component.getShapeParameters();
+		if (parameters == null) {
+			return new SymmetricComponentGeometry(component);
+		}
+
+		Key key = new Key(component.getClass(), parameters);
+		SymmetricComponentGeometry geometry;
+		synchronized (cache) {
+			geometry = cache.get(key);
+		}
+		if (geometry == null) {
+			// Computed outside the lock, concurrent computations give equal results
+			geometry = new SymmetricComponentGeometry(component);
+			synchronized (cache) {
+				cache.put(key, geometry);
+			}
+		}
+		return geometry;
+	}
+
+
+	private SymmetricComponentGeometry(SymmetricComponent component) {
+		final double length = component.length;
+		final double thickness = component.thickness;
+		final boolean filled = component.filled;
+
+		// Check length > 0
+		if (length <= 0) {
+			wetArea = 0;
+			planArea = 0;
+			planCenter = 0;
+			volume = 0;
+			fullVolume = 0;
+			cgx = 0;
+			volumeInertia = false;
+			volumeLongitudinalInertia = 0;
+			volumeRotationalInertia = 0;
+			surfaceInertia = false;
+			surfaceLongitudinalInertia = 0;
+			surfaceRotationalInertia = 0;
+			return;
+		}
+
+
+		// Integrate for volume, CG, wetted area and planform area
+
+		double x, r1, r2;
+		double wetArea = 0;
+		double planArea = 0;
+		double planCenter = 0;
+		double volume = 0;
+		double fullVolume = 0;
+		double cgx = 0;
+
+		final double step = length / DIVISIONS;
+		final double pi3 = Math.PI / 3.0;
+		r1 = component.getRadius(0);
+		x = 0;
+
+		for (int n = 1; n <= DIVISIONS; n++) {
+			/*
+			 * r1 and r2 are the two radii
+			 * x is the position of r1
+			 * hyp is the length of the hypotenuse from r1 to r2
+			 * height if the y-axis height of the component if not filled
+			 */
+			/*
+			 * l is the step size for the current loop.  Could also be called delta-x.
+			 *
+			 * to account for accumulated errors in the x position during the loop
+			 * during the last iteration (n== DIVISIONS) we recompute l to be
+			 * whatever is left.
+			 */
+			double l = (n==DIVISIONS) ? length -x : step;
+
+			// Further to prevent round off error from the previous statement,
+			// we clamp r2 to length at the last iteration.
+			r2 = component.getRadius((n==DIVISIONS) ? length : x + l);
+
+			final double hyp = MathUtil.hypot(r2 - r1, l);
+
+			// Volume differential elements
+			final double dV;
+			final double dFullV;
+
+			dFullV = pi3 * l * (r1 * r1 + r1 * r2 + r2 * r2);
+
+			if ( filled ) {
+				dV = dFullV;
+			} else {
+				// hollow
+				// Thickness is normal to the surface of the component
+				// here we use simple trig to project the Thickness
+				// on to the y dimension (radius).
+				double height = thickness * hyp / l;
+				if (r1 < height || r2 < height) {
+					// Filled portion of piece
+					dV = dFullV;
+				} else {
+					// Hollow portion of piece
+					dV = MathUtil.max(Math.PI* l * height * (r1 + r2 - height), 0);
+				}
+			}
+
+			// Add to the volume-related components
+			volume += dV;
+			fullVolume += dFullV;
+			cgx += (x + l / 2) * dV;
+
+			// Wetted area ( * PI at the end)
+			wetArea += hyp * (r1 + r2);
+
+			// Planform area & center
+			final double p = l * (r1 + r2);
+			planArea += p;
+			planCenter += (x + l / 2) * p;
+
+			// Update for next iteration
+			r1 = r2;
+			x += l;
+		}
+
+		wetArea *= Math.PI;
+
+		if (planArea > 0)
+			planCenter /= planArea;
+
+		if (volume < 0.0000000001) { // 0.1 mm^3
+			volume = 0;
+			cgx = length / 2;
+		} else {
+			cgx /= volume;
+		}
+
+		this.wetArea = wetArea;
+		this.planArea = planArea;
+		this.planCenter = planCenter;
+		this.volume = volume;
+		this.fullVolume = fullVolume;
+		this.cgx = cgx;
+
+
+		// Integrate the longitudinal and rotational inertia based on component volume
+
+		final double l = length / DIVISIONS;
+		final double pil = Math.PI * l; // PI * l
+		final double pil3 = Math.PI * l / 3; // PI * l/3
+
+		double longitudinalInertia = 0;
+		double rotationalInertia = 0;
+		double vol = 0;
+		r1 = component.getRadius(0);
+		x = 0;
+
+		for (int n = 1; n <= DIVISIONS; n++) {
+			/*
+			 * r1 and r2 are the two radii, outer is their average
+			 * x is the position of r1
+			 * hyp is the length of the hypotenuse from r1 to r2
+			 * height if the y-axis height of the component if not filled
+			 */
+			r2 = component.getRadius(x + l);
+			final double outer = (r1 + r2) / 2;
+
+
+			// Volume differential elements
+			final double inner;
+			final double dV;
+
+			final double hyp = MathUtil.hypot(r2 - r1, l);
+			final double height = thickness * hyp / l;
+			if (filled || r1 < height || r2 < height ) {
+				inner = 0;
+				dV = pil3 * (r1 * r1 + r1 * r2 + r2 * r2);
+			} else {
+				dV = pil * height * (r1 + r2 - height);
+				inner = Math.max(outer - height, 0.);
+			}
+
+			rotationalInertia += dV * (pow2(outer) + pow2(inner)) / 2;
+			longitudinalInertia += dV * ((3 * (pow2(outer) + pow2(inner)) + pow2(l)) / 12 + pow2(x + l / 2));
+
+			vol += dV;
+
+			// Update for next iteration
+			r1 = r2;
+			x += l;
+		}
+
+		volumeInertia = !MathUtil.equals(vol, 0);
+		volumeLongitudinalInertia = volumeInertia ? longitudinalInertia / vol : 0;
+		volumeRotationalInertia = volumeInertia ? rotationalInertia / vol : 0;
+
+
+		// Integrate the longitudinal and rotational inertia based on component surface area
+
+		longitudinalInertia = 0;
+		rotationalInertia = 0;
+		double surface = 0;
+		r1 = component.getRadius(0);
+		x = 0;
+
+		for (int n = 1; n <= DIVISIONS; n++) {
+			r2 = component.getRadius(x + l);
+			final double hyp = MathUtil.hypot(r2 - r1, l);
+			final double outer = (r1 + r2) / 2;
+
+			final double dS = hyp * (r1 + r2) * Math.PI;
+
+			rotationalInertia += dS * pow2(outer);
+			longitudinalInertia += dS * ((6 * pow2(outer) + pow2(l)) / 12 + pow2(x + l / 2));
+
+			surface += dS;
+
+			// Update for next iteration
+			r1 = r2;
+			x += l;
+		}
+
+		surfaceInertia = !MathUtil.equals(surface, 0);
+		surfaceLongitudinalInertia = surfaceInertia ? longitudinalInertia / surface : 0;
+		surfaceRotationalInertia = surfaceInertia ? rotationalInertia / surface : 0;
+	}
+
+
+	/**
+	 * The shape parameters of a component, together with its class.
+	 */
+	private static final class Key {
+		private final Class<?> type;
+		private final Object[] parameters;
+		private final int hashCode;
+
+		private Key(Class<?> type, Object[] parameters) {
+			this.type = type;
+			this.parameters = parameters;
+			this.hashCode = 31 * type.hashCode() + Arrays.hashCode(parameters);
+		}
+
+		@Override
+		public boolean equals(Object obj) {
+			if (this == obj)
+				return true;
+			if (!(obj instanceof Key))
+				return false;
+			Key other = (Key) obj;
+			return hashCode == other.hashCode && type == other.type && Arrays.equals(parameters, other.parameters);
+		}
+
+		@Override
+		public int hashCode() {
+			return hashCode;
+		}
+	}
+
+}
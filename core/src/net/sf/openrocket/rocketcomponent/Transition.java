@@ -433,6 +433,12 @@ public class Transition extends SymmetricComponent {
 		return Math.max(getRadius(x) - thickness, 0);
 	}
 
+	@Override
+	protected Object[] getShapeParameters() {
+		return new Object[] { type, isClipped(), shapeParameter, getForeRadius(), getAftRadius(),
+				length, thickness, filled };
+	}
+
 
 
 	@Override
@@ -31,7 +31,12 @@ public abstract class AbstractSimulationStepper implements SimulationStepper {
 		
 		// Compute conditions
 		double altitude = status.getRocketPosition().z + status.getSimulationConditions().getLaunchSite().getAltitude();
-		conditions = status.getSimulationConditions().getAtmosphericModel().getConditions(altitude);
+		SimulationStats.Phase previous = SimulationStats.enterPhase(status, SimulationStats.Phase.ENVIRONMENT);
+		try {
+			conditions = status.getSimulationConditions().getAtmosphericModel().getConditions(altitude);
+		} finally {
+			SimulationStats.exitPhase(status, previous);
+		}
 		
 		// Call post-listener
 		conditions = SimulationListenerHelper.firePostAtmosphericModel(status, conditions);
@@ -62,7 +67,12 @@ public abstract class AbstractSimulationStepper implements SimulationStepper {
 		
 		// Compute conditions
 		double altitude = status.getRocketPosition().z + status.getSimulationConditions().getLaunchSite().getAltitude();
-		wind = status.getSimulationConditions().getWindModel().getWindVelocity(status.getSimulationTime(), altitude);
+		SimulationStats.Phase previous = SimulationStats.enterPhase(status, SimulationStats.Phase.ENVIRONMENT);
+		try {
+			wind = status.getSimulationConditions().getWindModel().getWindVelocity(status.getSimulationTime(), altitude);
+		} finally {
+			SimulationStats.exitPhase(status, previous);
+		}
 		
 		// Call post-listener
 		wind = SimulationListenerHelper.firePostWindModel(status, wind);
@@ -91,7 +101,12 @@ public abstract class AbstractSimulationStepper implements SimulationStepper {
 		}
 		
 		// Compute conditions
-		gravity = status.getSimulationConditions().getGravityModel().getGravity(status.getRocketWorldPosition());
+		SimulationStats.Phase previous = SimulationStats.enterPhase(status, SimulationStats.Phase.ENVIRONMENT);
+		try {
+			gravity = status.getSimulationConditions().getGravityModel().getGravity(status.getRocketWorldPosition());
+		} finally {
+			SimulationStats.exitPhase(status, previous);
+		}
 		
 		// Call post-listener
 		gravity = SimulationListenerHelper.firePostGravityModel(status, gravity);
@@ -119,7 +134,12 @@ public abstract class AbstractSimulationStepper implements SimulationStepper {
 			return structureMass;
 		}
 		
-		structureMass = MassCalculator.calculateStructure( status.getConfiguration() );  
+		SimulationStats.Phase previous = SimulationStats.enterPhase(status, SimulationStats.Phase.MASS);
+		try {
+			structureMass = MassCalculator.calculateStructure( status.getConfiguration() );  
+		} finally {
+			SimulationStats.exitPhase(status, previous);
+		}
 						
 		// Call post-listener
 		structureMass = SimulationListenerHelper.firePostMassCalculation(status, structureMass);
@@ -140,7 +160,12 @@ public abstract class AbstractSimulationStepper implements SimulationStepper {
 			return motorMass;
 		}
 		
-		motorMass = MassCalculator.calculateMotor( status );  
+		SimulationStats.Phase previous = SimulationStats.enterPhase(status, SimulationStats.Phase.MASS);
+		try {
+			motorMass = MassCalculator.calculateMotor( status );  
+		} finally {
+			SimulationStats.exitPhase(status, previous);
+		}
 
 				
 		// Call post-listener
@@ -179,12 +204,18 @@ public abstract class AbstractSimulationStepper implements SimulationStepper {
 			return thrust;
 		}
 		
-		thrust = 0;
-		final double currentTime = status.getSimulationTime() + timestep;
-		Collection<MotorClusterState> activeMotorList = status.getMotors();
-		for (MotorClusterState currentMotorState : activeMotorList ) {
-			thrust += currentMotorState.getAverageThrust( status.getSimulationTime(), currentTime );
-			//thrust += currentMotorState.getThrust( currentTime );
+		SimulationStats.Phase previous = SimulationStats.enterPhase(status, SimulationStats.Phase.THRUST);
+		try {
+			thrust = 0;
+			final double currentTime = status.getSimulationTime() + timestep;
+			// Only motors on stages still attached to this branch contribute thrust
+			Collection<MotorClusterState> activeMotorList = status.getActiveMotors();
+			for (MotorClusterState currentMotorState : activeMotorList ) {
+				thrust += currentMotorState.getAverageThrust( status.getSimulationTime(), currentTime );
+				//thrust += currentMotorState.getThrust( currentTime );
+			}
+		} finally {
+			SimulationStats.exitPhase(status, previous);
 		}
 		
 		// Post-listeners
@@ -1,11 +1,19 @@
 package net.sf.openrocket.simulation;
 
 import java.util.ArrayDeque;
+import java.util.ArrayList;
 import java.util.Deque;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
 
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import net.sf.openrocket.aerodynamics.AerodynamicCalculator;
+import net.sf.openrocket.aerodynamics.FlightConditions;
 import net.sf.openrocket.aerodynamics.Warning;
 import net.sf.openrocket.l10n.Translator;
 import net.sf.openrocket.motor.MotorConfiguration;
@@ -19,6 +27,7 @@ import net.sf.openrocket.rocketcomponent.RecoveryDevice;
 import net.sf.openrocket.rocketcomponent.RocketComponent;
 import net.sf.openrocket.rocketcomponent.StageSeparationConfiguration;
 import net.sf.openrocket.simulation.exception.MotorIgnitionException;
+import net.sf.openrocket.simulation.exception.SimulationCancelledException;
 import net.sf.openrocket.simulation.exception.SimulationException;
 import net.sf.openrocket.simulation.exception.SimulationLaunchException;
 import net.sf.openrocket.simulation.listeners.SimulationListenerHelper;
@@ -57,6 +66,15 @@ public class BasicEventSimulationEngine implements SimulationEngine {
 	// this is just a list of simulation branches to 
 	Deque<SimulationStatus> toSimulate = new ArrayDeque<SimulationStatus>();
 	
+	// executor onto which separated branches are forked, or null to simulate them sequentially
+	private ExecutorService branchExecutor;
+	
+	// the configuration at launch, used to prime the aerodynamic calculators of forked branches
+	private FlightConfiguration launchConfiguration;
+	
+	// branches forked from the branch simulated by this engine, in the order they would be popped from toSimulate
+	private final List<Future<BranchResult>> forkedBranches = new ArrayList<Future<BranchResult>>();
+	
 	@Override
 	public FlightData simulate(SimulationConditions simulationConditions) throws SimulationException {
 		
@@ -77,35 +95,145 @@ public class BasicEventSimulationEngine implements SimulationEngine {
 			final String branchName = simulationConfig.getRocket().getTopmostStage().getName();
 			currentStatus.setFlightData(new FlightDataBranch( branchName, FlightDataType.TYPE_TIME));
 		}
-		toSimulate.push(currentStatus);
 		
-		SimulationListenerHelper.fireStartSimulation(currentStatus);
-		do{
-			if( null == toSimulate.peek()){
-				break;
+		this.branchExecutor = simulationConditions.getBranchExecutor();
+		this.launchConfiguration = simulationConfig.clone();
+		
+		SimulationStats stats = simulationConditions.getSimulationStats();
+		boolean timing = (stats != null) && stats.begin();
+		try {
+			SimulationListenerHelper.fireStartSimulation(currentStatus);
+			if (branchExecutor == null) {
+				toSimulate.push(currentStatus);
+				do{
+					if( null == toSimulate.peek()){
+						break;
+					}
+					BranchResult result = simulateBranch(toSimulate.pop());
+					flightData.addBranch(result.data);
+					flightData.getWarningSet().addAll(result.status.getWarnings());
+				}while( ! toSimulate.isEmpty());
+			} else {
+				// the main branch is simulated on this thread, separated branches on the executor
+				currentStatus = collectBranches(simulateBranch(currentStatus), flightData);
 			}
-			currentStatus = toSimulate.pop();
-			log.info(">>Starting simulation of branch: "+currentStatus.getFlightData().getBranchName());
 			
-			FlightDataBranch dataBranch = simulateLoop();
-			flightData.addBranch(dataBranch);
-			flightData.getWarningSet().addAll(currentStatus.getWarnings());
-			
-			log.info(String.format("<<Finished simulating branch: %s    curTime:%s    finTime:%s", 
-							dataBranch.getBranchName(),
-							currentStatus.getSimulationTime(),
-							dataBranch.getLast(FlightDataType.TYPE_TIME)));
-		}while( ! toSimulate.isEmpty());
-		
-		SimulationListenerHelper.fireEndSimulation(currentStatus, null);
+			SimulationListenerHelper.fireEndSimulation(currentStatus, null);
+		} finally {
+			if (timing) {
+				stats.end();
+			}
+		}
 		
 		if (!flightData.getWarningSet().isEmpty()) {
 			log.info("Warnings at the end of simulation:  " + flightData.getWarningSet());
 		}
+		if (timing) {
+			flightData.setSimulationStats(stats);
+			log.info(stats.toString());
+		}
 
 		return flightData;
 	}
 	
+	/**
+	 * Simulate a single branch using this engine.
+	 * 
+	 * @param status	the status at the start of the branch
+	 * @return			the simulated branch and the branches forked from it
+	 */
+	private BranchResult simulateBranch(SimulationStatus status) {
+		currentStatus = status;
+		log.info(">>Starting simulation of branch: "+currentStatus.getFlightData().getBranchName());
+		
+		FlightDataBranch dataBranch = simulateLoop();
+		
+		log.info(String.format("<<Finished simulating branch: %s    curTime:%s    finTime:%s", 
+						dataBranch.getBranchName(),
+						currentStatus.getSimulationTime(),
+						dataBranch.getLast(FlightDataType.TYPE_TIME)));
+		
+		return new BranchResult(currentStatus, dataBranch, new ArrayList<Future<BranchResult>>(forkedBranches));
+	}
+	
+	/**
+	 * Fork a separated branch onto the branch executor.  The branch is simulated by a new
+	 * engine instance with its own steppers, motor states and aerodynamic calculator.
+	 * 
+	 * @param branchStatus	the status at the start of the separated branch
+	 */
+	private void forkBranch(final SimulationStatus branchStatus) {
+		branchStatus.isolateMotorStates();
+		
+		// The calculator caches per-component data for the configuration it is first used with.
+		// Prime the branch's own calculator with the launch configuration, like the shared one was.
+		SimulationConditions conditions = branchStatus.getSimulationConditions();
+		AerodynamicCalculator calculator = conditions.getAerodynamicCalculator().newInstance();
+		calculator.getCP(launchConfiguration, new FlightConditions(launchConfiguration), null);
+		conditions.setAerodynamicCalculator(calculator);
+		
+		// Concurrent branches collect their own statistics, added to the parent's when collected
+		final SimulationStats stats = (conditions.getSimulationStats() != null) ? new SimulationStats() : null;
+		conditions.setSimulationStats(stats);
+		
+		final BasicEventSimulationEngine engine = new BasicEventSimulationEngine();
+		engine.fcid = this.fcid;
+		engine.branchExecutor = this.branchExecutor;
+		engine.launchConfiguration = this.launchConfiguration;
+		
+		// Branches pushed later onto toSimulate are simulated first, keep the same order
+		forkedBranches.add(0, branchExecutor.submit(new Callable<BranchResult>() {
+			@Override
+			public BranchResult call() {
+				boolean timing = (stats != null) && stats.begin();
+				try {
+					return engine.simulateBranch(branchStatus);
+				} finally {
+					if (timing) {
+						stats.end();
+					}
+				}
+			}
+		}));
+	}
+	
+	/**
+	 * Wait for a branch and the branches forked from it, and add them to the flight data
+	 * in the same order as the sequential simulation would.  Only the calling thread waits
+	 * for the forked branches, so the executor threads never block on each other.
+	 * 
+	 * @param result		the simulated branch
+	 * @param flightData	the flight data to add the branches to
+	 * @return				the status of the last branch added
+	 */
+	private SimulationStatus collectBranches(BranchResult result, FlightData flightData) throws SimulationException {
+		flightData.addBranch(result.data);
+		flightData.getWarningSet().addAll(result.status.getWarnings());
+		
+		SimulationStatus last = result.status;
+		for (Future<BranchResult> child : result.children) {
+			try {
+				BranchResult childResult = child.get();
+				last = collectBranches(childResult, flightData);
+				
+				SimulationStats stats = result.status.getSimulationConditions().getSimulationStats();
+				SimulationStats childStats = childResult.status.getSimulationConditions().getSimulationStats();
+				if (stats != null && childStats != null && stats != childStats) {
+					stats.add(childStats);
+				}
+			} catch (InterruptedException e) {
+				Thread.currentThread().interrupt();
+				throw new SimulationCancelledException(e);
+			} catch (ExecutionException e) {
+				if (e.getCause() instanceof RuntimeException) {
+					throw (RuntimeException) e.getCause();
+				}
+				throw new SimulationException(e.getCause());
+			}
+		}
+		return last;
+	}
+	
 	private FlightDataBranch simulateLoop() {
 		
 		// Initialize the simulation.  We'll use the flight stepper unless we're already on the ground
@@ -123,7 +251,12 @@ public class BasicEventSimulationEngine implements SimulationEngine {
 		try {
 			
 			// Start the simulation
+			SimulationStats stats = currentStatus.getSimulationConditions().getSimulationStats();
 			while (handleEvents()) {
+				if (stats != null) {
+					stats.countStep();
+				}
+				
 				// Take the step
 				double oldAlt = currentStatus.getRocketPosition().z;
 				
@@ -255,6 +388,16 @@ public class BasicEventSimulationEngine implements SimulationEngine {
 	 * processed.  Suitable events are also added to the flight data.
 	 */
 	private boolean handleEvents() throws SimulationException {
+		SimulationStatus status = currentStatus;
+		SimulationStats.Phase phase = SimulationStats.enterPhase(status, SimulationStats.Phase.EVENTS);
+		try {
+			return processEvents();
+		} finally {
+			SimulationStats.exitPhase(status, phase);
+		}
+	}
+	
+	private boolean processEvents() throws SimulationException {
 		boolean ret = true;
 		FlightEvent event;
 		
@@ -436,7 +579,11 @@ public class BasicEventSimulationEngine implements SimulationEngine {
 				boosterStatus.setFlightData(new FlightDataBranch(boosterStage.getName(), FlightDataType.TYPE_TIME));
 				// Mark the booster status as only having the booster.
 				boosterStatus.getConfiguration().setOnlyStage(stageNumber);
-				toSimulate.push(boosterStatus);
+				if (branchExecutor == null) {
+					toSimulate.push(boosterStatus);
+				} else {
+					forkBranch(boosterStatus);
+				}
 				log.info(String.format("==>> @ %g; from Branch: %s ---- Branching: %s ---- \n",
 						currentStatus.getSimulationTime(), 
 						currentStatus.getFlightData().getBranchName(), boosterStatus.getFlightData().getBranchName()));
@@ -623,4 +770,19 @@ public class BasicEventSimulationEngine implements SimulationEngine {
 			return null;
 		}
 	}
+	
+	/**
+	 * The outcome of simulating one branch.
+	 */
+	private static class BranchResult {
+		private final SimulationStatus status;
+		private final FlightDataBranch data;
+		private final List<Future<BranchResult>> children;
+		
+		public BranchResult(SimulationStatus status, FlightDataBranch data, List<Future<BranchResult>> children) {
+			this.status = status;
+			this.data = data;
+			this.children = children;
+		}
+	}
 }
@@ -78,6 +78,18 @@ public class BasicLandingStepper extends AbstractSimulationStepper {
 		
 
 		// Store data
+		SimulationStats.Phase previous = SimulationStats.enterPhase(status, SimulationStats.Phase.DATA_STORAGE);
+		try {
+			storeData(status, atmosphere, windSpeed, airSpeed, mach, dragForce, mass, linearAcceleration, gravity,
+					coriolisAcceleration, timeStep);
+		} finally {
+			SimulationStats.exitPhase(status, previous);
+		}
+	}
+	
+	private void storeData(SimulationStatus status, AtmosphericConditions atmosphere, Coordinate windSpeed,
+			Coordinate airSpeed, double mach, double dragForce, double mass, Coordinate linearAcceleration, double gravity,
+			Coordinate coriolisAcceleration, double timeStep) {
 		FlightDataBranch data = status.getFlightData();
 		boolean extra = status.getSimulationConditions().isCalculateExtras();
 		data.addPoint();
@@ -52,6 +52,8 @@ public class FlightData {
 	private double launchRodVelocity = Double.NaN;
 	private double deploymentVelocity = Double.NaN;
 	
+	private SimulationStats simulationStats = null;
+	
 	
 	/**
 	 * Create a FlightData object with no content.  The resulting object is mutable.
@@ -130,6 +132,19 @@ public class FlightData {
 		}
 	}
 	
+	/**
+	 * Return the profiling statistics of the simulation that produced this data, or
+	 * <code>null</code> if they were not collected.
+	 */
+	public SimulationStats getSimulationStats() {
+		return simulationStats;
+	}
+	
+	public void setSimulationStats(SimulationStats simulationStats) {
+		mutable.check();
+		this.simulationStats = simulationStats;
+	}
+	
 	public int getBranchCount() {
 		return branches.size();
 	}
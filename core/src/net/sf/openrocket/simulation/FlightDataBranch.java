@@ -1,6 +1,7 @@
 package net.sf.openrocket.simulation;
 
 import java.util.Arrays;
+import java.util.Collections;
 import java.util.HashMap;
 import java.util.LinkedHashMap;
 import java.util.List;
@@ -47,6 +48,8 @@ public class FlightDataBranch implements Monitorable {
 	
 	private final ArrayList<FlightEvent> events = new ArrayList<FlightEvent>();
 	
+	private final Map<FlightDataType, FlightDataSeries> series = new HashMap<FlightDataType, FlightDataSeries>();
+	
 	private Mutable mutable = new Mutable();
 	
 	private int modID = 0;
@@ -184,6 +187,44 @@ public class FlightDataBranch implements Monitorable {
 		return list.clone();
 	}
 	
+	/**
+	 * Return a read-only view of the values of the specified variable type.  Unlike
+	 * {@link #get(FlightDataType)} the values are not copied, so this is the cheaper
+	 * choice for consumers that only read the data, such as plots.
+	 * 
+	 * @param type	the variable type.
+	 * @return		an unmodifiable view of the variable values, or <code>null</code> if
+	 * 				the variable type hasn't been added to this branch.
+	 */
+	public List<Double> getView(FlightDataType type) {
+		ArrayList<Double> list = values.get(type);
+		if (list == null)
+			return null;
+		return Collections.unmodifiableList(list);
+	}
+	
+	/**
+	 * Return an index over the values of the specified variable type as a function of
+	 * time, for computing aggregates over time ranges.  The index follows the points
+	 * added to this branch.
+	 * 
+	 * @param type	the variable type.
+	 * @return		the index of the variable values, or <code>null</code> if the variable
+	 * 				type or time hasn't been added to this branch.
+	 */
+	public FlightDataSeries getSeries(FlightDataType type) {
+		FlightDataSeries s = series.get(type);
+		if (s == null) {
+			ArrayList<Double> time = values.get(FlightDataType.TYPE_TIME);
+			ArrayList<Double> list = values.get(type);
+			if (time == null || list == null)
+				return null;
+			s = new FlightDataSeries(time, list);
+			series.put(type, s);
+		}
+		return s;
+	}
+	
 	/**
 	 * Return the last value of the specified type in the branch, or NaN if the type is
 	 * unavailable.
@@ -0,0 +1,341 @@
+package net.sf.openrocket.simulation;
+
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * An index over the values of one data type of a {@link FlightDataBranch} as a function
+ * of time, answering queries over time ranges in logarithmic time.  The values are taken
+ * as piecewise linear between the data points, and constant outside them.
+ * <p>
+ * The index is append-only.  Each query first indexes the points added to the branch
+ * since the previous one, so following a simulation costs constant amortized time per
+ * point.  The last point of the branch is not indexed but read on each query, since its
+ * values may still be set during the current time step.
+ * <p>
+ * Integrals skip segments with NaN values, and minimum and maximum ignore NaN values.
+ */
+public class FlightDataSeries {
+
+	private final List<Double> timeList;
+	private final List<Double> valueList;
+
+	/** Number of indexed points */
+	private int count = 0;
+	private double[] time = new double[64];
+	private double[] value = new double[64];
+	/** Integral of the values from the first point to each point */
+	private double[] integral = new double[64];
+	/** Integral of the squared values from the first point to each point */
+	private double[] squareIntegral = new double[64];
+
+	/** Segment trees of the minimum and maximum, leaves at treeSize + index */
+	private int treeSize = 64;
+	private double[] minTree = newTree(treeSize, Double.POSITIVE_INFINITY);
+	private double[] maxTree = newTree(treeSize, Double.NEGATIVE_INFINITY);
+
+
+	/**
+	 * Create an index over the given lists, which may only be appended to afterwards,
+	 * apart from setting the last value.
+	 */
+	FlightDataSeries(List<Double> timeList, List<Double> valueList) {
+		this.timeList = timeList;
+		this.valueList = valueList;
+	}
+
+
+	/**
+	 * Return the number of points in the series.
+	 */
+	public int getLength() {
+		return update();
+	}
+
+	/**
+	 * Return the value at the given time, or NaN if the series is empty.
+	 */
+	public double getValue(double t) {
+		int n = update();
+		if (n == 0) {
+			return Double.NaN;
+		}
+		return interpolate(find(t, n), t, n);
+	}
+
+	/**
+	 * Return the integral of the values over the given time range.  Times outside the
+	 * points of the series do not contribute.
+	 */
+	public double getIntegral(double start, double end) {
+		int n = update();
+		return cumulative(end, false, n) - cumulative(start, false, n);
+	}
+
+	/**
+	 * Return the integral of the squared values over the given time range.
+	 */
+	public double getSquareIntegral(double start, double end) {
+		int n = update();
+		return cumulative(end, true, n) - cumulative(start, true, n);
+	}
+
+	/**
+	 * Return the minimum of the values over the given time range, or NaN if none are
+	 * available.
+	 */
+	public double getMinimum(double start, double end) {
+		return extremum(start, end, true);
+	}
+
+	/**
+	 * Return the maximum of the values over the given time range, or NaN if none are
+	 * available.
+	 */
+	public double getMaximum(double start, double end) {
+		return extremum(start, end, false);
+	}
+
+	/**
+	 * Return the values at regular time steps, like sampling {@link #getValue(double)}
+	 * at each time but in time linear in the number of points sampled.
+	 *
+	 * @param start		the time of the first value.
+	 * @param step		the time step, positive.
+	 * @param length	the number of values.
+	 */
+	public double[] getValues(double start, double step, int length) {
+		int n = update();
+		double[] result = new double[length];
+		if (n == 0) {
+			Arrays.fill(result, Double.NaN);
+			return result;
+		}
+		int k = find(start, n);
+		for (int i = 0; i < length; i++) {
+			double t = start + i * step;
+			while (k < n - 1 && time(k + 1) <= t) {
+				k++;
+			}
+			result[i] = interpolate(k, t, n);
+		}
+		return result;
+	}
+
+
+	/**
+	 * Index the points added since the previous call, except the last one.
+	 *
+	 * @return	the total number of points.
+	 */
+	private int update() {
+		int n = Math.min(timeList.size(), valueList.size());
+		while (count < n - 1) {
+			append(timeList.get(count), valueList.get(count));
+		}
+		return n;
+	}
+
+	private void append(double t, double v) {
+		if (count == time.length) {
+			int length = count * 2;
+			time = Arrays.copyOf(time, length);
+			value = Arrays.copyOf(value, length);
+			integral = Arrays.copyOf(integral, length);
+			squareIntegral = Arrays.copyOf(squareIntegral, length);
+		}
+		time[count] = t;
+		value[count] = v;
+		if (count == 0) {
+			integral[0] = 0;
+			squareIntegral[0] = 0;
+		} else {
+			integral[count] = integral[count - 1] + segment(time[count - 1], value[count - 1], t, v, false);
+			squareIntegral[count] = squareIntegral[count - 1] + segment(time[count - 1], value[count - 1], t, v, true);
+		}
+
+		if (count == treeSize) {
+			growTrees();
+		}
+		setLeaf(minTree, count, Double.isNaN(v) ? Double.POSITIVE_INFINITY : v, true);
+		setLeaf(maxTree, count, Double.isNaN(v) ? Double.NEGATIVE_INFINITY : v, false);
+		count++;
+	}
+
+
+	private double time(int i) {
+		return (i < count) ? time[i] : timeList.get(i);
+	}
+
+	private double value(int i) {
+		return (i < count) ? value[i] : valueList.get(i);
+	}
+
+	/**
+	 * Return the index of the last point at or before time t, or -1 if none.
+	 */
+	private int find(double t, int n) {
+		if (n > count && time(n - 1) <= t) {
+			return n - 1;
+		}
+		int low = 0;
+		int high = count - 1;
+		while (low <= high) {
+			int mid = (low + high) >>> 1;
+			if (t < time[mid]) {
+				high = mid - 1;
+			} else {
+				low = mid + 1;
+			}
+		}
+		return high;
+	}
+
+	private double interpolate(int k, double t, int n) {
+		if (k < 0) {
+			return value(0);
+		}
+		if (k >= n - 1) {
+			return value(n - 1);
+		}
+		double t1 = time(k);
+		double v1 = value(k);
+		double t2 = time(k + 1);
+		if (t == t1) {
+			return v1;
+		}
+		if (t2 <= t1) {
+			return value(k + 1);
+		}
+		return (t - t1) / (t2 - t1) * (value(k + 1) - v1) + v1;
+	}
+
+	/**
+	 * Return the integral from the first point to time t.
+	 */
+	private double cumulative(double t, boolean square, int n) {
+		if (n == 0) {
+			return 0;
+		}
+		int k = find(t, n);
+		if (k < 0) {
+			return 0;
+		}
+		double prefix;
+		if (k < count) {
+			prefix = square ? squareIntegral[k] : integral[k];
+		} else if (k == 0) {
+			prefix = 0;
+		} else {
+			// The last point, which is not indexed
+			prefix = (square ? squareIntegral[k - 1] : integral[k - 1]) +
+					segment(time(k - 1), value(k - 1), time(k), value(k), square);
+		}
+		if (k == n - 1) {
+			return prefix;
+		}
+		return prefix + segment(time(k), value(k), t, interpolate(k, t, n), square);
+	}
+
+	/**
+	 * Return the integral of a linear segment, or of its square, zero if it is undefined.
+	 */
+	private static double segment(double t1, double v1, double t2, double v2, boolean square) {
+		double dt = t2 - t1;
+		double result;
+		if (square) {
+			result = dt * (v1 * v1 + v1 * v2 + v2 * v2) / 3;
+		} else {
+			result = dt * (v1 + v2) / 2;
+		}
+		return Double.isNaN(result) ? 0 : result;
+	}
+
+	private double extremum(double start, double end, boolean min) {
+		int n = update();
+		if (n == 0 || end < start) {
+			return Double.NaN;
+		}
+
+		// Interpolated values at the ends of the range
+		double result = min ? Double.POSITIVE_INFINITY : Double.NEGATIVE_INFINITY;
+		result = combine(result, interpolate(find(start, n), start, n), min);
+		int last = find(end, n);
+		result = combine(result, interpolate(last, end, n), min);
+
+		// Points within the range
+		int first = find(start, n) + 1;
+		if (n > count && last == n - 1) {
+			result = combine(result, value(n - 1), min);
+			last--;
+		}
+		if (first <= last) {
+			result = combine(result, query(min ? minTree : maxTree, first, last, min), min);
+		}
+
+		if (Double.isInfinite(result) && (min ? result > 0 : result < 0)) {
+			return Double.NaN;
+		}
+		return result;
+	}
+
+	private static double combine(double a, double b, boolean min) {
+		if (Double.isNaN(b)) {
+			return a;
+		}
+		return min ? Math.min(a, b) : Math.max(a, b);
+	}
+
+
+	private static double[] newTree(int size, double empty) {
+		double[] tree = new double[2 * size];
+		Arrays.fill(tree, empty);
+		return tree;
+	}
+
+	private void growTrees() {
+		int size = treeSize * 2;
+		double[] newMin = newTree(size, Double.POSITIVE_INFINITY);
+		double[] newMax = newTree(size, Double.NEGATIVE_INFINITY);
+		System.arraycopy(minTree, treeSize, newMin, size, treeSize);
+		System.arraycopy(maxTree, treeSize, newMax, size, treeSize);
+		for (int i = size - 1; i > 0; i--) {
+			newMin[i] = Math.min(newMin[2 * i], newMin[2 * i + 1]);
+			newMax[i] = Math.max(newMax[2 * i], newMax[2 * i + 1]);
+		}
+		treeSize = size;
+		minTree = newMin;
+		maxTree = newMax;
+	}
+
+	private void setLeaf(double[] tree, int index, double v, boolean min) {
+		int i = treeSize + index;
+		tree[i] = v;
+		for (i /= 2; i > 0; i /= 2) {
+			tree[i] = min ? Math.min(tree[2 * i], tree[2 * i + 1]) : Math.max(tree[2 * i], tree[2 * i + 1]);
+		}
+	}
+
+	/**
+	 * Return the minimum or maximum of the indexed values from first to last inclusive.
+	 */
+	private double query(double[] tree, int first, int last, boolean min) {
+		double result = min ? Double.POSITIVE_INFINITY : Double.NEGATIVE_INFINITY;
+		int l = first + treeSize;
+		int r = last + treeSize + 1;
+		while (l < r) {
+			if ((l & 1) == 1) {
+				result = min ? Math.min(result, tree[l]) : Math.max(result, tree[l]);
+				l++;
+			}
+			if ((r & 1) == 1) {
+				r--;
+				result = min ? Math.min(result, tree[r]) : Math.max(result, tree[r]);
+			}
+			l /= 2;
+			r /= 2;
+		}
+		return result;
+	}
+
+}
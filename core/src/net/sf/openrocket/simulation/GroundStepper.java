@@ -28,6 +28,17 @@ public class GroundStepper extends AbstractSimulationStepper {
 		status.setRocketPosition(status.getRocketPosition().setZ(0));
 		
 		// Store data
+		SimulationStats.Phase previous = SimulationStats.enterPhase(status, SimulationStats.Phase.DATA_STORAGE);
+		try {
+			storeData(status, timeStep);
+		} finally {
+			SimulationStats.exitPhase(status, previous);
+		}
+
+		status.setSimulationTime(status.getSimulationTime() + timeStep);		
+	}
+	
+	private void storeData(SimulationStatus status, double timeStep) throws SimulationException {
 		FlightDataBranch data = status.getFlightData();
 		boolean extra = status.getSimulationConditions().isCalculateExtras();
 		data.addPoint();
@@ -79,7 +90,5 @@ public class GroundStepper extends AbstractSimulationStepper {
 		data.setValue(FlightDataType.TYPE_TIME_STEP, timeStep);
 		data.setValue(FlightDataType.TYPE_COMPUTATION_TIME,
 					  (System.nanoTime() - status.getSimulationStartWallTime()) / 1000000000.0);
-
-		status.setSimulationTime(status.getSimulationTime() + timeStep);		
 	}
 }
@@ -9,11 +9,18 @@ import net.sf.openrocket.rocketcomponent.RocketComponent;
 
 public class MotorClusterState {
 	
+	/** Number of thrust curve samples per simulation time step */
+	private static final int SAMPLES_PER_TIME_STEP = 10;
+	
 	// for reference: set at initialization ONLY.
 	final protected Motor motor;
 	final protected MotorConfiguration config;
 	final protected int motorCount;
 	final protected double thrustDuration; 
+	final protected double curveResolution;
+	
+	// resampled curve of the motor, shared with other states of the same motor
+	protected ThrustCurveTable curve = null;
 	
 	// for state:
 	protected double ignitionTime = Double.NaN;
@@ -22,15 +29,46 @@ public class MotorClusterState {
 	protected ThrustState currentState = ThrustState.ARMED;
 		
 	public MotorClusterState(final MotorConfiguration _config) {
+		this(_config, RK4SimulationStepper.RECOMMENDED_TIME_STEP);
+	}
+	
+	/**
+	 * Create a motor state for a simulation.  The thrust curve of the motor is resampled
+	 * at a resolution finer than the simulation time step when the motor is ignited.
+	 * 
+	 * @param _config	the motor configuration
+	 * @param timeStep	the time step of the simulation
+	 */
+	public MotorClusterState(final MotorConfiguration _config, final double timeStep) {
 		this.config = _config;
 		
 		this.motor = this.config.getMotor();
 		this.motorCount = this.config.getMotorCount();
 		this.thrustDuration = this.motor.getBurnTimeEstimate();
+		this.curveResolution = timeStep / SAMPLES_PER_TIME_STEP;
 		
 		this.reset();
 	}
 
+	/**
+	 * Create an independent copy of a motor state, including its current thrust state.
+	 * 
+	 * @param orig	the state to copy
+	 */
+	public MotorClusterState(final MotorClusterState orig) {
+		this.config = orig.config;
+		this.motor = orig.motor;
+		this.motorCount = orig.motorCount;
+		this.thrustDuration = orig.thrustDuration;
+		this.curveResolution = orig.curveResolution;
+		this.curve = orig.curve;
+		
+		this.ignitionTime = orig.ignitionTime;
+		this.cutoffTime = orig.cutoffTime;
+		this.ejectionTime = orig.ejectionTime;
+		this.currentState = orig.currentState;
+	}
+
 	public double getIgnitionTime() {
 		return ignitionTime;
 	}
@@ -41,6 +79,7 @@ public class MotorClusterState {
 
 	public void ignite( final double _ignitionTime ){
 		if( ThrustState.ARMED == currentState ){
+			getThrustCurve();
 			this.ignitionTime = _ignitionTime;
 			this.currentState = this.currentState.getNext();
 //		}else{
@@ -99,7 +138,17 @@ public class MotorClusterState {
 	}
 	
 	public double getPropellantMass( final double motorTime ){
-		return (motor.getPropellantMass( motorTime) - motor.getBurnoutMass());
+		return (getThrustCurve().getTotalMass( motorTime) - motor.getBurnoutMass());
+	}
+	
+	/**
+	 * Return the resampled thrust, mass and CG curve of the motor, creating it if necessary.
+	 */
+	public ThrustCurveTable getThrustCurve(){
+		if( null == curve ){
+			curve = ThrustCurveTable.get( motor, curveResolution);
+		}
+		return curve;
 	}
 		
 	public MotorMount getMount(){
@@ -131,7 +180,7 @@ public class MotorClusterState {
 			double motorEndTime = this.getMotorTime( endSimulationTime);
 			
 			int instanceCount = this.config.getMount().getLocations().length;
-			return instanceCount * motor.getAverageThrust( motorStartTime, motorEndTime );
+			return instanceCount * getThrustCurve().getAverageThrust( motorStartTime, motorEndTime );
 		}else{
 			return 0.00;
 		}
@@ -147,7 +196,7 @@ public class MotorClusterState {
 	public double getThrust( final double simulationTime){
 		if( this.currentState.isThrusting() ){
 			double motorTime = this.getMotorTime( simulationTime);
-			return this.motorCount * motor.getThrust( motorTime );
+			return this.motorCount * getThrustCurve().getThrust( motorTime );
 
 		}else{
 			return 0.0;
@@ -165,13 +165,18 @@ public class RK4SimulationStepper extends AbstractSimulationStepper {
 		}
 
 		double minTimeStep = status.getSimulationConditions().getTimeStep() / 20;
-		if (store.timestep < minTimeStep) {
+		boolean minimumApplied = store.timestep < minTimeStep;
+		if (minimumApplied) {
 			log.trace("Too small time step " + store.timestep + " (limiting factor " + limitingValue + "), using " +
 					minTimeStep + " instead.");
 			store.timestep = minTimeStep;
 		} else {
 			log.trace("Selected time step " + store.timestep + " (limiting factor " + limitingValue + ")");
 		}
+		SimulationStats stats = status.getSimulationConditions().getSimulationStats();
+		if (stats != null) {
+			stats.countTimeStepLimit(limitingValue, minimumApplied);
+		}
 		checkNaN(store.timestep);
 		
 		/*
@@ -193,6 +198,9 @@ public class RK4SimulationStepper extends AbstractSimulationStepper {
 						" correct=" + store.thrustForce +
 						" timestep=" + store.timestep +
 						", recomputing k1 parameters");
+				if (stats != null) {
+					stats.countK1Recomputation();
+				}
 				k1 = computeParameters(status, store);
 			} else {
 				log.trace("Thrust estimate differs from correct value by " +
@@ -206,7 +214,12 @@ public class RK4SimulationStepper extends AbstractSimulationStepper {
 		
 		// Store data
 		// TODO: MEDIUM: Store acceleration etc of entire RK4 step, store should be cloned or something...
-		storeData(status, store);
+		SimulationStats.Phase previous = SimulationStats.enterPhase(status, SimulationStats.Phase.DATA_STORAGE);
+		try {
+			storeData(status, store);
+		} finally {
+			SimulationStats.exitPhase(status, previous);
+		}
 		
 
 		//// Second position, k2 = f(t + h/2, y + k1*h/2)
@@ -444,8 +457,13 @@ public class RK4SimulationStepper extends AbstractSimulationStepper {
 		
 
 		// Calculate aerodynamic forces
-		store.forces = status.getSimulationConditions().getAerodynamicCalculator()
-				.getAerodynamicForces(status.getConfiguration(), store.flightConditions, warnings);
+		SimulationStats.Phase previous = SimulationStats.enterPhase(status, SimulationStats.Phase.AERODYNAMICS);
+		try {
+			store.forces = status.getSimulationConditions().getAerodynamicCalculator()
+					.getAerodynamicForces(status.getConfiguration(), store.flightConditions, warnings);
+		} finally {
+			SimulationStats.exitPhase(status, previous);
+		}
 		
 
 		// Add very small randomization to yaw & pitch moments to prevent over-perfect flight
@@ -2,6 +2,7 @@ package net.sf.openrocket.simulation;
 
 import java.util.ArrayList;
 import java.util.List;
+import java.util.concurrent.ExecutorService;
 
 import net.sf.openrocket.aerodynamics.AerodynamicCalculator;
 import net.sf.openrocket.document.Simulation;
@@ -68,6 +69,12 @@ public class SimulationConditions implements Monitorable, Cloneable {
 	
 	private int randomSeed = 0;
 	
+	/** Executor for simulating separated branches concurrently, or null to simulate them sequentially. */
+	private ExecutorService branchExecutor = null;
+	
+	/** Profiling statistics to collect, or null to not collect them. */
+	private SimulationStats simulationStats = null;
+	
 	private int modID = 0;
 	private int modIDadd = 0;
 	
@@ -287,6 +294,45 @@ public class SimulationConditions implements Monitorable, Cloneable {
 		return this.simulation;
 	}
 	
+	/**
+	 * Return the executor on which separated stage branches are simulated, or
+	 * <code>null</code> if the branches are simulated sequentially on the calling thread.
+	 */
+	public ExecutorService getBranchExecutor() {
+		return branchExecutor;
+	}
+	
+	/**
+	 * Set the executor on which separated stage branches are simulated.  The results are
+	 * independent of the executor, the branches are added to the flight data in the same
+	 * order as when simulated sequentially.  The executor must not be one that is running
+	 * the simulation itself, as the calling thread waits for the forked branches.
+	 * 
+	 * @param branchExecutor	the executor to use, or <code>null</code> to simulate the branches sequentially.
+	 */
+	public void setBranchExecutor(ExecutorService branchExecutor) {
+		this.branchExecutor = branchExecutor;
+	}
+	
+	/**
+	 * Return the profiling statistics collected during the simulation, or <code>null</code>
+	 * if statistics are not collected.
+	 */
+	public SimulationStats getSimulationStats() {
+		return simulationStats;
+	}
+	
+	/**
+	 * Set the profiling statistics to collect during the simulation.  The statistics are
+	 * attached to the resulting flight data.
+	 * 
+	 * @param simulationStats	the statistics to add to, or <code>null</code> to not collect statistics.
+	 */
+	public void setSimulationStats(SimulationStats simulationStats) {
+		this.simulationStats = simulationStats;
+	}
+	
+	
 	// TODO: HIGH: Make cleaner
 	public List<SimulationListener> getSimulationListenerList() {
 		return simulationListeners;
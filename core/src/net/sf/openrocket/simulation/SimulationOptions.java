@@ -401,6 +401,9 @@ public class SimulationOptions implements ChangeSource, Cloneable {
 		this.launchRodDirection = src.launchRodDirection;
 		this.launchRodLength = src.launchRodLength;
 		this.launchTemperature = src.launchTemperature;
+		this.launchIntoWind = src.launchIntoWind;
+		this.useISA = src.useISA;
+		this.geodeticComputation = src.geodeticComputation;
 		this.maximumAngle = src.maximumAngle;
 		this.timeStep = src.timeStep;
 		this.windAverage = src.windAverage;
@@ -572,6 +575,11 @@ public class SimulationOptions implements ChangeSource, Cloneable {
 		
 		conditions.setCalculateExtras(getCalculateExtras());
 		
+		// Collect profiling statistics if requested
+		if (System.getProperty("openrocket.debug.simulationstats") != null) {
+			conditions.setSimulationStats(new SimulationStats());
+		}
+		
 		return conditions;
 	}
 	
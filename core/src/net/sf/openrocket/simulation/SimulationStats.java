@@ -0,0 +1,247 @@
+package net.sf.openrocket.simulation;
+
+import java.util.Locale;
+
+/**
+ * Profiling statistics of a simulation.  The statistics are collected only if an instance
+ * is set in the {@link SimulationConditions}, otherwise the simulation does no extra work.
+ * After the simulation the statistics are available from {@link FlightData#getSimulationStats()}.
+ * <p>
+ * The wall-clock time of the simulation is divided into phases.  Exactly one phase is
+ * active at a time, so the phase times are exclusive and sum up to the total time.  A phase
+ * is entered with {@link #enter(Phase)}, which returns the previously active phase that
+ * should be entered again when the nested computation is done.
+ * <p>
+ * An instance must only be used from one thread at a time.  Branches simulated concurrently
+ * collect their own statistics, which are added together afterwards.
+ */
+public class SimulationStats {
+
+	/**
+	 * The phases of the simulation that are timed.
+	 */
+	public enum Phase {
+		/** Aerodynamic force computation. */
+		AERODYNAMICS,
+		/** Mass and inertia computation. */
+		MASS,
+		/** Motor thrust computation. */
+		THRUST,
+		/** Atmospheric, wind and gravity models. */
+		ENVIRONMENT,
+		/** Simulation listeners and extensions. */
+		LISTENERS,
+		/** Storing the flight data. */
+		DATA_STORAGE,
+		/** Handling the flight events. */
+		EVENTS,
+		/** Everything else, mainly the integration itself. */
+		OTHER
+	}
+
+	/** The number of limiting factors of the RK4 time step, see {@link RK4SimulationStepper}. */
+	public static final int TIME_STEP_LIMITS = 8;
+
+	private static final Phase[] PHASES = Phase.values();
+
+	private final long[] phaseNanos = new long[PHASES.length];
+	private final long[] phaseCounts = new long[PHASES.length];
+
+	private long steps = 0;
+	private long k1Recomputations = 0;
+	private long minimumTimeSteps = 0;
+	private final long[] timeStepLimits = new long[TIME_STEP_LIMITS];
+
+	private Phase current = null;
+	private long phaseStart;
+
+
+	/**
+	 * Start timing, with {@link Phase#OTHER} as the active phase.  Calls may be nested,
+	 * only the outermost call starts the timing.
+	 *
+	 * @return	<code>true</code> if timing was started, in which case {@link #end()} must be called.
+	 */
+	public boolean begin() {
+		if (current != null) {
+			return false;
+		}
+		current = Phase.OTHER;
+		phaseCounts[current.ordinal()]++;
+		phaseStart = System.nanoTime();
+		return true;
+	}
+
+	/**
+	 * Stop timing, charging the elapsed time to the active phase.
+	 */
+	public void end() {
+		if (current == null) {
+			return;
+		}
+		phaseNanos[current.ordinal()] += System.nanoTime() - phaseStart;
+		current = null;
+	}
+
+	/**
+	 * Enter a phase, charging the elapsed time to the previously active phase.  Does nothing
+	 * if timing has not been started.
+	 *
+	 * @param phase		the phase to enter.
+	 * @return			the previously active phase, or <code>null</code> if timing is not active.
+	 */
+	public Phase enter(Phase phase) {
+		if (current == null) {
+			return null;
+		}
+		long now = System.nanoTime();
+		phaseNanos[current.ordinal()] += now - phaseStart;
+		phaseStart = now;
+		Phase previous = current;
+		current = phase;
+		phaseCounts[phase.ordinal()]++;
+		return previous;
+	}
+
+	/**
+	 * Return to the phase returned by {@link #enter(Phase)}.
+	 *
+	 * @param previous	the previously active phase, may be <code>null</code>.
+	 */
+	public void exit(Phase previous) {
+		if (previous == null || current == null) {
+			return;
+		}
+		long now = System.nanoTime();
+		phaseNanos[current.ordinal()] += now - phaseStart;
+		phaseStart = now;
+		current = previous;
+	}
+
+
+	/**
+	 * Enter a phase if the simulation collects statistics.
+	 *
+	 * @param status	the simulation status.
+	 * @param phase		the phase to enter.
+	 * @return			the phase to pass to {@link #exitPhase(SimulationStatus, Phase)}.
+	 */
+	public static Phase enterPhase(SimulationStatus status, Phase phase) {
+		SimulationStats stats = status.getSimulationConditions().getSimulationStats();
+		return (stats == null) ? null : stats.enter(phase);
+	}
+
+	/**
+	 * Return to the phase returned by {@link #enterPhase(SimulationStatus, Phase)}.
+	 */
+	public static void exitPhase(SimulationStatus status, Phase previous) {
+		if (previous != null) {
+			status.getSimulationConditions().getSimulationStats().exit(previous);
+		}
+	}
+
+
+	/** Count a simulation step. */
+	public void countStep() {
+		steps++;
+	}
+
+	/** Count a recomputation of the first RK4 parameters due to an inaccurate thrust estimate. */
+	public void countK1Recomputation() {
+		k1Recomputations++;
+	}
+
+	/**
+	 * Count the factor limiting an RK4 time step.
+	 *
+	 * @param limit				the index of the limiting factor, or -1 if none.
+	 * @param minimumApplied	whether the time step was increased to the minimum time step.
+	 */
+	public void countTimeStepLimit(int limit, boolean minimumApplied) {
+		if (limit >= 0 && limit < TIME_STEP_LIMITS) {
+			timeStepLimits[limit]++;
+		}
+		if (minimumApplied) {
+			minimumTimeSteps++;
+		}
+	}
+
+
+	/**
+	 * Add the statistics of another instance, such as a concurrently simulated branch, to this one.
+	 */
+	public void add(SimulationStats other) {
+		for (int i = 0; i < PHASES.length; i++) {
+			phaseNanos[i] += other.phaseNanos[i];
+			phaseCounts[i] += other.phaseCounts[i];
+		}
+		steps += other.steps;
+		k1Recomputations += other.k1Recomputations;
+		minimumTimeSteps += other.minimumTimeSteps;
+		for (int i = 0; i < TIME_STEP_LIMITS; i++) {
+			timeStepLimits[i] += other.timeStepLimits[i];
+		}
+	}
+
+
+	/** Return the nanoseconds spent in the phase. */
+	public long getNanos(Phase phase) {
+		return phaseNanos[phase.ordinal()];
+	}
+
+	/** Return the number of times the phase was entered. */
+	public long getCount(Phase phase) {
+		return phaseCounts[phase.ordinal()];
+	}
+
+	/** Return the total nanoseconds of all phases. */
+	public long getTotalNanos() {
+		long total = 0;
+		for (long n : phaseNanos) {
+			total += n;
+		}
+		return total;
+	}
+
+	/** Return the number of simulation steps taken. */
+	public long getSteps() {
+		return steps;
+	}
+
+	/** Return the number of times the first RK4 parameters were recomputed. */
+	public long getK1Recomputations() {
+		return k1Recomputations;
+	}
+
+	/** Return the number of RK4 time steps that were increased to the minimum time step. */
+	public long getMinimumTimeSteps() {
+		return minimumTimeSteps;
+	}
+
+	/**
+	 * Return the number of RK4 time steps limited by the specified factor.  The factors are
+	 * the indices of the <code>dt</code> array in {@link RK4SimulationStepper}.
+	 */
+	public long getTimeStepLimitCount(int limit) {
+		return timeStepLimits[limit];
+	}
+
+
+	@Override
+	public String toString() {
+		StringBuilder sb = new StringBuilder();
+		double total = getTotalNanos();
+		sb.append(String.format(Locale.ENGLISH, "Simulation statistics: %.1f ms, %d steps, %d k1 recomputations, %d minimum time steps%n",
+				total / 1e6, steps, k1Recomputations, minimumTimeSteps));
+		for (Phase phase : PHASES) {
+			long nanos = getNanos(phase);
+			sb.append(String.format(Locale.ENGLISH, "  %-13s %10.1f ms %5.1f%% %10d calls%n", phase, nanos / 1e6,
+					(total > 0) ? 100 * nanos / total : 0, getCount(phase)));
+		}
+		sb.append("  Time step limits:");
+		for (int i = 0; i < TIME_STEP_LIMITS; i++) {
+			sb.append(" dt[").append(i).append("]=").append(timeStepLimits[i]);
+		}
+		return sb.toString();
+	}
+}
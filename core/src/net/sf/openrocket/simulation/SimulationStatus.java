@@ -3,6 +3,7 @@ package net.sf.openrocket.simulation;
 import java.util.ArrayList;
 import java.util.Collection;
 import java.util.HashMap;
+import java.util.IdentityHashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
@@ -532,10 +533,34 @@ public class SimulationStatus implements Monitorable {
 		return buf.toString();
 	}
 	
+	/**
+	 * Replace the motor states with independent copies, so that this status can be
+	 * simulated concurrently with the status it was copied from.  Events in the event
+	 * queue that refer to the motor states are updated to refer to the copies.
+	 */
+	void isolateMotorStates() {
+		Map<MotorClusterState, MotorClusterState> copies = new IdentityHashMap<MotorClusterState, MotorClusterState>();
+		for (int i = 0; i < this.motorStateList.size(); i++) {
+			MotorClusterState copy = new MotorClusterState(this.motorStateList.get(i));
+			copies.put(this.motorStateList.get(i), copy);
+			this.motorStateList.set(i, copy);
+		}
+		
+		List<FlightEvent> events = new ArrayList<FlightEvent>(this.eventQueue);
+		this.eventQueue.clear();
+		for (FlightEvent event : events) {
+			MotorClusterState copy = copies.get(event.getData());
+			if (copy != null) {
+				event = new FlightEvent(event.getType(), event.getTime(), event.getSource(), copy);
+			}
+			this.eventQueue.add(event);
+		}
+	}
+	
 	private void populateMotors(){
 		motorStateList.clear();
 		for( MotorConfiguration motorConfig : this.configuration.getAllMotors() ) {
-			MotorClusterState simMotor  = new MotorClusterState( motorConfig);
+			MotorClusterState simMotor  = new MotorClusterState( motorConfig, simulationConditions.getTimeStep());
 			this.motorStateList.add( simMotor); 
 		}
 	}
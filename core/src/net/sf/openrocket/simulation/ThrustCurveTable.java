@@ -0,0 +1,284 @@
+package net.sf.openrocket.simulation;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import net.sf.openrocket.motor.Motor;
+import net.sf.openrocket.motor.ThrustCurveMotor;
+
+/**
+ * The thrust, mass and CG of a motor resampled at uniform time intervals, so that
+ * the values at any motor time are read from the tables in constant time.  The average
+ * thrust over an interval is computed from a cumulative impulse table.
+ * <p>
+ * The sample interval is chosen from a requested resolution and halved until the
+ * error against the original curve is within {@link #MAX_RELATIVE_ERROR}, or the
+ * number of samples reaches a limit.  The error is measured at the original data points,
+ * where the linearly interpolated thrust and mass have their corners, and halfway between
+ * the samples, where the mass-weighted CG deviates most.  The errors remaining are
+ * available from the table.
+ * <p>
+ * Tables are immutable and shared between all users of the same motor and resolution.
+ * The most recently used tables are kept in a bounded cache.
+ */
+public class ThrustCurveTable {
+
+	private static final Logger log = LoggerFactory.getLogger(ThrustCurveTable.class);
+
+	/** The maximum error of the thrust, mass and CG relative to the maximum thrust, launch mass and motor length. */
+	public static final double MAX_RELATIVE_ERROR = 0.002;
+
+	private static final int MAX_SAMPLES = 1 << 16;
+
+	/** Maximum number of shared tables. */
+	private static final int CACHE_SIZE = 64;
+
+	private static final Map<Key, ThrustCurveTable> cache =
+			new LinkedHashMap<Key, ThrustCurveTable>(16, 0.75f, true) {
+				@Override
+				protected boolean removeEldestEntry(Map.Entry<Key, ThrustCurveTable> eldest) {
+					return size() > CACHE_SIZE;
+				}
+			};
+
+
+	private final int sampleCount;
+	private final double interval;
+	private final double inverseInterval;
+	private final double[] thrust;
+	private final double[] impulse;
+	private final double[] mass;
+	private final double[] cgx;
+
+	private double thrustError;
+	private double massError;
+	private double cgError;
+
+
+	/**
+	 * Return the table of a motor for a resolution, creating it if necessary.
+	 *
+	 * @param motor			the motor.
+	 * @param resolution	the largest sample interval to use, in seconds.
+	 * @return				the table of the motor.
+	 */
+	public static ThrustCurveTable get(Motor motor, double resolution) {
+		Key key = new Key(motor, resolution);
+		ThrustCurveTable table;
+		synchronized (cache) {
+			table = cache.get(key);
+		}
+		if (table == null) {
+			// Resampled outside the lock, so that different motors are resampled concurrently
+			ThrustCurveTable created = create(motor, resolution);
+			synchronized (cache) {
+				table = cache.get(key);
+				if (table == null) {
+					table = created;
+					cache.put(key, table);
+				}
+			}
+		}
+		return table;
+	}
+
+	/**
+	 * Return the number of tables currently cached.
+	 */
+	static int getCacheSize() {
+		synchronized (cache) {
+			return cache.size();
+		}
+	}
+
+	private static ThrustCurveTable create(Motor motor, double resolution) {
+		if (!(resolution > 0)) {
+			throw new IllegalArgumentException("resolution must be positive, was " + resolution);
+		}
+		double duration = (motor instanceof ThrustCurveMotor) ?
+				((ThrustCurveMotor) motor).getCutOffTime() : motor.getBurnTime();
+		duration = Math.max(duration, 0);
+
+		ThrustCurveTable table;
+		double interval = resolution;
+		while (true) {
+			int count = (int) Math.min(MAX_SAMPLES, Math.ceil(duration / interval) + 1);
+			table = new ThrustCurveTable(motor, duration, Math.max(count, 2));
+			if (table.isWithinErrorBounds(motor) || count >= MAX_SAMPLES) {
+				break;
+			}
+			interval /= 2;
+		}
+
+		log.debug("Resampled " + motor.getDesignation() + " at " + table.sampleCount + " points with interval " +
+				table.interval + " s, maximum error thrust " + table.thrustError + " N, mass " +
+				table.massError + " kg, CG " + table.cgError + " m");
+		if (!table.isWithinErrorBounds(motor)) {
+			log.warn("Resampled thrust curve of " + motor.getDesignation() + " exceeds error bounds: thrust " +
+					table.thrustError + " N, mass " + table.massError + " kg, CG " + table.cgError + " m");
+		}
+		return table;
+	}
+
+
+	private ThrustCurveTable(Motor motor, double duration, int sampleCount) {
+		this.sampleCount = sampleCount;
+		this.interval = (duration > 0) ? duration / (sampleCount - 1) : 1;
+		this.inverseInterval = 1 / interval;
+		this.thrust = new double[sampleCount];
+		this.impulse = new double[sampleCount];
+		this.mass = new double[sampleCount];
+		this.cgx = new double[sampleCount];
+
+		for (int i = 0; i < sampleCount; i++) {
+			double t = (i == sampleCount - 1) ? duration : i * interval;
+			thrust[i] = motor.getThrust(t);
+			mass[i] = motor.getTotalMass(t);
+			cgx[i] = motor.getCMx(t);
+			if (i > 0) {
+				impulse[i] = impulse[i - 1] + interval * (thrust[i - 1] + thrust[i]) / 2;
+			}
+		}
+
+		if (motor instanceof ThrustCurveMotor) {
+			for (double t : ((ThrustCurveMotor) motor).getTimePoints()) {
+				measureError(motor, t);
+			}
+		}
+		for (int i = 0; i < sampleCount - 1; i++) {
+			measureError(motor, (i + 0.5) * interval);
+		}
+	}
+
+	private void measureError(Motor motor, double t) {
+		thrustError = Math.max(thrustError, Math.abs(motor.getThrust(t) - getThrust(t)));
+		massError = Math.max(massError, Math.abs(motor.getTotalMass(t) - getTotalMass(t)));
+		cgError = Math.max(cgError, Math.abs(motor.getCMx(t) - getCMx(t)));
+	}
+
+	private boolean isWithinErrorBounds(Motor motor) {
+		return thrustError <= MAX_RELATIVE_ERROR * motor.getMaxThrustEstimate() &&
+				massError <= MAX_RELATIVE_ERROR * motor.getLaunchMass() &&
+				cgError <= MAX_RELATIVE_ERROR * motor.getLength();
+	}
+
+
+	/**
+	 * Return the number of samples in the tables.
+	 */
+	public int getSampleCount() {
+		return sampleCount;
+	}
+
+	/**
+	 * Return the time between samples, in seconds.
+	 */
+	public double getInterval() {
+		return interval;
+	}
+
+	/**
+	 * Return the maximum difference of the thrust from the original curve, in newtons.
+	 */
+	public double getThrustError() {
+		return thrustError;
+	}
+
+	/**
+	 * Return the maximum difference of the total mass from the original curve, in kilograms.
+	 */
+	public double getMassError() {
+		return massError;
+	}
+
+	/**
+	 * Return the maximum difference of the CG from the original curve, in meters.
+	 */
+	public double getCGError() {
+		return cgError;
+	}
+
+
+	public double getThrust(double motorTime) {
+		return interpolate(thrust, motorTime);
+	}
+
+	public double getTotalMass(double motorTime) {
+		return interpolate(mass, motorTime);
+	}
+
+	public double getCMx(double motorTime) {
+		return interpolate(cgx, motorTime);
+	}
+
+	/**
+	 * Return the average thrust between two motor times.
+	 */
+	public double getAverageThrust(double startTime, double endTime) {
+		if (!(endTime > startTime)) {
+			return getThrust(startTime);
+		}
+		return (getImpulse(endTime) - getImpulse(startTime)) / (endTime - startTime);
+	}
+
+	/**
+	 * Return the impulse from ignition to a motor time.
+	 */
+	private double getImpulse(double motorTime) {
+		if (!(motorTime > 0)) {
+			return 0;
+		}
+		double x = motorTime * inverseInterval;
+		if (x >= sampleCount - 1) {
+			return impulse[sampleCount - 1];
+		}
+		int i = (int) x;
+		double dt = (x - i) * interval;
+		double f = thrust[i] + (x - i) * (thrust[i + 1] - thrust[i]);
+		return impulse[i] + dt * (thrust[i] + f) / 2;
+	}
+
+	private double interpolate(double[] values, double motorTime) {
+		if (!(motorTime > 0)) {
+			return values[0];
+		}
+		double x = motorTime * inverseInterval;
+		if (x >= sampleCount - 1) {
+			return values[sampleCount - 1];
+		}
+		int i = (int) x;
+		return values[i] + (x - i) * (values[i + 1] - values[i]);
+	}
+
+
+	/**
+	 * Cache key of a motor instance and a resolution.
+	 */
+	private static final class Key {
+		private final Motor motor;
+		private final double resolution;
+
+		Key(Motor motor, double resolution) {
+			this.motor = motor;
+			this.resolution = resolution;
+		}
+
+		@Override
+		public boolean equals(Object obj) {
+			if (!(obj instanceof Key)) {
+				return false;
+			}
+			Key other = (Key) obj;
+			return motor == other.motor && Double.compare(resolution, other.resolution) == 0;
+		}
+
+		@Override
+		public int hashCode() {
+			return System.identityHashCode(motor) * 31 + Double.valueOf(resolution).hashCode();
+		}
+	}
+
+}
@@ -89,6 +89,10 @@ public class Functions {
 		CustomFunction meanFn = new CustomFunction("mean") {
 			@Override
 			public Variable applyFunction(List<Variable> vars) {
+				if (vars.get(0) instanceof RangeVariable) {
+					RangeVariable range = (RangeVariable) vars.get(0);
+					return new Variable("double MEAN result, ", range.getMean());
+				}
 		    	double[] vals;
 		    	try{
 		    		vals = vars.get(0).getArrayValue();
@@ -103,6 +107,10 @@ public class Functions {
 		CustomFunction minFn = new CustomFunction("min") {
 			@Override
 			public Variable applyFunction(List<Variable> vars) {
+				if (vars.get(0) instanceof RangeVariable) {
+					RangeVariable range = (RangeVariable) vars.get(0);
+					return new Variable("double MIN result, ", range.getMinimum());
+				}
 		    	double[] vals;
 		    	try{
 		    		vals = vars.get(0).getArrayValue();
@@ -117,6 +125,10 @@ public class Functions {
 		CustomFunction maxFn = new CustomFunction("max") {
 			@Override
 			public Variable applyFunction(List<Variable> vars) {
+				if (vars.get(0) instanceof RangeVariable) {
+					RangeVariable range = (RangeVariable) vars.get(0);
+					return new Variable("double MAX result, ", range.getMaximum());
+				}
 		    	double[] vals;
 		    	try{
 		    		vals = vars.get(0).getArrayValue();
@@ -131,6 +143,10 @@ public class Functions {
 		CustomFunction varFn = new CustomFunction("var") {
 			@Override
 			public Variable applyFunction(List<Variable> vars) {
+				if (vars.get(0) instanceof RangeVariable) {
+					RangeVariable range = (RangeVariable) vars.get(0);
+					return new Variable("double VAR result, ", range.getVariance());
+				}
 		    	double[] vals;
 		    	try{
 		    		vals = vars.get(0).getArrayValue();
@@ -145,6 +161,10 @@ public class Functions {
 		CustomFunction stdevFn = new CustomFunction("stdev") {
 			@Override
 			public Variable applyFunction(List<Variable> vars) {
+				if (vars.get(0) instanceof RangeVariable) {
+					RangeVariable range = (RangeVariable) vars.get(0);
+					return new Variable("double STDEV result, ", Math.sqrt(range.getVariance()));
+				}
 		    	double[] vals;
 		    	try{
 		    		vals = vars.get(0).getArrayValue();
@@ -159,6 +179,10 @@ public class Functions {
 		CustomFunction rmsFn = new CustomFunction("rms") {
 			@Override
 			public Variable applyFunction(List<Variable> vars) {
+				if (vars.get(0) instanceof RangeVariable) {
+					RangeVariable range = (RangeVariable) vars.get(0);
+					return new Variable("double RMS result, ", Math.sqrt(range.getMeanSquare()));
+				}
 		    	double[] vals;
 		    	try{
 		    		vals = vars.get(0).getArrayValue();
@@ -233,6 +257,9 @@ public class Functions {
 		CustomFunction rombintFn = new CustomFunction("trapz") {
 			@Override
 			public Variable applyFunction(List<Variable> vars) {
+				if (vars.get(0) instanceof RangeVariable) {
+					return new Variable("double TRAPZ result", ((RangeVariable) vars.get(0)).getIntegral());
+				}
 				double[] range;
 				double dt = 0;
 				try{
@@ -4,8 +4,6 @@
 
 package net.sf.openrocket.simulation.customexpression;
 
-import java.util.List;
-
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -15,10 +13,9 @@ import de.congrace.exp4j.Variable;
 import net.sf.openrocket.document.OpenRocketDocument;
 import net.sf.openrocket.logging.Markers;
 import net.sf.openrocket.simulation.customexpression.CustomExpression;
+import net.sf.openrocket.simulation.FlightDataSeries;
 import net.sf.openrocket.simulation.FlightDataType;
 import net.sf.openrocket.simulation.SimulationStatus;
-import net.sf.openrocket.util.ArrayUtils;
-import net.sf.openrocket.util.LinearInterpolator;
 import net.sf.openrocket.util.MathUtil;
 import net.sf.openrocket.util.StringUtil;
 
@@ -74,14 +71,16 @@ public class RangeExpression extends CustomExpression {
 			endCalc.setVariable( new Variable(type.getSymbol(), value ) );
 		}		
 		
-		// From the given datatype, get the time and function values and make an interpolator
+		// From the given datatype, get the index of the function values over time
 
 		//Note: must get in a way that flight data system will figure out units. Otherwise there will be a type conflict when we get the new data.
 		FlightDataType type = FlightDataType.getType(null, getSymbol(), null);
 		
-		List<Double> data = status.getFlightData().get(type);
-		List<Double> time = status.getFlightData().get(FlightDataType.TYPE_TIME);
-		LinearInterpolator interp = new LinearInterpolator(time, data); 
+		FlightDataSeries series = status.getFlightData().getSeries(type);
+		if (series == null || series.getLength() == 0){
+			return new Variable("Unknown");
+		}
+		double lastTime = status.getFlightData().getLast(FlightDataType.TYPE_TIME);
 		
 		// Evaluate the expression to get the start and end of the range
 		double startTime, endTime;
@@ -90,31 +89,19 @@ public class RangeExpression extends CustomExpression {
 			startTime = MathUtil.clamp(startTime, 0, Double.MAX_VALUE);
 			
 			endTime = endCalc.calculate().getDoubleValue();
-			endTime = MathUtil.clamp(endTime, 0, time.get(time.size()-1));
+			endTime = MathUtil.clamp(endTime, 0, lastTime);
 		}
 		catch (java.util.EmptyStackException e){
 			log.info(Markers.USER_MARKER, "Unable to calculate time index for range expression "+getSymbol()+" due to empty stack exception");
 			return new Variable("Unknown");
 		}
 		
-		// generate an array representing the range
-		double step = status.getSimulationConditions().getSimulation().getOptions().getTimeStep();
-		double[] t = ArrayUtils.range(startTime, endTime,  step);
-		double[] y = new double[t.length]; 
-		int i = 0;
-		for (double tval : t){
-			y[i] = interp.getValue( tval );
-			i++;
-		}
-				
-		Variable result;
-		if (y.length == 0){
-			result = new Variable("Unknown");
-		}
-		else {
-			result = new Variable(hash(), y, startTime, step);
+		if (endTime < startTime){
+			return new Variable("Unknown");
 		}
 		
-		return result;
+		// The range is sampled at the time step only if its values are requested
+		double step = status.getSimulationConditions().getSimulation().getOptions().getTimeStep();
+		return new RangeVariable(hash(), series, startTime, endTime, step);
 	}
 }
@@ -0,0 +1,79 @@
+package net.sf.openrocket.simulation.customexpression;
+
+import de.congrace.exp4j.Variable;
+import net.sf.openrocket.simulation.FlightDataSeries;
+
+/*
+ * The value of a range expression, the values of a flight data type between two times.
+ * The range functions of Functions compute their results from the aggregates of the
+ * series directly.  Other uses get the values sampled at the simulation time step, which
+ * are only computed when requested.
+ */
+public class RangeVariable extends Variable {
+
+	private final FlightDataSeries series;
+	private final double startTime, endTime;
+	private double[] values = null;
+
+	public RangeVariable(String name, FlightDataSeries series, double startTime, double endTime, double step) {
+		super(name, new double[] { series.getValue(startTime) }, startTime, step);
+		this.series = series;
+		this.startTime = startTime;
+		this.endTime = endTime;
+	}
+
+	/*
+	 * Returns the values sampled at each time step from the start time to the end time
+	 */
+	@Override
+	public double[] getArrayValue() {
+		if (values == null) {
+			int length = (int) Math.floor((endTime - startTime) / getStep()) + 1;
+			values = series.getValues(startTime, getStep(), length);
+		}
+		return values;
+	}
+
+	public double getDuration() {
+		return endTime - startTime;
+	}
+
+	public double getMean() {
+		if (getDuration() <= 0) {
+			return getDoubleValue();
+		}
+		return series.getIntegral(startTime, endTime) / getDuration();
+	}
+
+	public double getMinimum() {
+		return series.getMinimum(startTime, endTime);
+	}
+
+	public double getMaximum() {
+		return series.getMaximum(startTime, endTime);
+	}
+
+	/*
+	 * Returns the mean of the squared values
+	 */
+	public double getMeanSquare() {
+		if (getDuration() <= 0) {
+			return getDoubleValue() * getDoubleValue();
+		}
+		return series.getSquareIntegral(startTime, endTime) / getDuration();
+	}
+
+	public double getVariance() {
+		double mean = getMean();
+		return Math.max(getMeanSquare() - mean * mean, 0);
+	}
+
+	public double getIntegral() {
+		return series.getIntegral(startTime, endTime);
+	}
+
+	@Override
+	public String toString() {
+		return getName() + " is Range (" + startTime + " to " + endTime + ")";
+	}
+}
@@ -0,0 +1,128 @@
+package net.sf.openrocket.simulation.extension.impl;
+
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import javax.script.Bindings;
+import javax.script.Compilable;
+import javax.script.CompiledScript;
+import javax.script.ScriptEngine;
+import javax.script.ScriptEngineFactory;
+import javax.script.ScriptEngineManager;
+import javax.script.ScriptException;
+
+/**
+ * Per-thread pool of script engines and compiled scripts used by the scripting extension.
+ * <p>
+ * Engine factories are looked up once per language.  Each thread creates its own engine
+ * for a language, since engines are not generally thread-safe, and keeps the scripts it
+ * has compiled with it keyed by the hash of the script.  Each evaluation of a script is
+ * done in new bindings, so simulations sharing an engine do not share script state.
+ */
+class ScriptEnginePool {
+
+	/** Maximum number of compiled scripts retained per thread. */
+	private static final int MAX_SCRIPTS = 16;
+
+	private static final Map<String, ScriptEngineFactory> factories = new HashMap<String, ScriptEngineFactory>();
+	private static ScriptEngineManager manager = null;
+
+	private static final ThreadLocal<ScriptEnginePool> pools = new ThreadLocal<ScriptEnginePool>() {
+		@Override
+		protected ScriptEnginePool initialValue() {
+			return new ScriptEnginePool();
+		}
+	};
+
+
+	private final Map<String, ScriptEngine> engines = new HashMap<String, ScriptEngine>();
+
+	@SuppressWarnings("serial")
+	private final Map<String, CompiledScript> scripts = new LinkedHashMap<String, CompiledScript>(MAX_SCRIPTS, 0.75f, true) {
+		@Override
+		protected boolean removeEldestEntry(Map.Entry<String, CompiledScript> eldest) {
+			return size() > MAX_SCRIPTS;
+		}
+	};
+
+
+	/**
+	 * Return the pool of the current thread.
+	 */
+	static ScriptEnginePool get() {
+		return pools.get();
+	}
+
+	private ScriptEnginePool() {
+	}
+
+
+	/**
+	 * Return the engine of this thread for a scripting language.
+	 *
+	 * @param language	the name of the scripting language.
+	 * @return			the engine, or <code>null</code> if the language is not supported.
+	 */
+	ScriptEngine getEngine(String language) {
+		ScriptEngine engine = engines.get(language);
+		if (engine == null) {
+			ScriptEngineFactory factory = getFactory(language);
+			if (factory == null) {
+				return null;
+			}
+			engine = factory.getScriptEngine();
+			engines.put(language, engine);
+		}
+		return engine;
+	}
+
+	/**
+	 * Evaluate a script in new bindings of an engine obtained from {@link #getEngine(String)}.
+	 * The script is compiled only on its first evaluation if the engine supports compilation.
+	 *
+	 * @param engine	the engine of the script language.
+	 * @param language	the name of the scripting language.
+	 * @param script	the script source.
+	 * @return			the bindings containing the global definitions of the script.
+	 * @throws ScriptException	if the script is invalid or its evaluation fails.
+	 */
+	Bindings evaluate(ScriptEngine engine, String language, String script) throws ScriptException {
+		Bindings bindings = engine.createBindings();
+		if (engine instanceof Compilable) {
+			String hash = ScriptingUtil.hash(language, script);
+			CompiledScript compiled = scripts.get(hash);
+			if (compiled == null || compiled.getEngine() != engine) {
+				compiled = ((Compilable) engine).compile(script);
+				scripts.put(hash, compiled);
+			}
+			compiled.eval(bindings);
+		} else {
+			engine.eval(script, bindings);
+		}
+		return bindings;
+	}
+
+
+	/**
+	 * Set the engine factory of a scripting language instead of the one found by the
+	 * {@link ScriptEngineManager}.  Engines already created by threads are not replaced.
+	 */
+	static synchronized void setFactory(String language, ScriptEngineFactory factory) {
+		factories.put(language, factory);
+	}
+
+	private static synchronized ScriptEngineFactory getFactory(String language) {
+		if (factories.containsKey(language)) {
+			return factories.get(language);
+		}
+		if (manager == null) {
+			manager = new ScriptEngineManager();
+		}
+		ScriptEngine engine = manager.getEngineByName(language);
+		ScriptEngineFactory factory = (engine == null) ? null : engine.getFactory();
+		factories.put(language, factory);
+		return factory;
+	}
+
+}
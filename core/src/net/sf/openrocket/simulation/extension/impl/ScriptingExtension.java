@@ -1,10 +1,5 @@
 package net.sf.openrocket.simulation.extension.impl;
 
-import javax.script.Invocable;
-import javax.script.ScriptEngine;
-import javax.script.ScriptEngineManager;
-import javax.script.ScriptException;
-
 import net.sf.openrocket.aerodynamics.Warning;
 import net.sf.openrocket.aerodynamics.WarningSet;
 import net.sf.openrocket.document.OpenRocketDocument;
@@ -91,22 +86,7 @@ public class ScriptingExtension extends AbstractSimulationExtension {
 	
 	
 	SimulationListener getListener() throws SimulationException {
-		ScriptEngineManager manager = new ScriptEngineManager();
-		ScriptEngine engine = manager.getEngineByName(getLanguage());
-		if (engine == null) {
-			throw new SimulationException("Your JRE does not support the scripting language '" + getLanguage() + "'");
-		}
-		
-		try {
-			engine.eval(getScript());
-		} catch (ScriptException e) {
-			throw new SimulationException("Invalid script: " + e.getMessage());
-		}
-		
-		if (!(engine instanceof Invocable)) {
-			throw new SimulationException("The scripting language '" + getLanguage() + "' does not implement the Invocable interface");
-		}
-		return new ScriptingSimulationListener((Invocable) engine);
+		return new ScriptingSimulationListener(getLanguage(), getScript());
 	}
 	
 }
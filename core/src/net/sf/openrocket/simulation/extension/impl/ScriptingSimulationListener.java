@@ -1,9 +1,14 @@
 package net.sf.openrocket.simulation.extension.impl;
 
+import java.lang.reflect.Method;
+import java.util.Collections;
 import java.util.HashSet;
 import java.util.Set;
 
+import javax.script.Bindings;
 import javax.script.Invocable;
+import javax.script.ScriptContext;
+import javax.script.ScriptEngine;
 import javax.script.ScriptException;
 
 import org.slf4j.Logger;
@@ -37,14 +42,93 @@ public class ScriptingSimulationListener implements SimulationListener, Simulati
 	 * so that unimplemented script methods are not called unnecessarily.
 	 */
 	
+	/** The names of all hook methods a script may define. */
+	private static final Set<String> HOOKS;
+	static {
+		Set<String> hooks = new HashSet<String>();
+		for (Class<?> c : new Class<?>[] { SimulationListener.class, SimulationComputationListener.class, SimulationEventListener.class }) {
+			for (Method m : c.getDeclaredMethods()) {
+				hooks.add(m.getName());
+			}
+		}
+		hooks.remove("isSystemListener");
+		hooks.remove("clone");
+		HOOKS = Collections.unmodifiableSet(hooks);
+	}
+	
 	private Invocable invocable;
+	private ScriptEngine engine;
+	private Bindings bindings;
+	private Set<String> defined;
 	private Set<String> missing = new HashSet<String>();
 	
+	// The script of a pooled engine, and the thread whose engine the script is evaluated in
+	private String language;
+	private String script;
+	private Thread thread;
+	
 	
 	public ScriptingSimulationListener(Invocable invocable) {
 		this.invocable = invocable;
 	}
 	
+	/**
+	 * Create a listener for a script evaluated in new bindings of the pooled engine of the
+	 * current thread.  The hooks the script defines are looked up from the bindings, and other
+	 * hooks are not dispatched to the script.  The bindings are made the engine scope of the
+	 * engine whenever the engine has been used by another script in the meantime.
+	 * <p>
+	 * Clones of the listener, made whenever the simulation status is copied, share the engine
+	 * and bindings, so script state is kept for the whole simulation as long as the hooks are
+	 * called from the same thread.  When a hook is called from another thread, for example in
+	 * a clone simulating a separated stage concurrently, the script is evaluated again in new
+	 * bindings of the engine of that thread.  No script state is copied to the new bindings,
+	 * they only contain what the top level of the script defines.
+	 *
+	 * @throws SimulationException	if the language is not supported or the script is invalid.
+	 */
+	ScriptingSimulationListener(String language, String script) throws SimulationException {
+		this.language = language;
+		this.script = script;
+		bind();
+	}
+	
+	/**
+	 * Evaluate the script in the pooled engine of the current thread.
+	 */
+	private void bind() throws SimulationException {
+		ScriptEnginePool pool = ScriptEnginePool.get();
+		ScriptEngine engine = pool.getEngine(language);
+		if (engine == null) {
+			throw new SimulationException("Your JRE does not support the scripting language '" + language + "'");
+		}
+		
+		if (!(engine instanceof Invocable)) {
+			throw new SimulationException("The scripting language '" + language + "' does not implement the Invocable interface");
+		}
+		
+		Bindings bindings;
+		try {
+			bindings = pool.evaluate(engine, language, script);
+		} catch (ScriptException e) {
+			throw new SimulationException("Invalid script: " + e.getMessage());
+		}
+		
+		Set<String> found = new HashSet<String>();
+		for (String hook : HOOKS) {
+			if (bindings.get(hook) != null) {
+				found.add(hook);
+			}
+		}
+		
+		this.invocable = (Invocable) engine;
+		this.engine = engine;
+		this.bindings = bindings;
+		// Languages not exposing their functions as bindings are dispatched every hook
+		this.defined = found.isEmpty() ? null : found;
+		this.thread = Thread.currentThread();
+	}
+	
 	
 	@Override
 	public boolean isSystemListener() {
@@ -202,7 +286,13 @@ public class ScriptingSimulationListener implements SimulationListener, Simulati
 	@SuppressWarnings("unchecked")
 	private <T> T invoke(Class<T> retType, T def, String method, Object... args) throws SimulationException {
 		try {
-			if (!missing.contains(method)) {
+			if (language != null && thread != Thread.currentThread()) {
+				bind();
+			}
+			if ((defined == null || defined.contains(method)) && !missing.contains(method)) {
+				if (engine != null && engine.getBindings(ScriptContext.ENGINE_SCOPE) != bindings) {
+					engine.setBindings(bindings, ScriptContext.ENGINE_SCOPE);
+				}
 				Object o = invocable.invokeFunction(method, args);
 				if (o == null) {
 					// Use default/null if function returns nothing
@@ -15,6 +15,7 @@ import net.sf.openrocket.rocketcomponent.RecoveryDevice;
 import net.sf.openrocket.simulation.AccelerationData;
 import net.sf.openrocket.simulation.FlightEvent;
 import net.sf.openrocket.simulation.MotorClusterState;
+import net.sf.openrocket.simulation.SimulationStats;
 import net.sf.openrocket.simulation.SimulationStatus;
 import net.sf.openrocket.simulation.exception.SimulationException;
 import net.sf.openrocket.util.Coordinate;
@@ -37,6 +38,16 @@ public class SimulationListenerHelper {
 	 */
 	public static void fireStartSimulation(SimulationStatus status)
 			throws SimulationException {
+		SimulationStats.Phase phase = SimulationStats.enterPhase(status, SimulationStats.Phase.LISTENERS);
+		try {
+			doFireStartSimulation(status);
+		} finally {
+			SimulationStats.exitPhase(status, phase);
+		}
+	}
+	
+	private static void doFireStartSimulation(SimulationStatus status)
+			throws SimulationException {
 		int modID = status.getModID();
 		
 		for (SimulationListener l : status.getSimulationConditions().getSimulationListenerList()) {
@@ -53,6 +64,15 @@ public class SimulationListenerHelper {
 	 * Fire endSimulation event.
 	 */
 	public static void fireEndSimulation(SimulationStatus status, SimulationException exception) {
+		SimulationStats.Phase phase = SimulationStats.enterPhase(status, SimulationStats.Phase.LISTENERS);
+		try {
+			doFireEndSimulation(status, exception);
+		} finally {
+			SimulationStats.exitPhase(status, phase);
+		}
+	}
+	
+	private static void doFireEndSimulation(SimulationStatus status, SimulationException exception) {
 		int modID = status.getModID();
 		
 		for (SimulationListener l : status.getSimulationConditions().getSimulationListenerList()) {
@@ -74,6 +94,16 @@ public class SimulationListenerHelper {
 	 */
 	public static boolean firePreStep(SimulationStatus status)
 			throws SimulationException {
+		SimulationStats.Phase phase = SimulationStats.enterPhase(status, SimulationStats.Phase.LISTENERS);
+		try {
+			return doFirePreStep(status);
+		} finally {
+			SimulationStats.exitPhase(status, phase);
+		}
+	}
+	
+	private static boolean doFirePreStep(SimulationStatus status)
+			throws SimulationException {
 		boolean b;
 		int modID = status.getModID();
 		
@@ -97,6 +127,16 @@ public class SimulationListenerHelper {
 	 */
 	public static void firePostStep(SimulationStatus status)
 			throws SimulationException {
+		SimulationStats.Phase phase = SimulationStats.enterPhase(status, SimulationStats.Phase.LISTENERS);
+		try {
+			doFirePostStep(status);
+		} finally {
+			SimulationStats.exitPhase(status, phase);
+		}
+	}
+	
+	private static void doFirePostStep(SimulationStatus status)
+			throws SimulationException {
 		int modID = status.getModID();
 		
 		for (SimulationListener l : status.getSimulationConditions().getSimulationListenerList()) {
@@ -118,6 +158,15 @@ public class SimulationListenerHelper {
 	 * @return	<code>true</code> to add the event normally, <code>false</code> to skip adding the event.
 	 */
 	public static boolean fireAddFlightEvent(SimulationStatus status, FlightEvent event) throws SimulationException {
+		SimulationStats.Phase phase = SimulationStats.enterPhase(status, SimulationStats.Phase.LISTENERS);
+		try {
+			return doFireAddFlightEvent(status, event);
+		} finally {
+			SimulationStats.exitPhase(status, phase);
+		}
+	}
+	
+	private static boolean doFireAddFlightEvent(SimulationStatus status, FlightEvent event) throws SimulationException {
 		boolean b;
 		int modID = status.getModID();
 		
@@ -143,6 +192,15 @@ public class SimulationListenerHelper {
 	 * @return	<code>true</code> to handle the event normally, <code>false</code> to skip event.
 	 */
 	public static boolean fireHandleFlightEvent(SimulationStatus status, FlightEvent event) throws SimulationException {
+		SimulationStats.Phase phase = SimulationStats.enterPhase(status, SimulationStats.Phase.LISTENERS);
+		try {
+			return doFireHandleFlightEvent(status, event);
+		} finally {
+			SimulationStats.exitPhase(status, phase);
+		}
+	}
+	
+	private static boolean doFireHandleFlightEvent(SimulationStatus status, FlightEvent event) throws SimulationException {
 		boolean b;
 		int modID = status.getModID();
 		
@@ -169,6 +227,16 @@ public class SimulationListenerHelper {
 	 */
 	public static boolean fireMotorIgnition(SimulationStatus status, MotorConfigurationId motorId, MotorMount mount,
 			MotorClusterState instance) throws SimulationException {
+		SimulationStats.Phase phase = SimulationStats.enterPhase(status, SimulationStats.Phase.LISTENERS);
+		try {
+			return doFireMotorIgnition(status, motorId, mount, instance);
+		} finally {
+			SimulationStats.exitPhase(status, phase);
+		}
+	}
+	
+	private static boolean doFireMotorIgnition(SimulationStatus status, MotorConfigurationId motorId, MotorMount mount,
+			MotorClusterState instance) throws SimulationException {
 		boolean result;
 		int modID = status.getModID(); // Contains also motor instance
 		
@@ -196,6 +264,16 @@ public class SimulationListenerHelper {
 	 */
 	public static boolean fireRecoveryDeviceDeployment(SimulationStatus status, RecoveryDevice device)
 			throws SimulationException {
+		SimulationStats.Phase phase = SimulationStats.enterPhase(status, SimulationStats.Phase.LISTENERS);
+		try {
+			return doFireRecoveryDeviceDeployment(status, device);
+		} finally {
+			SimulationStats.exitPhase(status, phase);
+		}
+	}
+	
+	private static boolean doFireRecoveryDeviceDeployment(SimulationStatus status, RecoveryDevice device)
+			throws SimulationException {
 		boolean result;
 		int modID = status.getModID(); // Contains also motor instance
 		
@@ -225,6 +303,16 @@ public class SimulationListenerHelper {
 	 */
 	public static AtmosphericConditions firePreAtmosphericModel(SimulationStatus status)
 			throws SimulationException {
+		SimulationStats.Phase phase = SimulationStats.enterPhase(status, SimulationStats.Phase.LISTENERS);
+		try {
+			return doFirePreAtmosphericModel(status);
+		} finally {
+			SimulationStats.exitPhase(status, phase);
+		}
+	}
+	
+	private static AtmosphericConditions doFirePreAtmosphericModel(SimulationStatus status)
+			throws SimulationException {
 		AtmosphericConditions conditions;
 		int modID = status.getModID();
 		
@@ -251,6 +339,16 @@ public class SimulationListenerHelper {
 	 */
 	public static AtmosphericConditions firePostAtmosphericModel(SimulationStatus status, AtmosphericConditions conditions)
 			throws SimulationException {
+		SimulationStats.Phase phase = SimulationStats.enterPhase(status, SimulationStats.Phase.LISTENERS);
+		try {
+			return doFirePostAtmosphericModel(status, conditions);
+		} finally {
+			SimulationStats.exitPhase(status, phase);
+		}
+	}
+	
+	private static AtmosphericConditions doFirePostAtmosphericModel(SimulationStatus status, AtmosphericConditions conditions)
+			throws SimulationException {
 		AtmosphericConditions c;
 		AtmosphericConditions clone = conditions.clone();
 		int modID = status.getModID();
@@ -281,6 +379,16 @@ public class SimulationListenerHelper {
 	 */
 	public static Coordinate firePreWindModel(SimulationStatus status)
 			throws SimulationException {
+		SimulationStats.Phase phase = SimulationStats.enterPhase(status, SimulationStats.Phase.LISTENERS);
+		try {
+			return doFirePreWindModel(status);
+		} finally {
+			SimulationStats.exitPhase(status, phase);
+		}
+	}
+	
+	private static Coordinate doFirePreWindModel(SimulationStatus status)
+			throws SimulationException {
 		Coordinate wind;
 		int modID = status.getModID();
 		
@@ -306,6 +414,15 @@ public class SimulationListenerHelper {
 	 * @return	the wind to use.
 	 */
 	public static Coordinate firePostWindModel(SimulationStatus status, Coordinate wind) throws SimulationException {
+		SimulationStats.Phase phase = SimulationStats.enterPhase(status, SimulationStats.Phase.LISTENERS);
+		try {
+			return doFirePostWindModel(status, wind);
+		} finally {
+			SimulationStats.exitPhase(status, phase);
+		}
+	}
+	
+	private static Coordinate doFirePostWindModel(SimulationStatus status, Coordinate wind) throws SimulationException {
 		Coordinate w;
 		int modID = status.getModID();
 		
@@ -334,6 +451,16 @@ public class SimulationListenerHelper {
 	 */
 	public static double firePreGravityModel(SimulationStatus status)
 			throws SimulationException {
+		SimulationStats.Phase phase = SimulationStats.enterPhase(status, SimulationStats.Phase.LISTENERS);
+		try {
+			return doFirePreGravityModel(status);
+		} finally {
+			SimulationStats.exitPhase(status, phase);
+		}
+	}
+	
+	private static double doFirePreGravityModel(SimulationStatus status)
+			throws SimulationException {
 		double gravity;
 		int modID = status.getModID();
 		
@@ -359,6 +486,15 @@ public class SimulationListenerHelper {
 	 * @return	the gravity to use.
 	 */
 	public static double firePostGravityModel(SimulationStatus status, double gravity) throws SimulationException {
+		SimulationStats.Phase phase = SimulationStats.enterPhase(status, SimulationStats.Phase.LISTENERS);
+		try {
+			return doFirePostGravityModel(status, gravity);
+		} finally {
+			SimulationStats.exitPhase(status, phase);
+		}
+	}
+	
+	private static double doFirePostGravityModel(SimulationStatus status, double gravity) throws SimulationException {
 		double g;
 		int modID = status.getModID();
 		
@@ -388,6 +524,16 @@ public class SimulationListenerHelper {
 	 */
 	public static FlightConditions firePreFlightConditions(SimulationStatus status)
 			throws SimulationException {
+		SimulationStats.Phase phase = SimulationStats.enterPhase(status, SimulationStats.Phase.LISTENERS);
+		try {
+			return doFirePreFlightConditions(status);
+		} finally {
+			SimulationStats.exitPhase(status, phase);
+		}
+	}
+	
+	private static FlightConditions doFirePreFlightConditions(SimulationStatus status)
+			throws SimulationException {
 		FlightConditions conditions;
 		int modID = status.getModID();
 		
@@ -415,6 +561,16 @@ public class SimulationListenerHelper {
 	 */
 	public static FlightConditions firePostFlightConditions(SimulationStatus status, FlightConditions conditions)
 			throws SimulationException {
+		SimulationStats.Phase phase = SimulationStats.enterPhase(status, SimulationStats.Phase.LISTENERS);
+		try {
+			return doFirePostFlightConditions(status, conditions);
+		} finally {
+			SimulationStats.exitPhase(status, phase);
+		}
+	}
+	
+	private static FlightConditions doFirePostFlightConditions(SimulationStatus status, FlightConditions conditions)
+			throws SimulationException {
 		FlightConditions c;
 		FlightConditions clone = conditions.clone();
 		int modID = status.getModID();
@@ -446,6 +602,16 @@ public class SimulationListenerHelper {
 	 */
 	public static AerodynamicForces firePreAerodynamicCalculation(SimulationStatus status)
 			throws SimulationException {
+		SimulationStats.Phase phase = SimulationStats.enterPhase(status, SimulationStats.Phase.LISTENERS);
+		try {
+			return doFirePreAerodynamicCalculation(status);
+		} finally {
+			SimulationStats.exitPhase(status, phase);
+		}
+	}
+	
+	private static AerodynamicForces doFirePreAerodynamicCalculation(SimulationStatus status)
+			throws SimulationException {
 		AerodynamicForces forces;
 		int modID = status.getModID();
 		
@@ -472,6 +638,16 @@ public class SimulationListenerHelper {
 	 */
 	public static AerodynamicForces firePostAerodynamicCalculation(SimulationStatus status, AerodynamicForces forces)
 			throws SimulationException {
+		SimulationStats.Phase phase = SimulationStats.enterPhase(status, SimulationStats.Phase.LISTENERS);
+		try {
+			return doFirePostAerodynamicCalculation(status, forces);
+		} finally {
+			SimulationStats.exitPhase(status, phase);
+		}
+	}
+	
+	private static AerodynamicForces doFirePostAerodynamicCalculation(SimulationStatus status, AerodynamicForces forces)
+			throws SimulationException {
 		AerodynamicForces f;
 		AerodynamicForces clone = forces.clone();
 		int modID = status.getModID();
@@ -504,6 +680,16 @@ public class SimulationListenerHelper {
 	 */
 	public static RigidBody firePreMassCalculation(SimulationStatus status)
 			throws SimulationException {
+		SimulationStats.Phase phase = SimulationStats.enterPhase(status, SimulationStats.Phase.LISTENERS);
+		try {
+			return doFirePreMassCalculation(status);
+		} finally {
+			SimulationStats.exitPhase(status, phase);
+		}
+	}
+	
+	private static RigidBody doFirePreMassCalculation(SimulationStatus status)
+			throws SimulationException {
 		RigidBody mass;
 		int modID = status.getModID();
 		
@@ -529,6 +715,15 @@ public class SimulationListenerHelper {
 	 * @return	the resultant mass data
 	 */
 	public static RigidBody firePostMassCalculation(SimulationStatus status, RigidBody mass) throws SimulationException {
+		SimulationStats.Phase phase = SimulationStats.enterPhase(status, SimulationStats.Phase.LISTENERS);
+		try {
+			return doFirePostMassCalculation(status, mass);
+		} finally {
+			SimulationStats.exitPhase(status, phase);
+		}
+	}
+	
+	private static RigidBody doFirePostMassCalculation(SimulationStatus status, RigidBody mass) throws SimulationException {
 		RigidBody m;
 		int modID = status.getModID();
 		
@@ -558,6 +753,16 @@ public class SimulationListenerHelper {
 	 */
 	public static double firePreThrustCalculation(SimulationStatus status)
 			throws SimulationException {
+		SimulationStats.Phase phase = SimulationStats.enterPhase(status, SimulationStats.Phase.LISTENERS);
+		try {
+			return doFirePreThrustCalculation(status);
+		} finally {
+			SimulationStats.exitPhase(status, phase);
+		}
+	}
+	
+	private static double doFirePreThrustCalculation(SimulationStatus status)
+			throws SimulationException {
 		double thrust;
 		int modID = status.getModID();
 		
@@ -583,6 +788,15 @@ public class SimulationListenerHelper {
 	 * @return	the thrust value to use.
 	 */
 	public static double firePostThrustCalculation(SimulationStatus status, double thrust) throws SimulationException {
+		SimulationStats.Phase phase = SimulationStats.enterPhase(status, SimulationStats.Phase.LISTENERS);
+		try {
+			return doFirePostThrustCalculation(status, thrust);
+		} finally {
+			SimulationStats.exitPhase(status, phase);
+		}
+	}
+	
+	private static double doFirePostThrustCalculation(SimulationStatus status, double thrust) throws SimulationException {
 		double t;
 		int modID = status.getModID();
 		
@@ -612,6 +826,15 @@ public class SimulationListenerHelper {
 	 * @return	<code>null</code> normally, or overriding mass data.
 	 */
 	public static AccelerationData firePreAccelerationCalculation(SimulationStatus status) throws SimulationException {
+		SimulationStats.Phase phase = SimulationStats.enterPhase(status, SimulationStats.Phase.LISTENERS);
+		try {
+			return doFirePreAccelerationCalculation(status);
+		} finally {
+			SimulationStats.exitPhase(status, phase);
+		}
+	}
+	
+	private static AccelerationData doFirePreAccelerationCalculation(SimulationStatus status) throws SimulationException {
 		AccelerationData acceleration;
 		int modID = status.getModID();
 		
@@ -638,6 +861,16 @@ public class SimulationListenerHelper {
 	 */
 	public static AccelerationData firePostAccelerationCalculation(SimulationStatus status,
 			AccelerationData acceleration) throws SimulationException {
+		SimulationStats.Phase phase = SimulationStats.enterPhase(status, SimulationStats.Phase.LISTENERS);
+		try {
+			return doFirePostAccelerationCalculation(status, acceleration);
+		} finally {
+			SimulationStats.exitPhase(status, phase);
+		}
+	}
+	
+	private static AccelerationData doFirePostAccelerationCalculation(SimulationStatus status,
+			AccelerationData acceleration) throws SimulationException {
 		AccelerationData a;
 		int modID = status.getModID();
 		
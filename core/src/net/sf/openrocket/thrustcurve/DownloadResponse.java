@@ -4,6 +4,7 @@ import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
 
 
 public class DownloadResponse {
@@ -24,6 +25,13 @@ public class DownloadResponse {
 	public List<MotorBurnFile> getData(Integer motor_id) {
 		return data.get(motor_id);
 	}
+
+	/**
+	 * Return the ids of all motors having data in this response.
+	 */
+	public Set<Integer> getMotorIds() {
+		return data.keySet();
+	}
 	
 	public void setError(String error) {
 		this.error = error;
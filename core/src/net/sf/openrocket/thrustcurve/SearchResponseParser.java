@@ -2,6 +2,9 @@ package net.sf.openrocket.thrustcurve;
 
 import java.io.IOException;
 import java.io.InputStream;
+import java.text.DateFormat;
+import java.text.ParseException;
+import java.text.SimpleDateFormat;
 import java.util.HashMap;
 
 import org.xml.sax.InputSource;
@@ -57,6 +60,8 @@ public class SearchResponseParser implements ElementHandler {
 	
 	private TCMotor currentMotor;
 	
+	private final DateFormat dateFormat = new SimpleDateFormat("yyyy-MM-dd");
+	
 	private SearchResponseParser() {
 	}
 	
@@ -171,6 +176,13 @@ public class SearchResponseParser implements ElementHandler {
 		case prop_info:
 			currentMotor.setProp_info(content);
 			break;
+		case updated_on:
+			try {
+				currentMotor.setUpdated_on(dateFormat.parse(content));
+			} catch (ParseException e) {
+				warnings.add("Invalid update date " + content);
+			}
+			break;
 		case availability:
 			currentMotor.setAvailability(content);
 			break;
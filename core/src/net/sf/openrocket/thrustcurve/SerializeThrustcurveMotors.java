@@ -5,9 +5,11 @@ import java.io.FileOutputStream;
 import java.io.IOException;
 import java.io.InputStream;
 import java.io.ObjectOutputStream;
-import java.net.MalformedURLException;
+import java.net.URL;
 import java.util.ArrayList;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Set;
 
 import org.xml.sax.SAXException;
 
@@ -50,8 +52,10 @@ public class SerializeThrustcurveMotors {
 	
 	public static void main(String[] args) throws Exception {
 		
-		if (args.length != 2) {
-			System.out.println("Usage:  java " + SerializeThrustcurveMotors.class.getCanonicalName() + " <input-dir> <output-file>");
+		if (args.length < 2 || args.length > 4) {
+			System.out.println("Usage:  java " + SerializeThrustcurveMotors.class.getCanonicalName() + " <input-dir> <output-file> [<mirror-dir> [<server-url>]]");
+			System.out.println("If a mirror directory is given, the thrustcurve.org motors are read from the mirror instead of the server.");
+			System.out.println("If a server is also given, the mirror is first updated from the server.");
 			System.exit(1);
 		}
 		
@@ -62,7 +66,16 @@ public class SerializeThrustcurveMotors {
 		
 		loadFromLocalMotorFiles(allMotors, inputDir);
 		
-		loadFromThrustCurve(allMotors);
+		if (args.length > 2) {
+			ThrustCurveMirror mirror = new ThrustCurveMirror(new File(args[2]));
+			if (args.length > 3) {
+				int count = mirror.update(new URL(args[3]), manufacturers);
+				System.out.println("Downloaded " + count + " responses to " + mirror.getDirectory());
+			}
+			loadFromMirror(allMotors, mirror);
+		} else {
+			loadFromThrustCurve(allMotors);
+		}
 		
 		File outFile = new File(outputFile);
 		
@@ -91,22 +104,6 @@ public class SerializeThrustcurveMotors {
 				if (mi.getData_files() == null || mi.getData_files() == 0) {
 					continue;
 				}
-				
-				final Motor.Type type;
-				switch (mi.getType()) {
-				case "SU":
-					type = Motor.Type.SINGLE;
-					break;
-				case "reload":
-					type = Motor.Type.RELOAD;
-					break;
-				case "hybrid":
-					type = Motor.Type.HYBRID;
-					break;
-				default:
-					type = Motor.Type.UNKNOWN;
-					break;
-				}
 
 				String message = mi.getManufacturer_abbr() +
 						" " +
@@ -118,33 +115,11 @@ public class SerializeThrustcurveMotors {
 				List<MotorBurnFile> b = getThrustCurvesForMotorId(mi.getMotor_id());
 				for (MotorBurnFile burnFile : b) {
 					try {
-						ThrustCurveMotor.Builder builder = burnFile.getThrustCurveMotor();
-						if (builder == null) {
+						ThrustCurveMotor motor = ThrustCurveMirror.createMotor(mi, burnFile);
+						if (motor == null) {
 							continue;
 						}
-						if (mi.getTot_mass_g() != null) {
-							builder.setInitialMass(mi.getTot_mass_g() / 1000.0);
-						}
-//						if (mi.getProp_mass_g() != null) {
-//							 builder.setPropellantMass(mi.getProp_mass_g() / 1000.0);
-//						}
-						
-						builder.setCaseInfo(mi.getCase_info());
-						builder.setPropellantInfo(mi.getProp_info());
-						builder.setDiameter(mi.getDiameter() / 1000.0);
-						builder.setLength(mi.getLength() / 1000.0);
-						builder.setMotorType(type);
-						
-						if ("OOP".equals(mi.getAvailiability())) {
-							builder.setDesignation(mi.getDesignation());
-							builder.setAvailablity(false);
-						} else if (mi.getDesignation().startsWith("Micro")) {
-							builder.setDesignation(mi.getDesignation());
-						} else {
-							builder.setDesignation(mi.getCommon_name());
-						}
-
-						allMotors.add(builder.build());
+						allMotors.add(motor);
 					} catch (IllegalArgumentException e) {
 						System.out.println("\tError in simFile " + burnFile.getSimfileId() + ":  " + e.getMessage());
 						try {
@@ -165,6 +140,25 @@ public class SerializeThrustcurveMotors {
 		
 	}
 	
+	/**
+	 * Add the motors of a mirror whose digest does not match a motor already in the list.
+	 */
+	public static void loadFromMirror(List<Motor> allMotors, ThrustCurveMirror mirror) throws IOException, InterruptedException {
+		Set<String> digests = new HashSet<>();
+		for (Motor m : allMotors) {
+			digests.add(m.getDigest());
+		}
+		
+		int count = 0;
+		for (ThrustCurveMotor motor : mirror.load()) {
+			if (digests.add(motor.getDigest())) {
+				allMotors.add(motor);
+				count++;
+			}
+		}
+		System.out.println("Motors from mirror " + mirror.getDirectory() + ": " + count);
+	}
+	
 	private static List<MotorBurnFile> getThrustCurvesForMotorId(int motorId) {
 		List<MotorBurnFile> b = new ArrayList<>();
 		try {
@@ -1,5 +1,7 @@
 package net.sf.openrocket.thrustcurve;
 
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
 import java.io.IOException;
 import java.io.InputStream;
 import java.io.OutputStream;
@@ -17,13 +19,64 @@ import javax.xml.parsers.ParserConfigurationException;
 
 public abstract class ThrustCurveAPI {
 	
+	/** The host name of the public thrustcurve.org server. */
+	public static final String DEFAULT_HOST = "www.thrustcurve.org";
+	
+	private static final String SEARCH_PATH = "/servlets/search";
+	private static final String DOWNLOAD_PATH = "/servlets/download";
+	
+	/**
+	 * Return the address of the public thrustcurve.org server.  Other servers, such as a
+	 * local stub server, can be passed to the methods taking a server URL.
+	 */
+	public static URL getDefaultServer() throws MalformedURLException {
+		// Froyo has troubles resolving URLS constructed with protocols.  Because of this
+		// we need to do it in parts.
+		return new URL("http", DEFAULT_HOST, "/");
+	}
+	
 	public static SearchResponse doSearch(SearchRequest request) throws IOException, SAXException, ParserConfigurationException {
+		return doSearch(getDefaultServer(), request);
+	}
+	
+	public static SearchResponse doSearch(URL server, SearchRequest request) throws IOException, SAXException, ParserConfigurationException {
+		
+		byte[] response = fetchSearch(server, request);
+		
+		SearchResponse result = SearchResponseParser.parse(new ByteArrayInputStream(response));
+		
+		return result;
+	}
+	
+	public static List<MotorBurnFile> downloadData(Integer motor_id, String format) throws MalformedURLException, IOException, SAXException, ParserConfigurationException {
+		return downloadData(getDefaultServer(), motor_id, format);
+	}
+	
+	public static List<MotorBurnFile> downloadData(URL server, Integer motor_id, String format) throws MalformedURLException, IOException, SAXException, ParserConfigurationException {
+		
+		if (motor_id == null) {
+			return null;
+		}
+		
+		byte[] response = fetchDownload(server, motor_id, format);
+		if (response == null) {
+			return Collections.<MotorBurnFile> emptyList();
+		}
+		
+		DownloadResponse downloadResponse = DownloadResponseParser.parse(new ByteArrayInputStream(response));
+		
+		return downloadResponse.getData(motor_id);
+		
+	}
+	
+	/**
+	 * Post a search request to a server and return the unparsed response XML.
+	 */
+	static byte[] fetchSearch(URL server, SearchRequest request) throws IOException {
 		
 		String requestString = request.toString();
 		
-		// Froyo has troubles resolving URLS constructed with protocols.  Because of this
-		// we need to do it in parts.
-		URL url = new URL("http", "www.thrustcurve.org", "/servlets/search");
+		URL url = new URL(server, SEARCH_PATH);
 		
 		OutputStream stream;
 		
@@ -36,28 +89,26 @@ public abstract class ThrustCurveAPI {
 		stream = conn.getOutputStream();
 		
 		stream.write(requestString.getBytes());
+		stream.close();
 		
 		InputStream is = conn.getInputStream();
 		
-		SearchResponse result = SearchResponseParser.parse(is);
-		
-		return result;
+		return readFully(is);
 	}
 	
-	public static List<MotorBurnFile> downloadData(Integer motor_id, String format) throws MalformedURLException, IOException, SAXException, ParserConfigurationException {
+	/**
+	 * Post a download request for one motor to a server and return the unparsed response XML,
+	 * or <code>null</code> if the server rejects the request.
+	 */
+	static byte[] fetchDownload(URL server, int motor_id, String format) throws IOException {
 		
-		if (motor_id == null) {
-			return null;
-		}
 		DownloadRequest dr = new DownloadRequest();
 		dr.add(motor_id);
 		dr.setFormat(format);
 		
 		String requestString = dr.toString();
 		
-		// Froyo has troubles resolving URLS constructed with protocols.  Because of this
-		// we need to do it in parts.
-		URL url = new URL("http", "www.thrustcurve.org", "/servlets/download");
+		URL url = new URL(server, DOWNLOAD_PATH);
 		
 		OutputStream stream;
 		
@@ -70,16 +121,29 @@ public abstract class ThrustCurveAPI {
 		stream = conn.getOutputStream();
 		
 		stream.write(requestString.getBytes());
+		stream.close();
 		
 		if (conn.getResponseCode() == HttpURLConnection.HTTP_BAD_REQUEST) {
-			return Collections.<MotorBurnFile> emptyList();
+			return null;
 		}
 		InputStream is = conn.getInputStream();
 		
-		DownloadResponse downloadResponse = DownloadResponseParser.parse(is);
-		
-		return downloadResponse.getData(motor_id);
+		return readFully(is);
 		
 	}
 	
+	private static byte[] readFully(InputStream is) throws IOException {
+		try {
+			ByteArrayOutputStream out = new ByteArrayOutputStream();
+			byte[] buffer = new byte[8192];
+			int n;
+			while ((n = is.read(buffer)) >= 0) {
+				out.write(buffer, 0, n);
+			}
+			return out.toByteArray();
+		} finally {
+			is.close();
+		}
+	}
+	
 }
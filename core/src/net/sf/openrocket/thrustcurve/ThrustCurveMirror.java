@@ -0,0 +1,418 @@
+package net.sf.openrocket.thrustcurve;
+
+import java.io.ByteArrayInputStream;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.URL;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Date;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.Callable;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.xml.sax.SAXException;
+
+import net.sf.openrocket.database.motor.ThrustCurveMotorSet;
+import net.sf.openrocket.database.motor.ThrustCurveMotorSetDatabase;
+import net.sf.openrocket.motor.Motor;
+import net.sf.openrocket.motor.ThrustCurveMotor;
+import net.sf.openrocket.util.BugException;
+import net.sf.openrocket.util.ParallelTasks;
+
+import javax.xml.parsers.ParserConfigurationException;
+
+/**
+ * A local mirror of thrustcurve.org search and download responses, stored as the
+ * unmodified response XML in a directory.  The mirror is filled from a server using
+ * {@link #update(URL, Collection)}, or by copying previously downloaded responses into
+ * the directory, and can then be read without network access.
+ * <p>
+ * Search responses are stored in files named <code>search-&lt;manufacturer&gt;.xml</code>
+ * and download responses in files named <code>download-&lt;motor-id&gt;-&lt;format&gt;.xml</code>.
+ * A download response is only used if a search response describes its motor.
+ * <p>
+ * The files are parsed in parallel, first the search responses and then the download
+ * responses.  A file that cannot be parsed is logged and skipped.
+ */
+public class ThrustCurveMirror {
+
+	private static final Logger log = LoggerFactory.getLogger(ThrustCurveMirror.class);
+
+	private static final String SEARCH_PREFIX = "search-";
+	private static final String DOWNLOAD_PREFIX = "download-";
+	private static final String SUFFIX = ".xml";
+
+	private static final String[] FORMATS = { SupportedFileTypes.ROCKSIM_FORMAT, SupportedFileTypes.RASP_FORMAT };
+
+	private final File directory;
+
+	private int threadCount = Runtime.getRuntime().availableProcessors();
+
+
+	public ThrustCurveMirror(File directory) {
+		this.directory = directory;
+	}
+
+
+	public File getDirectory() {
+		return directory;
+	}
+
+	public int getThreadCount() {
+		return threadCount;
+	}
+
+	/**
+	 * Set the number of threads used for parsing and downloading, by default the number
+	 * of processors.
+	 */
+	public void setThreadCount(int threadCount) {
+		if (threadCount < 1) {
+			throw new IllegalArgumentException("threadCount must be positive, was " + threadCount);
+		}
+		this.threadCount = threadCount;
+	}
+
+
+	/**
+	 * Update the mirror from a server.  The search responses of the manufacturers are
+	 * always replaced, while the thrust curves of a motor are only downloaded if none are
+	 * in the mirror or the motor has been updated since the previous search.
+	 * <p>
+	 * The search responses are written only after all thrust curves have been downloaded,
+	 * so that a failed update leaves the previous search responses in place and the motors
+	 * are downloaded again by the next update.
+	 *
+	 * @param server		the server to download from, e.g. {@link ThrustCurveAPI#getDefaultServer()}.
+	 * @param manufacturers	the manufacturers to search for.
+	 * @return				the number of download responses fetched.
+	 */
+	public int update(final URL server, Collection<String> manufacturers)
+			throws IOException, SAXException, ParserConfigurationException, InterruptedException {
+		if (!directory.isDirectory() && !directory.mkdirs()) {
+			throw new IOException("Unable to create mirror directory " + directory);
+		}
+
+		List<Callable<Void>> downloads = new ArrayList<Callable<Void>>();
+		Map<File, byte[]> searches = new LinkedHashMap<File, byte[]>();
+		for (String manufacturer : manufacturers) {
+			File searchFile = getSearchFile(manufacturer);
+			Map<Integer, Date> previous = new HashMap<Integer, Date>();
+			if (searchFile.isFile()) {
+				try {
+					for (TCMotor motor : parseSearch(searchFile).getResults()) {
+						previous.put(motor.getMotor_id(), motor.getUpdated_on());
+					}
+				} catch (SAXException e) {
+					log.warn("Unable to parse previous search response " + searchFile + ", downloading all motors", e);
+				}
+			}
+
+			SearchRequest request = new SearchRequest();
+			request.setManufacturer(manufacturer);
+			byte[] response = ThrustCurveAPI.fetchSearch(server, request);
+			SearchResponse result = SearchResponseParser.parse(new ByteArrayInputStream(response));
+			searches.put(searchFile, response);
+			log.info("Fetched search response for " + manufacturer + " with " + result.getResults().size() + " motors");
+
+			for (TCMotor motor : result.getResults()) {
+				if (motor.getData_files() == null || motor.getData_files() == 0) {
+					continue;
+				}
+				final int motorId = motor.getMotor_id();
+				if (previous.containsKey(motorId) && equals(previous.get(motorId), motor.getUpdated_on()) &&
+						hasDownload(motorId)) {
+					continue;
+				}
+				for (final String format : FORMATS) {
+					final File file = getDownloadFile(motorId, format);
+					downloads.add(new Callable<Void>() {
+						@Override
+						public Void call() throws Exception {
+							byte[] data = ThrustCurveAPI.fetchDownload(server, motorId, format);
+							if (data == null) {
+								log.debug("No " + format + " data for motor " + motorId);
+								return null;
+							}
+							write(file, data);
+							return null;
+						}
+					});
+				}
+			}
+		}
+
+		log.info("Downloading " + downloads.size() + " thrust curve responses");
+		execute(downloads);
+		for (Map.Entry<File, byte[]> entry : searches.entrySet()) {
+			write(entry.getKey(), entry.getValue());
+		}
+		return downloads.size();
+	}
+
+	/**
+	 * Update the mirror from a server for the given manufacturers.
+	 *
+	 * @see #update(URL, Collection)
+	 */
+	public int update(URL server, String... manufacturers)
+			throws IOException, SAXException, ParserConfigurationException, InterruptedException {
+		return update(server, Arrays.asList(manufacturers));
+	}
+
+
+	/**
+	 * Parse all responses in the mirror into motors.
+	 *
+	 * @return	the motors, in the order of the mirror file names.
+	 */
+	public List<ThrustCurveMotor> load() throws IOException, InterruptedException {
+		List<File> searchFiles = listFiles(SEARCH_PREFIX);
+		List<File> downloadFiles = listFiles(DOWNLOAD_PREFIX);
+
+		List<Callable<SearchResponse>> searches = new ArrayList<Callable<SearchResponse>>();
+		for (final File file : searchFiles) {
+			searches.add(new Callable<SearchResponse>() {
+				@Override
+				public SearchResponse call() throws Exception {
+					try {
+						return parseSearch(file);
+					} catch (SAXException e) {
+						log.warn("Unable to parse search response " + file, e);
+						return null;
+					}
+				}
+			});
+		}
+
+		final Map<Integer, TCMotor> motorInfo = new HashMap<Integer, TCMotor>();
+		for (SearchResponse response : execute(searches)) {
+			if (response != null) {
+				for (TCMotor motor : response.getResults()) {
+					motorInfo.put(motor.getMotor_id(), motor);
+				}
+			}
+		}
+
+		List<Callable<List<ThrustCurveMotor>>> downloads = new ArrayList<Callable<List<ThrustCurveMotor>>>();
+		for (final File file : downloadFiles) {
+			downloads.add(new Callable<List<ThrustCurveMotor>>() {
+				@Override
+				public List<ThrustCurveMotor> call() throws Exception {
+					return parseDownload(file, motorInfo);
+				}
+			});
+		}
+
+		List<ThrustCurveMotor> motors = new ArrayList<ThrustCurveMotor>();
+		for (List<ThrustCurveMotor> list : execute(downloads)) {
+			motors.addAll(list);
+		}
+		log.info("Loaded " + motors.size() + " motors from " + searchFiles.size() + " search and " +
+				downloadFiles.size() + " download responses in " + directory);
+		return motors;
+	}
+
+	/**
+	 * Add the motors of the mirror to a database, skipping motors whose digest is already
+	 * present in the database.
+	 *
+	 * @param database	the database to add to.
+	 * @return			the number of motors added.
+	 */
+	public int loadInto(ThrustCurveMotorSetDatabase database) throws IOException, InterruptedException {
+		Set<String> digests = new HashSet<String>();
+		for (ThrustCurveMotorSet set : database.getMotorSets()) {
+			for (ThrustCurveMotor motor : set.getMotors()) {
+				digests.add(motor.getDigest());
+			}
+		}
+
+		int added = 0;
+		for (ThrustCurveMotor motor : load()) {
+			if (motor.getDigest() == null || digests.add(motor.getDigest())) {
+				database.addMotor(motor);
+				added++;
+			}
+		}
+		log.info("Added " + added + " new motors to the database");
+		return added;
+	}
+
+
+	/**
+	 * Create a motor from a thrust curve and the motor information of a search response.
+	 *
+	 * @return	the motor, or <code>null</code> if the file format is not supported.
+	 * @throws IllegalArgumentException	if the thrust curve is invalid.
+	 */
+	static ThrustCurveMotor createMotor(TCMotor mi, MotorBurnFile burnFile) {
+		ThrustCurveMotor.Builder builder = burnFile.getThrustCurveMotor();
+		if (builder == null) {
+			return null;
+		}
+
+		final Motor.Type type;
+		switch (mi.getType()) {
+		case "SU":
+			type = Motor.Type.SINGLE;
+			break;
+		case "reload":
+			type = Motor.Type.RELOAD;
+			break;
+		case "hybrid":
+			type = Motor.Type.HYBRID;
+			break;
+		default:
+			type = Motor.Type.UNKNOWN;
+			break;
+		}
+
+		if (mi.getTot_mass_g() != null) {
+			builder.setInitialMass(mi.getTot_mass_g() / 1000.0);
+		}
+
+		builder.setCaseInfo(mi.getCase_info());
+		builder.setPropellantInfo(mi.getProp_info());
+		builder.setDiameter(mi.getDiameter() / 1000.0);
+		builder.setLength(mi.getLength() / 1000.0);
+		builder.setMotorType(type);
+
+		if ("OOP".equals(mi.getAvailiability())) {
+			builder.setDesignation(mi.getDesignation());
+			builder.setAvailablity(false);
+		} else if (mi.getDesignation().startsWith("Micro")) {
+			builder.setDesignation(mi.getDesignation());
+		} else {
+			builder.setDesignation(mi.getCommon_name());
+		}
+
+		return builder.build();
+	}
+
+
+	File getSearchFile(String manufacturer) {
+		return new File(directory, SEARCH_PREFIX + manufacturer.replaceAll("[^A-Za-z0-9_.-]", "_") + SUFFIX);
+	}
+
+	File getDownloadFile(int motorId, String format) {
+		return new File(directory, DOWNLOAD_PREFIX + motorId + "-" + format + SUFFIX);
+	}
+
+	/**
+	 * Return whether any format of a motor has been downloaded.  Formats rejected by the
+	 * server are not stored, so a motor whose formats are all rejected is requested again
+	 * on every update.
+	 */
+	private boolean hasDownload(int motorId) {
+		for (String format : FORMATS) {
+			if (getDownloadFile(motorId, format).isFile()) {
+				return true;
+			}
+		}
+		return false;
+	}
+
+	private List<File> listFiles(final String prefix) {
+		List<File> list = new ArrayList<File>();
+		File[] files = directory.listFiles();
+		if (files == null) {
+			return list;
+		}
+		Arrays.sort(files);
+		for (File file : files) {
+			String name = file.getName();
+			if (file.isFile() && name.startsWith(prefix) && name.endsWith(SUFFIX)) {
+				list.add(file);
+			}
+		}
+		return list;
+	}
+
+	private static SearchResponse parseSearch(File file) throws IOException, SAXException {
+		InputStream is = new FileInputStream(file);
+		try {
+			return SearchResponseParser.parse(is);
+		} catch (ParserConfigurationException e) {
+			throw new BugException("Unable to configure XML parser", e);
+		} finally {
+			is.close();
+		}
+	}
+
+	private static List<ThrustCurveMotor> parseDownload(File file, Map<Integer, TCMotor> motorInfo) throws IOException {
+		List<ThrustCurveMotor> motors = new ArrayList<ThrustCurveMotor>();
+		DownloadResponse response;
+		InputStream is = new FileInputStream(file);
+		try {
+			response = DownloadResponseParser.parse(is);
+		} catch (SAXException e) {
+			log.warn("Unable to parse download response " + file, e);
+			return motors;
+		} catch (ParserConfigurationException e) {
+			throw new BugException("Unable to configure XML parser", e);
+		} finally {
+			is.close();
+		}
+
+		for (Integer motorId : response.getMotorIds()) {
+			TCMotor mi = motorInfo.get(motorId);
+			if (mi == null) {
+				log.warn("No search response describes motor " + motorId + " of " + file);
+				continue;
+			}
+			for (MotorBurnFile burnFile : response.getData(motorId)) {
+				try {
+					ThrustCurveMotor motor = createMotor(mi, burnFile);
+					if (motor != null) {
+						motors.add(motor);
+					}
+				} catch (IllegalArgumentException e) {
+					log.warn("Invalid simfile " + burnFile.getSimfileId() + " of motor " + motorId + ": " + e.getMessage());
+				}
+			}
+		}
+		return motors;
+	}
+
+	/**
+	 * Write a file by first writing a temporary file and then renaming it, so that a
+	 * failed write does not leave a truncated response in the mirror.
+	 */
+	private static void write(File file, byte[] data) throws IOException {
+		File tmp = new File(file.getParentFile(), file.getName() + ".tmp");
+		OutputStream os = new FileOutputStream(tmp);
+		try {
+			os.write(data);
+		} finally {
+			os.close();
+		}
+		Files.move(tmp.toPath(), file.toPath(), StandardCopyOption.REPLACE_EXISTING);
+	}
+
+	private static boolean equals(Date a, Date b) {
+		return (a == null) ? (b == null) : a.equals(b);
+	}
+
+	/**
+	 * Run tasks in parallel and return their results in the order of the tasks.
+	 */
+	private <T> List<T> execute(List<? extends Callable<T>> tasks) throws IOException, InterruptedException {
+		return ParallelTasks.invokeAll("ThrustCurveMirrorWorker", threadCount, tasks, IOException.class);
+	}
+
+}
@@ -0,0 +1,233 @@
+package net.sf.openrocket.util;
+
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+
+/**
+ * Base class for interpolators over a set of points stored in sorted primitive arrays.
+ * Subclasses define how a value is computed within a segment between two points and
+ * outside the range of the points.
+ * <p>
+ * Interpolators are immutable and can be shared freely between threads.  A single value
+ * is looked up using a binary search.  For evaluating many values in increasing or
+ * decreasing order, use {@link #getValues(double[])} or a {@link Cursor}, which continue
+ * the search from the previous segment.
+ */
+public abstract class ArrayInterpolator {
+
+	/** The x-coordinates of the points, strictly increasing */
+	protected final double[] x;
+	/** The y-coordinates of the points */
+	protected final double[] y;
+
+
+	/**
+	 * Construct an interpolator with the given points.  The points need not be sorted.
+	 * If several points have the same x-coordinate, the last one is used.
+	 *
+	 * @param x		the x-coordinates of the points.
+	 * @param y		the y-coordinates of the points.
+	 * @throws IllegalArgumentException		if the lengths of <code>x</code> and <code>y</code>
+	 * 										are not equal or no points are given.
+	 */
+	protected ArrayInterpolator(double[] x, double[] y) {
+		this(x, y, x.length);
+	}
+
+	/**
+	 * Construct an interpolator with the given points.
+	 *
+	 * @see #ArrayInterpolator(double[], double[])
+	 */
+	protected ArrayInterpolator(List<Double> x, List<Double> y) {
+		this(toArray(x), toArray(y));
+	}
+
+	/**
+	 * Construct an interpolator with the first <code>count</code> points of the arrays.
+	 */
+	ArrayInterpolator(double[] x, double[] y, int count) {
+		if (x.length != y.length) {
+			throw new IllegalArgumentException("Array lengths do not match, x=" + x.length +
+					" y=" + y.length);
+		}
+		if (count == 0) {
+			throw new IllegalArgumentException("No points given to the interpolator");
+		}
+
+		int n = 1;
+		while (n < count && x[n - 1] < x[n]) {
+			n++;
+		}
+		if (n == count) {
+			// Already strictly increasing, which is the normal case
+			this.x = Arrays.copyOf(x, count);
+			this.y = Arrays.copyOf(y, count);
+		} else {
+			double[][] sorted = sort(x, y, count);
+			this.x = sorted[0];
+			this.y = sorted[1];
+		}
+	}
+
+
+	/**
+	 * Return the interpolated value at the given x-coordinate.
+	 */
+	public final double getValue(double value) {
+		return interpolate(findSegment(value, 0, x.length - 1), value);
+	}
+
+	/**
+	 * Return the interpolated values at the given x-coordinates.  This is most efficient
+	 * when the coordinates are sorted.
+	 */
+	public final double[] getValues(double[] values) {
+		double[] result = new double[values.length];
+		int segment = -1;
+		for (int i = 0; i < values.length; i++) {
+			segment = seek(segment, values[i]);
+			result[i] = interpolate(segment, values[i]);
+		}
+		return result;
+	}
+
+	/**
+	 * Return a new cursor for evaluating consecutive values.
+	 */
+	public final Cursor cursor() {
+		return new Cursor();
+	}
+
+
+	/**
+	 * Return the number of points.
+	 */
+	public final int getPointCount() {
+		return x.length;
+	}
+
+	/**
+	 * Return a copy of the x-coordinates of the points in increasing order.
+	 */
+	public final double[] getXPoints() {
+		return x.clone();
+	}
+
+	/**
+	 * Return a copy of the y-coordinates of the points, in the order of the x-coordinates.
+	 */
+	public final double[] getYPoints() {
+		return y.clone();
+	}
+
+
+	/**
+	 * Return the interpolated value within a segment.
+	 *
+	 * @param segment	the index of the last point whose x-coordinate is at most
+	 * 					<code>value</code>, or -1 if <code>value</code> is smaller than all.
+	 * @param value		the x-coordinate to interpolate at.
+	 */
+	protected abstract double interpolate(int segment, double value);
+
+
+	/**
+	 * Return the segment of the value, checking the given segment and the next one
+	 * before searching all of them.
+	 */
+	private int seek(int segment, double value) {
+		final int last = x.length - 1;
+		if (segment >= 0 && value < x[segment]) {
+			return findSegment(value, 0, segment - 1);
+		}
+		if (segment == last || value < x[segment + 1]) {
+			return segment;
+		}
+		if (segment + 1 == last || value < x[segment + 2]) {
+			return segment + 1;
+		}
+		return findSegment(value, segment + 2, last);
+	}
+
+	/**
+	 * Binary search for the last point between <code>low</code> and <code>high</code>
+	 * whose x-coordinate is at most the value.  NaN values are considered larger than
+	 * all points.
+	 */
+	private int findSegment(double value, int low, int high) {
+		while (low <= high) {
+			int mid = (low + high) >>> 1;
+			if (value < x[mid]) {
+				high = mid - 1;
+			} else {
+				low = mid + 1;
+			}
+		}
+		return high;
+	}
+
+
+	private static double[][] sort(final double[] x, double[] y, int count) {
+		// Stable sort, so the last of equal x-coordinates remains last
+		Integer[] order = new Integer[count];
+		for (int i = 0; i < count; i++) {
+			order[i] = i;
+		}
+		Arrays.sort(order, new Comparator<Integer>() {
+			@Override
+			public int compare(Integer a, Integer b) {
+				return Double.compare(x[a], x[b]);
+			}
+		});
+
+		double[] sortedX = new double[count];
+		double[] sortedY = new double[count];
+		int n = 0;
+		for (int i = 0; i < count; i++) {
+			int index = order[i];
+			if (n > 0 && sortedX[n - 1] == x[index]) {
+				n--;
+			}
+			sortedX[n] = x[index];
+			sortedY[n] = y[index];
+			n++;
+		}
+		return new double[][] { Arrays.copyOf(sortedX, n), Arrays.copyOf(sortedY, n) };
+	}
+
+	private static double[] toArray(List<Double> list) {
+		double[] array = new double[list.size()];
+		int i = 0;
+		for (Double d : list) {
+			array[i++] = d;
+		}
+		return array;
+	}
+
+
+	/**
+	 * A cursor evaluating values of the interpolator, continuing the search from the
+	 * segment of the previous value.  Evaluating monotonic sequences of values, such as
+	 * values at consecutive time steps, takes constant time per value.
+	 * <p>
+	 * A cursor is not thread-safe, but any number of cursors may be used on the same
+	 * interpolator concurrently.
+	 */
+	public final class Cursor {
+		private int segment = -1;
+
+		private Cursor() {
+		}
+
+		/**
+		 * Return the interpolated value at the given x-coordinate.
+		 */
+		public double getValue(double value) {
+			segment = seek(segment, value);
+			return interpolate(segment, value);
+		}
+	}
+
+}
@@ -0,0 +1,82 @@
+package net.sf.openrocket.util;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Runs a batch of tasks on a temporary pool of daemon threads and waits for them.
+ */
+public class ParallelTasks {
+
+	private ParallelTasks() {
+	}
+
+	/**
+	 * Run tasks in parallel and return their results in the order of the tasks.  When a task
+	 * fails, its exception is rethrown and the remaining tasks are interrupted.  Exceptions of
+	 * the given type, <code>InterruptedException</code>s, runtime exceptions and errors are
+	 * rethrown as such, other exceptions are wrapped in a {@link BugException}.
+	 *
+	 * @param name			the name of the threads, followed by a running number.
+	 * @param threadCount	the maximum number of threads.
+	 * @param tasks			the tasks to run.
+	 * @param exceptionType	the checked exception type the tasks may throw.
+	 * @return				the results of the tasks.
+	 * @throws E			if a task throws an exception of the given type.
+	 * @throws InterruptedException	if a task or the calling thread was interrupted.
+	 */
+	public static <T, E extends Exception> List<T> invokeAll(final String name, int threadCount,
+			List<? extends Callable<T>> tasks, Class<E> exceptionType) throws E, InterruptedException {
+		List<T> results = new ArrayList<T>(tasks.size());
+		if (tasks.isEmpty()) {
+			return results;
+		}
+
+		ExecutorService executor = Executors.newFixedThreadPool(Math.max(1, Math.min(threadCount, tasks.size())),
+				new ThreadFactory() {
+					private final AtomicInteger count = new AtomicInteger();
+
+					@Override
+					public Thread newThread(Runnable r) {
+						Thread t = new Thread(r, name + "-" + count.incrementAndGet());
+						t.setDaemon(true);
+						return t;
+					}
+				});
+
+		try {
+			List<Future<T>> futures = new ArrayList<Future<T>>(tasks.size());
+			for (Callable<T> task : tasks) {
+				futures.add(executor.submit(task));
+			}
+			for (Future<T> f : futures) {
+				try {
+					results.add(f.get());
+				} catch (ExecutionException e) {
+					Throwable cause = e.getCause();
+					if (exceptionType.isInstance(cause)) {
+						throw exceptionType.cast(cause);
+					} else if (cause instanceof InterruptedException) {
+						throw (InterruptedException) cause;
+					} else if (cause instanceof RuntimeException) {
+						throw (RuntimeException) cause;
+					} else if (cause instanceof Error) {
+						throw (Error) cause;
+					}
+					throw new BugException("Unexpected exception in " + name, cause);
+				}
+			}
+		} finally {
+			executor.shutdownNow();
+		}
+		return results;
+	}
+
+}
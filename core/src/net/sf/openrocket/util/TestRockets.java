@@ -58,6 +58,11 @@ import net.sf.openrocket.rocketcomponent.Transition.Shape;
 import net.sf.openrocket.rocketcomponent.TrapezoidFinSet;
 import net.sf.openrocket.rocketcomponent.TubeCoupler;
 import net.sf.openrocket.rocketcomponent.position.*;
+import net.sf.openrocket.simulation.FlightData;
+import net.sf.openrocket.simulation.FlightDataBranch;
+import net.sf.openrocket.simulation.FlightDataType;
+import net.sf.openrocket.simulation.FlightEvent;
+import net.sf.openrocket.simulation.SimulationOptions;
 import net.sf.openrocket.simulation.customexpression.CustomExpression;
 import net.sf.openrocket.simulation.exception.SimulationException;
 import net.sf.openrocket.simulation.extension.impl.ScriptingExtension;
@@ -1342,6 +1347,34 @@ public class TestRockets {
 		return rocketDoc;
 	}
 	
+	/*
+	 * Create a rocket with an external simulation containing a flight data branch of all
+	 * built-in data types with the given number of points, for testing loading large files
+	 */
+	public static OpenRocketDocument makeTestRocket_withFlightData(int pointCount, long seed) {
+		OpenRocketDocument rocketDoc = makeTestRocket_v104_withSimulationData();
+		Random rnd = new Random(seed);
+		
+		FlightDataBranch branch = new FlightDataBranch("Sustainer", FlightDataType.ALL_TYPES);
+		for (int i = 0; i < pointCount; i++) {
+			double t = i * 0.01;
+			branch.addPoint();
+			for (int j = 0; j < FlightDataType.ALL_TYPES.length; j++) {
+				FlightDataType type = FlightDataType.ALL_TYPES[j];
+				double value = (type == FlightDataType.TYPE_TIME) ? t : Math.sin(t * (j + 1) * 0.1) * (j + 1) + rnd.nextGaussian() * 1e-3;
+				branch.setValue(type, value);
+			}
+		}
+		branch.addEvent(new FlightEvent(FlightEvent.Type.LAUNCH, 0));
+		branch.addEvent(new FlightEvent(FlightEvent.Type.APOGEE, pointCount * 0.005));
+		branch.immute();
+		
+		Simulation simulation = new Simulation(rocketDoc.getRocket(), Simulation.Status.EXTERNAL, "External data",
+				new SimulationOptions(), null, new FlightData(branch));
+		rocketDoc.addSimulation(simulation);
+		return rocketDoc;
+	}
+	
 	/*
 	 * Create a new file version 1.05 rocket with custom expression 
 	 */
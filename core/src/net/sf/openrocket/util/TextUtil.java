@@ -51,46 +51,192 @@ public class TextUtil {
 	 * @return		a representation with suitable precision.
 	 */
 	public static final String doubleToString(double d) {
+		return appendDouble(new StringBuilder(12), d).toString();
+	}
+	
+	
+	/**
+	 * Append the double value to a string builder in the same representation as
+	 * {@link #doubleToString(double)}.  No intermediate strings are created, so this
+	 * is preferable when formatting large amounts of data.
+	 * 
+	 * @param sb	the string builder to append to.
+	 * @param d		the value to present.
+	 * @return		the string builder.
+	 */
+	public static final StringBuilder appendDouble(StringBuilder sb, double d) {
 		
 		// Check for special cases
 		if (MathUtil.equals(d, 0))
-			return "0";
+			return sb.append('0');
 		
 		if (Double.isNaN(d))
-			return "NaN";
+			return sb.append("NaN");
 		
 		if (Double.isInfinite(d)) {
 			if (d < 0)
-				return "-Inf";
+				return sb.append("-Inf");
 			else
-				return "Inf";
+				return sb.append("Inf");
 		}
 		
 		
-		final String sign = (d < 0) ? "-" : "";
+		if (d < 0)
+			sb.append('-');
 		double abs = Math.abs(d);
 		
 		// Small and large values always in exponential notation
 		if (abs < 0.001 || abs >= 100000000) {
-			return sign + exponentialFormat(abs);
+			return appendExponential(sb, abs);
 		}
 		
-		// Check whether decimal or exponential notation is shorter
+		// Check whether decimal or exponential notation is shorter, keep the shorter one
 		
-		String exp = exponentialFormat(abs);
-		String dec = decimalFormat(abs);
+		int start = sb.length();
+		appendExponential(sb, abs);
+		int middle = sb.length();
+		appendDecimal(sb, abs);
 		
-		if (dec.length() <= exp.length())
-			return sign + dec;
+		if (sb.length() - middle <= middle - start)
+			sb.delete(start, middle);
 		else
-			return sign + exp;
+			sb.setLength(middle);
+		return sb;
+	}
+	
+	
+	private static final double[] POWERS_OF_TEN = {
+			1e0, 1e1, 1e2, 1e3, 1e4, 1e5, 1e6, 1e7, 1e8, 1e9, 1e10, 1e11,
+			1e12, 1e13, 1e14, 1e15, 1e16, 1e17, 1e18, 1e19, 1e20, 1e21, 1e22
+	};
+	
+	/**
+	 * Parse a double value from a range of a character sequence without creating
+	 * intermediate strings.  Accepts the representations produced by
+	 * {@link #appendDouble(StringBuilder, double)}, including "NaN", "Inf" and "-Inf"
+	 * in any case, and otherwise the same values as {@link Double#parseDouble(String)}.
+	 * Leading and trailing whitespace is ignored.
+	 * <p>
+	 * Decimal values of at most 15 significant digits and a decimal exponent of at most
+	 * 22 are computed with a single correctly rounded operation, so the result is equal
+	 * to that of {@link Double#parseDouble(String)}.  Other values are passed to it.
+	 * 
+	 * @param s		the character sequence.
+	 * @param start	the start index of the value, inclusive.
+	 * @param end	the end index of the value, exclusive.
+	 * @return		the parsed value.
+	 * @throws NumberFormatException	if the range does not contain a valid value.
+	 */
+	public static double parseDouble(CharSequence s, int start, int end) throws NumberFormatException {
+		while (start < end && s.charAt(start) <= ' ') {
+			start++;
+		}
+		while (end > start && s.charAt(end - 1) <= ' ') {
+			end--;
+		}
+		
+		int i = start;
+		boolean negative = false;
+		if (i < end && (s.charAt(i) == '-' || s.charAt(i) == '+')) {
+			negative = (s.charAt(i) == '-');
+			i++;
+		}
+		
+		if (regionMatchesIgnoreCase(s, i, end, "NaN") && !negative && i == start) {
+			return Double.NaN;
+		}
+		if (regionMatchesIgnoreCase(s, i, end, "Inf") && (negative || i == start)) {
+			return negative ? Double.NEGATIVE_INFINITY : Double.POSITIVE_INFINITY;
+		}
+		
+		long mantissa = 0;
+		int significant = 0;
+		int exponent = 0;
+		boolean digits = false;
+		boolean point = false;
+		for (; i < end; i++) {
+			char c = s.charAt(i);
+			if (c >= '0' && c <= '9') {
+				digits = true;
+				if (mantissa == 0 && c == '0') {
+					// Leading zeros are not significant
+				} else {
+					mantissa = mantissa * 10 + (c - '0');
+					significant++;
+					if (significant > 15) {
+						return parseDoubleString(s, start, end);
+					}
+				}
+				if (point) {
+					exponent--;
+				}
+			} else if (c == '.' && !point) {
+				point = true;
+			} else {
+				break;
+			}
+		}
+		
+		if (digits && i < end && (s.charAt(i) == 'e' || s.charAt(i) == 'E')) {
+			i++;
+			boolean negativeExponent = false;
+			if (i < end && (s.charAt(i) == '-' || s.charAt(i) == '+')) {
+				negativeExponent = (s.charAt(i) == '-');
+				i++;
+			}
+			int exp = 0;
+			int expDigits = 0;
+			for (; i < end && s.charAt(i) >= '0' && s.charAt(i) <= '9'; i++) {
+				exp = exp * 10 + (s.charAt(i) - '0');
+				expDigits++;
+				if (expDigits > 4) {
+					return parseDoubleString(s, start, end);
+				}
+			}
+			if (expDigits == 0) {
+				return parseDoubleString(s, start, end);
+			}
+			exponent += negativeExponent ? -exp : exp;
+		}
+		
+		if (!digits || i != end) {
+			return parseDoubleString(s, start, end);
+		}
+		
+		double value;
+		if (mantissa == 0) {
+			value = 0;
+		} else if (exponent >= 0 && exponent < POWERS_OF_TEN.length) {
+			value = mantissa * POWERS_OF_TEN[exponent];
+		} else if (exponent < 0 && -exponent < POWERS_OF_TEN.length) {
+			value = mantissa / POWERS_OF_TEN[-exponent];
+		} else {
+			return parseDoubleString(s, start, end);
+		}
+		return negative ? -value : value;
+	}
+	
+	private static double parseDoubleString(CharSequence s, int start, int end) {
+		return Double.parseDouble(s.subSequence(start, end).toString());
+	}
+	
+	private static boolean regionMatchesIgnoreCase(CharSequence s, int start, int end, String str) {
+		if (end - start != str.length()) {
+			return false;
+		}
+		for (int i = 0; i < str.length(); i++) {
+			if (Character.toLowerCase(s.charAt(start + i)) != Character.toLowerCase(str.charAt(i))) {
+				return false;
+			}
+		}
+		return true;
 	}
 	
 	
 	/*
 	 * value must be positive and not zero!
 	 */
-	private static String exponentialFormat(double value) {
+	private static StringBuilder appendExponential(StringBuilder sb, double value) {
 		int exp;
 		
 		exp = 0;
@@ -103,16 +249,16 @@ public class TextUtil {
 			exp++;
 		}
 		
-		return shortDecimal(value, 4) + "e" + exp;
+		return appendShortDecimal(sb, value, 4).append('e').append(exp);
 	}
 	
 	
 	/*
 	 * value must be positive and not zero!
 	 */
-	private static String decimalFormat(double value) {
+	private static StringBuilder appendDecimal(StringBuilder sb, double value) {
 		if (value >= 10000)
-			return "" + (int) (value + 0.5);
+			return sb.append((int) (value + 0.5));
 		
 		int decimals = 1;
 		double v = value;
@@ -121,7 +267,7 @@ public class TextUtil {
 			decimals++;
 		}
 		
-		return shortDecimal(value, decimals);
+		return appendShortDecimal(sb, value, decimals);
 	}
 	
 	
@@ -130,7 +276,7 @@ public class TextUtil {
 	/*
 	 * value must be positive!
 	 */
-	private static String shortDecimal(double value, int decimals) {
+	private static StringBuilder appendShortDecimal(StringBuilder sb, double value, int decimals) {
 		
 		// Calculate rounding and limit values (rounding slightly smaller)
 		int rounding = 1;
@@ -147,13 +293,11 @@ public class TextUtil {
 		int whole = (int) value;
 		value -= whole;
 		
-		
+		sb.append(whole);
 		if (value < limit)
-			return "" + whole;
+			return sb;
 		limit *= 10;
 		
-		StringBuilder sb = new StringBuilder();
-		sb.append("" + whole);
 		sb.append('.');
 		
 		
@@ -165,12 +309,12 @@ public class TextUtil {
 			sb.append((char) ('0' + whole));
 			
 			if (value < limit)
-				return sb.toString();
+				return sb;
 			limit *= 10;
 			
 		}
 		
-		return sb.toString();
+		return sb;
 	}
 	
 	/**
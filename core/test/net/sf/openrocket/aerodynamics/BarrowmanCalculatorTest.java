@@ -262,6 +262,48 @@ public class BarrowmanCalculatorTest {
 //		assertEquals(" Falcon Heavy Worst CP x value is incorrect:", expWorstCP.x, calcWorstCP.x, EPSILON);
 	}
 	
+	@Test
+	public void testCPSweep() {
+		final Rocket rocket = TestRockets.makeFalcon9Heavy();
+		final FlightConfiguration config = rocket.getSelectedConfiguration();
+		final BarrowmanCalculator calc = new BarrowmanCalculator();
+		final FlightConditions conditions = new FlightConditions(config);
+		final WarningSet warnings = new WarningSet();
+		
+		// add a two-fin set to the core stage, so that the CP strongly depends on theta
+		final TrapezoidFinSet fins = new TrapezoidFinSet(2, 0.05, 0.03, 0.02, 0.04);
+		rocket.getChild(0).getChild(1).addChild(fins);
+		
+		final double[] thetas = new double[37];
+		for (int i = 0; i < thetas.length; i++) {
+			thetas[i] = 2 * Math.PI * i / (thetas.length - 1);
+		}
+		
+		final Coordinate[] cps = calc.getCPSweep(config, conditions, thetas, warnings);
+		assertEquals(thetas.length, cps.length);
+		for (int i = 0; i < thetas.length; i++) {
+			conditions.setTheta(thetas[i]);
+			final Coordinate expCP = calc.getCP(config, conditions, warnings);
+			assertEquals(" CP x value is incorrect at theta=" + thetas[i], expCP.x, cps[i].x, EPSILON);
+			assertEquals(" CNa value is incorrect at theta=" + thetas[i], expCP.weight, cps[i].weight, EPSILON);
+		}
+		
+		// compare the worst CP with a brute force search
+		conditions.setTheta(0);
+		final Coordinate worstCP = calc.getWorstCP(config, conditions, warnings);
+		final double worstTheta = conditions.getTheta();
+		
+		double expWorstX = Double.MAX_VALUE;
+		for (int i = 0; i < AbstractAerodynamicCalculator.DIVISIONS; i++) {
+			conditions.setTheta(2 * Math.PI * i / AbstractAerodynamicCalculator.DIVISIONS);
+			expWorstX = Math.min(expWorstX, calc.getCP(config, conditions, warnings).x);
+		}
+		assertEquals(" Worst CP x value is incorrect:", expWorstX, worstCP.x, EPSILON);
+		
+		conditions.setTheta(worstTheta);
+		assertEquals(" Worst theta is incorrect:", worstCP.x, calc.getCP(config, conditions, warnings).x, EPSILON);
+	}
+	
 	@Test
 	public void testContinuousRocket() {
 		Rocket rocket = TestRockets.makeEstesAlphaIII();
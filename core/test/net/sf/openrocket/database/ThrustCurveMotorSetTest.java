@@ -147,6 +147,9 @@ public class ThrustCurveMotorSetTest {
 		assertEquals(motor2, set.getMotors().get(1));
 		assertEquals(motor1, set.getMotors().get(2));
 		assertEquals(Arrays.asList(0.0, 5.0, Motor.PLUGGED_DELAY), set.getDelays());
+		assertTrue(set.containsMotor(motor1));
+		assertTrue(set.containsMotor(motor3));
+		assertFalse(set.containsMotor(motor4));
 		
 		// Test that adding motor4 fails
 		assertFalse(set.matches(motor4));
@@ -0,0 +1,145 @@
+package net.sf.openrocket.document.attachments;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileNotFoundException;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.URL;
+import java.net.URLConnection;
+import java.net.URLStreamHandler;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipOutputStream;
+
+import net.sf.openrocket.util.FileUtils;
+import net.sf.openrocket.util.BaseTestCase.BaseTestCase;
+
+import org.junit.Test;
+
+public class ZipArchiveIndexTest extends BaseTestCase {
+	
+	private static final int DECALS = 20;
+	private static final int DECAL_SIZE = 1000;
+	
+	private static byte[] decal(int n, int size) {
+		byte[] bytes = new byte[size];
+		for (int i = 0; i < size; i++) {
+			bytes[i] = (byte) (n * 31 + i);
+		}
+		return bytes;
+	}
+	
+	private static File createArchive(int decalSize) throws IOException {
+		File file = File.createTempFile("ZipArchiveIndexTest", ".ork");
+		file.deleteOnExit();
+		ZipOutputStream zos = new ZipOutputStream(new FileOutputStream(file));
+		try {
+			zos.putNextEntry(new ZipEntry("rocket.ork"));
+			zos.write("<openrocket/>".getBytes("UTF-8"));
+			zos.closeEntry();
+			for (int n = 0; n < DECALS; n++) {
+				zos.putNextEntry(new ZipEntry("decals/decal" + n + ".png"));
+				zos.write(decal(n, decalSize));
+				zos.closeEntry();
+			}
+		} finally {
+			zos.close();
+		}
+		return file;
+	}
+	
+	private static void assertDecals(ZipArchiveIndex index, int decalSize) throws IOException {
+		for (int n = 0; n < DECALS; n++) {
+			assertArrayEquals(decal(n, decalSize), FileUtils.readBytes(index.getBytes("decals/decal" + n + ".png")));
+		}
+	}
+	
+	@Test
+	public void testFileArchiveIsReadOnce() throws IOException {
+		File file = createArchive(DECAL_SIZE);
+		ZipArchiveIndex index = new ZipArchiveIndex(file.toURI().toURL());
+		
+		assertTrue(index.contains("decals/decal3.png"));
+		assertFalse(index.contains("decals/missing.png"));
+		assertDecals(index, DECAL_SIZE);
+		assertDecals(index, DECAL_SIZE);
+		assertEquals(1, index.getArchiveReads());
+		
+		try {
+			index.getBytes("decals/missing.png");
+			fail("Missing entry was found");
+		} catch (FileNotFoundException e) {
+			// expected
+		}
+		file.delete();
+	}
+	
+	@Test
+	public void testBoundedCache() throws IOException {
+		File file = createArchive(DECAL_SIZE);
+		ZipArchiveIndex index = new ZipArchiveIndex(file.toURI().toURL(), 5 * DECAL_SIZE);
+		
+		// Entries that do not fit the cache are read again, but the contents are always correct
+		assertDecals(index, DECAL_SIZE);
+		assertDecals(index, DECAL_SIZE);
+		assertTrue(index.getArchiveReads() > 1);
+		
+		// The most recently used entries remain cached
+		int reads = index.getArchiveReads();
+		index.getBytes("decals/decal" + (DECALS - 1) + ".png");
+		assertEquals(reads, index.getArchiveReads());
+		file.delete();
+	}
+	
+	@Test
+	public void testModifiedArchiveIsReindexed() throws IOException {
+		File file = createArchive(DECAL_SIZE);
+		ZipArchiveIndex index = new ZipArchiveIndex(file.toURI().toURL());
+		assertDecals(index, DECAL_SIZE);
+		
+		File replacement = createArchive(2 * DECAL_SIZE);
+		assertTrue(file.delete());
+		assertTrue(replacement.renameTo(file));
+		assertDecals(index, 2 * DECAL_SIZE);
+		assertEquals(2, index.getArchiveReads());
+		file.delete();
+	}
+	
+	@Test
+	public void testStreamArchive() throws IOException {
+		final File file = createArchive(DECAL_SIZE);
+		
+		// Archives not on the file system, such as inside a JAR, can only be read as a stream
+		URL url = new URL(null, "stream:archive", new URLStreamHandler() {
+			@Override
+			protected URLConnection openConnection(URL u) {
+				return new URLConnection(u) {
+					@Override
+					public void connect() {
+					}
+					
+					@Override
+					public InputStream getInputStream() throws IOException {
+						return new FileInputStream(file);
+					}
+				};
+			}
+		});
+		ZipArchiveIndex index = new ZipArchiveIndex(url);
+		assertDecals(index, DECAL_SIZE);
+		assertEquals(1, index.getArchiveReads());
+		
+		// The document itself is not cached
+		assertArrayEquals("<openrocket/>".getBytes("UTF-8"), FileUtils.readBytes(index.getBytes("rocket.ork")));
+		assertEquals(2, index.getArchiveReads());
+		file.delete();
+	}
+	
+}
@@ -0,0 +1,126 @@
+package net.sf.openrocket.file;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.List;
+
+import net.sf.openrocket.document.Simulation;
+import net.sf.openrocket.simulation.FlightData;
+import net.sf.openrocket.simulation.FlightDataBranch;
+import net.sf.openrocket.simulation.FlightDataType;
+import net.sf.openrocket.simulation.FlightEvent;
+import net.sf.openrocket.simulation.SimulationOptions;
+import net.sf.openrocket.unit.Unit;
+import net.sf.openrocket.unit.UnitGroup;
+import net.sf.openrocket.util.BaseTestCase.BaseTestCase;
+import net.sf.openrocket.util.TestRockets;
+
+import org.junit.Test;
+
+public class BatchExportTest extends BaseTestCase {
+
+	private static final FlightDataType[] FIELDS = { FlightDataType.TYPE_TIME, FlightDataType.TYPE_ALTITUDE,
+			FlightDataType.TYPE_MACH_NUMBER };
+
+	private static final Unit[] UNITS = { UnitGroup.UNITS_FLIGHT_TIME.getDefaultUnit(),
+			UnitGroup.UNITS_DISTANCE.getUnit("ft"), UnitGroup.UNITS_COEFFICIENT.getDefaultUnit() };
+
+	private static FlightDataBranch createBranch(String name, int points, double scale) {
+		FlightDataBranch branch = new FlightDataBranch(name, FlightDataType.TYPE_TIME, FlightDataType.TYPE_ALTITUDE);
+		for (int i = 0; i < points; i++) {
+			branch.addPoint();
+			branch.setValue(FlightDataType.TYPE_TIME, i * 0.01);
+			branch.setValue(FlightDataType.TYPE_ALTITUDE, scale * Math.sin(i * 0.01));
+		}
+		branch.addEvent(new FlightEvent(FlightEvent.Type.APOGEE, points * 0.005));
+		branch.addEvent(new FlightEvent(FlightEvent.Type.LAUNCH, 0));
+		branch.immute();
+		return branch;
+	}
+
+	private static Simulation createSimulation(String name, double scale) {
+		FlightData data = new FlightData(createBranch("Main", 1000, scale), createBranch("Booster", 200, -scale));
+		return new Simulation(TestRockets.makeEstesAlphaIII(), Simulation.Status.LOADED, name,
+				new SimulationOptions(), null, data);
+	}
+
+	@Test
+	public void testBinaryFormat() throws IOException {
+		Simulation simulation = createSimulation("Binary", 100);
+		ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+		BinaryExport.exportBinary(bytes, simulation, FIELDS, UNITS);
+
+		DataInputStream in = new DataInputStream(new ByteArrayInputStream(bytes.toByteArray()));
+		byte[] magic = new byte[4];
+		in.readFully(magic);
+		assertArrayEquals(BinaryExport.MAGIC, magic);
+		assertEquals(BinaryExport.VERSION, in.readInt());
+		assertEquals("Binary", in.readUTF());
+		assertEquals(2, in.readInt());
+
+		for (int b = 0; b < 2; b++) {
+			FlightDataBranch branch = simulation.getSimulatedData().getBranch(b);
+			int n = branch.getLength();
+			assertEquals(branch.getBranchName(), in.readUTF());
+			assertEquals(n, in.readInt());
+			assertEquals(FIELDS.length, in.readInt());
+			for (int i = 0; i < FIELDS.length; i++) {
+				assertEquals(FIELDS[i].getName(), in.readUTF());
+				assertEquals(FIELDS[i].getSymbol(), in.readUTF());
+				assertEquals(UNITS[i].getUnit(), in.readUTF());
+			}
+
+			// Events are in occurrence order
+			assertEquals(2, in.readInt());
+			assertEquals(FlightEvent.Type.LAUNCH.name(), in.readUTF());
+			assertEquals(0, in.readDouble(), 0);
+			assertEquals(FlightEvent.Type.APOGEE.name(), in.readUTF());
+			assertEquals(n * 0.005, in.readDouble(), 0);
+
+			for (int i = 0; i < FIELDS.length; i++) {
+				List<Double> values = branch.get(FIELDS[i]);
+				for (int pos = 0; pos < n; pos++) {
+					if (values == null) {
+						assertEquals(Double.NaN, in.readDouble(), 0);
+					} else {
+						assertEquals(UNITS[i].toUnit(values.get(pos)), in.readDouble(), 0);
+					}
+				}
+			}
+		}
+		assertEquals(-1, in.read());
+	}
+
+	@Test
+	public void testParallelExportMatchesSequential() throws IOException, InterruptedException {
+		List<Simulation> simulations = new ArrayList<Simulation>();
+		List<File> files = new ArrayList<File>();
+		for (int i = 0; i < 6; i++) {
+			simulations.add(createSimulation("Simulation " + i, 10 * (i + 1)));
+			File file = File.createTempFile("BatchExportTest", ".csv");
+			file.deleteOnExit();
+			files.add(file);
+		}
+
+		BatchExport.exportAll(simulations, files,
+				BatchExport.csv(FIELDS, UNITS, ",", "#", true, true, true), 3);
+
+		for (int i = 0; i < simulations.size(); i++) {
+			Simulation simulation = simulations.get(i);
+			ByteArrayOutputStream expected = new ByteArrayOutputStream();
+			CSVExport.exportCSV(expected, simulation, simulation.getSimulatedData().getBranch(0), FIELDS, UNITS,
+					",", "#", true, true, true);
+			assertArrayEquals(expected.toByteArray(), Files.readAllBytes(files.get(i).toPath()));
+			files.get(i).delete();
+		}
+	}
+
+}
@@ -0,0 +1,115 @@
+package net.sf.openrocket.file;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.Random;
+
+import org.junit.Test;
+
+public class ReadAheadInputStreamTest {
+
+	@Test
+	public void testReadAll() throws IOException {
+		byte[] data = new byte[100000];
+		new Random(1234).nextBytes(data);
+
+		// Odd chunk sizes and a source returning short reads
+		InputStream in = new ReadAheadInputStream(new ShortReadInputStream(new ByteArrayInputStream(data)), 1000, 3);
+		ByteArrayOutputStream out = new ByteArrayOutputStream();
+		byte[] buffer = new byte[777];
+		int n;
+		while ((n = in.read(buffer, 0, buffer.length)) >= 0) {
+			out.write(buffer, 0, n);
+			int b = in.read();
+			if (b < 0) {
+				break;
+			}
+			out.write(b);
+		}
+		assertEquals(-1, in.read());
+		assertEquals(-1, in.read(buffer, 0, buffer.length));
+		in.close();
+		assertArrayEquals(data, out.toByteArray());
+	}
+
+	@Test
+	public void testExceptionAfterData() throws IOException {
+		final IOException failure = new IOException("test");
+		InputStream source = new InputStream() {
+			private int count = 0;
+
+			@Override
+			public int read() throws IOException {
+				if (count == 2500) {
+					throw failure;
+				}
+				return count++ & 0xFF;
+			}
+		};
+
+		InputStream in = new ReadAheadInputStream(source, 1000, 2);
+		for (int i = 0; i < 2000; i++) {
+			assertEquals(i & 0xFF, in.read());
+		}
+		try {
+			in.read();
+			fail("No exception");
+		} catch (IOException e) {
+			assertSame(failure, e);
+		}
+		in.close();
+	}
+
+	@Test
+	public void testCloseBeforeEnd() throws IOException {
+		final boolean[] closed = { false };
+		InputStream source = new InputStream() {
+			@Override
+			public int read() {
+				return 1;
+			}
+
+			@Override
+			public void close() {
+				closed[0] = true;
+			}
+		};
+
+		InputStream in = new ReadAheadInputStream(source, 100, 2);
+		assertEquals(1, in.read());
+		in.close();
+		assertTrue(closed[0]);
+		try {
+			in.read();
+			fail("Read after close");
+		} catch (IOException e) {
+			// Expected
+		}
+	}
+
+	private static class ShortReadInputStream extends InputStream {
+		private final InputStream in;
+
+		ShortReadInputStream(InputStream in) {
+			this.in = in;
+		}
+
+		@Override
+		public int read() throws IOException {
+			return in.read();
+		}
+
+		@Override
+		public int read(byte[] b, int off, int len) throws IOException {
+			return in.read(b, off, Math.min(len, 123));
+		}
+	}
+}
@@ -0,0 +1,98 @@
+package net.sf.openrocket.file.openrocket;
+
+import java.io.ByteArrayOutputStream;
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadMXBean;
+import java.util.zip.GZIPOutputStream;
+
+import net.sf.openrocket.document.OpenRocketDocument;
+import net.sf.openrocket.document.StorageOptions;
+import net.sf.openrocket.file.GeneralRocketLoader;
+import net.sf.openrocket.util.TestRockets;
+import net.sf.openrocket.util.BaseTestCase.BaseTestCase;
+
+/**
+ * Benchmark for loading large compressed .ork files, comparing loading with and
+ * without decompressing on a separate read-ahead thread.
+ * <p>
+ * The test document contains a single simulation with generated flight data, sized
+ * so that the uncompressed document is approximately the requested size.  The generated
+ * data is held in memory, so a large heap is needed for the default 100 MB, for
+ * example <code>-Xmx2g</code>.
+ * <p>
+ * Usage:  OpenRocketLoadBenchmark [size-in-MB [rounds]]
+ */
+public class OpenRocketLoadBenchmark {
+
+	private static final int SAMPLE_POINTS = 1000;
+
+	public static void main(String[] args) throws Exception {
+		int megabytes = (args.length > 0) ? Integer.parseInt(args[0]) : 100;
+		int rounds = (args.length > 1) ? Integer.parseInt(args[1]) : 5;
+
+		BaseTestCase.setUp();
+
+		StorageOptions options = new StorageOptions();
+		options.setSimulationTimeSkip(StorageOptions.SIMULATION_DATA_ALL);
+
+		// Scale the point count from the size of a small document
+		int sampleSize = save(TestRockets.makeTestRocket_withFlightData(SAMPLE_POINTS, 0), options).length;
+		int points = (int) ((long) megabytes * 1024 * 1024 * SAMPLE_POINTS / sampleSize);
+
+		File file = File.createTempFile("OpenRocketLoadBenchmark", ".ork");
+		file.deleteOnExit();
+		byte[] document = save(TestRockets.makeTestRocket_withFlightData(points, 0), options);
+		OutputStream out = new GZIPOutputStream(new FileOutputStream(file));
+		try {
+			out.write(document);
+		} finally {
+			out.close();
+		}
+		System.out.println("Document: " + points + " data points, " + (document.length >> 20) + " MB, " +
+				(file.length() >> 20) + " MB compressed");
+		document = null;
+
+		for (int i = 0; i < rounds; i++) {
+			load(file, true);
+			load(file, false);
+		}
+		file.delete();
+	}
+
+	private static byte[] save(OpenRocketDocument doc, StorageOptions options) throws IOException {
+		ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+		new OpenRocketSaver().save(bytes, doc, options);
+		return bytes.toByteArray();
+	}
+
+	private static void load(File file, boolean readAhead) throws Exception {
+		System.gc();
+		GeneralRocketLoader loader = new GeneralRocketLoader(file);
+		loader.setReadAhead(readAhead);
+
+		long allocated = allocatedBytes();
+		long t0 = System.nanoTime();
+		loader.load();
+		long t1 = System.nanoTime();
+		allocated = allocatedBytes() - allocated;
+
+		System.out.println(String.format("readAhead=%-5b  %6d ms  %6d MB allocated by the loading thread",
+				readAhead, (t1 - t0) / 1000000, allocated >> 20));
+	}
+
+	/**
+	 * Return the bytes allocated by the current thread, or 0 if the JVM does not
+	 * support measuring it.
+	 */
+	private static long allocatedBytes() {
+		ThreadMXBean bean = ManagementFactory.getThreadMXBean();
+		if (bean instanceof com.sun.management.ThreadMXBean) {
+			return ((com.sun.management.ThreadMXBean) bean).getThreadAllocatedBytes(Thread.currentThread().getId());
+		}
+		return 0;
+	}
+}
@@ -1,9 +1,11 @@
 package net.sf.openrocket.file.openrocket;
 
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
 import static org.junit.Assert.assertNotNull;
 import static org.junit.Assert.fail;
 
+import java.io.ByteArrayOutputStream;
 import java.io.File;
 import java.io.FileFilter;
 import java.io.FileNotFoundException;
@@ -12,8 +14,11 @@ import java.io.IOException;
 import java.io.InputStream;
 import java.io.OutputStream;
 import java.util.ArrayList;
+import java.util.List;
+import java.util.zip.GZIPOutputStream;
 
 import net.sf.openrocket.ServicesForTesting;
+import net.sf.openrocket.aerodynamics.Warning;
 import net.sf.openrocket.database.ComponentPresetDao;
 import net.sf.openrocket.database.ComponentPresetDatabase;
 import net.sf.openrocket.database.motor.MotorDatabase;
@@ -29,11 +34,14 @@ import net.sf.openrocket.motor.Manufacturer;
 import net.sf.openrocket.motor.Motor;
 import net.sf.openrocket.motor.ThrustCurveMotor;
 import net.sf.openrocket.plugin.PluginModule;
+import net.sf.openrocket.simulation.FlightDataBranch;
+import net.sf.openrocket.simulation.FlightDataType;
 import net.sf.openrocket.simulation.extension.impl.ScriptingExtension;
 import net.sf.openrocket.simulation.extension.impl.ScriptingUtil;
 import net.sf.openrocket.startup.Application;
 import net.sf.openrocket.util.Coordinate;
 import net.sf.openrocket.util.TestRockets;
+import net.sf.openrocket.util.TextUtil;
 
 import org.junit.After;
 import org.junit.BeforeClass;
@@ -141,6 +149,44 @@ public class OpenRocketSaverTest {
 		}
 	}
 	
+	@Test
+	public void testCompressedFlightDataRoundTrip() throws Exception {
+		OpenRocketDocument rocketDoc = TestRockets.makeTestRocket_withFlightData(500, 1234);
+		FlightDataBranch original = rocketDoc.getSimulations().get(2).getSimulatedData().getBranch(0);
+		
+		StorageOptions options = new StorageOptions();
+		options.setSimulationTimeSkip(StorageOptions.SIMULATION_DATA_ALL);
+		
+		ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+		saver.save(bytes, rocketDoc, options);
+		File file = File.createTempFile(TMP_DIR.getName(), ".ork");
+		OutputStream out = new GZIPOutputStream(new FileOutputStream(file));
+		out.write(bytes.toByteArray());
+		out.close();
+		
+		for (boolean readAhead : new boolean[] { true, false }) {
+			GeneralRocketLoader loader = new GeneralRocketLoader(file);
+			loader.setReadAhead(readAhead);
+			OpenRocketDocument loaded = loader.load();
+			for (Warning w : loader.getWarnings()) {
+				assertFalse(w.toString(), w.toString().contains("point"));
+			}
+			FlightDataBranch branch = loaded.getSimulations().get(2).getSimulatedData().getBranch(0);
+			assertEquals(original.getLength(), branch.getLength());
+			assertEquals(original.getEvents().size(), branch.getEvents().size());
+			for (FlightDataType type : FlightDataType.ALL_TYPES) {
+				List<Double> expected = original.get(type);
+				List<Double> actual = branch.get(type);
+				for (int i = 0; i < expected.size(); i++) {
+					// Values are stored with limited precision
+					assertEquals(Double.parseDouble(TextUtil.doubleToString(expected.get(i))), actual.get(i), 0);
+				}
+			}
+		}
+		file.delete();
+	}
+	
+	
 	@Test
 	public void testUntrustedScriptDisabledOnLoad() {
 		OpenRocketDocument rocketDoc = TestRockets.makeTestRocket_v107_withSimulationExtension(SIMULATION_EXTENSION_SCRIPT);
@@ -0,0 +1,127 @@
+package net.sf.openrocket.models.atmosphere;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.fail;
+
+import java.io.IOException;
+import java.io.StringReader;
+
+import org.junit.Test;
+
+public class TabulatedAtmosphericModelTest {
+
+	/**
+	 * The ISA model interpolates exactly as it did between its 500 m layers.
+	 */
+	@Test
+	public void testISAInterpolation() {
+		ExtendedISAModel model = new ExtendedISAModel();
+		for (double altitude = -100; altitude < 90000; altitude += 37.3) {
+			double clamped = Math.min(Math.max(altitude, 0), 84500);
+			int n = (int) (clamped / 500);
+			AtmosphericConditions below = model.getExactConditions(n * 500);
+			AtmosphericConditions above = model.getExactConditions(Math.min(n + 1, 169) * 500);
+			double d = (clamped - n * 500) / 500;
+			double temperature = below.getTemperature() * (1 - d) + above.getTemperature() * d;
+			double pressure = below.getPressure() * (1 - d) + above.getPressure() * d;
+
+			AtmosphericConditions c = model.getConditions(altitude);
+			assertEquals(temperature, c.getTemperature(), 1e-9);
+			assertEquals(pressure, c.getPressure(), 1e-6);
+			assertEquals(temperature, model.getTemperature(altitude), 1e-9);
+			assertEquals(pressure, model.getPressure(altitude), 1e-6);
+		}
+	}
+
+	@Test
+	public void testPrimitiveAccessors() {
+		TabulatedAtmosphericModel model = new TabulatedAtmosphericModel(
+				new double[] { 0, 100, 1000, 5000 },
+				new double[] { 290, 289, 282, 255 },
+				new double[] { 101000, 99800, 89500, 54000 });
+
+		// Same values as the conditions objects
+		for (double altitude = -50; altitude < 6000; altitude += 12.5) {
+			AtmosphericConditions c = model.getConditions(altitude);
+			assertEquals(c.getTemperature(), model.getTemperature(altitude), 0);
+			assertEquals(c.getPressure(), model.getPressure(altitude), 0);
+			assertEquals(c.getDensity(), model.getDensity(altitude), 0);
+			assertEquals(c.getMachSpeed(), model.getSpeedOfSound(altitude), 0);
+			assertEquals(c.getKinematicViscosity(), model.getKinematicViscosity(altitude), 0);
+		}
+		AtmosphericConditions c = new AtmosphericConditions(282, 89500);
+		assertEquals(c.getDensity(), model.getDensity(1000), 0);
+		assertEquals(c.getMachSpeed(), model.getSpeedOfSound(1000), 0);
+		assertEquals(c.getKinematicViscosity(), model.getKinematicViscosity(1000), 0);
+
+		// Non-uniform levels, in random order
+		assertEquals(289.5, model.getTemperature(50), 1e-9);
+		assertEquals(255, model.getTemperature(7000), 0);
+		assertEquals(285.5, model.getTemperature(550), 1e-9);
+		assertEquals(268.5, model.getTemperature(3000), 1e-9);
+		assertEquals(290, model.getTemperature(-10), 0);
+		assertEquals(289.5, model.getTemperature(50), 1e-9);
+	}
+
+	@Test(expected = IllegalArgumentException.class)
+	public void testUnorderedTable() {
+		new TabulatedAtmosphericModel(new double[] { 0, 100, 100 }, new double[] { 290, 289, 288 },
+				new double[] { 101000, 99800, 99700 });
+	}
+
+	@Test
+	public void testSoundingUnits() throws IOException {
+		String csv = "# Test sounding\n" +
+				"PRES (hPa), HGHT (ft), TEMP (C), DWPT (C)\n" +
+				"1000, 0, 15, 10\n" +
+				"850, 3280.84, 5,\n" +
+				"\n" +
+				"700, , -4, -10\n" +
+				"500, 16404.2, -20, -30\n";
+		SoundingAtmosphericModel model = SoundingAtmosphericModel.load(new StringReader(csv));
+
+		assertEquals(0, model.getMinAltitude(), 0);
+		assertEquals(5000, model.getTableMaxAltitude(), 1e-3);
+		assertEquals(288.15, model.getTemperature(0), 1e-9);
+		assertEquals(100000, model.getPressure(0), 1e-6);
+		assertEquals(265.65, model.getTemperature(3000), 1e-6);
+		assertEquals(67500, model.getPressure(3000), 1e-3);
+	}
+
+	@Test
+	public void testSoundingWhitespaceUnsorted() throws IOException {
+		String text = "height pressure temperature\n" +
+				"1000 90000 280\n" +
+				"0 100000 290\n" +
+				"1000 89000 279\n" +
+				"400 95000 286\n";
+		SoundingAtmosphericModel model = SoundingAtmosphericModel.load(new StringReader(text));
+
+		assertEquals(0, model.getMinAltitude(), 0);
+		assertEquals(1000, model.getTableMaxAltitude(), 0);
+		assertEquals(288, model.getTemperature(200), 1e-9);
+		assertEquals(283, model.getTemperature(700), 1e-9);
+		assertEquals(new AtmosphericConditions(286, 95000).getDensity(), model.getDensity(400), 0);
+	}
+
+	@Test
+	public void testInvalidSounding() {
+		String[] invalid = {
+				"",
+				"alt,pres\n0,100000\n",
+				"alt,pres,temp\n",
+				"alt,pres (kN),temp\n0,100000,290\n",
+				"alt,pres,temp\n0,abc,290\n",
+				"alt,pres,temp\n0,-1,290\n"
+		};
+		for (String text : invalid) {
+			try {
+				SoundingAtmosphericModel.load(new StringReader(text));
+				fail("Loaded invalid sounding: " + text);
+			} catch (IOException e) {
+				// Expected
+			}
+		}
+	}
+
+}
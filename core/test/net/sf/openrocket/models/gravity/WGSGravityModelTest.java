@@ -1,6 +1,11 @@
 package net.sf.openrocket.models.gravity;
 
 import static org.junit.Assert.assertEquals;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
 import net.sf.openrocket.util.WorldCoordinate;
 
 import org.junit.Test;
@@ -33,6 +38,45 @@ public class WGSGravityModelTest {
 		test(45, 0, 100000, 9.505);
 	}
 	
+	/**
+	 * Concurrent simulation branches share the model, each must get the gravity
+	 * of its own coordinates.
+	 */
+	@Test
+	public void testConcurrentBranches() throws InterruptedException {
+		final List<Throwable> failures = Collections.synchronizedList(new ArrayList<Throwable>());
+		Thread[] threads = new Thread[4];
+		for (int i = 0; i < threads.length; i++) {
+			// Alternate between two coordinates, so that the cached value is replaced and reused
+			final WorldCoordinate[] wc = {
+					new WorldCoordinate(-90 + 45 * i, 0, 0),
+					new WorldCoordinate(-90 + 45 * i, 0, 1000 * (i + 1))
+			};
+			final double[] expected = {
+					new WGSGravityModel().getGravity(wc[0]),
+					new WGSGravityModel().getGravity(wc[1])
+			};
+			threads[i] = new Thread(new Runnable() {
+				@Override
+				public void run() {
+					try {
+						for (int j = 0; j < 200000; j++) {
+							assertEquals(expected[j % 2], model.getGravity(wc[j % 2]), 0);
+							assertEquals(expected[j % 2], model.getGravity(wc[j % 2]), 0);
+						}
+					} catch (Throwable t) {
+						failures.add(t);
+					}
+				}
+			});
+			threads[i].start();
+		}
+		for (Thread t : threads) {
+			t.join();
+		}
+		assertEquals(Collections.emptyList(), failures);
+	}
+	
 	private void test(double lat, double lon, double alt, double g) {
 		WorldCoordinate wc = new WorldCoordinate(lat, lon, alt);
 		assertEquals(g, model.getGravity(wc), 0.001);
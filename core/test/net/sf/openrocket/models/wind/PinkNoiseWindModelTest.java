@@ -0,0 +1,72 @@
+package net.sf.openrocket.models.wind;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+
+import java.util.Random;
+
+import net.sf.openrocket.util.PinkNoise;
+
+import org.junit.Test;
+
+public class PinkNoiseWindModelTest {
+	
+	private static final int SEED = 1234;
+	
+	private static PinkNoiseWindModel createModel(int seed) {
+		PinkNoiseWindModel model = new PinkNoiseWindModel(seed);
+		model.setAverage(10);
+		// Makes the generated noise directly the deviation from the average
+		model.setStandardDeviation(2.252);
+		return model;
+	}
+	
+	private static double speed(PinkNoiseWindModel model, double time) {
+		return model.getWindVelocity(time, 0).length();
+	}
+	
+	@Test
+	public void testSamplesMatchSequentialGenerator() {
+		PinkNoiseWindModel model = createModel(SEED);
+		PinkNoise noise = new PinkNoise(5.0 / 3.0, 2, new Random(SEED ^ 0x7343AA03));
+		for (int i = 0; i < 5000; i++) {
+			assertEquals(10 + noise.nextValue(), speed(model, i * 0.05), 1e-9);
+		}
+	}
+	
+	@Test
+	public void testRandomAccess() {
+		PinkNoiseWindModel forward = createModel(SEED);
+		double[] expected = new double[3000];
+		for (int i = 0; i < expected.length; i++) {
+			expected[i] = speed(forward, i * 0.0137);
+		}
+		
+		// Queries in any order, and from another model with the same seed, give the same wind
+		PinkNoiseWindModel backward = createModel(SEED);
+		for (int i = expected.length - 1; i >= 0; i--) {
+			assertEquals(expected[i], speed(backward, i * 0.0137), 0);
+		}
+		Random rnd = new Random(0);
+		for (int n = 0; n < 1000; n++) {
+			int i = rnd.nextInt(expected.length);
+			assertEquals(expected[i], speed(forward, i * 0.0137), 0);
+		}
+	}
+	
+	@Test
+	public void testInterpolation() {
+		PinkNoiseWindModel model = createModel(SEED);
+		double v1 = speed(model, 2.0);
+		double v2 = speed(model, 2.05);
+		assertEquals(0.25 * v1 + 0.75 * v2, speed(model, 2.0375), 1e-9);
+	}
+	
+	@Test
+	public void testDifferentSeeds() {
+		PinkNoiseWindModel model1 = createModel(SEED);
+		PinkNoiseWindModel model2 = createModel(SEED + 1);
+		assertFalse(speed(model1, 10) == speed(model2, 10));
+	}
+	
+}
@@ -0,0 +1,128 @@
+package net.sf.openrocket.optimization.comparison;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import org.junit.Test;
+
+import net.sf.openrocket.database.motor.ThrustCurveMotorSetDatabase;
+import net.sf.openrocket.document.Simulation;
+import net.sf.openrocket.motor.Motor;
+import net.sf.openrocket.motor.ThrustCurveMotor;
+import net.sf.openrocket.rocketcomponent.FlightConfigurationId;
+import net.sf.openrocket.rocketcomponent.InnerTube;
+import net.sf.openrocket.rocketcomponent.Rocket;
+import net.sf.openrocket.rocketcomponent.RocketComponent;
+import net.sf.openrocket.simulation.FlightData;
+import net.sf.openrocket.simulation.FlightEvent;
+import net.sf.openrocket.simulation.RK4SimulationStepper;
+import net.sf.openrocket.simulation.SimulationOptions;
+import net.sf.openrocket.simulation.listeners.system.OptimumCoastListener;
+import net.sf.openrocket.util.TestRockets;
+import net.sf.openrocket.util.BaseTestCase.BaseTestCase;
+
+public class MotorComparisonTest extends BaseTestCase {
+
+	private static final FlightConfigurationId[] CONFIGS = {
+			TestRockets.TEST_FCID_0, TestRockets.TEST_FCID_1, TestRockets.TEST_FCID_2 };
+
+	@Test
+	public void testAgainstConfigurations() throws Exception {
+		Rocket rocket = TestRockets.makeEstesAlphaIII();
+		InnerTube mount = findMount(rocket);
+		Simulation simulation = new Simulation(rocket);
+		simulation.setFlightConfigurationId(TestRockets.TEST_FCID_0);
+		SimulationOptions options = simulation.getOptions();
+		options.setISAAtmosphere(true);
+		options.setTimeStep(RK4SimulationStepper.RECOMMENDED_TIME_STEP);
+		options.setMaximumStepAngle(RK4SimulationStepper.RECOMMENDED_ANGLE_STEP);
+		options.setLaunchRodLength(1.0);
+		options.setWindSpeedAverage(2.0);
+		options.setWindSpeedDeviation(0.5);
+		options.setRandomSeed(1234);
+
+		List<Motor> motors = new ArrayList<Motor>();
+		for (FlightConfigurationId fcid : CONFIGS) {
+			motors.add(mount.getMotorConfig(fcid).getMotor());
+		}
+		int configCount = rocket.getConfigurationCount();
+
+		MotorComparison comparison = new MotorComparison(simulation, mount, motors);
+		comparison.setThreadCount(2);
+		List<MotorComparisonResult> results = comparison.run();
+		assertEquals(motors.size(), results.size());
+
+		// Each result equals simulating the configuration having the motor
+		for (int i = 0; i < CONFIGS.length; i++) {
+			MotorComparisonResult result = find(results, motors.get(i));
+			assertFalse(result.isFailed());
+
+			Simulation copy = simulation.duplicateSimulation(rocket.deepCopyWithOriginalID());
+			copy.setFlightConfigurationId(CONFIGS[i]);
+			findMount(copy.getRocket()).getMotorConfig(CONFIGS[i]).setEjectionDelay(Motor.PLUGGED_DELAY);
+			copy.simulate(OptimumCoastListener.INSTANCE);
+			FlightData data = copy.getSimulatedData();
+			double burnout = data.getBranch(0).getLastEvent(FlightEvent.Type.BURNOUT).getTime();
+			assertEquals(data.getMaxAltitude(), result.getApogee(), 1e-9);
+			assertEquals(data.getMaxVelocity(), result.getMaxVelocity(), 1e-9);
+			assertEquals(data.getLaunchRodVelocity(), result.getRailExitVelocity(), 1e-9);
+			assertEquals(data.getTimeToApogee() - burnout, result.getOptimumDelay(), 1e-9);
+			assertTrue(result.getOptimumDelay() > 0);
+		}
+
+		for (int i = 1; i < results.size(); i++) {
+			assertTrue(results.get(i - 1).getApogee() >= results.get(i).getApogee());
+		}
+
+		// The rocket is not modified
+		assertEquals(configCount, rocket.getConfigurationCount());
+		assertSame(motors.get(0), mount.getMotorConfig(TestRockets.TEST_FCID_0).getMotor());
+		assertEquals(TestRockets.TEST_FCID_0, simulation.getFlightConfigurationId());
+	}
+
+	@Test
+	public void testFindMotors() {
+		Rocket rocket = TestRockets.makeEstesAlphaIII();
+		InnerTube mount = findMount(rocket);
+		ThrustCurveMotorSetDatabase database = new ThrustCurveMotorSetDatabase();
+		for (FlightConfigurationId fcid : CONFIGS) {
+			database.addMotor((ThrustCurveMotor) mount.getMotorConfig(fcid).getMotor());
+		}
+
+		List<Motor> motors = MotorComparison.findMotors(database, Arrays.asList("digest C6 test", "digest A8 test"));
+		assertEquals("C6", motors.get(0).getDesignation());
+		assertEquals("A8", motors.get(1).getDesignation());
+	}
+
+	@Test(expected = IllegalArgumentException.class)
+	public void testForeignMount() {
+		Rocket rocket = TestRockets.makeEstesAlphaIII();
+		InnerTube other = findMount(TestRockets.makeEstesAlphaIII());
+		new MotorComparison(rocket, other, Arrays.asList(other.getMotorConfig(TestRockets.TEST_FCID_0).getMotor()));
+	}
+
+	private static MotorComparisonResult find(List<MotorComparisonResult> results, Motor motor) {
+		for (MotorComparisonResult result : results) {
+			if (result.getMotor() == motor) {
+				return result;
+			}
+		}
+		throw new IllegalArgumentException("No result for " + motor.getDesignation());
+	}
+
+	private static InnerTube findMount(Rocket rocket) {
+		for (RocketComponent c : rocket) {
+			if (c instanceof InnerTube) {
+				return (InnerTube) c;
+			}
+		}
+		throw new IllegalArgumentException("No motor mount");
+	}
+
+}
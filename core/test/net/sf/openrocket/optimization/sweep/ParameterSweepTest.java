@@ -0,0 +1,154 @@
+package net.sf.openrocket.optimization.sweep;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.io.StringWriter;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.Test;
+
+import net.sf.openrocket.document.Simulation;
+import net.sf.openrocket.optimization.rocketoptimization.OptimizableParameter;
+import net.sf.openrocket.optimization.rocketoptimization.SimulationModifier;
+import net.sf.openrocket.optimization.rocketoptimization.modifiers.GenericComponentModifier;
+import net.sf.openrocket.optimization.rocketoptimization.parameters.MaximumAltitudeParameter;
+import net.sf.openrocket.optimization.rocketoptimization.parameters.MaximumVelocityParameter;
+import net.sf.openrocket.optimization.rocketoptimization.parameters.StabilityParameter;
+import net.sf.openrocket.rocketcomponent.AxialStage;
+import net.sf.openrocket.rocketcomponent.BodyTube;
+import net.sf.openrocket.rocketcomponent.NoseCone;
+import net.sf.openrocket.rocketcomponent.Rocket;
+import net.sf.openrocket.rocketcomponent.RocketComponent;
+import net.sf.openrocket.rocketcomponent.StageSeparationConfiguration;
+import net.sf.openrocket.simulation.RK4SimulationStepper;
+import net.sf.openrocket.simulation.SimulationOptions;
+import net.sf.openrocket.unit.UnitGroup;
+import net.sf.openrocket.util.TestRockets;
+import net.sf.openrocket.util.BaseTestCase.BaseTestCase;
+
+public class ParameterSweepTest extends BaseTestCase {
+
+	@Test
+	public void testGrid() throws Exception {
+		Rocket rocket = TestRockets.makeEstesAlphaIII();
+		Simulation simulation = new Simulation(rocket);
+		NoseCone nose = (NoseCone) find(rocket, NoseCone.class);
+		BodyTube body = (BodyTube) find(rocket, BodyTube.class);
+
+		SimulationModifier noseLength = modifier(NoseCone.class, nose, 0.05, 0.09);
+		SimulationModifier bodyLength = modifier(BodyTube.class, body, 0.15, 0.25);
+		OptimizableParameter length = new OptimizableParameter() {
+			@Override
+			public String getName() {
+				return "Length";
+			}
+
+			@Override
+			public double computeValue(Simulation sim) {
+				Rocket r = sim.getRocket();
+				return find(r, NoseCone.class).getLength() + find(r, BodyTube.class).getLength();
+			}
+
+			@Override
+			public UnitGroup getUnitGroup() {
+				return UnitGroup.UNITS_LENGTH;
+			}
+		};
+
+		ParameterSweep sweep = new ParameterSweep(simulation,
+				Arrays.asList(new SweepAxis(noseLength, 3), new SweepAxis(bodyLength, 2)),
+				Collections.singletonList(length));
+		sweep.setThreadCount(3);
+		final AtomicInteger events = new AtomicInteger();
+		sweep.addSweepListener(new SweepListener() {
+			@Override
+			public void pointEvaluated(SweepTable table, int point) {
+				assertTrue(table.getRow(point) != null);
+				events.incrementAndGet();
+			}
+		});
+		SweepTable table = sweep.run();
+
+		assertEquals(6, table.getRowCount());
+		assertEquals(6, table.getEvaluatedCount());
+		assertEquals(6, events.get());
+		double[] noseValues = { 0.05, 0.05, 0.07, 0.07, 0.09, 0.09 };
+		double[] bodyValues = { 0.15, 0.25, 0.15, 0.25, 0.15, 0.25 };
+		for (int row = 0; row < 6; row++) {
+			double[] values = table.getRow(row);
+			assertEquals(noseValues[row], values[0], 1e-9);
+			assertEquals(bodyValues[row], values[1], 1e-9);
+			assertEquals(values[0] + values[1], values[2], 1e-9);
+		}
+		assertEquals(Arrays.toString(new int[] { 2, 1 }), Arrays.toString(table.getGridIndex(5)));
+
+		// The base rocket is not modified
+		assertEquals(0.07, nose.getLength(), 0);
+		assertEquals(0.20, body.getLength(), 0);
+
+		StringWriter csv = new StringWriter();
+		table.writeCSV(csv, ",");
+		assertEquals(7, csv.toString().split("\n").length);
+	}
+
+	@Test
+	public void testSharedFlight() throws Exception {
+		Rocket rocket = TestRockets.makeBeta();
+		StageSeparationConfiguration separation = new StageSeparationConfiguration();
+		separation.setSeparationEvent(StageSeparationConfiguration.SeparationEvent.UPPER_IGNITION);
+		((AxialStage) rocket.getChild(1)).getSeparationConfigurations().set(TestRockets.TEST_FCID_1, separation);
+		Simulation simulation = new Simulation(rocket);
+		simulation.setFlightConfigurationId(TestRockets.TEST_FCID_1);
+		SimulationOptions options = simulation.getOptions();
+		options.setISAAtmosphere(true);
+		options.setTimeStep(RK4SimulationStepper.RECOMMENDED_TIME_STEP);
+		options.setMaximumStepAngle(RK4SimulationStepper.RECOMMENDED_ANGLE_STEP);
+		options.setLaunchRodLength(1.0);
+		options.setWindSpeedAverage(4.0);
+		options.setWindSpeedDeviation(1.0);
+		options.setRandomSeed(1234);
+		NoseCone nose = (NoseCone) find(rocket, NoseCone.class);
+
+		SimulationModifier noseLength = modifier(NoseCone.class, nose, 0.05, 0.10);
+		List<OptimizableParameter> parameters = Arrays.<OptimizableParameter> asList(
+				new MaximumAltitudeParameter(), new StabilityParameter(false), new MaximumVelocityParameter());
+		SweepTable table = new ParameterSweep(simulation,
+				Collections.singletonList(new SweepAxis(noseLength, 2)), parameters).run();
+
+		for (int row = 0; row < 2; row++) {
+			// Compute each parameter separately on its own copy
+			double[] values = table.getRow(row);
+			for (int p = 0; p < parameters.size(); p++) {
+				Simulation copy = simulation.duplicateSimulation(rocket.deepCopyWithOriginalID());
+				noseLength.modify(copy, row);
+				double expected = parameters.get(p).computeValue(copy);
+				assertFalse(Double.isNaN(expected));
+				assertEquals(expected, values[1 + p], Math.abs(expected) * 1e-9);
+			}
+		}
+	}
+
+	private static SimulationModifier modifier(Class<? extends RocketComponent> type, RocketComponent c,
+			double min, double max) {
+		SimulationModifier mod = new GenericComponentModifier(type.getSimpleName() + " length", "", c,
+				UnitGroup.UNITS_LENGTH, 1.0, type, c.getID(), "Length");
+		mod.setMinValue(min);
+		mod.setMaxValue(max);
+		return mod;
+	}
+
+	private static RocketComponent find(Rocket rocket, Class<? extends RocketComponent> type) {
+		for (RocketComponent c : rocket) {
+			if (type.isInstance(c)) {
+				return c;
+			}
+		}
+		throw new IllegalArgumentException("No " + type);
+	}
+
+}
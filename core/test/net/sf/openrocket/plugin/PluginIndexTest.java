@@ -0,0 +1,51 @@
+package net.sf.openrocket.plugin;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.InputStream;
+import java.util.List;
+
+import org.junit.Test;
+
+public class PluginIndexTest {
+
+	@Test
+	public void testScanWriteRead() throws Exception {
+		File classes = new File(ExamplePlugin.class.getProtectionDomain().getCodeSource().getLocation().toURI());
+		List<String> names = PluginIndex.scan(classes);
+
+		assertTrue(names.contains(ExamplePlugin.class.getName()));
+		assertTrue(names.contains(ExamplePluginImpl.class.getName()));
+		assertTrue(names.contains(MultiPluginImpl.class.getName()));
+		assertFalse(names.contains(NotAnExamplePluginImpl.class.getName()));
+
+		File index = File.createTempFile("plugins", ".idx");
+		index.deleteOnExit();
+		PluginIndex.write(index, names);
+		InputStream is = new FileInputStream(index);
+		try {
+			assertEquals(names, PluginIndex.read(is));
+		} finally {
+			is.close();
+		}
+		index.delete();
+	}
+
+	@Test
+	public void testCoreIndex() throws Exception {
+		// The core classes are indexed at build time
+		InputStream is = PluginIndex.class.getClassLoader().getResourceAsStream(PluginIndex.RESOURCE);
+		assertTrue(is != null);
+		try {
+			List<String> names = PluginIndex.read(is);
+			assertTrue(names.contains("net.sf.openrocket.simulation.extension.SimulationExtensionProvider"));
+		} finally {
+			is.close();
+		}
+	}
+
+}
@@ -0,0 +1,155 @@
+package net.sf.openrocket.preset;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import net.sf.openrocket.database.ComponentPresetDatabase;
+import net.sf.openrocket.material.Material;
+import net.sf.openrocket.motor.Manufacturer;
+import net.sf.openrocket.rocketcomponent.ExternalComponent.Finish;
+import net.sf.openrocket.rocketcomponent.Transition;
+import net.sf.openrocket.util.BaseTestCase.BaseTestCase;
+
+public class PresetCatalogTest extends BaseTestCase {
+
+	private List<ComponentPreset> presets;
+
+	@Before
+	public void createPresets() throws Exception {
+		presets = new ArrayList<ComponentPreset>();
+		for (int i = 0; i < 20; i++) {
+			TypedPropertyMap tube = new TypedPropertyMap();
+			tube.put(ComponentPreset.TYPE, ComponentPreset.Type.BODY_TUBE);
+			tube.put(ComponentPreset.MANUFACTURER, Manufacturer.getManufacturer(i % 2 == 0 ? "Estes" : "Quest"));
+			tube.put(ComponentPreset.PARTNO, "BT-" + i);
+			tube.put(ComponentPreset.LENGTH, 0.1 * i + 0.1);
+			tube.put(ComponentPreset.OUTER_DIAMETER, 0.025);
+			tube.put(ComponentPreset.INNER_DIAMETER, 0.024);
+			if (i % 3 == 0) {
+				tube.put(ComponentPreset.MASS, 0.01 * i);
+				tube.put(ComponentPreset.FINISH, Finish.SMOOTH);
+			}
+			presets.add(ComponentPresetFactory.create(tube));
+		}
+
+		TypedPropertyMap chute = new TypedPropertyMap();
+		chute.put(ComponentPreset.TYPE, ComponentPreset.Type.PARACHUTE);
+		chute.put(ComponentPreset.MANUFACTURER, Manufacturer.getManufacturer("Estes"));
+		chute.put(ComponentPreset.PARTNO, "PK-12");
+		chute.put(ComponentPreset.DESCRIPTION, "Parachute \u00e4 12\"");
+		chute.put(ComponentPreset.DIAMETER, 0.3);
+		chute.put(ComponentPreset.LINE_COUNT, 6);
+		chute.put(ComponentPreset.LINE_LENGTH, 0.3);
+		chute.put(ComponentPreset.MATERIAL, Material.newMaterial(Material.Type.SURFACE, "Mylar", 0.02, false));
+		chute.put(ComponentPreset.LINE_MATERIAL, Material.newMaterial(Material.Type.LINE, "Thread", 0.001, true));
+		presets.add(ComponentPresetFactory.create(chute));
+
+		TypedPropertyMap nose = new TypedPropertyMap();
+		nose.put(ComponentPreset.TYPE, ComponentPreset.Type.NOSE_CONE);
+		nose.put(ComponentPreset.MANUFACTURER, Manufacturer.getManufacturer("Quest"));
+		nose.put(ComponentPreset.PARTNO, "NC-5");
+		nose.put(ComponentPreset.SHAPE, Transition.Shape.OGIVE);
+		nose.put(ComponentPreset.LENGTH, 0.1);
+		nose.put(ComponentPreset.AFT_OUTER_DIAMETER, 0.025);
+		nose.put(ComponentPreset.AFT_SHOULDER_DIAMETER, 0.024);
+		nose.put(ComponentPreset.AFT_SHOULDER_LENGTH, 0.02);
+		nose.put(ComponentPreset.FILLED, true);
+		presets.add(ComponentPresetFactory.create(nose));
+
+		Collections.shuffle(presets);
+	}
+
+	@Test
+	public void testRoundTrip() throws Exception {
+		PresetCatalog catalog = PresetCatalog.read(new ByteArrayInputStream(write(presets)));
+		assertEquals(presets.size(), catalog.size());
+
+		List<ComponentPreset> read = new ArrayList<ComponentPreset>();
+		for (int i = 0; i < catalog.size(); i++) {
+			read.add(catalog.get(i));
+		}
+		for (ComponentPreset preset : presets) {
+			ComponentPreset copy = read.get(read.indexOf(preset));
+			assertSame(preset.getType(), copy.getType());
+			for (TypedKey<?> key : ComponentPreset.ORDERED_KEY_LIST) {
+				assertEquals(key.getName(), preset.has(key), copy.has(key));
+				if (preset.has(key)) {
+					assertEquals(key.getName(), preset.get(key), copy.get(key));
+				}
+			}
+		}
+		assertSame(catalog.get(3), catalog.get(3));
+	}
+
+	@Test
+	public void testQueries() throws Exception {
+		File file = File.createTempFile("presets", "." + PresetCatalog.EXTENSION);
+		file.deleteOnExit();
+		FileOutputStream out = new FileOutputStream(file);
+		out.write(write(presets));
+		out.close();
+		PresetCatalog catalog = PresetCatalog.open(file);
+
+		List<ComponentPreset> tubes = catalog.listForType(ComponentPreset.Type.BODY_TUBE);
+		assertEquals(20, tubes.size());
+		for (int i = 1; i < tubes.size(); i++) {
+			assertTrue(tubes.get(i - 1).compareTo(tubes.get(i)) < 0);
+		}
+		assertEquals(0, catalog.listForType(ComponentPreset.Type.TRANSITION).size());
+
+		List<ComponentPreset> found = catalog.find("Quest", "BT-5");
+		assertEquals(1, found.size());
+		assertEquals("BT-5", found.get(0).getPartNo());
+		assertEquals(0, catalog.find("Estes", "BT-5").size());
+
+		List<ComponentPreset> favorites = catalog.listForType(ComponentPreset.Type.BODY_TUBE,
+				Collections.singleton(found.get(0).preferenceKey()));
+		assertEquals(found, favorites);
+
+		for (ComponentPreset preset : presets) {
+			assertTrue(catalog.contains(preset));
+		}
+	}
+
+	@Test
+	public void testDatabase() throws Exception {
+		ComponentPresetDatabase database = new ComponentPresetDatabase();
+		database.addCatalog(PresetCatalog.read(new ByteArrayInputStream(write(presets.subList(0, 15)))));
+
+		// Presets already in the catalog are not added again
+		for (ComponentPreset preset : presets) {
+			database.add(preset);
+		}
+		assertEquals(presets.size(), database.size());
+		assertEquals(presets.size(), database.listAll().size());
+		assertEquals(20, database.listForType(ComponentPreset.Type.BODY_TUBE).size());
+		assertEquals(21, database.listForTypes(ComponentPreset.Type.BODY_TUBE, ComponentPreset.Type.NOSE_CONE).size());
+		assertEquals(1, database.find("Quest", "NC-5").size());
+	}
+
+	@Test(expected = IOException.class)
+	public void testInvalidCatalog() throws Exception {
+		byte[] bytes = write(presets);
+		PresetCatalog.read(new ByteArrayInputStream(bytes, 0, bytes.length / 2));
+	}
+
+	private static byte[] write(List<ComponentPreset> presets) throws IOException {
+		ByteArrayOutputStream out = new ByteArrayOutputStream();
+		PresetCatalogWriter.write(presets, out);
+		return out.toByteArray();
+	}
+
+}
@@ -5,6 +5,9 @@ import static org.hamcrest.CoreMatchers.not;
 import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertThat;
 
+import java.util.ArrayList;
+import java.util.List;
+
 import net.sf.openrocket.rocketcomponent.position.AxialMethod;
 import org.junit.Test;
 
@@ -393,4 +396,161 @@ public class RocketTest extends BaseTestCase {
 		}
 	}
 
+
+	@Test
+	public void testChangeEventsNotifyAffectedComponents() {
+		Rocket rocket = new Rocket();
+		AxialStage stage = new AxialStage();
+		rocket.addChild(stage);
+		NoseCone nose = new NoseCone(Transition.Shape.OGIVE, 0.10, 0.02);
+		stage.addChild(nose);
+		CountingComponent noseMass = new CountingComponent();
+		nose.addChild(noseMass);
+		BodyTube upper = new BodyTube(0.20, 0.02, 0.001);
+		stage.addChild(upper);
+		CountingComponent upperMass = new CountingComponent();
+		upper.addChild(upperMass);
+		BodyTube lower = new BodyTube(0.20, 0.02, 0.001);
+		stage.addChild(lower);
+		CountingComponent lowerMass = new CountingComponent();
+		lower.addChild(lowerMass);
+		rocket.enableEvents();
+
+		// Non-functional changes do not update the components
+		CountingComponent.reset(noseMass, upperMass, lowerMass);
+		upper.setName("Upper");
+		assertEquals(0, noseMass.count + upperMass.count + lowerMass.count);
+
+		// Only the changed component and the ones following it are updated
+		CountingComponent.reset(noseMass, upperMass, lowerMass);
+		upper.setLength(0.30);
+		assertEquals(0, noseMass.count);
+		assertEquals(1, upperMass.count);
+		assertEquals(1, lowerMass.count);
+		assertEquals(0.40, lower.getPosition().x, EPSILON);
+		assertEquals(0.60, stage.getLength(), EPSILON);
+
+		// Preceding components taking their radius from the changed one are updated
+		nose.setAftRadiusAutomatic(true);
+		CountingComponent.reset(noseMass, upperMass, lowerMass);
+		upper.setOuterRadius(0.03);
+		assertEquals(1, noseMass.count);
+		assertEquals(0.03, nose.getAftRadius(), EPSILON);
+
+		// Combined events update the components affected by any of the sources
+		CountingComponent.reset(noseMass, upperMass, lowerMass);
+		rocket.freeze();
+		nose.setLength(0.12);
+		lower.setName("Lower");
+		rocket.thaw();
+		assertEquals(1, noseMass.count);
+		assertEquals(1, lowerMass.count);
+		assertEquals(0.12, upper.getPosition().x, EPSILON);
+	}
+
+	@Test
+	public void testGeometryModID() {
+		Rocket rocket = new Rocket();
+		AxialStage stage = new AxialStage();
+		rocket.addChild(stage);
+		NoseCone nose = new NoseCone(Transition.Shape.OGIVE, 0.10, 0.02);
+		stage.addChild(nose);
+		MassComponent noseMass = new MassComponent();
+		nose.addChild(noseMass);
+		BodyTube upper = new BodyTube(0.20, 0.02, 0.001);
+		stage.addChild(upper);
+		BodyTube lower = new BodyTube(0.20, 0.02, 0.001);
+		stage.addChild(lower);
+		rocket.enableEvents();
+
+		int noseMassID = noseMass.getGeometryModID();
+		int upperID = upper.getGeometryModID();
+		int lowerID = lower.getGeometryModID();
+
+		upper.setName("Upper");
+		assertEquals(upperID, upper.getGeometryModID());
+
+		// The changed component and the ones following it change their geometry
+		upper.setLength(0.30);
+		assertEquals(noseMassID, noseMass.getGeometryModID());
+		assertThat(upper.getGeometryModID(), not(equalTo(upperID)));
+		assertThat(lower.getGeometryModID(), not(equalTo(lowerID)));
+	}
+
+	@Test
+	public void testChangeEventsUpdateConfigurations() {
+		Rocket rocket = new Rocket();
+		AxialStage stage = new AxialStage();
+		rocket.addChild(stage);
+		BodyTube body = new BodyTube(0.20, 0.02, 0.001);
+		stage.addChild(body);
+		rocket.enableEvents();
+		FlightConfiguration config = rocket.getSelectedConfiguration();
+
+		// The configuration modification ID includes the rocket modification ID
+		int configModID = config.getModID() - rocket.getModID();
+		body.setLength(0.30);
+		assertEquals(configModID, config.getModID() - rocket.getModID());
+
+		body.setMotorMount(true);
+		assertThat(config.getModID() - rocket.getModID(), not(configModID));
+	}
+
+	@Test
+	public void testChangeListenerTypes() {
+		Rocket rocket = new Rocket();
+		AxialStage stage = new AxialStage();
+		rocket.addChild(stage);
+		BodyTube body = new BodyTube(0.20, 0.02, 0.001);
+		stage.addChild(body);
+		rocket.enableEvents();
+
+		final List<ComponentChangeEvent> allEvents = new ArrayList<ComponentChangeEvent>();
+		final List<ComponentChangeEvent> motorEvents = new ArrayList<ComponentChangeEvent>();
+		rocket.addComponentChangeListener(new ComponentChangeListener() {
+			@Override
+			public void componentChanged(ComponentChangeEvent e) {
+				allEvents.add(e);
+			}
+		});
+		ComponentChangeListener motorListener = new ComponentChangeListener() {
+			@Override
+			public void componentChanged(ComponentChangeEvent e) {
+				motorEvents.add(e);
+			}
+		};
+		body.addComponentChangeListener(motorListener, ComponentChangeEvent.MOTOR_CHANGE | ComponentChangeEvent.TREE_CHANGE);
+
+		body.setLength(0.30);
+		body.setName("Body");
+		assertEquals(2, allEvents.size());
+		assertEquals(0, motorEvents.size());
+
+		body.setMotorMount(true);
+		assertEquals(3, allEvents.size());
+		assertEquals(1, motorEvents.size());
+		assertThat(motorEvents.get(0).isMotorChange(), equalTo(true));
+
+		rocket.removeComponentChangeListener(motorListener);
+		body.setMotorMount(false);
+		assertEquals(4, allEvents.size());
+		assertEquals(1, motorEvents.size());
+	}
+
+	private static class CountingComponent extends MassComponent {
+		private int count = 0;
+
+		@Override
+		protected void componentChanged(ComponentChangeEvent e) {
+			count++;
+			super.componentChanged(e);
+		}
+
+		private static void reset(CountingComponent... components) {
+			for (CountingComponent c : components) {
+				c.count = 0;
+			}
+		}
+	}
+
 }
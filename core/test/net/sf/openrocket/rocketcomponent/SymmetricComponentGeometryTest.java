@@ -0,0 +1,95 @@
+package net.sf.openrocket.rocketcomponent;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import org.junit.Test;
+
+import net.sf.openrocket.util.BaseTestCase.BaseTestCase;
+
+public class SymmetricComponentGeometryTest extends BaseTestCase {
+
+	/**
+	 * A transition counting the evaluations of its radius.
+	 */
+	public static class CountingTransition extends Transition {
+		private int radiusCount = 0;
+
+		@Override
+		public double getRadius(double x) {
+			radiusCount++;
+			return super.getRadius(x);
+		}
+	}
+
+	/**
+	 * A transition whose geometry is not shared.
+	 */
+	public static class UnsharedTransition extends Transition {
+		@Override
+		protected Object[] getShapeParameters() {
+			return null;
+		}
+	}
+
+	private static void setShape(Transition t, Transition.Shape shape, double parameter, double length,
+			double thickness, boolean filled) {
+		t.setForeRadiusAutomatic(false);
+		t.setAftRadiusAutomatic(false);
+		t.setType(shape);
+		t.setShapeParameter(parameter);
+		t.setForeRadius(0.02);
+		t.setAftRadius(0.031);
+		t.setLength(length);
+		t.setThickness(thickness);
+		t.setFilled(filled);
+	}
+
+	@Test
+	public void testSharedBetweenComponents() {
+		CountingTransition first = new CountingTransition();
+		setShape(first, Transition.Shape.OGIVE, 0.7, 0.123, 0.002, false);
+		double volume = first.getComponentVolume();
+		double inertia = first.getLongitudinalUnitInertia();
+		assertTrue(first.radiusCount > 0);
+
+		CountingTransition second = new CountingTransition();
+		setShape(second, Transition.Shape.OGIVE, 0.7, 0.123, 0.002, false);
+		assertEquals(volume, second.getComponentVolume(), 0);
+		assertEquals(inertia, second.getLongitudinalUnitInertia(), 0);
+		assertEquals(0, second.radiusCount);
+
+		CountingTransition copy = (CountingTransition) first.copy();
+		copy.radiusCount = 0;
+		copy.setName("Renamed");
+		assertEquals(volume, copy.getComponentVolume(), 0);
+		assertEquals(0, copy.radiusCount);
+
+		CountingTransition longer = new CountingTransition();
+		setShape(longer, Transition.Shape.OGIVE, 0.7, 0.124, 0.002, false);
+		assertTrue(volume != longer.getComponentVolume());
+		assertTrue(longer.radiusCount > 0);
+	}
+
+	@Test
+	public void testSameAsUnshared() {
+		for (Transition.Shape shape : Transition.Shape.values()) {
+			for (boolean filled : new boolean[] { false, true }) {
+				Transition shared = new Transition();
+				Transition unshared = new UnsharedTransition();
+				setShape(shared, shape, 0.5, 0.2, 0.003, filled);
+				setShape(unshared, shape, 0.5, 0.2, 0.003, filled);
+
+				assertEquals(unshared.getComponentVolume(), shared.getComponentVolume(), 0);
+				assertEquals(unshared.getFullVolume(), shared.getFullVolume(), 0);
+				assertEquals(unshared.getComponentWetArea(), shared.getComponentWetArea(), 0);
+				assertEquals(unshared.getComponentPlanformArea(), shared.getComponentPlanformArea(), 0);
+				assertEquals(unshared.getComponentPlanformCenter(), shared.getComponentPlanformCenter(), 0);
+				assertEquals(unshared.getComponentCG(), shared.getComponentCG());
+				assertEquals(unshared.getLongitudinalUnitInertia(), shared.getLongitudinalUnitInertia(), 0);
+				assertEquals(unshared.getRotationalUnitInertia(), shared.getRotationalUnitInertia(), 0);
+			}
+		}
+	}
+
+}
@@ -0,0 +1,124 @@
+package net.sf.openrocket.simulation;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+import org.junit.Test;
+
+import net.sf.openrocket.document.Simulation;
+import net.sf.openrocket.rocketcomponent.AxialStage;
+import net.sf.openrocket.rocketcomponent.Rocket;
+import net.sf.openrocket.rocketcomponent.StageSeparationConfiguration;
+import net.sf.openrocket.simulation.exception.SimulationException;
+import net.sf.openrocket.util.BaseTestCase.BaseTestCase;
+import net.sf.openrocket.util.TestRockets;
+
+public class BasicEventSimulationEngineTest extends BaseTestCase {
+	
+	/**
+	 * Simulating the separated branches concurrently must produce the same branches,
+	 * in the same order and with the same data, as simulating them sequentially.
+	 */
+	@Test
+	public void testConcurrentBranches() throws SimulationException {
+		final Simulation simulation = createSimulation();
+		
+		final FlightData sequential = simulate(simulation, null, null);
+		
+		ExecutorService executor = Executors.newFixedThreadPool(3);
+		final FlightData concurrent;
+		try {
+			concurrent = simulate(simulation, executor, null);
+		} finally {
+			executor.shutdown();
+		}
+		
+		assertTrue(sequential.getBranchCount() > 1);
+		assertEquals(sequential.getBranchCount(), concurrent.getBranchCount());
+		for (int i = 0; i < sequential.getBranchCount(); i++) {
+			FlightDataBranch expected = sequential.getBranch(i);
+			FlightDataBranch actual = concurrent.getBranch(i);
+			assertEquals(expected.getBranchName(), actual.getBranchName());
+			assertEquals(expected.getLength(), actual.getLength());
+			assertEquals(expected.get(FlightDataType.TYPE_TIME), actual.get(FlightDataType.TYPE_TIME));
+			assertEquals(expected.get(FlightDataType.TYPE_ALTITUDE), actual.get(FlightDataType.TYPE_ALTITUDE));
+			assertEquals(expected.get(FlightDataType.TYPE_GRAVITY), actual.get(FlightDataType.TYPE_GRAVITY));
+			assertEquals(expected.getEvents().size(), actual.getEvents().size());
+		}
+		assertEquals(sequential.getWarningSet().size(), concurrent.getWarningSet().size());
+	}
+	
+	/**
+	 * The statistics are collected only when requested, the phase times add up to the
+	 * total time and the statistics of concurrent branches are added to the result.
+	 */
+	@Test
+	public void testSimulationStats() throws SimulationException {
+		final Simulation simulation = createSimulation();
+		
+		assertNull(simulate(simulation, null, null).getSimulationStats());
+		
+		final SimulationStats sequential = new SimulationStats();
+		final FlightData data = simulate(simulation, null, sequential);
+		assertSame(sequential, data.getSimulationStats());
+		assertTrue(sequential.getSteps() > 0);
+		assertTrue(sequential.getCount(SimulationStats.Phase.AERODYNAMICS) > 0);
+		assertTrue(sequential.getCount(SimulationStats.Phase.DATA_STORAGE) >= sequential.getSteps() - data.getBranchCount());
+		long sum = 0;
+		for (SimulationStats.Phase phase : SimulationStats.Phase.values()) {
+			sum += sequential.getNanos(phase);
+		}
+		assertEquals(sequential.getTotalNanos(), sum);
+		long limited = 0;
+		for (int i = 0; i < SimulationStats.TIME_STEP_LIMITS; i++) {
+			limited += sequential.getTimeStepLimitCount(i);
+		}
+		assertTrue(limited > 0);
+		
+		ExecutorService executor = Executors.newFixedThreadPool(3);
+		final SimulationStats concurrent = new SimulationStats();
+		try {
+			simulate(simulation, executor, concurrent);
+		} finally {
+			executor.shutdown();
+		}
+		assertEquals(sequential.getSteps(), concurrent.getSteps());
+		assertEquals(sequential.getCount(SimulationStats.Phase.AERODYNAMICS),
+				concurrent.getCount(SimulationStats.Phase.AERODYNAMICS));
+	}
+	
+	private static Simulation createSimulation() {
+		final Rocket rocket = TestRockets.makeBeta();
+		final AxialStage boosterStage = (AxialStage) rocket.getChild(1);
+		final StageSeparationConfiguration separationConfig = new StageSeparationConfiguration();
+		separationConfig.setSeparationEvent(StageSeparationConfiguration.SeparationEvent.UPPER_IGNITION);
+		boosterStage.getSeparationConfigurations().set(TestRockets.TEST_FCID_1, separationConfig);
+		
+		final Simulation simulation = new Simulation(rocket);
+		simulation.setFlightConfigurationId(TestRockets.TEST_FCID_1);
+		final SimulationOptions options = simulation.getOptions();
+		options.setISAAtmosphere(true);
+		options.setTimeStep(RK4SimulationStepper.RECOMMENDED_TIME_STEP);
+		options.setMaximumStepAngle(RK4SimulationStepper.RECOMMENDED_ANGLE_STEP);
+		options.setLaunchRodLength(1.0);
+		options.setWindSpeedAverage(4.0);
+		options.setWindSpeedDeviation(1.0);
+		options.setRandomSeed(1234);
+		return simulation;
+	}
+	
+	private static FlightData simulate(Simulation simulation, ExecutorService executor, SimulationStats stats)
+			throws SimulationException {
+		SimulationConditions conditions = simulation.getOptions().toSimulationConditions();
+		conditions.setSimulation(simulation);
+		conditions.setBranchExecutor(executor);
+		conditions.setSimulationStats(stats);
+		return new BasicEventSimulationEngine().simulate(conditions);
+	}
+	
+}
@@ -0,0 +1,132 @@
+package net.sf.openrocket.simulation;
+
+import static org.junit.Assert.assertEquals;
+
+import java.util.List;
+import java.util.Random;
+
+import org.junit.Test;
+
+import net.sf.openrocket.util.BaseTestCase.BaseTestCase;
+
+public class FlightDataSeriesTest extends BaseTestCase {
+
+	private static final double EPSILON = 1e-9;
+
+	@Test
+	public void testAgainstFullScan() {
+		Random random = new Random(1234);
+		FlightDataBranch branch = new FlightDataBranch("test", FlightDataType.TYPE_TIME, FlightDataType.TYPE_ALTITUDE);
+		FlightDataSeries series = branch.getSeries(FlightDataType.TYPE_ALTITUDE);
+
+		double t = 0;
+		for (int i = 0; i < 300; i++) {
+			branch.addPoint();
+			branch.setValue(FlightDataType.TYPE_TIME, t);
+			double value = (i % 37 == 5) ? Double.NaN : Math.sin(t) * 100 + random.nextGaussian();
+			branch.setValue(FlightDataType.TYPE_ALTITUDE, value);
+			t += 0.01 + random.nextDouble() * 0.05;
+
+			for (int q = 0; q < 3; q++) {
+				double end = random.nextDouble() * t;
+				double start = random.nextDouble() * end;
+				checkRange(branch, series, start, end);
+			}
+		}
+		checkRange(branch, series, 0, t);
+		checkRange(branch, series, -1, t + 1);
+
+		// The last value may still change
+		branch.setValue(FlightDataType.TYPE_ALTITUDE, 1e6);
+		assertEquals(1e6, series.getMaximum(0, t), 0);
+		checkRange(branch, series, 0, t);
+	}
+
+	@Test
+	public void testSampling() {
+		FlightDataBranch branch = new FlightDataBranch("test", FlightDataType.TYPE_TIME, FlightDataType.TYPE_ALTITUDE);
+		for (int i = 0; i < 5; i++) {
+			branch.addPoint();
+			branch.setValue(FlightDataType.TYPE_TIME, i);
+			branch.setValue(FlightDataType.TYPE_ALTITUDE, i * i);
+		}
+		FlightDataSeries series = branch.getSeries(FlightDataType.TYPE_ALTITUDE);
+
+		double[] values = series.getValues(-1, 0.5, 12);
+		double[] expected = { 0, 0, 0, 0.5, 1, 2.5, 4, 6.5, 9, 12.5, 16, 16 };
+		for (int i = 0; i < expected.length; i++) {
+			assertEquals(expected[i], values[i], EPSILON);
+		}
+		assertEquals(5, series.getLength());
+		assertEquals(null, branch.getSeries(FlightDataType.TYPE_MACH_NUMBER));
+	}
+
+	private static void checkRange(FlightDataBranch branch, FlightDataSeries series, double start, double end) {
+		List<Double> time = branch.get(FlightDataType.TYPE_TIME);
+		List<Double> value = branch.get(FlightDataType.TYPE_ALTITUDE);
+
+		double integral = 0;
+		double squareIntegral = 0;
+		double min = Double.NaN;
+		double max = Double.NaN;
+		for (int i = 0; i < time.size() - 1; i++) {
+			double a = Math.max(start, time.get(i));
+			double b = Math.min(end, time.get(i + 1));
+			if (a < b) {
+				double va = interpolate(time, value, i, a);
+				double vb = interpolate(time, value, i, b);
+				double s = (b - a) * (va + vb) / 2;
+				double s2 = (b - a) * (va * va + va * vb + vb * vb) / 3;
+				integral += Double.isNaN(s) ? 0 : s;
+				squareIntegral += Double.isNaN(s2) ? 0 : s2;
+			}
+		}
+		for (int i = 0; i < time.size(); i++) {
+			if (time.get(i) > start && time.get(i) < end) {
+				min = min(min, value.get(i));
+				max = max(max, value.get(i));
+			}
+		}
+		for (double x : new double[] { start, end }) {
+			min = min(min, interpolate(time, value, x));
+			max = max(max, interpolate(time, value, x));
+		}
+
+		String range = "range " + start + " to " + end;
+		assertEquals(range + " integral", integral, series.getIntegral(start, end), EPSILON * Math.max(1, Math.abs(integral)));
+		assertEquals(range + " square", squareIntegral, series.getSquareIntegral(start, end),
+				EPSILON * Math.max(1, Math.abs(squareIntegral)));
+		assertEquals(range + " min", min, series.getMinimum(start, end), 0);
+		assertEquals(range + " max", max, series.getMaximum(start, end), 0);
+		assertEquals(range, interpolate(time, value, end), series.getValue(end), EPSILON * 100);
+	}
+
+	private static double interpolate(List<Double> time, List<Double> value, double t) {
+		if (t <= time.get(0)) {
+			return value.get(0);
+		}
+		for (int i = 0; i < time.size() - 1; i++) {
+			if (t < time.get(i + 1)) {
+				return interpolate(time, value, i, t);
+			}
+		}
+		return value.get(value.size() - 1);
+	}
+
+	private static double interpolate(List<Double> time, List<Double> value, int i, double t) {
+		double t1 = time.get(i);
+		if (t == t1) {
+			return value.get(i);
+		}
+		return (t - t1) / (time.get(i + 1) - t1) * (value.get(i + 1) - value.get(i)) + value.get(i);
+	}
+
+	private static double min(double a, double b) {
+		return Double.isNaN(a) ? b : Double.isNaN(b) ? a : Math.min(a, b);
+	}
+
+	private static double max(double a, double b) {
+		return Double.isNaN(a) ? b : Double.isNaN(b) ? a : Math.max(a, b);
+	}
+
+}
@@ -0,0 +1,145 @@
+package net.sf.openrocket.simulation;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+import java.util.Random;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+import org.junit.Test;
+
+import net.sf.openrocket.motor.Manufacturer;
+import net.sf.openrocket.motor.Motor;
+import net.sf.openrocket.motor.ThrustCurveMotor;
+import net.sf.openrocket.util.BaseTestCase.BaseTestCase;
+import net.sf.openrocket.util.Coordinate;
+
+public class ThrustCurveTableTest extends BaseTestCase {
+
+	private static ThrustCurveMotor createMotor() {
+		// Unevenly spaced data with a sharp initial spike
+		double[] time = { 0, 0.013, 0.02, 0.035, 0.3, 0.31, 1.2, 1.21, 1.5, 2.77 };
+		double[] thrust = { 0, 40, 55, 20, 18, 17.5, 15, 9, 4, 0 };
+		Coordinate[] cg = new Coordinate[time.length];
+		for (int i = 0; i < time.length; i++) {
+			double mass = 0.04 - 0.015 * time[i] / time[time.length - 1];
+			cg[i] = new Coordinate(0.05 + 0.01 * time[i] / time[time.length - 1], 0, 0, mass);
+		}
+		return new ThrustCurveMotor.Builder()
+				.setManufacturer(Manufacturer.getManufacturer("Test"))
+				.setDesignation("E15")
+				.setDescription("Test motor")
+				.setMotorType(Motor.Type.SINGLE)
+				.setStandardDelays(new double[] { 4 })
+				.setDiameter(0.024)
+				.setLength(0.1)
+				.setTimePoints(time)
+				.setThrustPoints(thrust)
+				.setCGPoints(cg)
+				.setDigest("ThrustCurveTableTest")
+				.build();
+	}
+
+	@Test
+	public void testErrorBounds() {
+		ThrustCurveMotor motor = createMotor();
+		ThrustCurveTable table = ThrustCurveTable.get(motor, 0.001);
+		assertTrue(table.getInterval() <= 0.001);
+		assertTrue(table.getThrustError() <= ThrustCurveTable.MAX_RELATIVE_ERROR * motor.getMaxThrustEstimate());
+		assertTrue(table.getMassError() <= ThrustCurveTable.MAX_RELATIVE_ERROR * motor.getLaunchMass());
+		assertTrue(table.getCGError() <= ThrustCurveTable.MAX_RELATIVE_ERROR * motor.getLength());
+
+		// The original curve snaps to data points close to the requested time
+		Random random = new Random(1234);
+		for (int i = 0; i < 1000; i++) {
+			double t = random.nextDouble() * motor.getCutOffTime();
+			assertEquals(motor.getThrust(t), table.getThrust(t),
+					ThrustCurveTable.MAX_RELATIVE_ERROR * motor.getMaxThrustEstimate());
+			assertEquals(motor.getTotalMass(t), table.getTotalMass(t),
+					ThrustCurveTable.MAX_RELATIVE_ERROR * motor.getLaunchMass());
+			assertEquals(motor.getCMx(t), table.getCMx(t), ThrustCurveTable.MAX_RELATIVE_ERROR * motor.getLength());
+		}
+
+		// A coarse resolution is refined to meet the error bounds
+		ThrustCurveTable coarse = ThrustCurveTable.get(motor, 0.05);
+		assertTrue(coarse.getInterval() < 0.05);
+		assertTrue(coarse.getThrustError() <= ThrustCurveTable.MAX_RELATIVE_ERROR * motor.getMaxThrustEstimate());
+	}
+
+	@Test
+	public void testAverageThrust() {
+		ThrustCurveMotor motor = createMotor();
+		ThrustCurveTable table = ThrustCurveTable.get(motor, 0.001);
+		double burnout = motor.getCutOffTime();
+
+		assertEquals(motor.getTotalImpulseEstimate(), table.getAverageThrust(0, burnout) * burnout,
+				motor.getTotalImpulseEstimate() * 0.001);
+		Random random = new Random(4321);
+		for (int i = 0; i < 1000; i++) {
+			double start = random.nextDouble() * burnout;
+			double end = Math.min(start + random.nextDouble() * 0.05, burnout);
+			assertEquals(motor.getAverageThrust(start, end), table.getAverageThrust(start, end),
+					ThrustCurveTable.MAX_RELATIVE_ERROR * motor.getMaxThrustEstimate());
+		}
+
+		assertEquals(table.getThrust(0.5), table.getAverageThrust(0.5, 0.5), 0);
+		assertEquals(0, table.getAverageThrust(burnout + 0.1, burnout + 0.2), 0);
+		assertEquals(0, table.getThrust(burnout + 1), 0);
+		assertEquals(motor.getBurnoutMass(), table.getTotalMass(Motor.PSEUDO_TIME_BURNOUT), 1e-12);
+	}
+
+	@Test
+	public void testSharedBetweenStates() {
+		ThrustCurveMotor motor = createMotor();
+		assertSame(ThrustCurveTable.get(motor, 0.001), ThrustCurveTable.get(motor, 0.001));
+		assertSame(ThrustCurveTable.get(motor, 0.001), ThrustCurveTable.get(motor, 0.002 / 2));
+		assertTrue(ThrustCurveTable.get(motor, 0.001) != ThrustCurveTable.get(motor, 0.002));
+	}
+
+	@Test
+	public void testConcurrentCreation() throws InterruptedException {
+		final ThrustCurveMotor motor = createMotor();
+		final AtomicReferenceArray<ThrustCurveTable> tables = new AtomicReferenceArray<ThrustCurveTable>(4);
+		Thread[] threads = new Thread[tables.length()];
+		for (int i = 0; i < threads.length; i++) {
+			final int n = i;
+			threads[i] = new Thread(new Runnable() {
+				@Override
+				public void run() {
+					tables.set(n, ThrustCurveTable.get(motor, 0.001));
+				}
+			});
+			threads[i].start();
+		}
+		for (Thread t : threads) {
+			t.join();
+		}
+
+		// Tables created concurrently are still shared
+		for (int i = 0; i < tables.length(); i++) {
+			assertSame(ThrustCurveTable.get(motor, 0.001), tables.get(i));
+		}
+	}
+
+	@Test
+	public void testCacheBounded() {
+		ThrustCurveMotor motor = createMotor();
+		ThrustCurveTable table = ThrustCurveTable.get(motor, 0.001);
+
+		// Tables of many motors and resolutions do not accumulate
+		for (int i = 0; i < 100; i++) {
+			ThrustCurveTable.get(createMotor(), 0.01 + i * 0.0001);
+			assertTrue(ThrustCurveTable.getCacheSize() <= 64);
+		}
+		assertTrue(table != ThrustCurveTable.get(motor, 0.001));
+
+		// Recently used tables are kept
+		table = ThrustCurveTable.get(motor, 0.001);
+		for (int i = 0; i < 100; i++) {
+			ThrustCurveTable.get(createMotor(), 0.01);
+			assertSame(table, ThrustCurveTable.get(motor, 0.001));
+		}
+	}
+
+}
@@ -0,0 +1,369 @@
+package net.sf.openrocket.simulation.extension.impl;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+import java.io.Reader;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import javax.script.AbstractScriptEngine;
+import javax.script.Bindings;
+import javax.script.Compilable;
+import javax.script.CompiledScript;
+import javax.script.Invocable;
+import javax.script.ScriptContext;
+import javax.script.ScriptEngine;
+import javax.script.ScriptEngineFactory;
+import javax.script.ScriptException;
+import javax.script.SimpleBindings;
+
+import net.sf.openrocket.simulation.exception.SimulationException;
+import net.sf.openrocket.simulation.listeners.SimulationListener;
+
+import org.junit.Test;
+
+public class ScriptingSimulationListenerTest {
+
+	@Test
+	public void testHookDiscovery() throws Exception {
+		StubFactory factory = register("stub-hooks");
+		ScriptingSimulationListener listener = new ScriptingSimulationListener("stub-hooks", "preStep postStep");
+
+		assertTrue(listener.preStep(null));
+		listener.postStep(null);
+		listener.startSimulation(null);
+		assertNull(listener.preAtmosphericModel(null));
+
+		// Hooks not defined by the script are not dispatched to the engine
+		assertEquals(Arrays.asList("preStep", "postStep"), factory.getCallNames());
+	}
+
+	@Test
+	public void testUnsupportedLanguage() {
+		try {
+			new ScriptingSimulationListener("stub-unsupported", "preStep");
+			fail("No exception");
+		} catch (SimulationException e) {
+			// Expected
+		}
+	}
+
+	@Test
+	public void testEnginePerThread() throws Exception {
+		StubFactory factory = register("stub-threads");
+		ScriptingSimulationListener listener = new ScriptingSimulationListener("stub-threads", "preStep");
+		listener.preStep(null);
+
+		// Clones used concurrently from other threads
+		final SimulationListener[] clones = { listener.clone(), listener.clone() };
+		final List<Throwable> failures = Collections.synchronizedList(new ArrayList<Throwable>());
+		Thread[] threads = new Thread[clones.length];
+		for (int i = 0; i < clones.length; i++) {
+			final SimulationListener clone = clones[i];
+			threads[i] = new Thread(new Runnable() {
+				@Override
+				public void run() {
+					try {
+						for (int j = 0; j < 100; j++) {
+							clone.preStep(null);
+						}
+					} catch (Throwable t) {
+						failures.add(t);
+					}
+				}
+			});
+			threads[i].start();
+		}
+		for (Thread t : threads) {
+			t.join();
+		}
+		assertEquals(Collections.emptyList(), failures);
+		listener.preStep(null);
+
+		List<Call> calls = factory.getCalls();
+		assertEquals(202, calls.size());
+		Call first = calls.get(0);
+		Call last = calls.get(calls.size() - 1);
+		assertSame(first.engine, last.engine);
+		assertSame(first.bindings, last.bindings);
+
+		// Each engine is only used by the thread that created it
+		for (Call a : calls) {
+			for (Call b : calls) {
+				if (a.thread != b.thread) {
+					assertNotSame(a.engine, b.engine);
+					assertNotSame(a.bindings, b.bindings);
+				} else {
+					assertSame(a.engine, b.engine);
+				}
+			}
+		}
+
+		// A clone used in the same thread keeps the script state
+		int evaluations = factory.evaluations.get();
+		first.bindings.put("state", "set by the parent");
+		SimulationListener clone = listener.clone();
+		clone.preStep(null);
+		clone.clone().preStep(null);
+		assertEquals(evaluations, factory.evaluations.get());
+		for (Call c : factory.getCalls().subList(202, 204)) {
+			assertSame(first.engine, c.engine);
+			assertSame(first.bindings, c.bindings);
+			assertEquals("set by the parent", c.bindings.get("state"));
+		}
+
+		// A clone used in another thread starts from the top level of the script
+		final SimulationListener other = listener.clone();
+		Thread t = new Thread(new Runnable() {
+			@Override
+			public void run() {
+				try {
+					other.preStep(null);
+				} catch (SimulationException e) {
+					failures.add(e);
+				}
+			}
+		});
+		t.start();
+		t.join();
+		assertEquals(Collections.emptyList(), failures);
+		assertEquals(evaluations + 1, factory.evaluations.get());
+		assertNull(factory.getCalls().get(204).bindings.get("state"));
+	}
+
+	@Test
+	public void testCompiledScriptReuse() throws Exception {
+		StubFactory factory = register("stub-compile");
+		new ScriptingSimulationListener("stub-compile", "preStep");
+		new ScriptingSimulationListener("stub-compile", "preStep");
+		assertEquals(1, factory.compilations.get());
+		assertEquals(2, factory.evaluations.get());
+
+		new ScriptingSimulationListener("stub-compile", "postStep");
+		assertEquals(2, factory.compilations.get());
+		assertEquals(3, factory.evaluations.get());
+
+		// Another thread compiles the script for its own engine
+		Thread t = new Thread(new Runnable() {
+			@Override
+			public void run() {
+				try {
+					new ScriptingSimulationListener("stub-compile", "preStep");
+				} catch (SimulationException e) {
+					throw new RuntimeException(e);
+				}
+			}
+		});
+		t.start();
+		t.join();
+		assertEquals(3, factory.compilations.get());
+		assertEquals(4, factory.evaluations.get());
+	}
+
+
+	private static StubFactory register(String language) {
+		StubFactory factory = new StubFactory(language);
+		ScriptEnginePool.setFactory(language, factory);
+		return factory;
+	}
+
+
+	private static class Call {
+		final ScriptEngine engine;
+		final Bindings bindings;
+		final String name;
+		final Thread thread;
+
+		Call(ScriptEngine engine, Bindings bindings, String name) {
+			this.engine = engine;
+			this.bindings = bindings;
+			this.name = name;
+			this.thread = Thread.currentThread();
+		}
+	}
+
+	/**
+	 * Factory of a trivial scripting language.  A script is a list of function names, which
+	 * are defined in the bindings when the script is evaluated.  The functions do nothing,
+	 * but their calls are recorded.
+	 */
+	private static class StubFactory implements ScriptEngineFactory {
+		private final String language;
+		private final AtomicInteger compilations = new AtomicInteger();
+		private final AtomicInteger evaluations = new AtomicInteger();
+		private final List<Call> calls = new ArrayList<Call>();
+
+		StubFactory(String language) {
+			this.language = language;
+		}
+
+		synchronized List<Call> getCalls() {
+			return new ArrayList<Call>(calls);
+		}
+
+		synchronized List<String> getCallNames() {
+			List<String> names = new ArrayList<String>();
+			for (Call c : calls) {
+				names.add(c.name);
+			}
+			return names;
+		}
+
+		synchronized void addCall(Call call) {
+			calls.add(call);
+		}
+
+		@Override
+		public ScriptEngine getScriptEngine() {
+			return new StubEngine(this);
+		}
+
+		@Override
+		public String getEngineName() {
+			return language;
+		}
+
+		@Override
+		public String getEngineVersion() {
+			return "1.0";
+		}
+
+		@Override
+		public List<String> getExtensions() {
+			return Collections.emptyList();
+		}
+
+		@Override
+		public List<String> getMimeTypes() {
+			return Collections.emptyList();
+		}
+
+		@Override
+		public List<String> getNames() {
+			return Collections.singletonList(language);
+		}
+
+		@Override
+		public String getLanguageName() {
+			return language;
+		}
+
+		@Override
+		public String getLanguageVersion() {
+			return "1.0";
+		}
+
+		@Override
+		public Object getParameter(String key) {
+			return null;
+		}
+
+		@Override
+		public String getMethodCallSyntax(String obj, String m, String... args) {
+			return m;
+		}
+
+		@Override
+		public String getOutputStatement(String toDisplay) {
+			return "";
+		}
+
+		@Override
+		public String getProgram(String... statements) {
+			return "";
+		}
+	}
+
+	private static class StubEngine extends AbstractScriptEngine implements Compilable, Invocable {
+		private final StubFactory factory;
+
+		StubEngine(StubFactory factory) {
+			this.factory = factory;
+		}
+
+		private void define(String script, Bindings bindings) {
+			factory.evaluations.incrementAndGet();
+			for (String name : script.trim().split("\\s+")) {
+				if (name.length() > 0) {
+					bindings.put(name, name);
+				}
+			}
+		}
+
+		@Override
+		public Object eval(String script, ScriptContext context) {
+			define(script, context.getBindings(ScriptContext.ENGINE_SCOPE));
+			return null;
+		}
+
+		@Override
+		public Object eval(Reader reader, ScriptContext context) throws ScriptException {
+			throw new ScriptException("Not supported");
+		}
+
+		@Override
+		public Bindings createBindings() {
+			return new SimpleBindings();
+		}
+
+		@Override
+		public ScriptEngineFactory getFactory() {
+			return factory;
+		}
+
+		@Override
+		public CompiledScript compile(final String script) {
+			factory.compilations.incrementAndGet();
+			return new CompiledScript() {
+				@Override
+				public Object eval(ScriptContext context) {
+					define(script, context.getBindings(ScriptContext.ENGINE_SCOPE));
+					return null;
+				}
+
+				@Override
+				public ScriptEngine getEngine() {
+					return StubEngine.this;
+				}
+			};
+		}
+
+		@Override
+		public CompiledScript compile(Reader script) throws ScriptException {
+			throw new ScriptException("Not supported");
+		}
+
+		@Override
+		public Object invokeFunction(String name, Object... args) throws NoSuchMethodException {
+			Bindings bindings = getBindings(ScriptContext.ENGINE_SCOPE);
+			if (bindings.get(name) == null) {
+				throw new NoSuchMethodException(name);
+			}
+			factory.addCall(new Call(this, bindings, name));
+			return null;
+		}
+
+		@Override
+		public Object invokeMethod(Object thiz, String name, Object... args) throws NoSuchMethodException {
+			throw new NoSuchMethodException(name);
+		}
+
+		@Override
+		public <T> T getInterface(Class<T> clasz) {
+			return null;
+		}
+
+		@Override
+		public <T> T getInterface(Object thiz, Class<T> clasz) {
+			return null;
+		}
+	}
+}
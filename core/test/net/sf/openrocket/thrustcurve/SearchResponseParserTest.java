@@ -3,6 +3,7 @@ package net.sf.openrocket.thrustcurve;
 import static org.junit.Assert.assertEquals;
 
 import java.io.InputStream;
+import java.text.SimpleDateFormat;
 
 import org.junit.Test;
 
@@ -15,5 +16,6 @@ public class SearchResponseParserTest extends BaseTestCase {
 		InputStream is = SearchResponseParserTest.class.getResourceAsStream("SampleSearchResponse.xml");
 		SearchResponse response = SearchResponseParser.parse(is);
 		assertEquals(252, response.getMatches());
+		assertEquals(new SimpleDateFormat("yyyy-MM-dd").parse("2014-07-22"), response.getResults().get(0).getUpdated_on());
 	}
 }
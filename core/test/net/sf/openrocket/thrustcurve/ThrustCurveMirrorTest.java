@@ -0,0 +1,258 @@
+package net.sf.openrocket.thrustcurve;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+import java.io.ByteArrayOutputStream;
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.net.URL;
+import java.nio.file.Files;
+import java.util.Base64;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpHandler;
+import com.sun.net.httpserver.HttpServer;
+
+import net.sf.openrocket.database.motor.ThrustCurveMotorSetDatabase;
+import net.sf.openrocket.motor.Motor;
+import net.sf.openrocket.motor.ThrustCurveMotor;
+import net.sf.openrocket.util.BaseTestCase.BaseTestCase;
+
+public class ThrustCurveMirrorTest extends BaseTestCase {
+
+	private static final String RASP_DATA =
+			"C2 15 95 P 0.012 0.024 SF\n" +
+			"   0.075 3.543\n" +
+			"   0.16 8.231\n" +
+			"   0.255 3.134\n" +
+			"   0.821 1.251\n" +
+			"   2.491 1.317\n" +
+			"   3.907 1.436\n" +
+			"   4.0 0.0\n";
+
+	@Rule
+	public TemporaryFolder folder = new TemporaryFolder();
+
+	private HttpServer server;
+	private URL serverURL;
+	private final AtomicInteger searchRequests = new AtomicInteger();
+	private final AtomicInteger downloadRequests = new AtomicInteger();
+	private volatile String updatedOn = "2014-07-22";
+	private volatile boolean failDownloads = false;
+
+	@Before
+	public void startServer() throws IOException {
+		server = HttpServer.create(new InetSocketAddress("127.0.0.1", 0), 0);
+		server.createContext("/servlets/search", new HttpHandler() {
+			@Override
+			public void handle(HttpExchange exchange) throws IOException {
+				searchRequests.incrementAndGet();
+				String manufacturer = find(readRequest(exchange), "manufacturer");
+				respond(exchange, 200, searchResponse(manufacturer, updatedOn));
+			}
+		});
+		server.createContext("/servlets/download", new HttpHandler() {
+			@Override
+			public void handle(HttpExchange exchange) throws IOException {
+				downloadRequests.incrementAndGet();
+				String request = readRequest(exchange);
+				int motorId = Integer.parseInt(find(request, "id"));
+				if (failDownloads) {
+					respond(exchange, 500, "");
+					return;
+				}
+				if (!SupportedFileTypes.RASP_FORMAT.equals(find(request, "format"))) {
+					respond(exchange, 400, "");
+					return;
+				}
+				respond(exchange, 200, downloadResponse(motorId, SupportedFileTypes.RASP_FORMAT, RASP_DATA));
+			}
+		});
+		server.start();
+		serverURL = new URL("http", "127.0.0.1", server.getAddress().getPort(), "/");
+	}
+
+	@After
+	public void stopServer() {
+		server.stop(0);
+	}
+
+	@Test
+	public void testIncrementalUpdate() throws Exception {
+		ThrustCurveMirror mirror = new ThrustCurveMirror(new File(folder.getRoot(), "mirror"));
+		mirror.setThreadCount(2);
+
+		// Only the motor having data files is downloaded, in both formats
+		assertEquals(2, mirror.update(serverURL, "Test"));
+		assertEquals(1, searchRequests.get());
+		assertEquals(2, downloadRequests.get());
+		assertTrue(mirror.getSearchFile("Test").isFile());
+		assertTrue(mirror.getDownloadFile(1, SupportedFileTypes.RASP_FORMAT).isFile());
+		assertFalse(mirror.getDownloadFile(1, SupportedFileTypes.ROCKSIM_FORMAT).isFile());
+
+		List<ThrustCurveMotor> motors = mirror.load();
+		assertEquals(1, motors.size());
+		ThrustCurveMotor motor = motors.get(0);
+		assertEquals("C2", motor.getDesignation());
+		assertEquals(Motor.Type.SINGLE, motor.getMotorType());
+		assertEquals(0.018, motor.getDiameter(), 1e-9);
+		assertEquals(0.070, motor.getLength(), 1e-9);
+		assertEquals(0.0239, motor.getInitialMass(), 1e-9);
+
+		// Unchanged motors are not downloaded again
+		assertEquals(0, mirror.update(serverURL, "Test"));
+		assertEquals(2, searchRequests.get());
+		assertEquals(2, downloadRequests.get());
+
+		// Updated motors are
+		updatedOn = "2016-01-01";
+		assertEquals(2, mirror.update(serverURL, "Test"));
+		assertEquals(4, downloadRequests.get());
+		assertEquals(motor.getDigest(), mirror.load().get(0).getDigest());
+	}
+
+	@Test
+	public void testFailedDownload() throws Exception {
+		ThrustCurveMirror mirror = new ThrustCurveMirror(new File(folder.getRoot(), "mirror"));
+		mirror.setThreadCount(2);
+		assertEquals(2, mirror.update(serverURL, "Test"));
+
+		// The search response of a failed update is not stored
+		updatedOn = "2016-01-01";
+		failDownloads = true;
+		try {
+			mirror.update(serverURL, "Test");
+			fail("No exception");
+		} catch (IOException e) {
+			// Expected
+		}
+		assertEquals(2, searchRequests.get());
+		assertTrue(read(mirror.getSearchFile("Test")).contains("2014-07-22"));
+
+		// So the motor is downloaded by the next update
+		failDownloads = false;
+		assertEquals(2, mirror.update(serverURL, "Test"));
+		assertTrue(read(mirror.getSearchFile("Test")).contains("2016-01-01"));
+		assertEquals(0, mirror.update(serverURL, "Test"));
+	}
+
+	@Test
+	public void testOfflineLoadInto() throws Exception {
+		File dir = folder.newFolder("offline");
+		write(new File(dir, "search-Test.xml"), searchResponse("Test", "2014-07-22"));
+		write(new File(dir, "download-1-RASP.xml"), downloadResponse(1, SupportedFileTypes.RASP_FORMAT, RASP_DATA));
+		write(new File(dir, "download-7-RASP.xml"), downloadResponse(7, SupportedFileTypes.RASP_FORMAT, RASP_DATA));
+		write(new File(dir, "download-8-RASP.xml"), "<download-response><results>");
+		write(new File(dir, "readme.txt"), "not a response");
+
+		// Motor 7 is not described by a search response and motor 8 is corrupt
+		ThrustCurveMirror mirror = new ThrustCurveMirror(dir);
+		ThrustCurveMotorSetDatabase database = new ThrustCurveMotorSetDatabase();
+		assertEquals(1, mirror.loadInto(database));
+		assertEquals(1, database.getMotorSets().size());
+
+		// Loading again adds no motors with the same digest
+		assertEquals(0, mirror.loadInto(database));
+		assertEquals(1, database.getMotorSets().get(0).getMotors().size());
+		assertEquals(0, searchRequests.get() + downloadRequests.get());
+	}
+
+
+	private static String searchResponse(String manufacturer, String updatedOn) {
+		return "<?xml version=\"1.0\" encoding=\"ISO-8859-1\"?>\n" +
+				"<search-response xmlns=\"http://www.thrustcurve.org/2015/SearchResponse\">\n" +
+				"  <criteria><matches>2</matches></criteria>\n" +
+				"  <results>\n" +
+				searchResult(1, manufacturer, 1, updatedOn) +
+				searchResult(2, manufacturer, 0, updatedOn) +
+				"  </results>\n" +
+				"</search-response>\n";
+	}
+
+	private static String searchResult(int motorId, String manufacturer, int dataFiles, String updatedOn) {
+		return "    <result>\n" +
+				"      <motor-id>" + motorId + "</motor-id>\n" +
+				"      <manufacturer>" + manufacturer + "</manufacturer>\n" +
+				"      <manufacturer-abbrev>" + manufacturer + "</manufacturer-abbrev>\n" +
+				"      <designation>C2-" + motorId + "</designation>\n" +
+				"      <brand-name>C2</brand-name>\n" +
+				"      <common-name>C2</common-name>\n" +
+				"      <impulse-class>C</impulse-class>\n" +
+				"      <diameter>18.0</diameter>\n" +
+				"      <length>70.0</length>\n" +
+				"      <type>SU</type>\n" +
+				"      <data-files>" + dataFiles + "</data-files>\n" +
+				"      <total-weight-g>23.9</total-weight-g>\n" +
+				"      <delays>P</delays>\n" +
+				"      <updated-on>" + updatedOn + "</updated-on>\n" +
+				"      <availability>regular</availability>\n" +
+				"    </result>\n";
+	}
+
+	private static String downloadResponse(int motorId, String format, String data) {
+		return "<?xml version=\"1.0\" encoding=\"ISO-8859-1\"?>\n" +
+				"<download-response xmlns=\"http://www.thrustcurve.org/2009/DownloadResponse\">\n" +
+				"  <results>\n" +
+				"    <result>\n" +
+				"      <motor-id>" + motorId + "</motor-id>\n" +
+				"      <simfile-id>" + (100 + motorId) + "</simfile-id>\n" +
+				"      <format>" + format + "</format>\n" +
+				"      <data>" + Base64.getEncoder().encodeToString(data.getBytes()) + "</data>\n" +
+				"    </result>\n" +
+				"  </results>\n" +
+				"</download-response>\n";
+	}
+
+	private static String find(String xml, String tag) {
+		Matcher m = Pattern.compile("<" + tag + ">([^<]*)</" + tag + ">").matcher(xml);
+		assertTrue("No " + tag + " in request", m.find());
+		return m.group(1);
+	}
+
+	private static String readRequest(HttpExchange exchange) throws IOException {
+		InputStream is = exchange.getRequestBody();
+		ByteArrayOutputStream out = new ByteArrayOutputStream();
+		byte[] buffer = new byte[1024];
+		int n;
+		while ((n = is.read(buffer)) >= 0) {
+			out.write(buffer, 0, n);
+		}
+		return out.toString("UTF-8");
+	}
+
+	private static void respond(HttpExchange exchange, int code, String body) throws IOException {
+		byte[] bytes = body.getBytes("UTF-8");
+		exchange.sendResponseHeaders(code, bytes.length == 0 ? -1 : bytes.length);
+		OutputStream os = exchange.getResponseBody();
+		os.write(bytes);
+		os.close();
+	}
+
+	private static String read(File file) throws IOException {
+		return new String(Files.readAllBytes(file.toPath()), "UTF-8");
+	}
+
+	private static void write(File file, String content) throws IOException {
+		OutputStream os = new FileOutputStream(file);
+		os.write(content.getBytes("UTF-8"));
+		os.close();
+	}
+
+}
@@ -29,4 +29,55 @@ public class LinearInterpolatorTest {
 		}
 
 	}
+
+	@Test
+	public void testUnsortedPoints() {
+		LinearInterpolator interpolator = new LinearInterpolator(
+				new double[] { 4, 1, 2, 1.5, 5, 2 },
+				new double[] { 2, 0, 5, 1, 2, 0 });
+		
+		assertArrayEquals(new double[] { 1, 1.5, 2, 4, 5 }, interpolator.getXPoints(), 0);
+		assertArrayEquals(new double[] { 0, 1, 0, 2, 2 }, interpolator.getYPoints(), 0);
+		assertEquals(1.0, interpolator.getValue(3), 1e-12);
+	}
+	
+	@Test
+	public void testBatchAndCursor() {
+		LinearInterpolator interpolator = new LinearInterpolator(
+				new double[] { 1, 1.5, 2, 4, 5 },
+				new double[] { 0, 1, 0, 2, 2 });
+		
+		double[] x = { -1, 0.5, 1, 1.2, 1.7, 2, 3.9, 4.5, 5, 7, 4.5, 1.2, 3, 0, Double.NaN };
+		double[] values = interpolator.getValues(x);
+		LinearInterpolator.Cursor cursor = interpolator.cursor();
+		for (int i = 0; i < x.length; i++) {
+			double expected = interpolator.getValue(x[i]);
+			assertEquals("x = " + x[i], expected, values[i], 0);
+			assertEquals("x = " + x[i], expected, cursor.getValue(x[i]), 0);
+		}
+		assertEquals(2.0, interpolator.getValue(Double.NaN), 0);
+	}
+	
+	@Test
+	public void testBuilder() {
+		LinearInterpolator.Builder builder = new LinearInterpolator.Builder();
+		for (int i = 0; i < 100; i++) {
+			builder.addPoint(i, 2 * i);
+		}
+		builder.addPoint(50, 0);
+		LinearInterpolator interpolator = builder.build();
+		
+		assertEquals(100, interpolator.getPointCount());
+		assertEquals(0, interpolator.getValue(50), 0);
+		assertEquals(20.5, interpolator.getValue(10.25), 1e-12);
+		
+		builder.addPoint(200, 0);
+		assertEquals(101, builder.build().getPointCount());
+		assertEquals(198, interpolator.getValue(200), 0);
+	}
+	
+	@Test(expected = IllegalStateException.class)
+	public void testEmptyBuilder() {
+		new LinearInterpolator.Builder().build();
+	}
 }
@@ -0,0 +1,95 @@
+package net.sf.openrocket.util;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.Callable;
+
+import org.junit.Test;
+
+public class ParallelTasksTest {
+
+	@Test
+	public void testResultOrder() throws Exception {
+		List<Callable<Integer>> tasks = new ArrayList<Callable<Integer>>();
+		for (int i = 0; i < 20; i++) {
+			final int n = i;
+			tasks.add(new Callable<Integer>() {
+				@Override
+				public Integer call() throws Exception {
+					Thread.sleep(20 - n);
+					assertTrue(Thread.currentThread().isDaemon());
+					assertTrue(Thread.currentThread().getName().startsWith("TestWorker-"));
+					return n * n;
+				}
+			});
+		}
+		List<Integer> results = ParallelTasks.invokeAll("TestWorker", 4, tasks, RuntimeException.class);
+		assertEquals(20, results.size());
+		for (int i = 0; i < 20; i++) {
+			assertEquals(i * i, (int) results.get(i));
+		}
+
+		List<Callable<Integer>> none = Collections.emptyList();
+		assertEquals(0, ParallelTasks.invokeAll("TestWorker", 4, none, RuntimeException.class).size());
+	}
+
+	@Test
+	public void testExceptions() throws Exception {
+		final IOException io = new IOException("test");
+		try {
+			ParallelTasks.invokeAll("TestWorker", 2, tasks(io), IOException.class);
+			fail("No exception");
+		} catch (IOException e) {
+			assertSame(io, e);
+		}
+
+		final IllegalStateException runtime = new IllegalStateException("test");
+		try {
+			ParallelTasks.invokeAll("TestWorker", 2, tasks(runtime), IOException.class);
+			fail("No exception");
+		} catch (IllegalStateException e) {
+			assertSame(runtime, e);
+		}
+
+		final InterruptedException interrupted = new InterruptedException("test");
+		try {
+			ParallelTasks.invokeAll("TestWorker", 2, tasks(interrupted), IOException.class);
+			fail("No exception");
+		} catch (InterruptedException e) {
+			assertSame(interrupted, e);
+		}
+
+		// Other checked exceptions are unexpected
+		final Exception other = new Exception("test");
+		try {
+			ParallelTasks.invokeAll("TestWorker", 2, tasks(other), IOException.class);
+			fail("No exception");
+		} catch (BugException e) {
+			assertSame(other, e.getCause());
+		}
+	}
+
+	private static List<Callable<Void>> tasks(final Exception failure) {
+		List<Callable<Void>> tasks = new ArrayList<Callable<Void>>();
+		tasks.add(new Callable<Void>() {
+			@Override
+			public Void call() {
+				return null;
+			}
+		});
+		tasks.add(new Callable<Void>() {
+			@Override
+			public Void call() throws Exception {
+				throw failure;
+			}
+		});
+		return tasks;
+	}
+}
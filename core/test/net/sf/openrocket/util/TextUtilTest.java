@@ -3,6 +3,7 @@ package net.sf.openrocket.util;
 import static java.lang.Math.PI;
 import static org.junit.Assert.assertArrayEquals;
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.fail;
 
 import java.nio.charset.Charset;
 import java.util.Random;
@@ -279,6 +280,42 @@ public class TextUtilTest {
 	}
 	
 	
+	@Test
+	public void testParseDouble() {
+		Random random = new Random(1234);
+		StringBuilder sb = new StringBuilder();
+		for (int i = 0; i < 100000; i++) {
+			double d = (random.nextDouble() - 0.5) * Math.pow(10, random.nextInt(30) - 15);
+			sb.setLength(0);
+			sb.append("x,");
+			TextUtil.appendDouble(sb, d);
+			String s = sb.substring(2);
+			assertEquals(s, Double.parseDouble(s), TextUtil.parseDouble(sb, 2, sb.length()), 0);
+			
+			s = Double.toString(d);
+			assertEquals(s, Double.parseDouble(s), TextUtil.parseDouble(s, 0, s.length()), 0);
+		}
+		
+		assertEquals(Double.NaN, TextUtil.parseDouble("NaN", 0, 3), 0);
+		assertEquals(Double.POSITIVE_INFINITY, TextUtil.parseDouble("1,inf", 2, 5), 0);
+		assertEquals(Double.NEGATIVE_INFINITY, TextUtil.parseDouble(" -Inf ", 0, 6), 0);
+		assertEquals(0.5, TextUtil.parseDouble(" .5\n", 0, 4), 0);
+		assertEquals(-0.0, TextUtil.parseDouble("-0", 0, 2), 0);
+		assertEquals(1.0 / (-0.0), 1.0 / TextUtil.parseDouble("-0.000", 0, 6), 0);
+		assertEquals(1.2345678901234567e300, TextUtil.parseDouble("1.2345678901234567e300", 0, 22), 0);
+		assertEquals(8, TextUtil.parseDouble("0x1p3", 0, 5), 0);
+		
+		for (String s : new String[] { "", " ", "-", ".", "1e", "1.5x", "1,2", "+Inf", "e5" }) {
+			try {
+				TextUtil.parseDouble(s, 0, s.length());
+				fail("Parsed '" + s + "'");
+			} catch (NumberFormatException e) {
+				// Expected
+			}
+		}
+	}
+	
+	
 	@Test
 	public void testEscapeXML() {
 		assertEquals("", TextUtil.escapeXML(""));
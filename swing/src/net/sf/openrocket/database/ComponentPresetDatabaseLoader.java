@@ -2,15 +2,14 @@ package net.sf.openrocket.database;
 
 import java.io.IOException;
 import java.io.InputStream;
-import java.io.ObjectInputStream;
 import java.util.Collection;
-import java.util.List;
 
 import net.sf.openrocket.file.iterator.DirectoryIterator;
 import net.sf.openrocket.file.iterator.FileIterator;
 import net.sf.openrocket.gui.util.SimpleFileFilter;
 import net.sf.openrocket.gui.util.SwingPreferences;
 import net.sf.openrocket.preset.ComponentPreset;
+import net.sf.openrocket.preset.PresetCatalog;
 import net.sf.openrocket.preset.xml.OpenRocketComponentLoader;
 import net.sf.openrocket.startup.Application;
 import net.sf.openrocket.util.BugException;
@@ -87,11 +86,13 @@ public class ComponentPresetDatabaseLoader extends AsynchronousDatabaseLoader {
 
 	/**
 	 * loads the default preset components into the database
-	 * uses the file directory from "datafiles/presets"
+	 * uses the preset catalogs from "datafiles/presets", whose presets are
+	 * only created when they are used
 	 */
 	private void loadPresetComponents() {
 		log.info("Loading component presets from " + SYSTEM_PRESET_DIR);
-		FileIterator iterator = DirectoryIterator.findDirectory(SYSTEM_PRESET_DIR, new SimpleFileFilter("", false, "ser"));
+		FileIterator iterator = DirectoryIterator.findDirectory(SYSTEM_PRESET_DIR,
+				new SimpleFileFilter("", false, PresetCatalog.EXTENSION));
 		
 		if(iterator == null)
 			return;
@@ -99,14 +100,18 @@ public class ComponentPresetDatabaseLoader extends AsynchronousDatabaseLoader {
 		while (iterator.hasNext()) {
 			Pair<String, InputStream> f = iterator.next();
 			try {
-				ObjectInputStream ois = new ObjectInputStream(f.getV());
-				@SuppressWarnings("unchecked")
-				List<ComponentPreset> list = (List<ComponentPreset>) ois.readObject();
-				componentPresetDao.addAll(list);
+				PresetCatalog catalog = PresetCatalog.read(f.getV());
+				componentPresetDao.addCatalog(catalog);
 				fileCount++;
-				presetCount += list.size();
+				presetCount += catalog.size();
 			} catch (Exception ex) {
 				throw new BugException(ex);
+			} finally {
+				try {
+					f.getV().close();
+				} catch (IOException e) {
+					log.debug("Error closing preset catalog " + f.getU(), e);
+				}
 			}
 		}
 	}
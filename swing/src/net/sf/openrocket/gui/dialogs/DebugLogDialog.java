@@ -2,6 +2,7 @@ package net.sf.openrocket.gui.dialogs;
 
 import java.awt.Color;
 import java.awt.Component;
+import java.awt.Font;
 import java.awt.Rectangle;
 import java.awt.Toolkit;
 import java.awt.Window;
@@ -23,6 +24,7 @@ import javax.swing.JButton;
 import javax.swing.JCheckBox;
 import javax.swing.JDialog;
 import javax.swing.JLabel;
+import javax.swing.JOptionPane;
 import javax.swing.JPanel;
 import javax.swing.JScrollPane;
 import javax.swing.JSplitPane;
@@ -57,6 +59,8 @@ import net.sf.openrocket.logging.LoggingSystemSetup;
 import net.sf.openrocket.logging.Markers;
 import net.sf.openrocket.logging.StackTraceWriter;
 import net.sf.openrocket.startup.Application;
+import net.sf.openrocket.startup.StartupTaskGraph;
+import net.sf.openrocket.startup.SwingStartup;
 import net.sf.openrocket.util.NumericComparator;
 
 @SuppressWarnings("serial")
@@ -178,6 +182,16 @@ public class DebugLogDialog extends JDialog {
 		followBox.setSelected(true);
 		topPanel.add(followBox, "skip, gapright para, right");
 		
+		//// Startup times button
+		JButton startup = new JButton(trans.get("debuglogdlg.but.startup"));
+		startup.addActionListener(new ActionListener() {
+			@Override
+			public void actionPerformed(ActionEvent e) {
+				showStartupTimings();
+			}
+		});
+		topPanel.add(startup, "gapright para, right");
+		
 		//// Clear button
 		JButton clear = new JButton(trans.get("debuglogdlg.but.clear"));
 		clear.addActionListener(new ActionListener() {
@@ -383,6 +397,26 @@ public class DebugLogDialog extends JDialog {
 		followBox.requestFocus();
 	}
 	
+	/**
+	 * Show the time taken by each task of the application startup.
+	 */
+	private void showStartupTimings() {
+		StringBuilder sb = new StringBuilder();
+		sb.append(String.format("%-16s %10s %10s  %s%n", trans.get("debuglogdlg.startup.Task"),
+				trans.get("debuglogdlg.startup.Start"), trans.get("debuglogdlg.startup.Duration"),
+				trans.get("debuglogdlg.startup.Thread")));
+		for (StartupTaskGraph.Timing t : SwingStartup.getStartupTimings()) {
+			sb.append(String.format("%-16s %10d %10d  %s%s%n", t.getTask(), t.getStart(), t.getDuration(),
+					t.getThread(), t.isSucceeded() ? "" : " *"));
+		}
+		
+		JTextArea text = new JTextArea(sb.toString());
+		text.setEditable(false);
+		text.setFont(new Font(Font.MONOSPACED, Font.PLAIN, text.getFont().getSize()));
+		JOptionPane.showMessageDialog(this, new JScrollPane(text), trans.get("debuglogdlg.startup.title"),
+				JOptionPane.INFORMATION_MESSAGE);
+	}
+	
 	private void updateSelected(int row) {
 		if (row < 0) {
 			
@@ -28,7 +28,7 @@ class MotorMountTableModel extends AbstractTableModel implements ComponentChange
 		this.rocket = rocket;
 		
 		initialize();
-		rocket.addComponentChangeListener(this);
+		rocket.addComponentChangeListener(this, ComponentChangeEvent.MOTOR_CHANGE | ComponentChangeEvent.TREE_CHANGE);
 	}
 	
 	private void initialize() {
@@ -1,6 +1,7 @@
 package net.sf.openrocket.gui.dialogs.motor.thrustcurve;
 
 import java.util.ArrayList;
+import java.util.BitSet;
 import java.util.Collection;
 import java.util.Collections;
 import java.util.Iterator;
@@ -8,6 +9,8 @@ import java.util.List;
 import java.util.Locale;
 
 import javax.swing.RowFilter;
+import javax.swing.event.TableModelEvent;
+import javax.swing.event.TableModelListener;
 import javax.swing.table.TableModel;
 
 import net.sf.openrocket.database.motor.ThrustCurveMotorSet;
@@ -46,6 +49,11 @@ public class MotorRowFilter extends RowFilter<TableModel, Integer> implements Ch
 	// Collection of strings which match text in the motor
 	private List<String> searchTerms = Collections.<String> emptyList();
 
+	// Index of the motor texts, built on the first search and discarded when the model data
+	// or the units change, and the rows matching the search terms
+	private MotorSearchIndex searchIndex = null;
+	private BitSet searchResult = null;
+
 	// Boolean which hides motors in the usedMotors list
 	private boolean hideUsedMotors = false;
 
@@ -63,6 +71,13 @@ public class MotorRowFilter extends RowFilter<TableModel, Integer> implements Ch
 	public MotorRowFilter(ThrustCurveMotorDatabaseModel model) {
 		super();
 		this.model = model;
+		model.addTableModelListener(new TableModelListener() {
+			@Override
+			public void tableChanged(TableModelEvent e) {
+				searchIndex = null;
+				searchResult = null;
+			}
+		});
 	}
 
 	public void setMotorMount( MotorMount mount ) {
@@ -85,6 +100,25 @@ public class MotorRowFilter extends RowFilter<TableModel, Integer> implements Ch
 				this.searchTerms.add(s);
 			}
 		}
+		searchResult = null;
+	}
+
+	/**
+	 * Return the rows matching the search terms, or <code>null</code> if there are no terms.
+	 * The search index is rebuilt if it no longer matches the model.
+	 */
+	private BitSet getSearchResult() {
+		if (searchTerms.isEmpty()) {
+			return null;
+		}
+		if (searchIndex == null || !searchIndex.isCurrent(model)) {
+			searchIndex = new MotorSearchIndex(model);
+			searchResult = null;
+		}
+		if (searchResult == null) {
+			searchResult = searchIndex.search(searchTerms);
+		}
+		return searchResult;
 	}
 
 	public double getMinimumLength() {
@@ -166,7 +200,7 @@ public class MotorRowFilter extends RowFilter<TableModel, Integer> implements Ch
 	public boolean include(RowFilter.Entry<? extends TableModel, ? extends Integer> entry) {
 		int index = entry.getIdentifier();
 		ThrustCurveMotorSet m = model.getMotorSet(index);
-		return filterManufacturers(m) && filterUsed(m) && filterBySize(m) && filterByString(m) && filterByImpulseClass(m) && filterUnavailable(m);
+		return filterManufacturers(m) && filterUsed(m) && filterBySize(m) && filterByString(index) && filterByImpulseClass(m) && filterUnavailable(m);
 	}
 
 	private boolean filterManufacturers(ThrustCurveMotorSet m) {
@@ -215,16 +249,9 @@ public class MotorRowFilter extends RowFilter<TableModel, Integer> implements Ch
 	}
 
 
-	private boolean filterByString(ThrustCurveMotorSet m) {
-		main: for (String s : searchTerms) {
-			for (ThrustCurveMotorColumns col : ThrustCurveMotorColumns.values()) {
-				String str = col.getValue(m).toString().toLowerCase(Locale.getDefault());
-				if (str.indexOf(s) >= 0)
-					continue main;
-			}
-			return false;
-		}
-	return true;
+	private boolean filterByString(int index) {
+		BitSet result = getSearchResult();
+		return result == null || result.get(index);
 	}
 
 	private boolean filterByImpulseClass(ThrustCurveMotorSet m) {
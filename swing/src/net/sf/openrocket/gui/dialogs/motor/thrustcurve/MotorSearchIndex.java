@@ -0,0 +1,218 @@
+package net.sf.openrocket.gui.dialogs.motor.thrustcurve;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+import net.sf.openrocket.database.motor.ThrustCurveMotorSet;
+import net.sf.openrocket.unit.Unit;
+import net.sf.openrocket.unit.UnitGroup;
+
+/**
+ * A text search index over the rows of a {@link ThrustCurveMotorDatabaseModel}.
+ * <p>
+ * The values of all {@link ThrustCurveMotorColumns} of a row are normalized to lower case
+ * once when the index is built.  A search term matches a row if it is a substring of one of
+ * its values.  Rows containing a term of at least three characters are looked up from an
+ * inverted index of the character trigrams of the values and then verified, shorter terms
+ * are matched against the normalized values directly.
+ * <p>
+ * The result of the previous search is kept, and when the query only grows, for example
+ * while typing, the new search is limited to the rows matching the previous query.
+ * <p>
+ * The index is not updated when the model changes, a new index must be built when the
+ * model data changes or when {@link #isCurrent(ThrustCurveMotorDatabaseModel)} returns false.
+ */
+class MotorSearchIndex {
+
+	/** Separator between column values, so that a term cannot match across two columns. */
+	private static final char SEPARATOR = '\u0000';
+
+	private static final int GRAM = 3;
+
+	private final String[] texts;
+	private final Map<Long, int[]> postings;
+
+	// The unit the dimension columns were formatted in
+	private final Unit dimensionUnit;
+
+	private List<String> lastTerms = Collections.emptyList();
+	private BitSet lastResult;
+
+	MotorSearchIndex(ThrustCurveMotorDatabaseModel model) {
+		dimensionUnit = UnitGroup.UNITS_MOTOR_DIMENSIONS.getDefaultUnit();
+		int rows = model.getRowCount();
+		texts = new String[rows];
+		Map<Long, IntList> lists = new HashMap<Long, IntList>();
+
+		for (int row = 0; row < rows; row++) {
+			ThrustCurveMotorSet m = model.getMotorSet(row);
+			StringBuilder sb = new StringBuilder();
+			for (ThrustCurveMotorColumns col : ThrustCurveMotorColumns.values()) {
+				sb.append(col.getValue(m).toString().toLowerCase(Locale.getDefault())).append(SEPARATOR);
+			}
+			String text = sb.toString();
+			texts[row] = text;
+
+			for (int i = 0; i + GRAM <= text.length(); i++) {
+				Long gram = gram(text, i);
+				if (gram == null) {
+					continue;
+				}
+				IntList list = lists.get(gram);
+				if (list == null) {
+					list = new IntList();
+					lists.put(gram, list);
+				}
+				list.addRow(row);
+			}
+		}
+
+		postings = new HashMap<Long, int[]>(lists.size() * 2);
+		for (Map.Entry<Long, IntList> e : lists.entrySet()) {
+			postings.put(e.getKey(), e.getValue().toArray());
+		}
+		lastResult = new BitSet(rows);
+		lastResult.set(0, rows);
+	}
+
+	/**
+	 * Return the number of rows indexed.
+	 */
+	int size() {
+		return texts.length;
+	}
+
+	/**
+	 * Return whether the indexed texts can still be used for the model, that is the model
+	 * has the same number of rows and the values are displayed in the same units.
+	 */
+	boolean isCurrent(ThrustCurveMotorDatabaseModel model) {
+		return texts.length == model.getRowCount() &&
+				dimensionUnit == UnitGroup.UNITS_MOTOR_DIMENSIONS.getDefaultUnit();
+	}
+
+	/**
+	 * Return the rows matching all of the search terms.  The returned set must not be modified.
+	 *
+	 * @param terms		the normalized search terms.
+	 * @return			the indices of the matching rows.
+	 */
+	BitSet search(List<String> terms) {
+		if (terms.equals(lastTerms)) {
+			return lastResult;
+		}
+
+		BitSet result;
+		if (isNarrowing(lastTerms, terms)) {
+			result = (BitSet) lastResult.clone();
+		} else {
+			result = new BitSet(texts.length);
+			result.set(0, texts.length);
+		}
+
+		for (String term : terms) {
+			if (result.isEmpty()) {
+				break;
+			}
+			filter(result, term);
+		}
+
+		lastTerms = new ArrayList<String>(terms);
+		lastResult = result;
+		return result;
+	}
+
+	/**
+	 * Remove the rows not containing the term from the result.
+	 */
+	private void filter(BitSet result, String term) {
+		if (term.length() >= GRAM) {
+			int[] candidates = null;
+			for (int i = 0; i + GRAM <= term.length(); i++) {
+				Long gram = gram(term, i);
+				int[] list = (gram == null) ? null : postings.get(gram);
+				if (list == null) {
+					result.clear();
+					return;
+				}
+				if (candidates == null || list.length < candidates.length) {
+					candidates = list;
+				}
+			}
+
+			// Verify the candidates of the rarest trigram
+			BitSet matching = new BitSet(texts.length);
+			for (int row : candidates) {
+				if (result.get(row) && texts[row].indexOf(term) >= 0) {
+					matching.set(row);
+				}
+			}
+			result.and(matching);
+		} else {
+			for (int row = result.nextSetBit(0); row >= 0; row = result.nextSetBit(row + 1)) {
+				if (texts[row].indexOf(term) < 0) {
+					result.clear(row);
+				}
+			}
+		}
+	}
+
+	/**
+	 * Return whether every row matching the new terms also matches the old terms, which is
+	 * the case when each old term is contained in some new term.
+	 */
+	private static boolean isNarrowing(List<String> oldTerms, List<String> newTerms) {
+		outer: for (String oldTerm : oldTerms) {
+			for (String newTerm : newTerms) {
+				if (newTerm.contains(oldTerm)) {
+					continue outer;
+				}
+			}
+			return false;
+		}
+		return true;
+	}
+
+	/**
+	 * Return the trigram at the position, or <code>null</code> if it spans two columns.
+	 */
+	private static Long gram(String s, int pos) {
+		char c0 = s.charAt(pos);
+		char c1 = s.charAt(pos + 1);
+		char c2 = s.charAt(pos + 2);
+		if (c0 == SEPARATOR || c1 == SEPARATOR || c2 == SEPARATOR) {
+			return null;
+		}
+		return ((long) c0 << 32) | ((long) c1 << 16) | c2;
+	}
+
+
+	/**
+	 * A growable list of row indices in increasing order, without duplicates.
+	 */
+	private static class IntList {
+		private int[] values = new int[4];
+		private int size = 0;
+
+		void addRow(int row) {
+			if (size > 0 && values[size - 1] == row) {
+				return;
+			}
+			if (size == values.length) {
+				values = Arrays.copyOf(values, size * 2);
+			}
+			values[size++] = row;
+		}
+
+		int[] toArray() {
+			return Arrays.copyOf(values, size);
+		}
+	}
+
+}
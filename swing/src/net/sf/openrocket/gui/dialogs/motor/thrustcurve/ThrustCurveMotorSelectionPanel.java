@@ -523,7 +523,7 @@ public class ThrustCurveMotorSelectionPanel extends JPanel implements MotorSelec
 	 */
 	private ThrustCurveMotorSet findMotorSet(ThrustCurveMotor motor) {
 		for (ThrustCurveMotorSet set : database) {
-			if (set.getMotors().contains(motor)) {
+			if (set.containsMotor(motor)) {
 				return set;
 			}
 		}
@@ -0,0 +1,352 @@
+package net.sf.openrocket.gui.plot;
+
+import net.sf.openrocket.unit.Unit;
+import org.jfree.data.DomainInfo;
+import org.jfree.data.DomainOrder;
+import org.jfree.data.Range;
+import org.jfree.data.xy.AbstractXYDataset;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * An XYDataset that reads the values of flight data branches directly instead of copying
+ * them into XYSeries objects.  Unit conversion is done lazily when a value is requested.
+ * <p>
+ * When a series contains many more points than can be distinguished on screen, the dataset
+ * serves a min/max-decimated level of detail instead of the full data.  The renderer tells
+ * the dataset the currently visible domain range and its pixel width through
+ * {@link #setViewport(double, double, int)} before drawing.  Each pixel-wide bucket of the
+ * visible data is then reduced to its first and last point and the points holding the
+ * extreme values, which keeps the drawn envelope identical to the full data.
+ */
+@SuppressWarnings("serial")
+public class FlightDataXYDataset extends AbstractXYDataset<Integer> implements DomainInfo {
+
+    /** The number of points per pixel below which no decimation is done. */
+    private static final int POINTS_PER_PIXEL = 4;
+
+    private final List<FlightDataSeries> series = new ArrayList<>();
+    private final Unit domainUnit;
+
+    private double viewLower = Double.NaN;
+    private double viewUpper = Double.NaN;
+    private int viewPixels = 0;
+
+    /**
+     * @param domainUnit the unit in which the domain values are served.
+     */
+    public FlightDataXYDataset(Unit domainUnit) {
+        this.domainUnit = domainUnit;
+    }
+
+    /**
+     * Add a series to this dataset.  The series consists of the first <code>prefixCount</code>
+     * points of the prefix lists followed by all points of the data lists.  The lists are
+     * referenced, not copied.
+     *
+     * @param description the description of the series, used in the legend.
+     * @param unit        the unit in which the range values are served.
+     * @param prefixX     the domain values of the prefix, or <code>null</code> if there is none.
+     * @param prefixY     the range values of the prefix, or <code>null</code> if there is none.
+     * @param prefixCount the number of prefix points to use.
+     * @param x           the domain values, in SI units.
+     * @param y           the range values, in SI units.
+     */
+    public void addSeries(String description, Unit unit, List<Double> prefixX, List<Double> prefixY,
+                          int prefixCount, List<Double> x, List<Double> y) {
+        FlightDataSeries s = new FlightDataSeries(description, unit, prefixX, prefixY, prefixCount, x, y);
+        s.updateDetail(viewLower, viewUpper, viewPixels);
+        series.add(s);
+        fireDatasetChanged();
+    }
+
+    /**
+     * Return the description of the specified series.
+     */
+    public String getDescription(int seriesIndex) {
+        return series.get(seriesIndex).description;
+    }
+
+    /**
+     * Set the visible domain range and the number of pixels it spans.  This selects the level of
+     * detail served by {@link #getItemCount(int)}, {@link #getXValue(int, int)} and
+     * {@link #getYValue(int, int)}.  No change event is fired, as this is called during rendering.
+     *
+     * @param lower  the lower bound of the visible domain, in the domain unit.
+     * @param upper  the upper bound of the visible domain, in the domain unit.
+     * @param pixels the number of pixels the visible domain spans, or 0 to serve all points.
+     */
+    public void setViewport(double lower, double upper, int pixels) {
+        if (lower == viewLower && upper == viewUpper && pixels == viewPixels) {
+            return;
+        }
+        viewLower = lower;
+        viewUpper = upper;
+        viewPixels = pixels;
+        for (FlightDataSeries s : series) {
+            s.updateDetail(lower, upper, pixels);
+        }
+    }
+
+    @Override
+    public int getSeriesCount() {
+        return series.size();
+    }
+
+    @Override
+    public Integer getSeriesKey(int seriesIndex) {
+        return seriesIndex;
+    }
+
+    @Override
+    public DomainOrder getDomainOrder() {
+        for (FlightDataSeries s : series) {
+            if (!s.ascending) {
+                return DomainOrder.NONE;
+            }
+        }
+        return DomainOrder.ASCENDING;
+    }
+
+    @Override
+    public int getItemCount(int seriesIndex) {
+        return series.get(seriesIndex).getItemCount();
+    }
+
+    @Override
+    public Number getX(int seriesIndex, int item) {
+        return getXValue(seriesIndex, item);
+    }
+
+    @Override
+    public double getXValue(int seriesIndex, int item) {
+        FlightDataSeries s = series.get(seriesIndex);
+        return domainUnit.toUnit(s.getRawX(s.toIndex(item)));
+    }
+
+    @Override
+    public Number getY(int seriesIndex, int item) {
+        return getYValue(seriesIndex, item);
+    }
+
+    @Override
+    public double getYValue(int seriesIndex, int item) {
+        FlightDataSeries s = series.get(seriesIndex);
+        return s.unit.toUnit(s.getRawY(s.toIndex(item)));
+    }
+
+    @Override
+    public double getDomainLowerBound(boolean includeInterval) {
+        Range bounds = getDomainBounds(includeInterval);
+        return (bounds == null) ? Double.NaN : bounds.getLowerBound();
+    }
+
+    @Override
+    public double getDomainUpperBound(boolean includeInterval) {
+        Range bounds = getDomainBounds(includeInterval);
+        return (bounds == null) ? Double.NaN : bounds.getUpperBound();
+    }
+
+    @Override
+    public Range getDomainBounds(boolean includeInterval) {
+        double min = Double.NaN;
+        double max = Double.NaN;
+        for (FlightDataSeries s : series) {
+            if (Double.isNaN(min) || s.minX < min) {
+                min = s.minX;
+            }
+            if (Double.isNaN(max) || s.maxX > max) {
+                max = s.maxX;
+            }
+        }
+        if (Double.isNaN(min) || Double.isNaN(max)) {
+            return null;
+        }
+        return new Range(domainUnit.toUnit(min), domainUnit.toUnit(max));
+    }
+
+
+    /**
+     * A single series backed by flight data lists.  All values are kept in SI units.
+     */
+    private class FlightDataSeries {
+        private final String description;
+        private final Unit unit;
+        private final List<Double> prefixX;
+        private final List<Double> prefixY;
+        private final int prefixCount;
+        private final List<Double> x;
+        private final List<Double> y;
+        private final int count;
+
+        /** Whether the domain values are non-decreasing, which allows searching for the visible range. */
+        private final boolean ascending;
+        private double minX = Double.NaN;
+        private double maxX = Double.NaN;
+
+        /** The indices of the points served, or null if all points are served. */
+        private int[] detail = null;
+        private int detailCount = 0;
+
+        private FlightDataSeries(String description, Unit unit, List<Double> prefixX, List<Double> prefixY,
+                                 int prefixCount, List<Double> x, List<Double> y) {
+            this.description = description;
+            this.unit = unit;
+            this.prefixX = prefixX;
+            this.prefixY = prefixY;
+            this.prefixCount = prefixCount;
+            this.x = x;
+            this.y = y;
+            this.count = prefixCount + x.size();
+
+            boolean asc = true;
+            double prev = Double.NEGATIVE_INFINITY;
+            for (int i = 0; i < count; i++) {
+                double v = getRawX(i);
+                if (Double.isNaN(v)) {
+                    asc = false;
+                    continue;
+                }
+                if (v < prev) {
+                    asc = false;
+                }
+                prev = v;
+                if (Double.isNaN(minX) || v < minX) {
+                    minX = v;
+                }
+                if (Double.isNaN(maxX) || v > maxX) {
+                    maxX = v;
+                }
+            }
+            this.ascending = asc;
+        }
+
+        private double getRawX(int index) {
+            if (index < prefixCount) {
+                return prefixX.get(index);
+            }
+            return x.get(index - prefixCount);
+        }
+
+        private double getRawY(int index) {
+            if (index < prefixCount) {
+                return prefixY.get(index);
+            }
+            return y.get(index - prefixCount);
+        }
+
+        private int getItemCount() {
+            return (detail == null) ? count : detailCount;
+        }
+
+        private int toIndex(int item) {
+            return (detail == null) ? item : detail[item];
+        }
+
+        /**
+         * Recompute the served points for the specified viewport.
+         */
+        private void updateDetail(double lower, double upper, int pixels) {
+            if (pixels <= 0 || count <= POINTS_PER_PIXEL * pixels) {
+                detail = null;
+                return;
+            }
+
+            // Limit to the visible range, keeping one point on each side so the lines
+            // leaving the plot area are drawn correctly
+            int start = 0;
+            int end = count;
+            if (ascending && !Double.isNaN(lower) && !Double.isNaN(upper)) {
+                start = Math.max(search(domainUnit.fromUnit(lower)) - 1, 0);
+                end = Math.min(search(domainUnit.fromUnit(upper)) + 1, count);
+            }
+
+            int visible = end - start;
+            if (visible <= POINTS_PER_PIXEL * pixels) {
+                detail = new int[visible];
+                for (int i = 0; i < visible; i++) {
+                    detail[i] = start + i;
+                }
+                detailCount = visible;
+                return;
+            }
+
+            // Each bucket contributes its first and last points and the extremes of the range
+            // values.  If the domain is not ascending, the extremes of the domain values are
+            // needed as well.
+            int bucketSize = (visible + pixels - 1) / pixels;
+            int[] result = new int[(visible / bucketSize + 1) * 6];
+            int[] candidates = new int[6];
+            int n = 0;
+            for (int bucketStart = start; bucketStart < end; bucketStart += bucketSize) {
+                int bucketEnd = Math.min(bucketStart + bucketSize, end);
+                int minY = -1, maxY = -1, minX = -1, maxX = -1;
+                double minYValue = Double.NaN, maxYValue = Double.NaN;
+                double minXValue = Double.NaN, maxXValue = Double.NaN;
+                for (int i = bucketStart; i < bucketEnd; i++) {
+                    double vy = getRawY(i);
+                    if (!Double.isNaN(vy)) {
+                        if (minY < 0 || vy < minYValue) {
+                            minY = i;
+                            minYValue = vy;
+                        }
+                        if (maxY < 0 || vy > maxYValue) {
+                            maxY = i;
+                            maxYValue = vy;
+                        }
+                    }
+                    if (!ascending) {
+                        double vx = getRawX(i);
+                        if (!Double.isNaN(vx)) {
+                            if (minX < 0 || vx < minXValue) {
+                                minX = i;
+                                minXValue = vx;
+                            }
+                            if (maxX < 0 || vx > maxXValue) {
+                                maxX = i;
+                                maxXValue = vx;
+                            }
+                        }
+                    }
+                }
+
+                int c = 0;
+                candidates[c++] = bucketStart;
+                candidates[c++] = bucketEnd - 1;
+                for (int index : new int[]{minY, maxY, minX, maxX}) {
+                    if (index >= 0) {
+                        candidates[c++] = index;
+                    }
+                }
+                Arrays.sort(candidates, 0, c);
+                for (int i = 0; i < c; i++) {
+                    if (i == 0 || candidates[i] != candidates[i - 1]) {
+                        result[n++] = candidates[i];
+                    }
+                }
+            }
+            detail = result;
+            detailCount = n;
+        }
+
+        /**
+         * Return the index of the first point whose domain value is at least the specified
+         * value, or the point count if there is none.  Only valid for ascending series.
+         */
+        private int search(double value) {
+            int low = 0;
+            int high = count;
+            while (low < high) {
+                int mid = (low + high) >>> 1;
+                if (getRawX(mid) < value) {
+                    low = mid + 1;
+                } else {
+                    high = mid;
+                }
+            }
+            return low;
+        }
+    }
+}
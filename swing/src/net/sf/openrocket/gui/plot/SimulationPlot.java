@@ -17,13 +17,13 @@ import org.jfree.chart.block.LineBorder;
 import org.jfree.chart.plot.*;
 import org.jfree.chart.renderer.xy.StandardXYItemRenderer;
 import org.jfree.chart.renderer.xy.XYItemRenderer;
+import org.jfree.chart.renderer.xy.XYItemRendererState;
 import org.jfree.chart.text.TextUtils;
 import org.jfree.chart.title.LegendTitle;
 import org.jfree.chart.title.TextTitle;
 import org.jfree.chart.ui.*;
 import org.jfree.data.Range;
-import org.jfree.data.xy.XYSeries;
-import org.jfree.data.xy.XYSeriesCollection;
+import org.jfree.data.xy.XYDataset;
 
 import java.awt.*;
 import java.awt.geom.Line2D;
@@ -111,12 +111,6 @@ public class SimulationPlot {
         // Get plot length (ignore trailing NaN's)
         int typeCount = filled.getTypeCount();
 
-        // Create the data series for both axes
-        XYSeriesCollection[] data = new XYSeriesCollection[typeCount];
-        for (int i = 0; i < data.length; i++) {
-            data[i] = new XYSeriesCollection();
-        }
-
         // Get the domain axis type
         final FlightDataType domainType = filled.getDomainAxisType();
         final Unit domainUnit = filled.getDomainAxisUnit();
@@ -124,9 +118,14 @@ public class SimulationPlot {
             throw new IllegalArgumentException("Domain axis type not specified.");
         }
 
-        int seriesCount = 0;
+        // Create the data series for both axes
+        FlightDataXYDataset[] data = new FlightDataXYDataset[typeCount];
+        for (int i = 0; i < data.length; i++) {
+            data[i] = new FlightDataXYDataset(domainUnit);
+        }
 
-        // Create the XYSeries objects from the flight data and store into the collections
+        // Create the series from the flight data and store into the datasets.  The data
+        // is referenced, not copied, and units are converted when the values are read.
         String[] axisLabel = new String[axes.size()];
         for (int i = 0; i < typeCount; i++) {
             // Get info
@@ -134,57 +133,31 @@ public class SimulationPlot {
             Unit unit = filled.getUnit(i);
             String name = getLabel(type, unit);
 
-            List<String> seriesNames = Util.generateSeriesLabels(simulation);
-
             // Populate data for each branch.
 
-            // The primary branch (branchIndex = 0) is easy since all the data is copied
-            {
-                int branchIndex = 0;
-                FlightDataBranch thisBranch = simulation.getSimulatedData().getBranch(branchIndex);
-                // Store data in provided units
-                List<Double> plotx = thisBranch.get(domainType);
-                List<Double> ploty = thisBranch.get(type);
-                XYSeries series = new XYSeries(seriesCount++, false, true);
-                series.setDescription(name);
-                int pointCount = plotx.size();
-                for (int j = 0; j < pointCount; j++) {
-                    series.add(domainUnit.toUnit(plotx.get(j)), unit.toUnit(ploty.get(j)));
-                }
-                data[i].addSeries(series);
-            }
+            // The primary branch (branchIndex = 0) is easy since all the data is used
+            FlightDataBranch primaryBranch = simulation.getSimulatedData().getBranch(0);
+            data[i].addSeries(name, unit, null, null, 0,
+                    primaryBranch.getView(domainType), primaryBranch.getView(type));
+
             // For each of the secondary branches, we use data from branch 0 for the earlier times
+            List<Double> primaryT = primaryBranch.getView(FlightDataType.TYPE_TIME);
             for (int branchIndex = 1; branchIndex < branchCount; branchIndex++) {
-                FlightDataBranch primaryBranch = simulation.getSimulatedData().getBranch(0);
                 FlightDataBranch thisBranch = simulation.getSimulatedData().getBranch(branchIndex);
 
-                // Get first time index used in secondary branch;
-                double firstSampleTime = thisBranch.get(FlightDataType.TYPE_TIME).get(0);
-
-                XYSeries series = new XYSeries(seriesCount++, false, true);
-                series.setDescription(thisBranch.getBranchName() + ": " + name);
-
-                // Copy the first points from the primaryBranch.
-                List<Double> primaryT = primaryBranch.get(FlightDataType.TYPE_TIME);
-                List<Double> primaryx = primaryBranch.get(domainType);
-                List<Double> primaryy = primaryBranch.get(type);
-
-                for (int j = 0; j < primaryT.size(); j++) {
-                    if (primaryT.get(j) >= firstSampleTime) {
-                        break;
+                // Count the points of the primary branch before the first time used in the secondary branch
+                List<Double> thisT = thisBranch.getView(FlightDataType.TYPE_TIME);
+                int prefixCount = 0;
+                if (!thisT.isEmpty()) {
+                    double firstSampleTime = thisT.get(0);
+                    while (prefixCount < primaryT.size() && primaryT.get(prefixCount) < firstSampleTime) {
+                        prefixCount++;
                     }
-                    series.add(domainUnit.toUnit(primaryx.get(j)), unit.toUnit(primaryy.get(j)));
                 }
 
-                // Now copy all the data from the secondary branch
-                List<Double> plotx = thisBranch.get(domainType);
-                List<Double> ploty = thisBranch.get(type);
-
-                int pointCount = plotx.size();
-                for (int j = 0; j < pointCount; j++) {
-                    series.add(domainUnit.toUnit(plotx.get(j)), unit.toUnit(ploty.get(j)));
-                }
-                data[i].addSeries(series);
+                data[i].addSeries(thisBranch.getBranchName() + ": " + name, unit,
+                        primaryBranch.getView(domainType), primaryBranch.getView(type), prefixCount,
+                        thisBranch.getView(domainType), thisBranch.getView(type));
             }
 
             int axis = filled.getAxis(i);
@@ -237,7 +210,7 @@ public class SimulationPlot {
                 }
                 // Now we pull the colors for the legend.
                 for (int j = 0; j < data[i].getSeriesCount(); j += branchCount) {
-                    String name = data[i].getSeries(j).getDescription();
+                    String name = data[i].getDescription(j);
                     this.legendItems.lineLabels.add(name);
                     Paint linePaint = r.lookupSeriesPaint(j);
                     this.legendItems.linePaints.add(linePaint);
@@ -361,37 +334,38 @@ public class SimulationPlot {
             List<Double> time = mainBranch.get(FlightDataType.TYPE_TIME);
             List<Double> domain = mainBranch.get(config.getDomainAxisType());
 
-            LinearInterpolator domainInterpolator = new LinearInterpolator(time, domain);
-
-            for (int i = 0; i < eventTimes.size(); i++) {
-                double t = eventTimes.get(i);
-                String event = eventLabels.get(i);
-                Image image = eventImages.get(i);
+            double[] times = new double[eventTimes.size()];
+            for (int i = 0; i < times.length; i++) {
+                times[i] = eventTimes.get(i);
+            }
+            if (times.length == 0) {
+                return;
+            }
+            double[] xcoords = new LinearInterpolator(time, domain).getValues(times);
 
-                if (image == null)
+            for (int index = 0; index < config.getTypeCount(); index++) {
+                // Image annotations are not supported on the right-side axis
+                // TODO: LOW: Can this be achieved by JFreeChart?
+                if (filled.getAxis(index) != SimulationPlotPanel.LEFT) {
                     continue;
+                }
 
-                double xcoord = domainInterpolator.getValue(t);
-                for (int index = 0; index < config.getTypeCount(); index++) {
-                    FlightDataType type = config.getType(index);
-                    List<Double> range = mainBranch.get(type);
+                FlightDataType type = config.getType(index);
+                List<Double> range = mainBranch.get(type);
+                double[] ycoords = new LinearInterpolator(time, range).getValues(times);
 
-                    LinearInterpolator rangeInterpolator = new LinearInterpolator(time, range);
-                    // Image annotations are not supported on the right-side axis
-                    // TODO: LOW: Can this be achieved by JFreeChart?
-                    if (filled.getAxis(index) != SimulationPlotPanel.LEFT) {
+                for (int i = 0; i < times.length; i++) {
+                    Image image = eventImages.get(i);
+                    if (image == null)
                         continue;
-                    }
-
-                    double ycoord = rangeInterpolator.getValue(t);
 
                     // Convert units
-                    xcoord = config.getDomainAxisUnit().toUnit(xcoord);
-                    ycoord = config.getUnit(index).toUnit(ycoord);
+                    double xcoord = config.getDomainAxisUnit().toUnit(xcoords[i]);
+                    double ycoord = config.getUnit(index).toUnit(ycoords[i]);
 
                     XYImageAnnotation annotation =
                             new XYImageAnnotation(xcoord, ycoord, image, RectangleAnchor.CENTER);
-                    annotation.setToolTipText(event);
+                    annotation.setToolTipText(eventLabels.get(i));
                     plot.addAnnotation(annotation);
                 }
             }
@@ -484,6 +458,24 @@ public class SimulationPlot {
             this.branchCount = branchCount;
         }
 
+        /**
+         * Match the level of detail served by the dataset to the visible domain range and
+         * the pixel width of the data area before the items are drawn.
+         */
+        @SuppressWarnings("rawtypes")
+        @Override
+        public XYItemRendererState initialise(Graphics2D g2, Rectangle2D dataArea, XYPlot plot,
+                                              XYDataset dataset, PlotRenderingInfo info) {
+            if (dataset instanceof FlightDataXYDataset) {
+                Range range = plot.getDomainAxis().getRange();
+                double pixels = (plot.getOrientation() == PlotOrientation.VERTICAL) ?
+                        dataArea.getWidth() : dataArea.getHeight();
+                ((FlightDataXYDataset) dataset).setViewport(range.getLowerBound(), range.getUpperBound(),
+                        (int) Math.ceil(pixels));
+            }
+            return super.initialise(g2, dataArea, plot, dataset, info);
+        }
+
         @Override
         public Paint lookupSeriesPaint(int series) {
             return super.lookupSeriesPaint(series / branchCount);
@@ -11,8 +11,6 @@ import net.sf.openrocket.startup.Preferences;
 import org.jfree.chart.ChartPanel;
 import org.jfree.chart.plot.CrosshairState;
 import org.jfree.chart.plot.XYPlot;
-import org.jfree.data.xy.XYSeries;
-import org.jfree.data.xy.XYSeriesCollection;
 
 import javax.swing.*;
 import java.awt.*;
@@ -146,18 +144,18 @@ public class SimulationPlotDialog extends JDialog {
             return null;
         }
 
-        var dataset = (XYSeriesCollection<?>) plot.getDataset(crossHairState.getDatasetIndex());
+        var dataset = (FlightDataXYDataset) plot.getDataset(crossHairState.getDatasetIndex());
         var seriesCount = dataset.getSeriesCount();
         ArrayList<Integer> itemIndexes = new ArrayList<>(seriesCount);
 
         //Search for index
         for (int i = 0; i < seriesCount; i++) {
-            XYSeries<?> serie = ((XYSeriesCollection<?>) dataset).getSeries(i);
-            for (int j = 0; j < serie.getItemCount(); j++) {
-                if (serie.getX(j).doubleValue() > domainValue) {
+            int itemCount = dataset.getItemCount(i);
+            for (int j = 0; j < itemCount; j++) {
+                if (dataset.getXValue(i, j) > domainValue) {
                     itemIndexes.add(i, j);
                     break;
-                } else if (j == serie.getItemCount() - 1) {
+                } else if (j == itemCount - 1) {
                     itemIndexes.add(i, -1);
                 }
             }
@@ -172,9 +170,8 @@ public class SimulationPlotDialog extends JDialog {
             if (itemIndexes.get(i) == -1) break;
             finalText.append("     ");
 
-            var serie = dataset.getSeries(i);
-            String value = String.format("%.1f", serie.getY(itemIndexes.get(i)).doubleValue());
-            String label = (serie.getDescription() + ": " + value);
+            String value = String.format("%.1f", dataset.getYValue(i, itemIndexes.get(i)));
+            String label = (dataset.getDescription(i) + ": " + value);
             finalText.append(label);
         }
 
@@ -194,6 +194,7 @@ public class DesignReport {
 		document = theIDoc;
 		rocketDocument = theRocDoc;
 		panel = new RocketPanel(rocketDocument);
+		panel.updateExtrasNow();
 		rotation = figureRotation;
 		this.runOutOfDateSimulations = runOutOfDateSims;
 		this.updateExistingSimulations = updateExistingSims;
@@ -15,7 +15,12 @@ import java.awt.geom.NoninvertibleTransformException;
 import java.awt.geom.Point2D;
 import java.awt.geom.Rectangle2D;
 import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
 import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
 import java.util.Map.Entry;
 
 import org.slf4j.Logger;
@@ -79,6 +84,28 @@ public class RocketFigure extends AbstractScaleFigure {
 	 */
 	private final ArrayList<RocketComponentShape> figureShapes = new ArrayList<RocketComponentShape>();
 	
+	/*
+	 * The generated shapes of each component, reused until the geometry of the component
+	 * or the transformations of its instances change.  Back view shapes are generated
+	 * without the axial rotation, which is applied to the figure as a plain 2D rotation.
+	 */
+	private Map<RocketComponent, ComponentShapes> shapeCache = new IdentityHashMap<RocketComponent, ComponentShapes>();
+	
+	/*
+	 * The shape generation methods of each component class, for the side and back views
+	 */
+	private final Map<Class<?>, Reflection.Method> sideShapeMethods = new HashMap<Class<?>, Reflection.Method>();
+	private final Map<Class<?>, Reflection.Method> backShapeMethods = new HashMap<Class<?>, Reflection.Method>();
+	
+	/*
+	 * The state figureShapes was last updated for
+	 */
+	private int shapesModID = -1;
+	private FlightConfiguration shapesConfig = null;
+	private int shapesConfigModID = -1;
+	private double shapesRotation = Double.NaN;
+	private RocketPanel.VIEW_TYPE shapesViewType = null;
+	
 	
 	private final ArrayList<FigureElement> relativeExtra = new ArrayList<FigureElement>();
 	private final ArrayList<FigureElement> absoluteExtra = new ArrayList<FigureElement>();
@@ -99,6 +126,8 @@ public class RocketFigure extends AbstractScaleFigure {
 
 	public void SetRocket(Rocket rocket) {
 		this.rocket = rocket;
+		this.shapeCache.clear();
+		this.shapesModID = -1;
 
 		this.rotation = 0.0;
 		this.axialRotation = Transformation.rotate_x(0.0);
@@ -227,14 +256,14 @@ public class RocketFigure extends AbstractScaleFigure {
 				}
 			}
 			
-			// Set component color and line style
-			net.sf.openrocket.util.Color color = rcs.color;
+			// Set component color and line style, which may have changed after generating the shape
+			net.sf.openrocket.util.Color color = c.getColor();
 			if (color == null) {
 				color = Application.getPreferences().getDefaultColor(c.getClass());
 			}
 			g2.setColor(ColorConversion.toAwtColor(color));
 			
-			LineStyle style = rcs.lineStyle;
+			LineStyle style = c.getLineStyle();
 			if (style == null)
 				style = Application.getPreferences().getDefaultLineStyle(c.getClass());
 			
@@ -346,73 +375,124 @@ public class RocketFigure extends AbstractScaleFigure {
 	private void updateShapes(ArrayList<RocketComponentShape> allShapes) { 
 		// source input
 		final FlightConfiguration config = rocket.getSelectedConfiguration();
-
+		
+		if (rocket.getModID() == shapesModID && config == shapesConfig && config.getModID() == shapesConfigModID &&
+				rotation == shapesRotation && currentViewType == shapesViewType) {
+			return;
+		}
+		shapesModID = rocket.getModID();
+		shapesConfig = config;
+		shapesConfigModID = config.getModID();
+		shapesRotation = rotation;
+		shapesViewType = currentViewType;
+		
+		// In the back view the axial rotation is a rotation of the figure plane
+		final boolean backView = (currentViewType == RocketPanel.VIEW_TYPE.BackView);
+		AffineTransform viewRotation = null;
+		if (backView && !axialRotation.isIdentity()) {
+			final double cos = Math.cos(rotation);
+			final double sin = Math.sin(rotation);
+			viewRotation = new AffineTransform(cos, -sin, sin, cos, 0, 0);
+		}
+		
 		// allShapes is an output buffer -- it stores all the generated shapes
 		allShapes.clear();
 		
+		// Components no longer in the rocket are dropped from the cache
+		final Map<RocketComponent, ComponentShapes> cache = new IdentityHashMap<RocketComponent, ComponentShapes>();
+		
 		for(Entry<RocketComponent, ArrayList<InstanceContext>> entry: config.getActiveInstances().entrySet() ) {
 			final RocketComponent comp = entry.getKey();
 			
+			if(( comp instanceof Rocket)||( comp instanceof ComponentAssembly )){
+				// no-op; no shapes here
+				continue;
+			}
+			
 			final ArrayList<InstanceContext> contextList = entry.getValue();
-
+			final List<Transformation> transforms = new ArrayList<Transformation>(contextList.size());
 			for(InstanceContext context: contextList ) {
-				final Transformation currentTransform = this.axialRotation.applyTransformation(context.transform);
-				
 		        // generate shape for this component, if active
-		        if( context.active ) {
-		        	allShapes = addThisShape( allShapes, this.currentViewType, comp, currentTransform);
-		        }
+				if( context.active ) {
+					if (backView) {
+						transforms.add(context.transform);
+					} else {
+						transforms.add(this.axialRotation.applyTransformation(context.transform));
+					}
+				}
+			}
+			
+			ComponentShapes shapes = shapeCache.get(comp);
+			if (shapes == null || !shapes.isValid(comp, currentViewType, transforms)) {
+				shapes = new ComponentShapes(comp, currentViewType, transforms, getShapes(comp, transforms));
+			}
+			cache.put(comp, shapes);
+			
+			for (RocketComponentShape curShape : shapes.shapes) {
+				if (viewRotation != null && curShape.shape != null) {
+					curShape = new RocketComponentShape(viewRotation.createTransformedShape(curShape.shape), comp);
+				}
+				allShapes.add(curShape);
 			}
         }
+		shapeCache = cache;
 	}
 	
 	/**
 	 * Gets the shapes required to draw the component.
 	 * 
-	 * @param component
-	 * @param params
-	 * @return the <code>ArrayList</code> containing all the shapes to draw.
+	 * @param component		the component to draw.
+	 * @param transforms	the transformations of the instances to draw.
+	 * @return the <code>RocketComponentShape</code>s of all the instances.
 	 */
-	private static ArrayList<RocketComponentShape> addThisShape(
-			ArrayList<RocketComponentShape> allShapes,  // this is the output parameter
-			final RocketPanel.VIEW_TYPE viewType, 
-			final RocketComponent component, 
-			final Transformation transformation) {
-		Reflection.Method m;
-		
-		if(( component instanceof Rocket)||( component instanceof ComponentAssembly )){
-			// no-op; no shapes here
-			return allShapes;
+	private RocketComponentShape[] getShapes(final RocketComponent component, final List<Transformation> transforms) {
+		final Reflection.Method m = findShapeMethod(component);
+		if (m == null) {
+			return new RocketComponentShape[0];
 		}
 		
-		// Find the appropriate method
-		switch (viewType) {
+		final List<RocketComponentShape> shapes = new ArrayList<RocketComponentShape>();
+		for (Transformation transformation : transforms) {
+			RocketComponentShape[] returnValue = (RocketComponentShape[]) m.invokeStatic(component, transformation);
+			Collections.addAll(shapes, returnValue);
+		}
+		return shapes.toArray(new RocketComponentShape[0]);
+	}
+	
+	/**
+	 * Find the shape generation method for the component in the current view type.  The
+	 * methods are looked up once per component class.
+	 */
+	private Reflection.Method findShapeMethod(final RocketComponent component) {
+		final Map<Class<?>, Reflection.Method> methods;
+		final String methodName;
+		switch (currentViewType) {
 		case SideView:
-			m = Reflection.findMethod(ROCKET_FIGURE_PACKAGE, component, ROCKET_FIGURE_SUFFIX, "getShapesSide",
-					RocketComponent.class, Transformation.class);
+			methods = sideShapeMethods;
+			methodName = "getShapesSide";
 			break;
 		
 		case BackView:
-			m = Reflection.findMethod(ROCKET_FIGURE_PACKAGE, component, ROCKET_FIGURE_SUFFIX, "getShapesBack",
-					RocketComponent.class, Transformation.class);
+			methods = backShapeMethods;
+			methodName = "getShapesBack";
 			break;
 		
 		default:
-			throw new BugException("Unknown figure type = " + viewType);
+			throw new BugException("Unknown figure type = " + currentViewType);
+		}
+		
+		if (methods.containsKey(component.getClass())) {
+			return methods.get(component.getClass());
 		}
 		
+		Reflection.Method m = Reflection.findMethod(ROCKET_FIGURE_PACKAGE, component, ROCKET_FIGURE_SUFFIX, methodName,
+				RocketComponent.class, Transformation.class);
 		if (m == null) {
 			Application.getExceptionHandler().handleErrorCondition("ERROR: Rocket figure paint method not found for "
 					+ component);
-			return allShapes;
 		}
-		
-	
-		RocketComponentShape[] returnValue =  (RocketComponentShape[]) m.invokeStatic(component, transformation);
-		for ( RocketComponentShape curShape : returnValue ){
-			allShapes.add( curShape );
-		}
-		return allShapes;
+		methods.put(component.getClass(), m);
+		return m;
 	}
 	
 
@@ -466,4 +546,29 @@ public class RocketFigure extends AbstractScaleFigure {
     	}
 	}
 
+	
+	/**
+	 * The shapes generated for the instances of one component, along with the state
+	 * they were generated from.
+	 */
+	private static class ComponentShapes {
+		private final int geometryModID;
+		private final RocketPanel.VIEW_TYPE viewType;
+		private final List<Transformation> transforms;
+		private final RocketComponentShape[] shapes;
+		
+		public ComponentShapes(RocketComponent component, RocketPanel.VIEW_TYPE viewType,
+				List<Transformation> transforms, RocketComponentShape[] shapes) {
+			this.geometryModID = component.getGeometryModID();
+			this.viewType = viewType;
+			this.transforms = transforms;
+			this.shapes = shapes;
+		}
+		
+		public boolean isValid(RocketComponent component, RocketPanel.VIEW_TYPE viewType, List<Transformation> transforms) {
+			return component.getGeometryModID() == geometryModID && viewType == this.viewType &&
+					transforms.equals(this.transforms);
+		}
+	}
+	
 }
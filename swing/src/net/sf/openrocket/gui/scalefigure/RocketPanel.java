@@ -13,8 +13,11 @@ import java.util.EventListener;
 import java.util.EventObject;
 import java.util.List;
 import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
 import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.atomic.AtomicBoolean;
 
 import javax.swing.ComboBoxModel;
 import javax.swing.DefaultComboBoxModel;
@@ -31,6 +34,9 @@ import javax.swing.event.TreeSelectionListener;
 import javax.swing.tree.TreePath;
 import javax.swing.tree.TreeSelectionModel;
 
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
 import net.miginfocom.swing.MigLayout;
 import net.sf.openrocket.aerodynamics.AerodynamicCalculator;
 import net.sf.openrocket.aerodynamics.BarrowmanCalculator;
@@ -65,6 +71,7 @@ import net.sf.openrocket.rocketcomponent.SymmetricComponent;
 import net.sf.openrocket.simulation.FlightData;
 import net.sf.openrocket.simulation.customexpression.CustomExpression;
 import net.sf.openrocket.simulation.customexpression.CustomExpressionSimulationListener;
+import net.sf.openrocket.simulation.exception.SimulationException;
 import net.sf.openrocket.simulation.listeners.SimulationListener;
 import net.sf.openrocket.simulation.listeners.system.ApogeeEndListener;
 import net.sf.openrocket.simulation.listeners.system.InterruptListener;
@@ -86,6 +93,7 @@ import net.sf.openrocket.util.StateChangeListener;
 @SuppressWarnings("serial")
 public class RocketPanel extends JPanel implements TreeSelectionListener, ChangeSource {
 
+	private static final Logger log = LoggerFactory.getLogger(RocketPanel.class);
 	private static final Translator trans = Application.getTranslator();
 
 	public enum VIEW_TYPE {
@@ -172,6 +180,22 @@ public class RocketPanel extends JPanel implements TreeSelectionListener, Change
 								});
 	}
 
+	/**
+	 * The executor used for analyzing the designs (CP, CG and mass) off the EDT.
+	 * A single daemon thread, so at most one analysis runs at a time.
+	 */
+	private static final ExecutorService analysisExecutor = Executors.newSingleThreadExecutor(r -> {
+		Thread t = new Thread(r, "RocketPanel analysis");
+		t.setDaemon(true);
+		return t;
+	});
+
+	// Analysis state, accessed on the EDT except for the generation
+	private final AtomicBoolean analysisScheduled = new AtomicBoolean(false);
+	private volatile int analysisGeneration = 0;
+	private Future<?> analysisFuture = null;
+	private AnalysisResult analysisResult = null;
+
 	
 	public OpenRocketDocument getDocument(){
 		return this.document;
@@ -301,7 +325,7 @@ public class RocketPanel extends JPanel implements TreeSelectionListener, Change
 					go3D();
 				} else {
 					figure.setType(v);
-					updateExtras(); // when switching from side view to back view, need to clear CP & CG markers
+					updateCarets(); // when switching from side view to back view, need to clear CP & CG markers
 					go2D();
 				}
 			}
@@ -344,7 +368,7 @@ public class RocketPanel extends JPanel implements TreeSelectionListener, Change
 
 		add(rotationSlider = new BasicSlider(rotationModel.getSliderModel(0, 2 * Math.PI), JSlider.VERTICAL, true),
 				"ax 50%, wrap, width " + (d.width + 6) + "px:null:null, growy");
-		rotationSlider.addChangeListener(e -> updateExtras());
+		rotationSlider.addChangeListener(e -> updateCarets());
 
 		//// <html>Click to select &nbsp;&nbsp; Shift+click to select other &nbsp;&nbsp; Double-click to edit &nbsp;&nbsp; Click+drag to move
 		infoMessage = new JLabel(trans.get("RocketPanel.lbl.infoMessage"));
@@ -555,52 +579,164 @@ public class RocketPanel extends JPanel implements TreeSelectionListener, Change
 	/**
 	 * Updates the extra data included in the figure.  Currently this includes
 	 * the CP and CG carets.
+	 * <p>
+	 * The analysis runs asynchronously on a copy of the rocket.  Bursts of calls, such
+	 * as the several change events of a single edit, are coalesced into one analysis,
+	 * and the results of an analysis that has been superseded are discarded.
 	 */
-	private final WarningSet warnings = new WarningSet();
-
 	private void updateExtras() {
-		Coordinate cp, cg;
-		double cgx = Double.NaN;
-		double cgy = Double.NaN;
-		double cpx = Double.NaN;
-		double cpy = Double.NaN;
-		final double rotation = rotationModel.getValue();
+		if (analysisScheduled.compareAndSet(false, true)) {
+			SwingUtilities.invokeLater(() -> {
+				analysisScheduled.set(false);
+				startAnalysis();
+			});
+		}
+	}
+
+	/**
+	 * Updates the extra data synchronously on the calling thread, for use when the
+	 * panel is not displayed, for example when printing.
+	 */
+	public void updateExtrasNow() {
+		cancelAnalysis();
+		AnalysisResult result = analyze(createAnalysisRequest());
+		if (result != null) {
+			publishAnalysis(result);
+		}
+	}
+
+	private void startAnalysis() {
+		cancelAnalysis();
+		final AnalysisRequest request = createAnalysisRequest();
+		analysisFuture = analysisExecutor.submit(() -> {
+			try {
+				final AnalysisResult result = analyze(request);
+				if (result != null) {
+					SwingUtilities.invokeLater(() -> {
+						if (request.generation == analysisGeneration) {
+							analysisFuture = null;
+							publishAnalysis(result);
+						}
+					});
+				}
+			} catch (RuntimeException e) {
+				SwingUtilities.invokeLater(() -> Application.getExceptionHandler().handleErrorCondition(e));
+			}
+		});
+
+		updateBackgroundSimulation();
+	}
+
+	/**
+	 * Cancels the current analysis, if any.
+	 */
+	private void cancelAnalysis() {
+		analysisGeneration++;
+		if (analysisFuture != null) {
+			analysisFuture.cancel(false);
+			analysisFuture = null;
+		}
+	}
 
+	/**
+	 * Capture the inputs of an analysis of the current design.
+	 */
+	private AnalysisRequest createAnalysisRequest() {
 		FlightConfiguration curConfig = document.getSelectedConfiguration();
+		Rocket duplicate = (Rocket) document.getRocket().copy();
+		FlightConfiguration config = new FlightConfiguration(duplicate, curConfig.getId());
+		config.copyStages(curConfig);
+
+		double mach = !Double.isNaN(cpMach) ? cpMach : Application.getPreferences().getDefaultMach();
+		// The calculator caches data per component, so each copy of the rocket needs its own
+		return new AnalysisRequest(analysisGeneration, config, aerodynamicCalculator.newInstance(),
+				mach, cpAOA, cpTheta, cpRoll);
+	}
+
+	/**
+	 * Compute the CP, CG and mass data of the design.  May be called from any thread.
+	 *
+	 * @return	the results, or <code>null</code> if the analysis was superseded.
+	 */
+	private AnalysisResult analyze(AnalysisRequest request) {
+		FlightConfiguration curConfig = request.configuration;
 		// TODO: MEDIUM: User-definable conditions
 		FlightConditions conditions = new FlightConditions(curConfig);
-		warnings.clear();
+		WarningSet warnings = new WarningSet();
 
-		if (!Double.isNaN(cpMach)) {
-			conditions.setMach(cpMach);
-			extraText.setMach(cpMach);
-		} else {
-			conditions.setMach(Application.getPreferences().getDefaultMach());
-			extraText.setMach(Application.getPreferences().getDefaultMach());
-		}
+		conditions.setMach(request.mach);
+		conditions.setAOA(!Double.isNaN(request.aoa) ? request.aoa : 0);
+		conditions.setRollRate(!Double.isNaN(request.roll) ? request.roll : 0);
 
-		if (!Double.isNaN(cpAOA)) {
-			conditions.setAOA(cpAOA);
+		Coordinate cp;
+		if (!Double.isNaN(request.theta)) {
+			conditions.setTheta(request.theta);
+			cp = request.calculator.getCP(curConfig, conditions, warnings);
 		} else {
-			conditions.setAOA(0);
+			cp = request.calculator.getWorstCP(curConfig, conditions, warnings);
 		}
-		extraText.setAOA(cpAOA);
-
-		if (!Double.isNaN(cpRoll)) {
-			conditions.setRollRate(cpRoll);
-		} else {
-			conditions.setRollRate(0);
+		if (request.generation != analysisGeneration) {
+			return null;
 		}
 
-		if (!Double.isNaN(cpTheta)) {
-			conditions.setTheta(cpTheta);
-			cp = aerodynamicCalculator.getCP(curConfig, conditions, warnings);
-		} else {
-			cp = aerodynamicCalculator.getWorstCP(curConfig, conditions, warnings);
+		Coordinate cg = MassCalculator.calculateLaunch( curConfig).getCM();
+
+		double length = curConfig.getLength();
+
+		double diameter = Double.NaN;
+		for (RocketComponent c : curConfig.getCoreComponents()) {
+			if (c instanceof SymmetricComponent) {
+				double d1 = ((SymmetricComponent) c).getForeRadius() * 2;
+				double d2 = ((SymmetricComponent) c).getAftRadius() * 2;
+				diameter = MathUtil.max(diameter, d1, d2);
+			}
 		}
-		extraText.setTheta(cpTheta);
 
-		cg = MassCalculator.calculateLaunch( curConfig).getCM();
+		RigidBody emptyInfo = MassCalculator.calculateStructure( curConfig );
+
+		return new AnalysisResult(request, cp, cg, length, diameter, emptyInfo.getMass(), warnings);
+	}
+
+	/**
+	 * Set the results of an analysis to the figure elements.
+	 */
+	private void publishAnalysis(AnalysisResult result) {
+		analysisResult = result;
+		updateCarets();
+
+		extraText.setMach(result.request.mach);
+		extraText.setAOA(result.request.aoa);
+		extraText.setTheta(result.request.theta);
+		extraText.setCG(result.cg.weight > MassCalculator.MIN_MASS ? result.cg.x : Double.NaN);
+		extraText.setCP(result.cp.weight > MathUtil.EPSILON ? result.cp.x : Double.NaN);
+		extraText.setLength(result.length);
+		extraText.setDiameter(result.diameter);
+		extraText.setMass(result.cg.weight);
+		extraText.setMassWithoutMotors(result.massWithoutMotors);
+		extraText.setWarnings(result.warnings);
+
+		figure3d.setCG(result.cg);
+		figure3d.setCP(result.cp);
+
+		figure.repaint();
+		figure3d.repaint();
+	}
+
+	/**
+	 * Position the CP and CG carets according to the latest analysis and the current
+	 * rotation and view type.  Changing these does not require a new analysis.
+	 */
+	private void updateCarets() {
+		if (analysisResult == null) {
+			return;
+		}
+		Coordinate cp = analysisResult.cp;
+		Coordinate cg = analysisResult.cg;
+		double cgx = Double.NaN;
+		double cgy = Double.NaN;
+		double cpx = Double.NaN;
+		double cpy = Double.NaN;
+		final double rotation = rotationModel.getValue();
 
 		if (cp.weight > MathUtil.EPSILON){
 			cpx = cp.x;
@@ -614,39 +750,20 @@ public class RocketPanel extends JPanel implements TreeSelectionListener, Change
 			cgy = cg.y * Math.cos(rotation) + cg.z*Math.sin(rotation);
 		}
 
-		figure3d.setCG(cg);
-		figure3d.setCP(cp);
-
-		double length = curConfig.getLength();
-		
-		double diameter = Double.NaN;
-		for (RocketComponent c : curConfig.getCoreComponents()) {
-			if (c instanceof SymmetricComponent) {
-				double d1 = ((SymmetricComponent) c).getForeRadius() * 2;
-				double d2 = ((SymmetricComponent) c).getAftRadius() * 2;
-				diameter = MathUtil.max(diameter, d1, d2);
-			}
-		}
-
-		RigidBody emptyInfo = MassCalculator.calculateStructure( curConfig );
-		
-		extraText.setCG(cgx);
-		extraText.setCP(cpx);
-		extraText.setLength(length);
-		extraText.setDiameter(diameter);
-		extraText.setMass(cg.weight);
-		extraText.setMassWithoutMotors( emptyInfo.getMass() );
-		extraText.setWarnings(warnings);
-
-		if (figure.getType() == RocketPanel.VIEW_TYPE.SideView && length > 0) {
+		if (figure.getType() == RocketPanel.VIEW_TYPE.SideView && analysisResult.length > 0) {
 			extraCP.setPosition(cpx, cpy);
 			extraCG.setPosition(cgx, cgy);
 		} else {
 			extraCP.setPosition(Double.NaN, Double.NaN);
 			extraCG.setPosition(Double.NaN, Double.NaN);
 		}
+	}
 
-		////////  Flight simulation in background
+	/**
+	 * Restart the flight simulation in the background if the design has changed.
+	 */
+	private void updateBackgroundSimulation() {
+		FlightConfiguration curConfig = document.getSelectedConfiguration();
 
 		// Check whether to compute or not
 		if (!((SwingPreferences) Application.getPreferences()).computeFlightInBackground()) {
@@ -683,12 +800,62 @@ public class RocketPanel extends JPanel implements TreeSelectionListener, Change
 			Rocket duplicate = (Rocket) document.getRocket().copy();
 			Simulation simulation = ((SwingPreferences) Application.getPreferences()).getBackgroundSimulation(duplicate);
 			simulation.setFlightConfigurationId( document.getSelectedConfiguration().getId());
+			Simulation coarseSimulation = ((SwingPreferences) Application.getPreferences()).getCoarseBackgroundSimulation(duplicate);
+			coarseSimulation.setFlightConfigurationId( document.getSelectedConfiguration().getId());
 
-			backgroundSimulationWorker = new BackgroundSimulationWorker(document, simulation);
+			backgroundSimulationWorker = new BackgroundSimulationWorker(document, simulation, coarseSimulation);
 			backgroundSimulationExecutor.execute(backgroundSimulationWorker);
 		}
 	}
 
+	/**
+	 * The inputs of a design analysis, captured on the EDT.
+	 */
+	private static class AnalysisRequest {
+		final int generation;
+		final FlightConfiguration configuration;
+		final AerodynamicCalculator calculator;
+		final double mach;
+		final double aoa;
+		final double theta;
+		final double roll;
+
+		AnalysisRequest(int generation, FlightConfiguration configuration, AerodynamicCalculator calculator,
+				double mach, double aoa, double theta, double roll) {
+			this.generation = generation;
+			this.configuration = configuration;
+			this.calculator = calculator;
+			this.mach = mach;
+			this.aoa = aoa;
+			this.theta = theta;
+			this.roll = roll;
+		}
+	}
+
+	/**
+	 * The results of a design analysis.
+	 */
+	private static class AnalysisResult {
+		final AnalysisRequest request;
+		final Coordinate cp;
+		final Coordinate cg;
+		final double length;
+		final double diameter;
+		final double massWithoutMotors;
+		final WarningSet warnings;
+
+		AnalysisResult(AnalysisRequest request, Coordinate cp, Coordinate cg, double length, double diameter,
+				double massWithoutMotors, WarningSet warnings) {
+			this.request = request;
+			this.cp = cp;
+			this.cg = cg;
+			this.length = length;
+			this.diameter = diameter;
+			this.massWithoutMotors = massWithoutMotors;
+			this.warnings = warnings;
+		}
+	}
+
 	/**
 	 * Cancels the current background simulation worker, if any.
 	 */
@@ -703,31 +870,67 @@ public class RocketPanel extends JPanel implements TreeSelectionListener, Change
 	 * A SimulationWorker that simulates the rocket flight in the background and
 	 * sets the results to the extra text when finished.  The worker can be cancelled
 	 * if necessary.
+	 * <p>
+	 * The flight is first simulated coarsely and the estimate shown while calculating.
+	 * Unless the worker has been cancelled by a change of the design in the meantime,
+	 * the flight is then simulated with the normal background simulation options.
 	 */
 	private class BackgroundSimulationWorker extends SimulationWorker {
 
 		private final CustomExpressionSimulationListener exprListener;
+		private final Simulation coarseSimulation;
 
-		public BackgroundSimulationWorker(OpenRocketDocument doc, Simulation sim) {
+		public BackgroundSimulationWorker(OpenRocketDocument doc, Simulation sim, Simulation coarseSim) {
 			super(sim);
 			List<CustomExpression> exprs = doc.getCustomExpressions();
 			exprListener = new CustomExpressionSimulationListener(exprs);
+			coarseSimulation = coarseSim;
 		}
 
 		@Override
 		protected FlightData doInBackground() {
 
 			// Pause a little while to allow faster UI reaction
+			if (!pause(50))
+				return null;
+
 			try {
-				Thread.sleep(300);
-			} catch (InterruptedException ignore) {
+				coarseSimulation.simulate(InterruptListener.INSTANCE, ApogeeEndListener.INSTANCE);
+				final FlightData estimate = coarseSimulation.getSimulatedData();
+				SwingUtilities.invokeLater(() -> estimateDone(estimate));
+			} catch (SimulationException e) {
+				// The full simulation reports the error, if any
+				log.debug("Coarse background simulation failed", e);
 			}
-			if (isCancelled() || backgroundSimulationWorker != this)
+
+			// Pause before the full simulation, so that rapid edits cancel it beforehand
+			if (!pause(250))
 				return null;
 
 			return super.doInBackground();
 		}
 
+		/**
+		 * Sleep, returning whether the worker is still current afterwards.
+		 */
+		private boolean pause(long millis) {
+			try {
+				Thread.sleep(millis);
+			} catch (InterruptedException ignore) {
+			}
+			return !isCancelled() && backgroundSimulationWorker == this;
+		}
+
+		private void estimateDone(FlightData estimate) {
+			// Do nothing if cancelled or already refined
+			if (isCancelled() || backgroundSimulationWorker != this || isDone())
+				return;
+
+			extraText.setFlightData(estimate);
+			figure.repaint();
+			figure3d.repaint();
+		}
+
 		@Override
 		protected void simulationDone() {
 			// Do nothing if cancelled
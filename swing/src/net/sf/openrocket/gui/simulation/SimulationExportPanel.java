@@ -219,6 +219,8 @@ public class SimulationExportPanel extends JPanel {
 	
 	public boolean doExport() {
 		JFileChooser chooser = new JFileChooser();
+		chooser.addChoosableFileFilter(FileHelper.CSV_FILE_FILTER);
+		chooser.addChoosableFileFilter(FileHelper.FLIGHT_DATA_BINARY_FILTER);
 		chooser.setFileFilter(FileHelper.CSV_FILE_FILTER);
 		chooser.setCurrentDirectory(((SwingPreferences) Application.getPreferences()).getDefaultDirectory());
 		
@@ -229,7 +231,8 @@ public class SimulationExportPanel extends JPanel {
 		if (file == null)
 			return false;
 		
-		file = FileHelper.ensureExtension(file, "csv");
+		boolean binary = (chooser.getFileFilter() == FileHelper.FLIGHT_DATA_BINARY_FILTER);
+		file = FileHelper.ensureExtension(file, binary ? "orfd" : "csv");
 		if (!FileHelper.confirmWrite(file, this)) {
 			return false;
 		}
@@ -270,9 +273,15 @@ public class SimulationExportPanel extends JPanel {
 		}
 		
 		
-		SaveCSVWorker.export(file, simulation, branch, fieldTypes, fieldUnits, fieldSep,
-				commentChar, simulationComment, fieldComment, eventComment,
-				SwingUtilities.getWindowAncestor(this));
+		if (binary) {
+			// The binary format always contains all branches
+			SaveCSVWorker.exportBinary(file, simulation, fieldTypes, fieldUnits,
+					SwingUtilities.getWindowAncestor(this));
+		} else {
+			SaveCSVWorker.export(file, simulation, branch, fieldTypes, fieldUnits, fieldSep,
+					commentChar, simulationComment, fieldComment, eventComment,
+					SwingUtilities.getWindowAncestor(this));
+		}
 		
 		return true;
 	}
@@ -11,8 +11,10 @@ import javax.swing.JOptionPane;
 import javax.swing.SwingWorker;
 
 import net.sf.openrocket.document.Simulation;
+import net.sf.openrocket.file.BinaryExport;
 import net.sf.openrocket.file.CSVExport;
 import net.sf.openrocket.gui.dialogs.SwingWorkerDialog;
+import net.sf.openrocket.simulation.FlightData;
 import net.sf.openrocket.simulation.FlightDataBranch;
 import net.sf.openrocket.simulation.FlightDataType;
 import net.sf.openrocket.startup.Application;
@@ -23,6 +25,7 @@ import net.sf.openrocket.util.BugException;
 public class SaveCSVWorker extends SwingWorker<Void, Void> {
 	
 	private static final int BYTES_PER_FIELD_PER_POINT = 7;
+	private static final int BINARY_BYTES_PER_FIELD_PER_POINT = 8;
 
 	private final File file;
 	private final Simulation simulation;
@@ -34,11 +37,19 @@ public class SaveCSVWorker extends SwingWorker<Void, Void> {
 	private final boolean simulationComments;
 	private final boolean fieldComments;
 	private final boolean eventComments;
+	private final boolean binary;
 	
 	
 	public SaveCSVWorker(File file, Simulation simulation, FlightDataBranch branch,
 			FlightDataType[] fields, Unit[] units, String fieldSeparator, String commentStarter,
 			boolean simulationComments, boolean fieldComments, boolean eventComments) {
+		this(file, simulation, branch, fields, units, fieldSeparator, commentStarter,
+				simulationComments, fieldComments, eventComments, false);
+	}
+	
+	private SaveCSVWorker(File file, Simulation simulation, FlightDataBranch branch,
+			FlightDataType[] fields, Unit[] units, String fieldSeparator, String commentStarter,
+			boolean simulationComments, boolean fieldComments, boolean eventComments, boolean binary) {
 		this.file = file;
 		this.simulation = simulation;
 		this.branch = branch;
@@ -49,13 +60,25 @@ public class SaveCSVWorker extends SwingWorker<Void, Void> {
 		this.simulationComments = simulationComments;
 		this.fieldComments = fieldComments;
 		this.eventComments = eventComments;
+		this.binary = binary;
 	}
 
 
 	@Override
 	protected Void doInBackground() throws Exception {
 		
-		int estimate = BYTES_PER_FIELD_PER_POINT * fields.length * branch.getLength();
+		int estimate;
+		if (binary) {
+			// The binary format contains all branches of the simulation
+			int points = 0;
+			FlightData data = simulation.getSimulatedData();
+			for (int i = 0; data != null && i < data.getBranchCount(); i++) {
+				points += data.getBranch(i).getLength();
+			}
+			estimate = BINARY_BYTES_PER_FIELD_PER_POINT * fields.length * points;
+		} else {
+			estimate = BYTES_PER_FIELD_PER_POINT * fields.length * branch.getLength();
+		}
 		estimate = Math.max(estimate, 1000);
 		
 		// Create the ProgressOutputStream that provides progress estimates
@@ -72,8 +95,12 @@ public class SaveCSVWorker extends SwingWorker<Void, Void> {
 		};
 		
 		try {
-			CSVExport.exportCSV(os, simulation, branch, fields, units, fieldSeparator, 
-					commentStarter, simulationComments, fieldComments, eventComments);
+			if (binary) {
+				BinaryExport.exportBinary(os, simulation, fields, units);
+			} else {
+				CSVExport.exportCSV(os, simulation, branch, fields, units, fieldSeparator, 
+						commentStarter, simulationComments, fieldComments, eventComments);
+			}
 		} finally {
 			try {
 				os.close();
@@ -101,6 +128,28 @@ public class SaveCSVWorker extends SwingWorker<Void, Void> {
 				fieldSeparator, commentStarter, simulationComments, fieldComments, 
 				eventComments);
 		
+		return run(file, worker, parent);
+	}
+	
+	
+	/**
+	 * Exports all branches of a simulation in the binary columnar format of
+	 * {@link BinaryExport} using a progress dialog if necessary.
+	 *
+	 * @return	<code>true</code> if the save was successful, <code>false</code> otherwise.
+	 */
+	public static boolean exportBinary(File file, Simulation simulation, FlightDataType[] fields,
+			Unit[] units, Window parent) {
+		
+		SaveCSVWorker worker = new SaveCSVWorker(file, simulation, null, fields, units,
+				null, null, false, false, false, true);
+		
+		return run(file, worker, parent);
+	}
+	
+	
+	private static boolean run(File file, SaveCSVWorker worker, Window parent) {
+		
 	    if (!SwingWorkerDialog.runWorker(parent, "Exporting flight data", 
 	    		"Writing " + file.getName() + "...", worker)) {
 	    	
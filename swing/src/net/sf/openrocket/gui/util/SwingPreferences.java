@@ -432,6 +432,21 @@ public class SwingPreferences extends net.sf.openrocket.startup.Preferences {
 		return s;
 	}
 	
+	/**
+	 * Return a simulation for a quick estimate of the flight, shown while the
+	 * background simulation is still running.  The time and angle steps are much
+	 * larger and the extra flight data is not computed.
+	 */
+	public Simulation getCoarseBackgroundSimulation(Rocket rocket) {
+		Simulation s = new Simulation(rocket);
+		SimulationOptions cond = s.getOptions();
+		
+		cond.setTimeStep(RK4SimulationStepper.RECOMMENDED_TIME_STEP * 8);
+		cond.setMaximumStepAngle(RK4SimulationStepper.RECOMMENDED_ANGLE_STEP * 4);
+		cond.setCalculateExtras(false);
+		return s;
+	}
+	
 	
 	
 	/////////  Export variables
@@ -0,0 +1,321 @@
+package net.sf.openrocket.startup;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import javax.swing.SwingUtilities;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * A dependency graph of application startup tasks.
+ * <p>
+ * Each task is run as soon as all of its dependencies have completed, either on the
+ * Event Dispatch Thread or on a pool of background threads, so that independent tasks
+ * run concurrently and the EDT only does UI work.  The start time and duration of each
+ * task is recorded and available from {@link #getTimings()} once the graph has run.
+ * <p>
+ * If a task fails, its dependent tasks are not run and {@link #run()} throws the failure
+ * once the tasks already started have finished.
+ */
+public class StartupTaskGraph {
+
+	private static final Logger log = LoggerFactory.getLogger(StartupTaskGraph.class);
+
+	private final Map<String, Task> tasks = new LinkedHashMap<String, Task>();
+	private final List<Timing> timings = Collections.synchronizedList(new ArrayList<Timing>());
+
+	private ExecutorService executor;
+	private long startTime;
+
+	/** Number of tasks not yet finished, guarded by this */
+	private int pending;
+	/** The first failure, guarded by this */
+	private Throwable failure;
+	private String failedTask;
+
+
+	/**
+	 * Add a task run on a background thread.
+	 *
+	 * @param name			the unique name of the task.
+	 * @param task			the task to run.
+	 * @param dependencies	the names of the tasks that must complete before this one.
+	 */
+	public void addTask(String name, Runnable task, String... dependencies) {
+		add(name, false, task, dependencies);
+	}
+
+	/**
+	 * Add a task run on the Event Dispatch Thread.
+	 *
+	 * @param name			the unique name of the task.
+	 * @param task			the task to run.
+	 * @param dependencies	the names of the tasks that must complete before this one.
+	 */
+	public void addEDTTask(String name, Runnable task, String... dependencies) {
+		add(name, true, task, dependencies);
+	}
+
+	private void add(String name, boolean edt, Runnable runnable, String... dependencies) {
+		if (tasks.containsKey(name)) {
+			throw new IllegalArgumentException("Duplicate startup task " + name);
+		}
+		tasks.put(name, new Task(name, edt, runnable, dependencies));
+	}
+
+
+	/**
+	 * Run all tasks and block until they have completed.  Must not be called on the EDT.
+	 *
+	 * @throws ExecutionException		if a task failed.
+	 * @throws InterruptedException		if interrupted while waiting.
+	 * @throws IllegalArgumentException	if a dependency is unknown or the dependencies form a cycle.
+	 */
+	public void run() throws ExecutionException, InterruptedException {
+		if (SwingUtilities.isEventDispatchThread()) {
+			throw new IllegalStateException("Startup tasks cannot be run on the EDT");
+		}
+		List<Task> ready = link();
+
+		int threads = Math.max(1, Math.min(4, Runtime.getRuntime().availableProcessors() - 1));
+		executor = Executors.newFixedThreadPool(threads, new StartupThreadFactory());
+		startTime = System.nanoTime();
+		try {
+			synchronized (this) {
+				pending = tasks.size();
+			}
+			for (Task t : ready) {
+				submit(t);
+			}
+			synchronized (this) {
+				while (pending > 0) {
+					this.wait();
+				}
+				if (failure != null) {
+					throw new ExecutionException("Startup task " + failedTask + " failed", failure);
+				}
+			}
+		} finally {
+			executor.shutdown();
+		}
+	}
+
+
+	/**
+	 * Return the timings of the tasks in the order they finished.
+	 */
+	public List<Timing> getTimings() {
+		synchronized (timings) {
+			return new ArrayList<Timing>(timings);
+		}
+	}
+
+
+	/**
+	 * Resolve the dependencies and check that the graph is acyclic.
+	 *
+	 * @return	the tasks without dependencies.
+	 */
+	private List<Task> link() {
+		List<Task> roots = new ArrayList<Task>();
+		for (Task t : tasks.values()) {
+			for (String name : t.dependencies) {
+				Task dependency = tasks.get(name);
+				if (dependency == null) {
+					throw new IllegalArgumentException("Startup task " + t.name + " depends on unknown task " + name);
+				}
+				dependency.dependents.add(t);
+			}
+			t.remaining = t.dependencies.length;
+			if (t.remaining == 0) {
+				roots.add(t);
+			}
+		}
+
+		// Kahn's algorithm on a copy of the counts
+		Map<Task, Integer> counts = new LinkedHashMap<Task, Integer>();
+		for (Task t : tasks.values()) {
+			counts.put(t, t.remaining);
+		}
+		List<Task> queue = new ArrayList<Task>(roots);
+		int visited = 0;
+		while (!queue.isEmpty()) {
+			Task t = queue.remove(queue.size() - 1);
+			visited++;
+			for (Task d : t.dependents) {
+				int c = counts.get(d) - 1;
+				counts.put(d, c);
+				if (c == 0) {
+					queue.add(d);
+				}
+			}
+		}
+		if (visited != tasks.size()) {
+			throw new IllegalArgumentException("Startup tasks have cyclic dependencies");
+		}
+		return roots;
+	}
+
+	private void submit(final Task t) {
+		Runnable r = new Runnable() {
+			@Override
+			public void run() {
+				execute(t);
+			}
+		};
+		if (t.edt) {
+			SwingUtilities.invokeLater(r);
+		} else {
+			executor.execute(r);
+		}
+	}
+
+	private void execute(Task t) {
+		long start = System.nanoTime();
+		Throwable error = null;
+		try {
+			t.runnable.run();
+		} catch (Throwable e) {
+			error = e;
+		}
+		long end = System.nanoTime();
+
+		Timing timing = new Timing(t.name, Thread.currentThread().getName(),
+				(start - startTime) / 1000000L, (end - start) / 1000000L, error == null);
+		timings.add(timing);
+		log.info("Startup task {}", timing);
+
+		List<Task> ready = new ArrayList<Task>();
+		synchronized (this) {
+			if (error != null) {
+				if (failure == null) {
+					failure = error;
+					failedTask = t.name;
+				}
+				log.error("Startup task " + t.name + " failed", error);
+				pending -= 1 + countDependents(t);
+			} else {
+				pending--;
+				for (Task d : t.dependents) {
+					if (--d.remaining == 0) {
+						ready.add(d);
+					}
+				}
+			}
+			this.notifyAll();
+		}
+		for (Task d : ready) {
+			submit(d);
+		}
+	}
+
+	/**
+	 * Mark the transitive dependents of a failed task as skipped and return their number.
+	 */
+	private int countDependents(Task t) {
+		int count = 0;
+		for (Task d : t.dependents) {
+			if (!d.skipped) {
+				d.skipped = true;
+				// A skipped task never becomes ready
+				d.remaining = Integer.MAX_VALUE;
+				count += 1 + countDependents(d);
+			}
+		}
+		return count;
+	}
+
+
+	private static class Task {
+		private final String name;
+		private final boolean edt;
+		private final Runnable runnable;
+		private final String[] dependencies;
+		private final List<Task> dependents = new ArrayList<Task>();
+
+		/** Number of dependencies not yet completed, guarded by the graph */
+		private int remaining;
+		private boolean skipped = false;
+
+		Task(String name, boolean edt, Runnable runnable, String[] dependencies) {
+			this.name = name;
+			this.edt = edt;
+			this.runnable = runnable;
+			this.dependencies = dependencies.clone();
+		}
+	}
+
+
+	/**
+	 * The time taken by a startup task.
+	 */
+	public static class Timing {
+		private final String task;
+		private final String thread;
+		private final long start;
+		private final long duration;
+		private final boolean succeeded;
+
+		Timing(String task, String thread, long start, long duration, boolean succeeded) {
+			this.task = task;
+			this.thread = thread;
+			this.start = start;
+			this.duration = duration;
+			this.succeeded = succeeded;
+		}
+
+		/** @return	the name of the task. */
+		public String getTask() {
+			return task;
+		}
+
+		/** @return	the name of the thread that ran the task. */
+		public String getThread() {
+			return thread;
+		}
+
+		/** @return	the start time of the task in milliseconds from the start of the graph. */
+		public long getStart() {
+			return start;
+		}
+
+		/** @return	the duration of the task in milliseconds. */
+		public long getDuration() {
+			return duration;
+		}
+
+		/** @return	whether the task completed without an exception. */
+		public boolean isSucceeded() {
+			return succeeded;
+		}
+
+		@Override
+		public String toString() {
+			return task + " on " + thread + ": start " + start + " ms, took " + duration + " ms" +
+					(succeeded ? "" : " (failed)");
+		}
+	}
+
+
+	private static class StartupThreadFactory implements ThreadFactory {
+		private final AtomicInteger count = new AtomicInteger();
+
+		@Override
+		public Thread newThread(Runnable r) {
+			Thread t = new Thread(r, "StartupThread-" + count.incrementAndGet());
+			t.setDaemon(true);
+			return t;
+		}
+	}
+
+}
@@ -5,8 +5,9 @@ import java.awt.event.ActionEvent;
 import java.awt.event.ActionListener;
 import java.io.File;
 import java.io.PrintStream;
+import java.util.Collections;
+import java.util.List;
 
-import javax.swing.SwingUtilities;
 import javax.swing.Timer;
 import javax.swing.ToolTipManager;
 
@@ -44,6 +45,10 @@ public class SwingStartup {
 	
 	private final static Logger log = LoggerFactory.getLogger(SwingStartup.class);
 	
+	private static volatile List<StartupTaskGraph.Timing> startupTimings = Collections.emptyList();
+	
+	private volatile UpdateInfoRetriever updateInfo = null;
+	
 	/**
 	 * OpenRocket startup main method.
 	 */
@@ -70,15 +75,7 @@ public class SwingStartup {
 		}
 		
 		final SwingStartup runner = new SwingStartup();
-		
-		// Run the actual startup method in the EDT since it can use progress dialogs etc.
-		log.info("Moving startup to EDT");
-		SwingUtilities.invokeAndWait(new Runnable() {
-			@Override
-			public void run() {
-				runner.runInEDT(args);
-			}
-		});
+		runner.runStartupTasks(args);
 		
 		log.info("Startup complete");
 		
@@ -119,15 +116,13 @@ public class SwingStartup {
 	}
 	
 	/**
-	 * Run in the EDT when starting up OpenRocket.
+	 * Run the startup tasks of OpenRocket.  Independent tasks are run concurrently on
+	 * background threads, and only the UI work is done in the EDT.  The time taken by
+	 * each task is available from {@link #getStartupTimings()}.
 	 *
 	 * @param args	command line arguments
 	 */
-	private void runInEDT(String[] args) {
-		
-		// Initialize the splash screen with version info
-		log.info("Initializing the splash screen");
-		Splash.init();
+	private void runStartupTasks(final String[] args) throws Exception {
 		
 		// Setup the uncaught exception handler
 		log.info("Registering exception handler");
@@ -135,40 +130,115 @@ public class SwingStartup {
 		Application.setExceptionHandler(exceptionHandler);
 		exceptionHandler.registerExceptionHandler();
 		
-		// Load motors etc.
-		log.info("Loading databases");
+		final GuiModule guiModule = new GuiModule();
+		StartupTaskGraph graph = new StartupTaskGraph();
 		
-		GuiModule guiModule = new GuiModule();
-		Module pluginModule = new PluginModule();
-		Injector injector = Guice.createInjector(guiModule, pluginModule);
-		Application.setInjector(injector);
+		// Initialize the splash screen with version info
+		graph.addEDTTask("splash", new Runnable() {
+			@Override
+			public void run() {
+				Splash.init();
+			}
+		});
 		
-		guiModule.startLoader();
+		// Create the injector, which also searches for plugins
+		graph.addTask("injector", new Runnable() {
+			@Override
+			public void run() {
+				Module pluginModule = new PluginModule();
+				Injector injector = Guice.createInjector(guiModule, pluginModule);
+				Application.setInjector(injector);
+			}
+		});
 		
-		// Start update info fetching
-		final UpdateInfoRetriever updateInfo;
-		if (Application.getPreferences().getCheckUpdates()) {
-			log.info("Starting update check");
-			updateInfo = new UpdateInfoRetriever();
-			updateInfo.start();
-		} else {
-			log.info("Update check disabled");
-			updateInfo = null;
-		}
+		// Set up translations, which may change the default locale
+		graph.addTask("l10n", new Runnable() {
+			@Override
+			public void run() {
+				Application.getTranslator();
+			}
+		}, "injector");
 		
-		// Set the best available look-and-feel
-		log.info("Setting best LAF");
-		GUIUtil.setBestLAF();
+		// Load preferences and default units
+		graph.addTask("preferences", new Runnable() {
+			@Override
+			public void run() {
+				((SwingPreferences) Application.getPreferences()).loadDefaultUnits();
+			}
+		}, "l10n");
+		
+		// Load motors etc. in the background
+		graph.addTask("databases", new Runnable() {
+			@Override
+			public void run() {
+				guiModule.startLoader();
+			}
+		}, "preferences");
 		
-		// Set tooltip delay time.  Tooltips are used in MotorChooserDialog extensively.
-		ToolTipManager.sharedInstance().setDismissDelay(30000);
+		graph.addTask("materials", new Runnable() {
+			@Override
+			public void run() {
+				Databases.fakeMethod();
+			}
+		}, "preferences");
 		
-		// Load defaults
-		((SwingPreferences) Application.getPreferences()).loadDefaultUnits();
+		// Start update info fetching
+		graph.addTask("updateCheck", new Runnable() {
+			@Override
+			public void run() {
+				if (Application.getPreferences().getCheckUpdates()) {
+					log.info("Starting update check");
+					UpdateInfoRetriever retriever = new UpdateInfoRetriever();
+					retriever.start();
+					updateInfo = retriever;
+				} else {
+					log.info("Update check disabled");
+				}
+			}
+		}, "preferences");
 		
-		Databases.fakeMethod();
+		// Set the best available look-and-feel
+		graph.addEDTTask("laf", new Runnable() {
+			@Override
+			public void run() {
+				GUIUtil.setBestLAF();
+				
+				// Set tooltip delay time.  Tooltips are used in MotorChooserDialog extensively.
+				ToolTipManager.sharedInstance().setDismissDelay(30000);
+			}
+		}, "l10n");
 		
 		// Starting action (load files or open new document)
+		graph.addEDTTask("mainWindow", new Runnable() {
+			@Override
+			public void run() {
+				openMainWindow(args);
+			}
+		}, "splash", "laf", "databases", "materials");
+		
+		// Check whether update info has been fetched or whether it needs more time
+		graph.addEDTTask("updateStatus", new Runnable() {
+			@Override
+			public void run() {
+				checkUpdateStatus(updateInfo);
+			}
+		}, "mainWindow", "updateCheck");
+		
+		try {
+			graph.run();
+		} finally {
+			startupTimings = Collections.unmodifiableList(graph.getTimings());
+		}
+	}
+	
+	/**
+	 * Return the time taken by each startup task, in the order they finished.
+	 */
+	public static List<StartupTaskGraph.Timing> getStartupTimings() {
+		return startupTimings;
+	}
+	
+	private void openMainWindow(String[] args) {
 		log.info("Opening main application window");
 		if (!handleCommandLine(args)) {
 			if (!Application.getPreferences().isAutoOpenLastDesignOnStartupEnabled()) {
@@ -189,11 +259,6 @@ public class SwingStartup {
 				}
 			}
 		}
-		
-		// Check whether update info has been fetched or whether it needs more time
-		log.info("Checking update status");
-		checkUpdateStatus(updateInfo);
-		
 	}
 	
 	/**
@@ -1,9 +1,10 @@
 package net.sf.openrocket.utils;
 
+import java.io.BufferedOutputStream;
 import java.io.File;
 import java.io.FileOutputStream;
 import java.io.InputStream;
-import java.io.ObjectOutputStream;
+import java.io.OutputStream;
 import java.util.Collection;
 import java.util.List;
 import java.util.Locale;
@@ -13,6 +14,8 @@ import net.sf.openrocket.file.iterator.DirectoryIterator;
 import net.sf.openrocket.file.iterator.FileIterator;
 import net.sf.openrocket.gui.util.SimpleFileFilter;
 import net.sf.openrocket.preset.ComponentPreset;
+import net.sf.openrocket.preset.PresetCatalog;
+import net.sf.openrocket.preset.PresetCatalogWriter;
 import net.sf.openrocket.preset.xml.OpenRocketComponentLoader;
 import net.sf.openrocket.util.Pair;
 
@@ -51,14 +54,13 @@ public class SerializePresets extends BasicApplication {
 		
 		System.out.println("Total number of presets = " + list.size());
 		
-		File outFile = new File("resources/datafiles/presets", "system.ser");
+		File outFile = new File("resources/datafiles/presets", "system." + PresetCatalog.EXTENSION);
 		
-		FileOutputStream ofs = new FileOutputStream(outFile);
-		ObjectOutputStream oos = new ObjectOutputStream(ofs);
-		
-		oos.writeObject(list);
-		
-		ofs.flush();
-		ofs.close();
+		OutputStream os = new BufferedOutputStream(new FileOutputStream(outFile));
+		try {
+			PresetCatalogWriter.write(list, os);
+		} finally {
+			os.close();
+		}
 	}
 }
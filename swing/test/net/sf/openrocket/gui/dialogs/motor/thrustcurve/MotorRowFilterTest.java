@@ -1,7 +1,9 @@
 package net.sf.openrocket.gui.dialogs.motor.thrustcurve;
 
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.List;
+import java.util.Locale;
 import java.util.HashSet;
 import java.util.Set;
 
@@ -17,6 +19,7 @@ import net.sf.openrocket.gui.dialogs.motor.thrustcurve.ImpulseClass;
 import net.sf.openrocket.motor.Manufacturer;
 import net.sf.openrocket.motor.Motor;
 import net.sf.openrocket.motor.ThrustCurveMotor;
+import net.sf.openrocket.unit.UnitGroup;
 import net.sf.openrocket.database.motor.ThrustCurveMotorSet;
 import net.sf.openrocket.util.Coordinate;
 import net.sf.openrocket.util.Pair;
@@ -226,5 +229,116 @@ public class MotorRowFilterTest {
 		
 		testMotor(emptyMotor, new ArrayList(), ImpulseClass.A, ImpulseClass.A, ImpulseClass.B);
 	}
-}
 
+	@Test
+	public void TestSearchIndex() {
+		String[][] motors = {
+				{ "AeroTech", "H123", "Aerotech 38/240" },
+				{ "AeroTech", "H128", "Aerotech 29/180" },
+				{ "Cesaroni Technology", "H125", "Pro29 3G" },
+				{ "Estes", "C6", "" },
+				{ "Loki", "H144", "Loki 38/240" }
+		};
+		List<ThrustCurveMotorSet> motorList = new ArrayList<ThrustCurveMotorSet>();
+		for (String[] m : motors) {
+			motorList.add(createMotorSet(m[0], m[1], m[2]));
+		}
+		ThrustCurveMotorDatabaseModel model = new ThrustCurveMotorDatabaseModel(motorList);
+		MotorRowFilter filter = new MotorRowFilter(model);
+
+		// Typing narrows the query, deleting widens it again
+		String[] queries = { "h", "h1", "h12", "h12 ", "h12 a", "h12 ae", "h12 aer", "h12 ae", "h12",
+				"38/", "38/240", "38/240 lok", "tech", "TECH h125", "xyz", "", "c6", "6 est", "pro29" };
+		for (String query : queries) {
+			filter.setSearchTerms(Arrays.asList(query.split("\\s+")));
+			for (int row = 0; row < motorList.size(); row++) {
+				MotorEntryAt entry = new MotorEntryAt(model, row);
+				assertEquals(query + " / " + motors[row][1], matches(motorList.get(row), query), filter.include(entry));
+			}
+		}
+	}
+
+	@Test
+	public void TestSearchIndexInvalidation() {
+		List<ThrustCurveMotorSet> motorList = new ArrayList<ThrustCurveMotorSet>();
+		motorList.add(createMotorSet("AeroTech", "H123", "Aerotech 38/240"));
+		motorList.add(createMotorSet("Estes", "C6", ""));
+		ThrustCurveMotorDatabaseModel model = new ThrustCurveMotorDatabaseModel(motorList);
+		MotorRowFilter filter = new MotorRowFilter(model);
+		MotorEntryAt first = new MotorEntryAt(model, 0);
+
+		filter.setSearchTerms(Arrays.asList("h123"));
+		assertTrue(filter.include(first));
+
+		// Changed row data with the same row count
+		motorList.set(0, createMotorSet("AeroTech", "H200", "Aerotech 38/240"));
+		model.fireTableDataChanged();
+		assertFalse(filter.include(first));
+		filter.setSearchTerms(Arrays.asList("h200"));
+		assertTrue(filter.include(first));
+
+		// Changed units of the dimension columns
+		UnitGroup group = UnitGroup.UNITS_MOTOR_DIMENSIONS;
+		int unit = group.getDefaultUnitIndex();
+		try {
+			group.setDefaultUnit("mm");
+			filter.setSearchTerms(Arrays.asList("mm"));
+			assertTrue(filter.include(first));
+			group.setDefaultUnit("cm");
+			assertFalse(filter.include(first));
+			filter.setSearchTerms(Arrays.asList("cm"));
+			assertTrue(filter.include(first));
+		} finally {
+			group.setDefaultUnit(unit);
+		}
+	}
+
+	private static ThrustCurveMotorSet createMotorSet(String manufacturer, String designation, String caseInfo) {
+		ThrustCurveMotorSet motorSet = new ThrustCurveMotorSet();
+		motorSet.addMotor(new ThrustCurveMotor.Builder()
+				.setManufacturer(Manufacturer.getManufacturer(manufacturer))
+				.setDesignation(designation)
+				.setCaseInfo(caseInfo)
+				.setDiameter(0.038)
+				.setLength(0.152)
+				.setTimePoints(new double[] { 0, 1 })
+				.setThrustPoints(new double[] { 0, 2 })
+				.setCGPoints(new Coordinate[] {
+						new Coordinate(0.05, 0, 0, 0.05),
+						new Coordinate(0.03, 0, 0, 0.03) })
+				.build());
+		return motorSet;
+	}
+
+	/**
+	 * Return whether the motor set matches the query by substring matching each column.
+	 */
+	private static boolean matches(ThrustCurveMotorSet m, String query) {
+		main: for (String term : query.trim().split("\\s+")) {
+			term = term.toLowerCase(Locale.getDefault());
+			if (term.isEmpty()) {
+				continue;
+			}
+			for (ThrustCurveMotorColumns col : ThrustCurveMotorColumns.values()) {
+				if (col.getValue(m).toString().toLowerCase(Locale.getDefault()).contains(term))
+					continue main;
+			}
+			return false;
+		}
+		return true;
+	}
+
+	private class MotorEntryAt extends MotorEntry {
+		private final int row;
+
+		public MotorEntryAt(ThrustCurveMotorDatabaseModel model, int row) {
+			super(model);
+			this.row = row;
+		}
+
+		@Override
+		public Integer getIdentifier() {
+			return row;
+		}
+	}
+}
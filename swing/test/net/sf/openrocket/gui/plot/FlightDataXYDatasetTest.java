@@ -0,0 +1,114 @@
+package net.sf.openrocket.gui.plot;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import net.sf.openrocket.unit.Unit;
+import net.sf.openrocket.unit.UnitGroup;
+
+import org.jfree.data.DomainOrder;
+import org.junit.Test;
+
+public class FlightDataXYDatasetTest {
+
+	private static final int POINTS = 100000;
+
+	private final List<Double> time = new ArrayList<>();
+	private final List<Double> value = new ArrayList<>();
+
+	public FlightDataXYDatasetTest() {
+		for (int i = 0; i < POINTS; i++) {
+			double t = i * 0.001;
+			time.add(t);
+			value.add(Math.sin(t) + ((i % 7 == 0) ? 0.5 : 0));
+		}
+	}
+
+	@Test
+	public void testFullDataWithoutViewport() {
+		Unit feet = UnitGroup.UNITS_DISTANCE.getUnit("ft");
+		FlightDataXYDataset dataset = new FlightDataXYDataset(UnitGroup.UNITS_FLIGHT_TIME.getDefaultUnit());
+		dataset.addSeries("Altitude", feet, null, null, 0, time, value);
+
+		assertEquals(1, dataset.getSeriesCount());
+		assertEquals("Altitude", dataset.getDescription(0));
+		assertEquals(DomainOrder.ASCENDING, dataset.getDomainOrder());
+		assertEquals(POINTS, dataset.getItemCount(0));
+		assertEquals(time.get(1234), dataset.getXValue(0, 1234), 0);
+		assertEquals(feet.toUnit(value.get(1234)), dataset.getYValue(0, 1234), 1e-12);
+		assertEquals(0, dataset.getDomainLowerBound(true), 0);
+		assertEquals(time.get(POINTS - 1), dataset.getDomainUpperBound(true), 0);
+	}
+
+	@Test
+	public void testDecimationKeepsEnvelope() {
+		FlightDataXYDataset dataset = new FlightDataXYDataset(UnitGroup.UNITS_FLIGHT_TIME.getDefaultUnit());
+		dataset.addSeries("Value", UnitGroup.UNITS_NONE.getDefaultUnit(), null, null, 0, time, value);
+
+		int pixels = 500;
+		dataset.setViewport(0, time.get(POINTS - 1), pixels);
+		int count = dataset.getItemCount(0);
+		assertTrue("Too many points: " + count, count <= 4 * (pixels + 1));
+
+		// The first and last points and the extremes are retained, in ascending order
+		double min = Double.POSITIVE_INFINITY;
+		double max = Double.NEGATIVE_INFINITY;
+		for (int i = 0; i < count; i++) {
+			if (i > 0) {
+				assertTrue(dataset.getXValue(0, i) > dataset.getXValue(0, i - 1));
+			}
+			min = Math.min(min, dataset.getYValue(0, i));
+			max = Math.max(max, dataset.getYValue(0, i));
+		}
+		double expectedMin = Double.POSITIVE_INFINITY;
+		double expectedMax = Double.NEGATIVE_INFINITY;
+		for (double v : value) {
+			expectedMin = Math.min(expectedMin, v);
+			expectedMax = Math.max(expectedMax, v);
+		}
+		assertEquals(expectedMin, min, 0);
+		assertEquals(expectedMax, max, 0);
+		assertEquals(time.get(0), dataset.getXValue(0, 0), 0);
+		assertEquals(time.get(POINTS - 1), dataset.getXValue(0, count - 1), 0);
+	}
+
+	@Test
+	public void testZoomedViewport() {
+		FlightDataXYDataset dataset = new FlightDataXYDataset(UnitGroup.UNITS_FLIGHT_TIME.getDefaultUnit());
+		dataset.addSeries("Value", UnitGroup.UNITS_NONE.getDefaultUnit(), null, null, 0, time, value);
+
+		// Zoomed in far enough, all visible points and one point on each side are served
+		dataset.setViewport(10.0005, 10.1005, 500);
+		int count = dataset.getItemCount(0);
+		assertEquals(102, count);
+		assertEquals(10.000, dataset.getXValue(0, 0), 1e-9);
+		assertEquals(10.101, dataset.getXValue(0, count - 1), 1e-9);
+
+		// Resetting the viewport serves all points again
+		dataset.setViewport(0, 0, 0);
+		assertEquals(POINTS, dataset.getItemCount(0));
+	}
+
+	@Test
+	public void testPrefixedSeries() {
+		List<Double> branchTime = new ArrayList<>();
+		List<Double> branchValue = new ArrayList<>();
+		for (int i = 0; i < 10; i++) {
+			branchTime.add(50.0 + i);
+			branchValue.add(-1.0 * i);
+		}
+
+		FlightDataXYDataset dataset = new FlightDataXYDataset(UnitGroup.UNITS_FLIGHT_TIME.getDefaultUnit());
+		dataset.addSeries("Branch", UnitGroup.UNITS_NONE.getDefaultUnit(), time, value, 50000,
+				branchTime, branchValue);
+
+		assertEquals(50010, dataset.getItemCount(0));
+		assertEquals(time.get(49999), dataset.getXValue(0, 49999), 0);
+		assertEquals(50.0, dataset.getXValue(0, 50000), 0);
+		assertEquals(-9.0, dataset.getYValue(0, 50009), 0);
+	}
+
+}
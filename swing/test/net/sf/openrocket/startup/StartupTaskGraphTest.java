@@ -0,0 +1,115 @@
+package net.sf.openrocket.startup;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+
+import javax.swing.SwingUtilities;
+
+import org.junit.Test;
+
+public class StartupTaskGraphTest {
+
+	@Test
+	public void testDependencyOrder() throws Exception {
+		final List<String> order = Collections.synchronizedList(new ArrayList<String>());
+		StartupTaskGraph graph = new StartupTaskGraph();
+		graph.addEDTTask("ui", record(order, "ui", true), "b", "c");
+		graph.addTask("a", record(order, "a", false));
+		graph.addTask("b", record(order, "b", false), "a");
+		graph.addTask("c", record(order, "c", false), "a");
+		graph.run();
+
+		assertEquals(4, order.size());
+		assertEquals("a", order.get(0));
+		assertEquals("ui", order.get(3));
+		assertEquals(4, graph.getTimings().size());
+		assertEquals("ui", graph.getTimings().get(3).getTask());
+	}
+
+	@Test
+	public void testIndependentTasksRunConcurrently() throws Exception {
+		// Both tasks wait for each other, which only completes if they run at the same time
+		final CountDownLatch latch = new CountDownLatch(2);
+		Runnable task = new Runnable() {
+			@Override
+			public void run() {
+				latch.countDown();
+				try {
+					if (!latch.await(5, TimeUnit.SECONDS)) {
+						throw new IllegalStateException("Tasks not run concurrently");
+					}
+				} catch (InterruptedException e) {
+					throw new IllegalStateException(e);
+				}
+			}
+		};
+		StartupTaskGraph graph = new StartupTaskGraph();
+		graph.addTask("background", task);
+		graph.addEDTTask("edt", task);
+		graph.run();
+	}
+
+	@Test
+	public void testFailureSkipsDependents() throws Exception {
+		final List<String> order = Collections.synchronizedList(new ArrayList<String>());
+		StartupTaskGraph graph = new StartupTaskGraph();
+		graph.addTask("fail", new Runnable() {
+			@Override
+			public void run() {
+				throw new IllegalStateException("failed");
+			}
+		});
+		graph.addTask("dependent", record(order, "dependent", false), "fail");
+		graph.addTask("transitive", record(order, "transitive", false), "dependent", "other");
+		graph.addTask("other", record(order, "other", false));
+
+		try {
+			graph.run();
+			fail("Expected failure");
+		} catch (ExecutionException e) {
+			assertTrue(e.getCause() instanceof IllegalStateException);
+		}
+		assertEquals(Collections.singletonList("other"), order);
+		for (StartupTaskGraph.Timing t : graph.getTimings()) {
+			assertEquals(!t.getTask().equals("fail"), t.isSucceeded());
+		}
+	}
+
+	@Test(expected = IllegalArgumentException.class)
+	public void testCycle() throws Exception {
+		StartupTaskGraph graph = new StartupTaskGraph();
+		graph.addTask("a", record(null, "a", false), "b");
+		graph.addTask("b", record(null, "b", false), "a");
+		graph.run();
+	}
+
+	@Test(expected = IllegalArgumentException.class)
+	public void testUnknownDependency() throws Exception {
+		StartupTaskGraph graph = new StartupTaskGraph();
+		graph.addTask("a", record(null, "a", false), "missing");
+		graph.run();
+	}
+
+	private static Runnable record(final List<String> order, final String name, final boolean edt) {
+		return new Runnable() {
+			@Override
+			public void run() {
+				if (edt) {
+					assertTrue(SwingUtilities.isEventDispatchThread());
+				} else {
+					assertFalse(SwingUtilities.isEventDispatchThread());
+				}
+				order.add(name);
+			}
+		};
+	}
+}